@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2006 IBM Corporation and others.
+ * Copyright (c) 2005, 2012 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,9 +7,12 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - ongoing development
  *******************************************************************************/
 package org.eclipse.jface.viewers.deferred;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Comparator;
 
@@ -20,6 +23,7 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.jface.viewers.AcceptAllFilter;
 import org.eclipse.jface.viewers.IFilter;
 import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
+import org.eclipse.swt.widgets.Display;
 
 /**
  * Contains the algorithm for performing background sorting and filtering in a virtual
@@ -127,7 +131,12 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
     private ConcurrentTableUpdator updator;
     
     private IProgressMonitor sortingProgressMonitor = new NullProgressMonitor();
-    private Thread sortThread = null;
+
+    // RAP: sorts run on the worker threads of the application instead of a thread per provider.
+    // The scheduler is kept in the application store, which is only accessible on the UI thread.
+    private transient SortScheduler scheduler;
+    private final Display session;
+    private final Runnable sortJob = new SortJob();
 
 	private volatile FastProgressReporter sortMon = new FastProgressReporter();
 
@@ -144,6 +153,8 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
             IConcurrentModel model, Comparator sortOrder) {
         
         updator = new ConcurrentTableUpdator(table);
+        scheduler = SortScheduler.getInstance();
+        session = table.getControl().getDisplay();
         this.model = model;
         this.sortOrder = sortOrder;
         model.addListener(listener);
@@ -155,6 +166,11 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
      */
     public void dispose() {
         cancelSortJob();
+        synchronized (lock) {
+        	if (scheduler != null && scheduler.cancel(session, sortJob)) {
+        		sortJobQueued = false;
+        	}
+        }
         updator.dispose();
         model.removeListener(listener);
     }
@@ -441,46 +457,77 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
     }
     
     /**
-     * This lock protects the two boolean variables sortThreadStarted and resortScheduled.
+     * This lock protects the two boolean variables sortJobQueued and resortScheduled.
      */
     private Object lock = new Object();
 
     /**
-     * true if the sort thread is running
+     * true if the sort job is queued or running
      */
-    private boolean sortThreadStarted = false;
+    private boolean sortJobQueued = false;
 
     /**
      * true if we need to sort
      */
     private boolean sortScheduled = false;
     
-	private final class SortThread extends Thread {
-		private SortThread(String name) {
-			super(name);
-		}
-
+	private final class SortJob implements Runnable, Serializable {
 		public void run() {
-			loop: while (true) {
-				synchronized (lock) {
-					sortScheduled = false;
-				}
-				try {
-					// this is the main work
-					doSort(sortingProgressMonitor);
-				} catch (Exception ex) {
-					// ignore
-				}
+			synchronized (lock) {
+				sortScheduled = false;
+			}
+			// exceptions are logged by the SortScheduler worker
+			try {
+				// this is the main work
+				doSort(sortingProgressMonitor);
+			} finally {
 				synchronized (lock) {
-					if (sortScheduled) {
-						continue loop;
+					// Queue up behind the other sessions instead of sorting again right away
+					if (sortScheduled && !updator.isDisposed()) {
+						scheduleSortJob();
+					} else {
+						sortJobQueued = false;
 					}
-					sortThreadStarted = false;
-					break loop;
 				}
 			}
 		}
 	}
+
+	/*
+	 * Must be called with the lock held. After deserialization, the scheduler
+	 * is not known until it has been looked up on the UI thread again. Sorts
+	 * that are requested from other threads before are handed over to the UI
+	 * thread.
+	 */
+	private void scheduleSortJob() {
+		if (scheduler == null && Display.getCurrent() == session) {
+			scheduler = SortScheduler.getInstance();
+		}
+		if (scheduler != null) {
+			scheduler.schedule(session, sortJob);
+		} else if (!session.isDisposed()) {
+			session.asyncExec(new Runnable() {
+				public void run() {
+					synchronized (lock) {
+						if (updator.isDisposed()) {
+							sortJobQueued = false;
+						} else {
+							scheduleSortJob();
+						}
+					}
+				}
+			});
+		} else {
+			sortJobQueued = false;
+		}
+	}
+
+	private void readObject(ObjectInputStream stream)
+			throws IOException, ClassNotFoundException {
+		stream.defaultReadObject();
+		// queued sort jobs are not serialized, the next change schedules a new one
+		sortJobQueued = false;
+	}
     
     /**
      * Must be called whenever the model changes. Dirties this object and triggers a sort
@@ -491,12 +538,9 @@ import org.eclipse.jface.viewers.deferred.ConcurrentTableUpdator.Range;
 			sortMon.cancel();
 			// request sorting
 			sortScheduled = true;
-			if (!sortThreadStarted) {
-				sortThreadStarted = true;
-				sortThread = new SortThread(SORTING);
-				sortThread.setDaemon(true);
-				sortThread.setPriority(Thread.NORM_PRIORITY - 1);
-				sortThread.start();
+			if (!sortJobQueued) {
+				sortJobQueued = true;
+				scheduleSortJob();
 			}
 		}
 	}
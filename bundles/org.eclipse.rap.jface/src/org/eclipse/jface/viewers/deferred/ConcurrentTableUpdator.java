@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2006 IBM Corporation and others.
+ * Copyright (c) 2004, 2012 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - ongoing development
  *******************************************************************************/
 package org.eclipse.jface.viewers.deferred;
 
@@ -79,6 +80,9 @@ import java.io.Serializable;
      * True iff this object has been disposed
      */
     private volatile boolean disposed = false;
+
+    // RAP: the updates of all deferred tables of a session share one asyncExec
+    private final TableUpdateQueue updateQueue;
     
     /**
      * Object that holds a start index and length. Allows
@@ -118,6 +122,7 @@ import java.io.Serializable;
      */
     public ConcurrentTableUpdator(AbstractVirtualTable table) {
         this.table = table;
+        updateQueue = TableUpdateQueue.getInstance();
     }
     
     /**
@@ -271,7 +276,7 @@ import java.io.Serializable;
 	        if (!updateScheduled) {
 	            updateScheduled = true;
 	            if(!table.getControl().isDisposed()) {
-					table.getControl().getDisplay().asyncExec(uiRunnable);
+					updateQueue.add(this);
 				}
 	        }
         }
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.jface.viewers.deferred;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.util.Policy;
+import org.eclipse.rwt.RWT;
+
+/**
+ * Runs the background sorts of all deferred content providers of an
+ * application on a bounded number of worker threads.
+ * <p>
+ * Jobs are queued per session and the sessions are served round robin, so a
+ * session with many busy tables cannot starve the others. Worker threads are
+ * started on demand and terminate when there is nothing left to do.
+ * </p>
+ */
+final class SortScheduler {
+
+  private static final String ATTR_INSTANCE = SortScheduler.class.getName() + "#instance";
+  private static final Object LOCK = new Object();
+
+  static final String MAX_WORKERS = "org.eclipse.rap.jface.sortThreads";
+
+  static SortScheduler getInstance() {
+    SortScheduler result;
+    synchronized( LOCK ) {
+      result = ( SortScheduler )RWT.getApplicationStore().getAttribute( ATTR_INSTANCE );
+      if( result == null ) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        result = new SortScheduler( Integer.getInteger( MAX_WORKERS, processors ).intValue() );
+        RWT.getApplicationStore().setAttribute( ATTR_INSTANCE, result );
+      }
+    }
+    return result;
+  }
+
+  private final int maxWorkers;
+  // Pending jobs per session, in the order the sessions will be served
+  private final LinkedHashMap<Object,LinkedList<Runnable>> queues;
+  private int workers;
+
+  SortScheduler( int maxWorkers ) {
+    this.maxWorkers = Math.max( 1, maxWorkers );
+    queues = new LinkedHashMap<Object,LinkedList<Runnable>>();
+  }
+
+  /**
+   * Runs the given job on a worker thread as soon as it is the turn of the
+   * given session.
+   */
+  synchronized void schedule( Object session, Runnable job ) {
+    LinkedList<Runnable> queue = queues.get( session );
+    if( queue == null ) {
+      queue = new LinkedList<Runnable>();
+      queues.put( session, queue );
+    }
+    queue.add( job );
+    if( workers < maxWorkers ) {
+      workers++;
+      startWorker();
+    }
+  }
+
+  /**
+   * Removes the given job from the queue. Returns false if the job was not
+   * queued, either because it is already running or because it was never
+   * scheduled.
+   */
+  synchronized boolean cancel( Object session, Runnable job ) {
+    boolean result = false;
+    LinkedList<Runnable> queue = queues.get( session );
+    if( queue != null ) {
+      result = queue.remove( job );
+      if( queue.isEmpty() ) {
+        queues.remove( session );
+      }
+    }
+    return result;
+  }
+
+  synchronized int getWorkerCount() {
+    return workers;
+  }
+
+  synchronized int getQueuedCount() {
+    int result = 0;
+    for( LinkedList<Runnable> queue : queues.values() ) {
+      result += queue.size();
+    }
+    return result;
+  }
+
+  private synchronized Runnable next() {
+    Runnable result = null;
+    Iterator<Map.Entry<Object,LinkedList<Runnable>>> iterator = queues.entrySet().iterator();
+    if( iterator.hasNext() ) {
+      Map.Entry<Object,LinkedList<Runnable>> entry = iterator.next();
+      iterator.remove();
+      LinkedList<Runnable> queue = entry.getValue();
+      result = queue.removeFirst();
+      if( !queue.isEmpty() ) {
+        // re-inserting moves the session to the end of the line
+        queues.put( entry.getKey(), queue );
+      }
+    } else {
+      workers--;
+    }
+    return result;
+  }
+
+  // an Error ended a worker, the remaining jobs still need to be served
+  private synchronized void replaceWorker() {
+    workers--;
+    if( !queues.isEmpty() ) {
+      workers++;
+      startWorker();
+    }
+  }
+
+  private void startWorker() {
+    Thread thread = new Thread( new Worker(), "Sorting" );
+    thread.setDaemon( true );
+    thread.setPriority( Thread.NORM_PRIORITY - 1 );
+    thread.start();
+  }
+
+  private final class Worker implements Runnable {
+
+    public void run() {
+      boolean finished = false;
+      try {
+        Runnable job = next();
+        while( job != null ) {
+          try {
+            job.run();
+          } catch( RuntimeException exception ) {
+            // a failing sort must not take the worker down with it
+            String message = "Exception in deferred sort"; //$NON-NLS-1$
+            Policy.getLog().log( new Status( IStatus.ERROR, Policy.JFACE, message, exception ) );
+          }
+          job = next();
+        }
+        finished = true;
+      } finally {
+        if( !finished ) {
+          replaceWorker();
+        }
+      }
+    }
+  }
+}
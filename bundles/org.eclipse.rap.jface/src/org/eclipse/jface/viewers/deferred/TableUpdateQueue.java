@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others. All rights reserved.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.jface.viewers.deferred;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.rwt.SessionSingletonBase;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Collects the pending UI updates of all deferred tables of a session and
+ * posts them with a single <code>asyncExec</code>. Updates that arrive while
+ * the runnable is pending are processed in the same request.
+ */
+final class TableUpdateQueue implements Runnable, Serializable {
+
+  static TableUpdateQueue getInstance() {
+    return ( TableUpdateQueue )SessionSingletonBase.getInstance( TableUpdateQueue.class );
+  }
+
+  private final Display display;
+  private List<ConcurrentTableUpdator> pending;
+  private boolean scheduled;
+
+  private TableUpdateQueue() {
+    display = Display.getCurrent();
+    pending = new ArrayList<ConcurrentTableUpdator>();
+  }
+
+  /**
+   * Schedules an update of the given table. May be called from any thread.
+   */
+  void add( ConcurrentTableUpdator updator ) {
+    boolean post = false;
+    synchronized( this ) {
+      pending.add( updator );
+      if( !scheduled ) {
+        scheduled = true;
+        post = true;
+      }
+    }
+    if( post && !display.isDisposed() ) {
+      display.asyncExec( this );
+    }
+  }
+
+  public void run() {
+    List<ConcurrentTableUpdator> updators;
+    synchronized( this ) {
+      updators = pending;
+      pending = new ArrayList<ConcurrentTableUpdator>();
+      scheduled = false;
+    }
+    for( int i = 0; i < updators.size(); i++ ) {
+      updators.get( i ).uiRunnable.run();
+    }
+  }
+}
@@ -207,34 +207,15 @@ qx.Class.define( "org.eclipse.rwt.widgets.BasicList", {
         if( i < oldItems.length ) {
           oldItems[ i ].setLabel( items[ i ] );
         } else {
-          // TODO [rh] optimize this: context menu should be handled by the List
-          //      itself for all its ListItems
-          var item = new org.eclipse.rwt.widgets.ListItem();
-          item.addEventListener( "mouseover", this._onListItemMouseOver, this );
-          item.addEventListener( "mouseout", this._onListItemMouseOut, this );
-          // prevent items from being drawn outside the list
-          item.setWidth( this._itemWidth );
-          item.setHeight( this._itemHeight );
-          item.setContextMenu( this.getContextMenu() );
-          item.setTabIndex( null );
-          item.setLabel( items[ i ] );
+          var item = this._createItem( items[ i ] );
           if( i % 2 === 0 ) {
             item.addState( "even" );
           }
           this._clientArea.add( item );
         }
       }
-      var child = null;
       while( this._clientArea.getChildrenLength() > items.length ) {
-        child = this._clientArea.getLastChild();
-        child.removeEventListener( "mouseover", this._onListItemMouseOver, this );
-        child.removeEventListener( "mouseout", this._onListItemMouseOut, this );
-        // [if] Workaround for bug:
-        // 278361: [Combo] Overlays text after changing items
-        // https://bugs.eclipse.org/bugs/show_bug.cgi?id=278361
-        // Items are not removed from DOM if the _isDisplayable property is false.
-        child._isDisplayable = true;
-        child.destroy();
+        this._destroyItem( this._clientArea.getLastChild() );
       }
       // restore previous selection and focusItem
       manager.setSelectedItems( oldSelection );
@@ -246,6 +227,93 @@ qx.Class.define( "org.eclipse.rwt.widgets.BasicList", {
       this._renderMaxItemWidth();
     },
 
+    /**
+     * Inserts the given items before the item at the given index. The selection
+     * is not changed.
+     */
+    insertItems : function( index, value ) {
+      var items = this._escapeItems( value );
+      for( var i = 0; i < items.length; i++ ) {
+        this._clientArea.addAt( this._createItem( items[ i ] ), index + i );
+      }
+      this._updateEvenStates( index );
+      this._updateScrollDimension();
+      this._renderMaxItemWidth();
+    },
+
+    /**
+     * Removes the given number of items, starting with the item at the given
+     * index. Removed items are no longer selected or focused.
+     */
+    removeItems : function( index, count ) {
+      var manager = this.getManager();
+      var items = this.getItems().slice( index, index + count );
+      for( var i = 0; i < items.length; i++ ) {
+        if( manager.getItemSelected( items[ i ] ) ) {
+          manager.setItemSelected( items[ i ], false );
+        }
+        if( manager.getLeadItem() === items[ i ] ) {
+          manager.setLeadItem( null );
+        }
+        if( manager.getAnchorItem() === items[ i ] ) {
+          manager.setAnchorItem( null );
+        }
+        this._destroyItem( items[ i ] );
+      }
+      this._updateEvenStates( index );
+      this._updateScrollDimension();
+      this._renderMaxItemWidth();
+    },
+
+    /**
+     * Replaces the labels of the items starting with the item at the given
+     * index.
+     */
+    replaceItems : function( index, value ) {
+      var items = this._escapeItems( value );
+      var listItems = this.getItems();
+      for( var i = 0; i < items.length; i++ ) {
+        listItems[ index + i ].setLabel( items[ i ] );
+      }
+    },
+
+    _createItem : function( label ) {
+      // TODO [rh] optimize this: context menu should be handled by the List
+      //      itself for all its ListItems
+      var result = new org.eclipse.rwt.widgets.ListItem();
+      result.addEventListener( "mouseover", this._onListItemMouseOver, this );
+      result.addEventListener( "mouseout", this._onListItemMouseOut, this );
+      // prevent items from being drawn outside the list
+      result.setWidth( this._itemWidth );
+      result.setHeight( this._itemHeight );
+      result.setContextMenu( this.getContextMenu() );
+      result.setTabIndex( null );
+      result.setLabel( label );
+      return result;
+    },
+
+    _destroyItem : function( item ) {
+      item.removeEventListener( "mouseover", this._onListItemMouseOver, this );
+      item.removeEventListener( "mouseout", this._onListItemMouseOut, this );
+      // [if] Workaround for bug:
+      // 278361: [Combo] Overlays text after changing items
+      // https://bugs.eclipse.org/bugs/show_bug.cgi?id=278361
+      // Items are not removed from DOM if the _isDisplayable property is false.
+      item._isDisplayable = true;
+      item.destroy();
+    },
+
+    _updateEvenStates : function( startIndex ) {
+      var items = this.getItems();
+      for( var i = startIndex; i < items.length; i++ ) {
+        if( i % 2 === 0 ) {
+          items[ i ].addState( "even" );
+        } else {
+          items[ i ].removeState( "even" );
+        }
+      }
+    },
+
     _escapeItems : function( items ) {
       var result = items;
       if( !this._markupEnabled ) {
@@ -30,6 +30,9 @@ qx.Class.define( "org.eclipse.swt.graphics.GC", {
       this._addCanvasToDOM();
     }
     this._linearGradient = null;
+    this._templates = [];
+    this._templateSlots = [];
+    this._retained = null;
   },
 
   destruct : function() {
@@ -47,6 +50,9 @@ qx.Class.define( "org.eclipse.swt.graphics.GC", {
     }
     this._context = null;
     this._textCanvas = null;
+    this._templates = null;
+    this._templateSlots = null;
+    this._retained = null;
   },
 
   members : {
@@ -118,6 +124,29 @@ qx.Class.define( "org.eclipse.swt.graphics.GC", {
       }
     },
     
+    /**
+     * Executes drawing operations that the server packed into an array of numbers.
+     * Each operation is given as the index of its template, followed by the numbers
+     * that replace the null values of the template. New templates are appended to
+     * the template table at templateOffset, an offset of 0 discards all known templates.
+     * If retain is true, the operations are kept. The next call may then only
+     * send changes, i.e. triples of start and number of removed retained operations,
+     * and number of operations to insert in their place.
+     */
+    drawPacked : function( templateOffset, templates, operations, changes, retain ) {
+      this._templates.length = templateOffset;
+      this._templateSlots.length = templateOffset;
+      for( var i = 0; i < templates.length; i++ ) {
+        this._addTemplate( templates[ i ] );
+      }
+      var unpacked = this._unpack( operations );
+      if( changes ) {
+        unpacked = this._applyChanges( this._retained, changes, unpacked );
+      }
+      this._retained = retain ? unpacked : null;
+      this.draw( unpacked );
+    },
+
     ////////////
     // Internals
 
@@ -287,6 +316,51 @@ qx.Class.define( "org.eclipse.swt.graphics.GC", {
       );
     },
 
+    _addTemplate : function( template ) {
+      var slots = [];
+      for( var i = 0; i < template.length; i++ ) {
+        if( template[ i ] === null ) {
+          slots.push( i );
+        }
+      }
+      this._templates.push( template );
+      this._templateSlots.push( slots );
+    },
+
+    _unpack : function( numbers ) {
+      var result = [];
+      var index = 0;
+      while( index < numbers.length ) {
+        var templateIndex = numbers[ index++ ];
+        var operation = this._templates[ templateIndex ].slice( 0 );
+        var slots = this._templateSlots[ templateIndex ];
+        for( var i = 0; i < slots.length; i++ ) {
+          operation[ slots[ i ] ] = numbers[ index++ ];
+        }
+        result.push( operation );
+      }
+      return result;
+    },
+
+    _applyChanges : function( retained, changes, inserted ) {
+      var result = [];
+      var position = 0;
+      var next = 0;
+      for( var i = 0; i < changes.length; i += 3 ) {
+        while( position < changes[ i ] ) {
+          result.push( retained[ position++ ] );
+        }
+        for( var j = 0; j < changes[ i + 2 ]; j++ ) {
+          result.push( inserted[ next++ ] );
+        }
+        position += changes[ i + 1 ];
+      }
+      while( position < retained.length ) {
+        result.push( retained[ position++ ] );
+      }
+      return result;
+    },
+
     _toCssFont : function( fontArray ) {
       var result = "";
       if( fontArray[ 3 ] ) {
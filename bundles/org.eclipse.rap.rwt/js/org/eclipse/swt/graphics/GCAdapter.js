@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011 EclipseSource and others.
+ * Copyright (c) 2011, 2012 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -28,7 +28,7 @@ org.eclipse.rwt.protocol.AdapterRegistry.add( "rwt.GC", {
 
   listenerHandler : {},
 
-  methods : [ "init", "draw" ],
+  methods : [ "init", "draw", "drawPacked" ],
   
   methodHandler : {
     "init" : function( gc, properties ) {
@@ -42,6 +42,15 @@ org.eclipse.rwt.protocol.AdapterRegistry.add( "rwt.GC", {
     },
     "draw" : function( gc, properties ) {
       gc.draw( properties.operations );
+    },
+    "drawPacked" : function( gc, properties ) {
+      gc.drawPacked(
+        properties.templateOffset,
+        properties.templates,
+        properties.operations,
+        properties.changes,
+        properties.retain
+      );
     }
   }
 
@@ -763,6 +763,21 @@ qx.Class.define( "org.eclipse.swt.widgets.Combo", {
       this.createDispatchEvent( "itemsChanged" );
     },
 
+    insertItems : function( index, items ) {
+      this._list.insertItems( index, items );
+      this.createDispatchEvent( "itemsChanged" );
+    },
+
+    removeItems : function( index, count ) {
+      this._list.removeItems( index, count );
+      this.createDispatchEvent( "itemsChanged" );
+    },
+
+    replaceItems : function( index, items ) {
+      this._list.replaceItems( index, items );
+      this.createDispatchEvent( "itemsChanged" );
+    },
+
     setVisibleItemCount : function( value ) {
       this._visibleItemCount = value;
     },
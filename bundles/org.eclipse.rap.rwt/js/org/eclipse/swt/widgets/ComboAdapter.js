@@ -52,6 +52,18 @@ org.eclipse.rwt.protocol.AdapterRegistry.add( "rwt.widgets.Combo", {
 
   listenerHandler : org.eclipse.rwt.protocol.AdapterUtil.extendControlListenerHandler( {} ),
 
-  methods : []
+  methods : [ "insertItems", "removeItems", "replaceItems" ],
+
+  methodHandler : {
+    "insertItems" : function( widget, properties ) {
+      widget.insertItems( properties.index, properties.items );
+    },
+    "removeItems" : function( widget, properties ) {
+      widget.removeItems( properties.index, properties.count );
+    },
+    "replaceItems" : function( widget, properties ) {
+      widget.replaceItems( properties.index, properties.items );
+    }
+  }
 
 } );
\ No newline at end of file
@@ -16,6 +16,7 @@ qx.Class.define( "org.eclipse.swt.widgets.List", {
     this.base( arguments, multiSelection );
     this._topIndex = 0;
     this._hasSelectionListener = false;
+    this._sendRequestTimer = null;
     // Listen to send event of request to report topIndex
     var req = org.eclipse.swt.Request.getInstance();
     req.addEventListener( "send", this._onSendRequest, this );
@@ -40,6 +41,11 @@ qx.Class.define( "org.eclipse.swt.widgets.List", {
     this.removeEventListener( "dblclick", this._onDblClick, this );
     this.removeEventListener( "mouseup", this._onMouseUp, this );
     this.removeEventListener( "appear", this._onAppear, this );
+    if( this._sendRequestTimer !== null ) {
+      req.removeEventListener( "send", this._sendRequestTimer.stop, this._sendRequestTimer );
+      this._sendRequestTimer.dispose();
+      this._sendRequestTimer = null;
+    }
   },
 
   members : {
@@ -77,6 +83,25 @@ qx.Class.define( "org.eclipse.swt.widgets.List", {
       return topIndex;
     },
 
+    /**
+     * A virtual list sends a request when it was scrolled, so that the server
+     * can provide the items that became visible.
+     */
+    setVirtual : function( value ) {
+      if( value && this._sendRequestTimer === null ) {
+        var timer = new qx.client.Timer( 400 );
+        var req = org.eclipse.swt.Request.getInstance();
+        timer.addEventListener( "interval", req.send, req );
+        req.addEventListener( "send", timer.stop, timer );
+        this._sendRequestTimer = timer;
+        this.addEventListener( "userScroll", this._onUserScroll, this );
+      }
+    },
+
+    _onUserScroll : function( evt ) {
+      this._sendRequestTimer.start();
+    },
+
     _onAppear : function( evt ) {
       // [ad] Fix for Bug 277678 
       // when #showSelection() is called for invisible widget
@@ -15,6 +15,7 @@ org.eclipse.rwt.protocol.AdapterRegistry.add( "rwt.widgets.List", {
     var multiSelection = properties.style.indexOf( "MULTI" ) != -1;
     var result = new org.eclipse.swt.widgets.List( multiSelection );
     result.setMarkupEnabled( properties.markupEnabled === true );
+    result.setVirtual( properties.style.indexOf( "VIRTUAL" ) != -1 );
     org.eclipse.rwt.protocol.AdapterUtil.addStatesForStyles( result, properties.style );
     result.setUserData( "isControl", true );
     org.eclipse.rwt.protocol.AdapterUtil.setParent( result, properties.parent );
@@ -62,6 +63,18 @@ org.eclipse.rwt.protocol.AdapterRegistry.add( "rwt.widgets.List", {
 
   listenerHandler : org.eclipse.rwt.protocol.AdapterUtil.extendControlListenerHandler( {} ),
 
-  methods : []
+  methods : [ "insertItems", "removeItems", "replaceItems" ],
+
+  methodHandler : {
+    "insertItems" : function( widget, properties ) {
+      widget.insertItems( properties.index, properties.items );
+    },
+    "removeItems" : function( widget, properties ) {
+      widget.removeItems( properties.index, properties.count );
+    },
+    "replaceItems" : function( widget, properties ) {
+      widget.replaceItems( properties.index, properties.items );
+    }
+  }
 
 } );
\ No newline at end of file
@@ -56,6 +56,18 @@ import org.eclipse.rwt.internal.service.*;
  * &lt;/servlet-mapping&gt;
  *
  * <pre>
+ * <p>
+ * On a Servlet 3.0 engine, UI callback requests that wait for updates can be
+ * suspended instead of blocking a thread of the servlet engine each. This
+ * requires the servlet and all filters that are mapped to it to be registered
+ * with async support, e.g. by adding
+ * <code>&lt;async-supported&gt;true&lt;/async-supported&gt;</code> to the
+ * servlet declaration above, or by calling <code>setAsyncSupported( true )</code>
+ * on a dynamic registration. In an OSGi environment, the servlet API that RWT
+ * is wired to must be version 3.0 or later, too. Otherwise, and for
+ * registrations without async support, waiting UI callback requests block a
+ * thread.
+ * </p>
  *
  * @since 1.5
  * @noextend This class is not intended to be subclassed by clients.
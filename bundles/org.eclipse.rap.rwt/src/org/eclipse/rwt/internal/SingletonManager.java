@@ -10,7 +10,8 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal;
 
-import java.util.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.rwt.internal.util.*;
 import org.eclipse.rwt.internal.util.SharedInstanceBuffer.IInstanceCreator;
@@ -36,7 +37,7 @@ public class SingletonManager implements SerializableCompatibility {
   private transient SharedInstanceBuffer<Class,Object> typeLocks;
 
   private SingletonManager() {
-    singletons = Collections.synchronizedMap( new HashMap<Class,Object>() );
+    singletons = new ConcurrentHashMap<Class,Object>();
     initialize();
   }
 
@@ -46,14 +47,18 @@ public class SingletonManager implements SerializableCompatibility {
 
   @SuppressWarnings("unchecked")
   public <T> T getSingleton( Class<T> type ) {
-    synchronized( getTypeLock( type ) ) {
-      T result = ( T )singletons.get( type );
-      if( result == null ) {
-        result = ClassUtil.newInstance( type );
-        singletons.put( type, result );
+    // existing singletons are read without locking, only their creation is synchronized
+    T result = ( T )singletons.get( type );
+    if( result == null ) {
+      synchronized( getTypeLock( type ) ) {
+        result = ( T )singletons.get( type );
+        if( result == null ) {
+          result = ClassUtil.newInstance( type );
+          singletons.put( type, result );
+        }
       }
-      return result;
     }
+    return result;
   }
 
   private Object getTypeLock( Class type ) {
@@ -12,6 +12,8 @@
 package org.eclipse.rwt.internal.application;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.servlet.ServletContext;
 
@@ -24,17 +26,23 @@ import org.eclipse.rwt.internal.lifecycle.EntryPointManager;
 import org.eclipse.rwt.internal.lifecycle.LifeCycleAdapterFactory;
 import org.eclipse.rwt.internal.lifecycle.LifeCycleFactory;
 import org.eclipse.rwt.internal.lifecycle.PhaseListenerRegistry;
+import org.eclipse.rwt.internal.resources.JSCompressionCache;
 import org.eclipse.rwt.internal.resources.JSLibraryConcatenator;
 import org.eclipse.rwt.internal.resources.ResourceManagerImpl;
 import org.eclipse.rwt.internal.resources.ResourceRegistry;
 import org.eclipse.rwt.internal.service.ApplicationStoreImpl;
 import org.eclipse.rwt.internal.service.LifeCycleServiceHandler;
+import org.eclipse.rwt.internal.service.ServletLog;
 import org.eclipse.rwt.internal.service.ServiceManager;
 import org.eclipse.rwt.internal.service.SettingStoreManager;
+import org.eclipse.rwt.internal.service.SettingStoreWriter;
 import org.eclipse.rwt.internal.service.StartupPage;
 import org.eclipse.rwt.internal.textsize.ProbeStore;
+import org.eclipse.rwt.internal.textsize.TextSizeCalculator;
 import org.eclipse.rwt.internal.textsize.TextSizeStorage;
+import org.eclipse.rwt.internal.textsize.TextSizeStorageSnapshot;
 import org.eclipse.rwt.internal.theme.ThemeManager;
+import org.eclipse.rwt.internal.util.ParamCheck;
 import org.eclipse.rwt.resources.IResourceManager;
 import org.eclipse.rwt.service.IApplicationStore;
 import org.eclipse.swt.internal.graphics.FontDataFactory;
@@ -70,6 +78,7 @@ public class ApplicationContext {
   private final AdapterManager adapterManager;
   private final LifeCycleAdapterFactory lifeCycleAdapterFactory;
   private final SettingStoreManager settingStoreManager;
+  private final SettingStoreWriter settingStoreWriter;
   private final ServiceManager serviceManager;
   private final ResourceRegistry resourceRegistry;
   private final JSLibraryConcatenator jsLibraryConcatenator;
@@ -83,9 +92,14 @@ public class ApplicationContext {
   private final DisplaysHolder displaysHolder;
   private final TextSizeStorage textSizeStorage;
   private final ProbeStore probeStore;
+  private final TextSizeCalculator textSizeCalculator;
+  private final JSCompressionCache jsCompressionCache;
   private final ServletContext servletContext;
   private final ApplicationContextConfigurator contextConfigurator;
+  private final List<Runnable> deactivationRunnables;
   private boolean activated;
+  private long activationTime;
+  private long clientResourcesTime;
 
   public ApplicationContext( ApplicationConfiguration applicationConfiguration,
                              ServletContext servletContext )
@@ -106,6 +120,7 @@ public class ApplicationContext {
     adapterManager = new AdapterManager();
     lifeCycleAdapterFactory = new LifeCycleAdapterFactory();
     settingStoreManager = new SettingStoreManager();
+    settingStoreWriter = new SettingStoreWriter();
     resourceRegistry = new ResourceRegistry();
     startupPage = new StartupPage( resourceRegistry );
     serviceManager = createServiceManager();
@@ -113,7 +128,10 @@ public class ApplicationContext {
     jsLibraryConcatenator = new JSLibraryConcatenator( resourceManager );
     textSizeStorage = new TextSizeStorage();
     probeStore = new ProbeStore( textSizeStorage );
+    textSizeCalculator = new TextSizeCalculator();
+    jsCompressionCache = new JSCompressionCache();
     this.servletContext = servletContext;
+    deactivationRunnables = new ArrayList<Runnable>();
     contextConfigurator = new ApplicationContextConfigurator( applicationConfiguration,
                                                               servletContext );
   }
@@ -142,6 +160,15 @@ public class ApplicationContext {
     }
   }
 
+  // Runs the given runnable once when this application context is deactivated. Lets other bundles
+  // release what they keep for the application, e.g. listeners on the extension registry.
+  public void addDeactivationRunnable( Runnable runnable ) {
+    ParamCheck.notNull( runnable, "runnable" );
+    synchronized( deactivationRunnables ) {
+      deactivationRunnables.add( runnable );
+    }
+  }
+
   public ServletContext getServletContext() {
     return servletContext;
   }
@@ -166,6 +193,10 @@ public class ApplicationContext {
     return settingStoreManager;
   }
 
+  public SettingStoreWriter getSettingStoreWriter() {
+    return settingStoreWriter;
+  }
+
   public PhaseListenerRegistry getPhaseListenerRegistry() {
     return phaseListenerRegistry;
   }
@@ -246,6 +277,24 @@ public class ApplicationContext {
     return probeStore;
   }
 
+  public TextSizeCalculator getTextSizeCalculator() {
+    return textSizeCalculator;
+  }
+
+  public JSCompressionCache getJSCompressionCache() {
+    return jsCompressionCache;
+  }
+
+  // Time needed for the last activation in milliseconds
+  public long getActivationTime() {
+    return activationTime;
+  }
+
+  // Time needed to register the client library and widget resources in milliseconds
+  public long getClientResourcesTime() {
+    return clientResourcesTime;
+  }
+
   private void checkIsNotActivated() {
     if( !activated ) {
       throw new IllegalStateException( "The ApplicationContext has not been activated." );
@@ -259,9 +308,23 @@ public class ApplicationContext {
   }
 
   private void doActivate() {
+    long start = System.nanoTime();
     themeManager.initialize();
     contextConfigurator.configure( this );
     activateInstances();
+    activationTime = ( System.nanoTime() - start ) / 1000000;
+    logActivation();
+  }
+
+  private void logActivation() {
+    if( jsCompressionCache.isEnabled() && servletContext != null ) {
+      String message = "RAP application activated in " + activationTime + " ms, "
+                     + "client resources registered in " + clientResourcesTime + " ms, "
+                     + "JavaScript compressed: " + jsCompressionCache.getMissCount() + " ("
+                     + jsCompressionCache.getCompressionTime() + " ms), from cache: "
+                     + jsCompressionCache.getHitCount();
+      servletContext.log( message );
+    }
   }
 
   private void activateInstances() {
@@ -279,9 +342,12 @@ public class ApplicationContext {
     jsLibraryConcatenator.startJSConcatenation();
     themeManager.activate();
     if( !skipResoureRegistration ) {
+      long start = System.nanoTime();
       new ClientResources( getResourceManager(), themeManager ).registerResources();
+      clientResourcesTime = ( System.nanoTime() - start ) / 1000000;
     }
     jsLibraryConcatenator.activate();
+    TextSizeStorageSnapshot.load( textSizeStorage );
   }
 
   private void doDeactivate() {
@@ -299,6 +365,9 @@ public class ApplicationContext {
 
   private void doDeactivateInstances() {
     // TODO [SystemStart]: Unit testing
+    runDeactivationRunnables();
+    TextSizeStorageSnapshot.save( textSizeStorage );
+    settingStoreWriter.dispose();
     jsLibraryConcatenator.deactivate();
     lifeCycleFactory.deactivate();
     serviceManager.clear();
@@ -317,6 +386,21 @@ public class ApplicationContext {
   }
 
 
+  private void runDeactivationRunnables() {
+    Runnable[] runnables;
+    synchronized( deactivationRunnables ) {
+      runnables = deactivationRunnables.toArray( new Runnable[ deactivationRunnables.size() ] );
+      deactivationRunnables.clear();
+    }
+    for( int i = 0; i < runnables.length; i++ ) {
+      try {
+        runnables[ i ].run();
+      } catch( RuntimeException exception ) {
+        ServletLog.log( "Exception while deactivating the application context", exception );
+      }
+    }
+  }
+
   private ServiceManager createServiceManager() {
     return new ServiceManager( new LifeCycleServiceHandler( lifeCycleFactory, startupPage ) );
   }
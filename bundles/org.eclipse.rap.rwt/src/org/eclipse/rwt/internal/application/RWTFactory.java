@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011 EclipseSource and others.
+ * Copyright (c) 2011, 2012 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,10 +14,12 @@ import org.eclipse.rwt.internal.AdapterManager;
 import org.eclipse.rwt.internal.branding.BrandingManager;
 import org.eclipse.rwt.internal.engine.RWTConfiguration;
 import org.eclipse.rwt.internal.lifecycle.*;
+import org.eclipse.rwt.internal.resources.JSCompressionCache;
 import org.eclipse.rwt.internal.resources.JSLibraryConcatenator;
 import org.eclipse.rwt.internal.resources.ResourceRegistry;
 import org.eclipse.rwt.internal.service.*;
 import org.eclipse.rwt.internal.textsize.ProbeStore;
+import org.eclipse.rwt.internal.textsize.TextSizeCalculator;
 import org.eclipse.rwt.internal.textsize.TextSizeStorage;
 import org.eclipse.rwt.internal.theme.ThemeManager;
 import org.eclipse.rwt.resources.IResourceManager;
@@ -55,6 +57,10 @@ public class RWTFactory {
   public static SettingStoreManager getSettingStoreManager() {
     return ApplicationContextUtil.getInstance().getSettingStoreManager();
   }
+
+  public static SettingStoreWriter getSettingStoreWriter() {
+    return ApplicationContextUtil.getInstance().getSettingStoreWriter();
+  }
   
   public static RWTConfiguration getConfiguration() {
     return ApplicationContextUtil.getInstance().getConfiguration();
@@ -75,6 +81,14 @@ public class RWTFactory {
   public static ProbeStore getProbeStore() {
     return ApplicationContextUtil.getInstance().getProbeStore();
   }
+
+  public static TextSizeCalculator getTextSizeCalculator() {
+    return ApplicationContextUtil.getInstance().getTextSizeCalculator();
+  }
+
+  public static JSCompressionCache getJSCompressionCache() {
+    return ApplicationContextUtil.getInstance().getJSCompressionCache();
+  }
   
   public static ImageFactory getImageFactory() {
     return ApplicationContextUtil.getInstance().getImageFactory();
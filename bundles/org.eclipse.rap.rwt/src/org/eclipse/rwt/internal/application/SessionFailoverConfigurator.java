@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011 EclipseSource and others.
+ * Copyright (c) 2011, 2012 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -56,13 +56,18 @@ class SessionFailoverConfigurator {
   private Dynamic registerSessionFailoverFilter() {
     Filter filter = new RWTClusterSupport();
     String filterName = filter.getClass().getName();
-    return servletContext.addFilter( filterName, filter );
+    Dynamic result = servletContext.addFilter( filterName, filter );
+    // allows UI callback requests to be suspended instead of blocking a thread
+    result.setAsyncSupported( true );
+    return result;
   }
 
   private static void mapFilterToServlet( FilterRegistration filterRegistration,
                                           ServletRegistration servletRegistration )
   {
-    EnumSet<DispatcherType> dispatcherType = EnumSet.of( DispatcherType.REQUEST );
+    // resumed UI callback requests are dispatched as ASYNC
+    EnumSet<DispatcherType> dispatcherType
+      = EnumSet.of( DispatcherType.REQUEST, DispatcherType.ASYNC );
     String servletName = servletRegistration.getName();
     filterRegistration.addMappingForServletNames( dispatcherType, false, servletName );
   }
@@ -0,0 +1,22 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.lifecycle;
+
+
+/*
+ * Creates the holder of the UI thread that RWTLifeCycle runs a session in. The holder must also
+ * implement ISessionShutdownAdapter, it is registered with the session store to terminate the UI
+ * thread when the session ends. The returned thread is started by RWTLifeCycle.
+ */
+public interface IUIThreadHolderFactory {
+
+  IUIThreadHolder createUIThreadHolder( Runnable runnable, String name );
+}
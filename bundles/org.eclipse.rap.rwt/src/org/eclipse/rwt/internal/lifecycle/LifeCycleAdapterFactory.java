@@ -11,8 +11,8 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.lifecycle;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.rwt.internal.util.ClassInstantiationException;
 import org.eclipse.rwt.internal.util.ClassUtil;
@@ -26,18 +26,16 @@ import org.eclipse.swt.widgets.Widget;
 public final class LifeCycleAdapterFactory {
 
   private final Object displayAdapterLock;
-  private final Object widgetAdaptersLock;
   // Holds the single display life cycle adapter. MUST be created lazily because its constructor 
   // needs a resource manager to be in place
-  private IDisplayLifeCycleAdapter displayAdapter;
+  private volatile IDisplayLifeCycleAdapter displayAdapter;
   // Maps widget classes to their respective life cycle adapters
-  private final Map<Class,ILifeCycleAdapter> widgetAdapters;
+  private final ConcurrentMap<Class,ILifeCycleAdapter> widgetAdapters;
 
   
   public LifeCycleAdapterFactory() {
     displayAdapterLock = new Object();
-    widgetAdaptersLock = new Object();
-    widgetAdapters = new HashMap<Class,ILifeCycleAdapter>();
+    widgetAdapters = new ConcurrentHashMap<Class,ILifeCycleAdapter>();
   }
   
   public Object getAdapter( Object adaptable ) {
@@ -58,12 +56,14 @@ public final class LifeCycleAdapterFactory {
   }
 
   private ILifeCycleAdapter getDisplayLCA() {
-    synchronized( displayAdapterLock ) {
-      if( displayAdapter == null ) {
-        displayAdapter = new DisplayLCA();
+    if( displayAdapter == null ) {
+      synchronized( displayAdapterLock ) {
+        if( displayAdapter == null ) {
+          displayAdapter = new DisplayLCA();
+        }
       }
-      return displayAdapter;
     }
+    return displayAdapter;
   }
 
   ////////////////////////////////////////////////////////////
@@ -75,25 +75,31 @@ public final class LifeCycleAdapterFactory {
 
   private ILifeCycleAdapter getWidgetLCA( Class clazz ) {
     // [fappel] This code is performance critical, don't change without checking against a profiler
-    ILifeCycleAdapter result;
-    synchronized( widgetAdaptersLock ) {
-      result = widgetAdapters.get( clazz );
+    // The read path must not lock, it is executed for every widget in every phase of every request
+    ILifeCycleAdapter result = widgetAdapters.get( clazz );
+    if( result == null ) {
+      ILifeCycleAdapter adapter = findWidgetLCA( clazz );
+      if( adapter == null ) {
+        String msg = "Failed to obtain life cycle adapter for: " + clazz.getName();
+        throw new LifeCycleAdapterException( msg );
+      }
+      // concurrent lookups may have loaded another instance, make sure all callers share one
+      result = widgetAdapters.putIfAbsent( clazz, adapter );
       if( result == null ) {
-        ILifeCycleAdapter adapter = null;
-        Class superClass = clazz;
-        while( !Object.class.equals( superClass ) && adapter == null ) {
-          adapter = loadWidgetLCA( superClass );
-          if( adapter == null ) {
-            superClass = superClass.getSuperclass();
-          }
-        }
-        widgetAdapters.put( clazz, adapter );
         result = adapter;
       }
     }
-    if( result == null ) {
-      String msg = "Failed to obtain life cycle adapter for: " + clazz.getName();
-      throw new LifeCycleAdapterException( msg );
+    return result;
+  }
+
+  private static ILifeCycleAdapter findWidgetLCA( Class clazz ) {
+    ILifeCycleAdapter result = null;
+    Class superClass = clazz;
+    while( !Object.class.equals( superClass ) && result == null ) {
+      result = loadWidgetLCA( superClass );
+      if( result == null ) {
+        superClass = superClass.getSuperclass();
+      }
     }
     return result;
   }
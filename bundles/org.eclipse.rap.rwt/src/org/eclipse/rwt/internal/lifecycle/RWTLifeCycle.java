@@ -75,9 +75,18 @@ public class RWTLifeCycle extends LifeCycle {
   };
 
   private final PhaseListenerManager phaseListenerManager;
+  private final IUIThreadHolderFactory uiThreadHolderFactory;
   Runnable uiRunnable;
 
   public RWTLifeCycle() {
+    this( new UIThreadFactory() );
+  }
+
+  /*
+   * Allows subclasses to provide the UI threads of the sessions, see IUIThreadHolderFactory.
+   */
+  protected RWTLifeCycle( IUIThreadHolderFactory uiThreadHolderFactory ) {
+    this.uiThreadHolderFactory = uiThreadHolderFactory;
     phaseListenerManager = new PhaseListenerManager( this );
     uiRunnable = new UIThreadController();
   }
@@ -237,9 +246,8 @@ public class RWTLifeCycle extends LifeCycle {
 
   private IUIThreadHolder createUIThread() {
     ISessionStore session = ContextProvider.getSessionStore();
-    IUIThreadHolder result = new UIThread( uiRunnable );
-    result.getThread().setDaemon( true );
-    result.getThread().setName( "UIThread [" + session.getId() + "]" );
+    String name = "UIThread [" + session.getId() + "]";
+    IUIThreadHolder result = uiThreadHolderFactory.createUIThreadHolder( uiRunnable, name );
     LifeCycleUtil.setUIThread( session, result );
     setShutdownAdapter( ( ISessionShutdownAdapter )result );
     return result;
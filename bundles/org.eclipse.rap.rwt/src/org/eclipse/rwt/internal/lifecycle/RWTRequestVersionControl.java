@@ -11,8 +11,17 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.lifecycle;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.zip.GZIPInputStream;
+
 import org.eclipse.rwt.SessionSingletonBase;
 import org.eclipse.rwt.internal.service.ContextProvider;
+import org.eclipse.rwt.internal.util.HTTP;
 import org.eclipse.swt.internal.SerializableCompatibility;
 
 // TODO [rh] find a handier name
@@ -27,7 +36,8 @@ public final class RWTRequestVersionControl implements SerializableCompatibility
   }
 
   private Integer requestId;
-  private String responseMessage;
+  private byte[] responseMessage;
+  private boolean responseMessageCompressed;
   
   private RWTRequestVersionControl() {
     requestId = INITIAL_REQUEST_ID;
@@ -66,12 +76,28 @@ public final class RWTRequestVersionControl implements SerializableCompatibility
   }
   
   
-  public void setLastResponseMessage( String responseMessage ) {
+  /**
+   * Keeps the last response message to be able to resend it. The message is expected to be
+   * encoded in UTF-8 and, if <code>compressed</code> is true, gzip compressed.
+   */
+  public void setLastResponseMessage( byte[] responseMessage, boolean compressed ) {
     this.responseMessage = responseMessage;
+    responseMessageCompressed = compressed;
   }
-  
-  
-  public String getLastResponseMessage() {
-    return responseMessage;
+
+  public void writeLastResponseMessage( Writer writer ) throws IOException {
+    if( responseMessage != null ) {
+      InputStream inputStream = new ByteArrayInputStream( responseMessage );
+      if( responseMessageCompressed ) {
+        inputStream = new GZIPInputStream( inputStream );
+      }
+      Reader reader = new InputStreamReader( inputStream, HTTP.CHARSET_UTF_8 );
+      char[] buffer = new char[ 8192 ];
+      int read = reader.read( buffer );
+      while( read != -1 ) {
+        writer.write( buffer, 0, read );
+        read = reader.read( buffer );
+      }
+    }
   }
 }
@@ -25,13 +25,22 @@ final class UIThread extends Thread implements IUIThreadHolder, ISessionShutdown
     private static final long serialVersionUID = 1L;
   }
 
+  private final Object lock;
   private ServiceContext serviceContext;
   private ISessionStore sessionStore;
   private Runnable shutdownCallback;
   private volatile boolean uiThreadTerminating;
+  // incremented on every hand-off, guarded by lock
+  private long switchCount;
+  private boolean finished;
 
   public UIThread( Runnable runnable ) {
-    super( runnable );
+    this( runnable, "UIThread", 0 );
+  }
+
+  public UIThread( Runnable runnable, String name, long stackSize ) {
+    super( null, runnable, name, stackSize );
+    lock = new Object();
   }
 
   //////////////////////////
@@ -52,16 +61,28 @@ final class UIThread extends Thread implements IUIThreadHolder, ISessionShutdown
     Object lock = getLock();
     synchronized( lock ) {
       checkAndReportTerminatedUIThread();
+      long handOff = ++switchCount;
       lock.notifyAll();
-      boolean done = false;
-      while( !done ) {
+      // Guard against spurious wake-ups: only return once the other thread has handed back
+      while( handOff == switchCount ) {
         try {
           lock.wait();
-          done = true;
         } catch( InterruptedException e ) {
           handleInterruptInSwitchThread( e );
         }
       }
+      if( finished && Thread.currentThread() != this ) {
+        joinFinishedThread();
+      }
+    }
+  }
+
+  private void joinFinishedThread() {
+    try {
+      join();
+    } catch( InterruptedException e ) {
+      String msg = "Received InterruptedException while waiting for UIThread to finish";
+      ServletLog.log( msg, e );
     }
   }
 
@@ -101,7 +122,13 @@ final class UIThread extends Thread implements IUIThreadHolder, ISessionShutdown
     try {
       super.run();
     } finally {
-      // TODO [rh] call lock.notifyAll()?
+      // Release a request thread that may still wait in switchThread. This used to happen
+      // implicitly when the thread itself served as the lock.
+      synchronized( lock ) {
+        finished = true;
+        switchCount++;
+        lock.notifyAll();
+      }
     }
   }
 
@@ -129,8 +156,7 @@ final class UIThread extends Thread implements IUIThreadHolder, ISessionShutdown
   }
 
   public Object getLock() {
-    // TODO [rh] use a distinct (final) lock object instead of 'this'
-    return this;
+    return lock;
   }
 
 
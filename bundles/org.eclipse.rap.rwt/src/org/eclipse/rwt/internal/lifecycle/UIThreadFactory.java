@@ -0,0 +1,24 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.lifecycle;
+
+import org.eclipse.rwt.internal.resources.SystemProps;
+
+
+final class UIThreadFactory implements IUIThreadHolderFactory {
+
+  public IUIThreadHolder createUIThreadHolder( Runnable runnable, String name ) {
+    long stackSize = SystemProps.getUIThreadStackSize();
+    IUIThreadHolder result = new UIThread( runnable, name, stackSize );
+    result.getThread().setDaemon( true );
+    return result;
+  }
+}
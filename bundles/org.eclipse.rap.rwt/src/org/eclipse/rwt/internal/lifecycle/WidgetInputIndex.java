@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.lifecycle;
+
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.eclipse.rwt.internal.service.ContextProvider;
+import org.eclipse.rwt.service.IServiceStore;
+
+
+/**
+ * The parameters of a request grouped by the ids of the widgets they belong
+ * to, collected in a single pass over the request parameters.
+ * <p>
+ * A widget has input if a parameter name starts with its id, as in
+ * <code>w3.selection</code>, or if its id is the value of an event parameter,
+ * as in <code>org.eclipse.swt.events.widgetSelected=w3</code>. The index may
+ * contain ids that do not belong to any widget; they do no harm. The ids
+ * are kept in the order of the request parameters.
+ * </p>
+ * <p>
+ * Property values are looked up without building the parameter name, except
+ * for custom widget ids that contain dots.
+ * </p>
+ * <p>
+ * The index is created once per request and kept in the service store.
+ * </p>
+ */
+public final class WidgetInputIndex {
+
+  private static final String ATTR_INSTANCE = WidgetInputIndex.class.getName() + "#instance";
+  private static final String EVENT_PREFIX = "org.eclipse.";
+
+  private final HttpServletRequest request;
+  private final Set<String> widgetIds;
+  private final Map<String, Map<String, String>> properties;
+
+  public static WidgetInputIndex getInstance() {
+    HttpServletRequest request = ContextProvider.getRequest();
+    IServiceStore serviceStore = ContextProvider.getServiceStore();
+    WidgetInputIndex result = null;
+    if( serviceStore != null ) {
+      result = ( WidgetInputIndex )serviceStore.getAttribute( ATTR_INSTANCE );
+    }
+    if( result == null || result.request != request ) {
+      result = new WidgetInputIndex( request );
+      if( serviceStore != null ) {
+        serviceStore.setAttribute( ATTR_INSTANCE, result );
+      }
+    }
+    return result;
+  }
+
+  WidgetInputIndex( HttpServletRequest request ) {
+    this.request = request;
+    widgetIds = new LinkedHashSet<String>();
+    properties = new HashMap<String, Map<String, String>>();
+    Enumeration<?> names = request.getParameterNames();
+    while( names.hasMoreElements() ) {
+      String name = ( String )names.nextElement();
+      String value = request.getParameter( name );
+      if( name.startsWith( EVENT_PREFIX ) ) {
+        if( value != null ) {
+          widgetIds.add( value );
+        }
+      } else {
+        int index = name.indexOf( '.' );
+        if( index == -1 ) {
+          widgetIds.add( name );
+        } else {
+          String widgetId = name.substring( 0, index );
+          addProperty( widgetId, name.substring( index + 1 ), value );
+          addWidgetIds( name );
+        }
+      }
+    }
+  }
+
+  public Set<String> getWidgetIds() {
+    return widgetIds;
+  }
+
+  public String getPropertyValue( String widgetId, String property ) {
+    String result = null;
+    if( widgetId.indexOf( '.' ) == -1 ) {
+      Map<String, String> widgetProperties = properties.get( widgetId );
+      if( widgetProperties != null ) {
+        result = widgetProperties.get( property );
+      }
+    } else {
+      // custom widget ids may contain dots
+      result = request.getParameter( widgetId + "." + property );
+    }
+    return result;
+  }
+
+  private void addWidgetIds( String name ) {
+    // every part of the name up to a dot may be the id, custom widget ids may contain dots
+    int index = name.indexOf( '.' );
+    while( index != -1 ) {
+      widgetIds.add( name.substring( 0, index ) );
+      index = name.indexOf( '.', index + 1 );
+    }
+  }
+
+  private void addProperty( String widgetId, String property, String value ) {
+    Map<String, String> widgetProperties = properties.get( widgetId );
+    if( widgetProperties == null ) {
+      widgetProperties = new HashMap<String, String>();
+      properties.put( widgetId, widgetProperties );
+    }
+    widgetProperties.put( property, value );
+  }
+}
@@ -20,6 +20,9 @@ import static org.eclipse.rwt.internal.protocol.ProtocolConstants.CREATE_TYPE;
 import static org.eclipse.rwt.internal.protocol.ProtocolConstants.META;
 import static org.eclipse.rwt.internal.protocol.ProtocolConstants.OPERATIONS;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -135,10 +138,29 @@ public class ProtocolMessageWriter {
   }
 
   public String createMessage() {
+    StringWriter writer = new StringWriter();
+    try {
+      writeMessage( writer );
+    } catch( IOException exception ) {
+      // StringWriter does not throw IOExceptions
+      throw new RuntimeException( exception );
+    }
+    return writer.toString();
+  }
+
+  /**
+   * Writes the message to the given writer without creating the complete message as a string.
+   * The resulting text is the same as the one returned by <code>createMessage()</code>.
+   */
+  public void writeMessage( Writer writer ) throws IOException {
     ensureMessagePending();
     alreadyCreated = true;
-    JsonObject message = createMessageObject();
-    return message.toString();
+    appendPendingOperation();
+    writer.write( "{\n\"" + META + "\": " );
+    meta.write( writer );
+    writer.write( ",\n\"" + OPERATIONS + "\": " );
+    operations.write( writer );
+    writer.write( "\n}" );
   }
 
   private void ensureMessagePending() {
@@ -147,14 +169,6 @@ public class ProtocolMessageWriter {
     }
   }
 
-  private JsonObject createMessageObject() {
-    JsonObject message = new JsonObject();
-    message.append( META, meta );
-    appendPendingOperation();
-    message.append( OPERATIONS, operations );
-    return message;
-  }
-
   private boolean canAppendToCurrentOperation( String target, String action ) {
     boolean result = false;
     if( pendingOperation != null && pendingOperation.getTarget().equals( target ) ) {
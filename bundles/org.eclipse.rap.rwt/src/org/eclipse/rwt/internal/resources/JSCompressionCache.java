@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.resources;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.rwt.internal.service.ServletLog;
+import org.eclipse.rwt.internal.util.HTTP;
+
+
+/*
+ * Compresses JavaScript and keeps the results in a directory on disk, keyed by a hash of the
+ * uncompressed code. Compressing the client library takes seconds of CPU time on every start of
+ * an application, with a cache that survives restarts this is only done when the code changed.
+ *
+ * The cache directory is configured with the system property org.eclipse.rap.jsCompressionCacheDir,
+ * without it every call compresses.
+ */
+public final class JSCompressionCache {
+
+  // Must be changed whenever the output of the compressor changes to ignore existing entries
+  private static final String FORMAT_VERSION = "1";
+  private static final String SUFFIX = ".js";
+
+  private final File directory;
+  private final AtomicInteger hitCount;
+  private final AtomicInteger missCount;
+  private final AtomicLong compressionTime;
+
+  public JSCompressionCache() {
+    this( getConfiguredDirectory() );
+  }
+
+  JSCompressionCache( File directory ) {
+    this.directory = directory;
+    hitCount = new AtomicInteger();
+    missCount = new AtomicInteger();
+    compressionTime = new AtomicLong();
+  }
+
+  public boolean isEnabled() {
+    return directory != null;
+  }
+
+  public String compress( String javaScript ) throws IOException {
+    String result = null;
+    File file = null;
+    if( directory != null ) {
+      file = new File( directory, createKey( javaScript ) + SUFFIX );
+      result = read( file );
+    }
+    if( result == null ) {
+      long start = System.nanoTime();
+      result = new JSFile( javaScript ).compress();
+      compressionTime.addAndGet( System.nanoTime() - start );
+      missCount.incrementAndGet();
+      if( file != null ) {
+        write( file, result );
+      }
+    } else {
+      hitCount.incrementAndGet();
+    }
+    return result;
+  }
+
+  public int getHitCount() {
+    return hitCount.get();
+  }
+
+  public int getMissCount() {
+    return missCount.get();
+  }
+
+  // Time spent in the compressor in milliseconds
+  public long getCompressionTime() {
+    return compressionTime.get() / 1000000;
+  }
+
+  //////////////////
+  // helping methods
+
+  private static String read( File file ) {
+    String result = null;
+    if( file.exists() ) {
+      try {
+        InputStream inputStream = new FileInputStream( file );
+        result = new String( ResourceUtil.readBinary( inputStream ), HTTP.CHARSET_UTF_8 );
+      } catch( IOException ioe ) {
+        // treat unreadable entries like missing ones, they are overwritten
+      }
+    }
+    return result;
+  }
+
+  // The cache is an optimization, failures to write are logged but do not prevent the startup
+  private void write( File file, String content ) {
+    File tempFile = new File( file.getPath() + ".tmp" );
+    try {
+      directory.mkdirs();
+      OutputStream outputStream = new BufferedOutputStream( new FileOutputStream( tempFile ) );
+      try {
+        outputStream.write( content.getBytes( HTTP.CHARSET_UTF_8 ) );
+      } finally {
+        outputStream.close();
+      }
+      if( !tempFile.renameTo( file ) ) {
+        file.delete();
+        if( !tempFile.renameTo( file ) ) {
+          throw new IOException( "Could not rename " + tempFile + " to " + file );
+        }
+      }
+    } catch( IOException ioe ) {
+      tempFile.delete();
+      ServletLog.log( "Failed to write compressed JavaScript to cache: " + file, ioe );
+    }
+  }
+
+  static String createKey( String javaScript ) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance( "SHA-1" );
+      digest.update( FORMAT_VERSION.getBytes( HTTP.CHARSET_UTF_8 ) );
+      byte[] hash = digest.digest( javaScript.getBytes( HTTP.CHARSET_UTF_8 ) );
+      StringBuilder result = new StringBuilder( hash.length * 2 );
+      for( int i = 0; i < hash.length; i++ ) {
+        result.append( Character.forDigit( ( hash[ i ] >> 4 ) & 0xF, 16 ) );
+        result.append( Character.forDigit( hash[ i ] & 0xF, 16 ) );
+      }
+      return result.toString();
+    } catch( NoSuchAlgorithmException nsae ) {
+      throw new RuntimeException( nsae );
+    } catch( UnsupportedEncodingException uee ) {
+      throw new RuntimeException( uee );
+    }
+  }
+
+  private static File getConfiguredDirectory() {
+    String path = SystemProps.getJSCompressionCacheDir();
+    return path == null ? null : new File( path );
+  }
+}
@@ -12,16 +12,21 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.resources;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 import org.eclipse.rwt.internal.engine.RWTConfiguration;
 import org.eclipse.rwt.internal.util.ParamCheck;
@@ -44,9 +49,15 @@ import org.eclipse.rwt.resources.IResourceManager;
 public class ResourceManagerImpl implements IResourceManager {
 
   public static final String RESOURCES = "rwt-resources";
+  static final String GZIP_SUFFIX = ".gz";
+  // Smaller resources do not gain enough from compression to justify the extra request header
+  static final int MIN_GZIP_LENGTH = 512;
+  private static final String[] GZIP_EXTENSIONS
+    = new String[] { ".js", ".css", ".json", ".html", ".htm", ".txt", ".xml", ".svg" };
 
   private final RWTConfiguration configuration;
   private final Map<String,Resource> resources;
+  private final Map<String,Resource> files;
   private final ThreadLocal<ClassLoader> contextLoader;
 
   private static final class Resource {
@@ -70,6 +81,7 @@ public class ResourceManagerImpl implements IResourceManager {
   public ResourceManagerImpl( RWTConfiguration configuration ) {
     this.configuration = configuration;
     resources = new Hashtable<String,Resource>();
+    files = new Hashtable<String,Resource>();
     contextLoader = new ThreadLocal<ClassLoader>();
   }
 
@@ -93,6 +105,33 @@ public class ResourceManagerImpl implements IResourceManager {
     return result;
   }
 
+  /**
+   * Returns whether the file at the given path below the resources directory
+   * belongs to a versioned resource. The name of such a file changes with its
+   * content, it can be cached by clients forever.
+   *
+   * @param path the path of the file relative to the resources directory,
+   *          separated with '/'
+   */
+  public boolean isVersionedFile( String path ) {
+    ParamCheck.notNull( path, "path" );
+    Resource resource = files.get( path );
+    return resource != null && resource.getVersion() != null;
+  }
+
+  /**
+   * Returns the charset of the file at the given path below the resources
+   * directory or <code>null</code> for binary and unknown files.
+   *
+   * @param path the path of the file relative to the resources directory,
+   *          separated with '/'
+   */
+  public String getFileCharset( String path ) {
+    ParamCheck.notNull( path, "path" );
+    Resource resource = files.get( path );
+    return resource == null ? null : resource.getCharset();
+  }
+
   /////////////////////////////
   // interface IResourceManager
 
@@ -135,8 +174,10 @@ public class ResourceManagerImpl implements IResourceManager {
     if( resource != null ) {
       result = true;
       Integer version = resource.getVersion();
+      files.remove( getFilePath( name, version ) );
       File file = getDiskLocation( name, version );
       file.delete();
+      new File( file.getPath() + GZIP_SUFFIX ).delete();
     }
     return result;
   }
@@ -266,7 +307,50 @@ public class ResourceManagerImpl implements IResourceManager {
     File location = getDiskLocation( name, version );
     createFile( location );
     ResourceUtil.write( location, content );
-    resources.put( name, new Resource( charset, version ) );
+    writeGzipVariant( location, content );
+    Resource resource = new Resource( charset, version );
+    resources.put( name, resource );
+    files.put( getFilePath( name, version ), resource );
+  }
+
+  // Writes a gzip compressed sibling that a ResourceServlet can deliver without compressing on
+  // every request. Brotli would compress better, but the JRE has no encoder for it.
+  private static void writeGzipVariant( File location, byte[] content ) throws IOException {
+    File gzipLocation = new File( location.getPath() + GZIP_SUFFIX );
+    gzipLocation.delete();
+    if( shouldGzip( location.getName(), content ) ) {
+      byte[] compressed = gzip( content );
+      if( compressed.length < content.length ) {
+        OutputStream outputStream = new FileOutputStream( gzipLocation );
+        try {
+          outputStream.write( compressed );
+        } finally {
+          outputStream.close();
+        }
+      }
+    }
+  }
+
+  private static boolean shouldGzip( String fileName, byte[] content ) {
+    boolean result = false;
+    if( SystemProps.precompressResources() && content.length >= MIN_GZIP_LENGTH ) {
+      for( int i = 0; !result && i < GZIP_EXTENSIONS.length; i++ ) {
+        result = fileName.endsWith( GZIP_EXTENSIONS[ i ] );
+      }
+    }
+    return result;
+  }
+
+  private static byte[] gzip( byte[] content ) throws IOException {
+    ByteArrayOutputStream result = new ByteArrayOutputStream( content.length / 3 );
+    GZIPOutputStream outputStream = new GZIPOutputStream( result ) {
+      {
+        def.setLevel( Deflater.BEST_COMPRESSION );
+      }
+    };
+    outputStream.write( content );
+    outputStream.close();
+    return result.toByteArray();
   }
 
   private static void createFile( File fileToWrite ) throws IOException {
@@ -332,6 +416,10 @@ public class ResourceManagerImpl implements IResourceManager {
     return new File( resourcesDir, fileName );
   }
 
+  private static String getFilePath( String name, Integer version ) {
+    return versionedResourceName( escapeFilename( name.replace( '\\', '/' ) ), version );
+  }
+
   private static String escapeFilename( String name ) {
     String result = name;
     result = name.replaceAll( "\\$", "\\$\\$" );
@@ -0,0 +1,324 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.resources;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.rwt.internal.application.ApplicationContext;
+import org.eclipse.rwt.internal.application.ApplicationContextUtil;
+import org.eclipse.rwt.resources.IResourceManager;
+
+
+/**
+ * Delivers the files in the rwt-resources directory from memory, as an
+ * alternative to letting the servlet container serve the directory.
+ * <p>
+ * If the client accepts gzip encoding, the compressed sibling written by the
+ * resource manager is delivered instead of the file (see system property
+ * <code>org.eclipse.rap.precompressResources</code>). Versioned resources are
+ * delivered with headers that let clients cache them forever, all other files
+ * are revalidated with their ETag.
+ * </p>
+ * <p>
+ * In a traditional web application, map the servlet to
+ * <code>/rwt-resources/*</code>.
+ * </p>
+ */
+public class ResourceServlet extends HttpServlet {
+
+  private static final long serialVersionUID = 1L;
+
+  static final String CACHE_CONTROL_VERSIONED = "max-age=31536000, immutable";
+  // Larger files are streamed from disk on every request
+  static final int MAX_CACHED_LENGTH = 2 * 1024 * 1024;
+
+  private static final String[][] CONTENT_TYPES = new String[][] {
+    { ".js", "text/javascript" },
+    { ".css", "text/css" },
+    { ".json", "application/json" },
+    { ".html", "text/html" },
+    { ".htm", "text/html" },
+    { ".txt", "text/plain" },
+    { ".xml", "text/xml" },
+    { ".svg", "image/svg+xml" },
+    { ".png", "image/png" },
+    { ".gif", "image/gif" },
+    { ".jpg", "image/jpeg" },
+    { ".jpeg", "image/jpeg" },
+    { ".ico", "image/x-icon" }
+  };
+
+  private final transient ApplicationContext applicationContext;
+  private final transient Map<String,CachedFile> cache;
+
+  public ResourceServlet() {
+    this( null );
+  }
+
+  ResourceServlet( ApplicationContext applicationContext ) {
+    this.applicationContext = applicationContext;
+    cache = new ConcurrentHashMap<String,CachedFile>();
+  }
+
+  @Override
+  protected void doGet( HttpServletRequest request, HttpServletResponse response )
+    throws ServletException, IOException
+  {
+    String path = getPath( request );
+    ApplicationContext context = getApplicationContext();
+    CachedFile cachedFile = null;
+    if( path != null && context != null ) {
+      cachedFile = getCachedFile( context, path );
+    }
+    if( cachedFile == null ) {
+      response.sendError( HttpServletResponse.SC_NOT_FOUND );
+    } else {
+      deliver( context, path, cachedFile, request, response );
+    }
+  }
+
+  @Override
+  public String getServletInfo() {
+    return "RWT Resource Servlet";
+  }
+
+  //////////////////
+  // helping methods
+
+  private void deliver( ApplicationContext context,
+                        String path,
+                        CachedFile cachedFile,
+                        HttpServletRequest request,
+                        HttpServletResponse response )
+    throws IOException
+  {
+    boolean gzip = cachedFile.hasGzipVariant() && acceptsGzip( request );
+    String etag = gzip ? cachedFile.getGzipETag() : cachedFile.getETag();
+    response.setHeader( "ETag", etag );
+    response.setDateHeader( "Last-Modified", cachedFile.getLastModified() );
+    if( cachedFile.hasGzipVariant() ) {
+      response.setHeader( "Vary", "Accept-Encoding" );
+    }
+    ResourceManagerImpl resourceManager = getResourceManagerImpl( context );
+    if( resourceManager != null && resourceManager.isVersionedFile( path ) ) {
+      response.setHeader( "Cache-Control", CACHE_CONTROL_VERSIONED );
+    }
+    if( etag.equals( request.getHeader( "If-None-Match" ) ) ) {
+      response.setStatus( HttpServletResponse.SC_NOT_MODIFIED );
+    } else {
+      String charset = resourceManager == null ? null : resourceManager.getFileCharset( path );
+      response.setContentType( getContentType( path, charset ) );
+      if( gzip ) {
+        response.setHeader( "Content-Encoding", "gzip" );
+        write( response, cachedFile.getGzipContent(), cachedFile.getGzipFile() );
+      } else {
+        write( response, cachedFile.getContent(), cachedFile.getFile() );
+      }
+    }
+  }
+
+  private CachedFile getCachedFile( ApplicationContext context, String path ) throws IOException {
+    File directory = new File( context.getConfiguration().getContextDirectory(),
+                               ResourceManagerImpl.RESOURCES );
+    File file = new File( directory, path );
+    File gzipFile = new File( directory, path + ResourceManagerImpl.GZIP_SUFFIX );
+    CachedFile result = null;
+    if( file.isFile() ) {
+      result = cache.get( path );
+      if( result == null || !result.isUpToDate( file, gzipFile ) ) {
+        result = new CachedFile( file, gzipFile );
+        cache.put( path, result );
+      }
+    } else {
+      cache.remove( path );
+    }
+    return result;
+  }
+
+  private ApplicationContext getApplicationContext() {
+    ApplicationContext result = applicationContext;
+    if( result == null ) {
+      result = ApplicationContextUtil.get( getServletContext() );
+    }
+    return result;
+  }
+
+  private static ResourceManagerImpl getResourceManagerImpl( ApplicationContext context ) {
+    ResourceManagerImpl result = null;
+    IResourceManager resourceManager = context.getResourceManager();
+    if( resourceManager instanceof ResourceManagerImpl ) {
+      result = ( ResourceManagerImpl )resourceManager;
+    }
+    return result;
+  }
+
+  private String getContentType( String path, String charset ) {
+    String result = null;
+    if( getServletConfig() != null ) {
+      result = getServletContext().getMimeType( path );
+    }
+    for( int i = 0; result == null && i < CONTENT_TYPES.length; i++ ) {
+      if( path.endsWith( CONTENT_TYPES[ i ][ 0 ] ) ) {
+        result = CONTENT_TYPES[ i ][ 1 ];
+      }
+    }
+    if( result == null ) {
+      result = "application/octet-stream";
+    }
+    if( charset != null ) {
+      result += "; charset=" + charset;
+    }
+    return result;
+  }
+
+  static String getPath( HttpServletRequest request ) {
+    String result = request.getPathInfo();
+    if( result != null ) {
+      while( result.startsWith( "/" ) ) {
+        result = result.substring( 1 );
+      }
+      if( result.length() == 0 || result.indexOf( ".." ) != -1 || result.indexOf( '\\' ) != -1 ) {
+        result = null;
+      }
+    }
+    return result;
+  }
+
+  static boolean acceptsGzip( HttpServletRequest request ) {
+    boolean result = false;
+    String acceptEncoding = request.getHeader( "Accept-Encoding" );
+    if( acceptEncoding != null ) {
+      String[] codings = acceptEncoding.split( "," );
+      for( int i = 0; !result && i < codings.length; i++ ) {
+        String[] parts = codings[ i ].split( ";" );
+        String coding = parts[ 0 ].trim();
+        if( "gzip".equalsIgnoreCase( coding ) || "*".equals( coding ) ) {
+          result = parts.length < 2 || !isZeroQuality( parts[ 1 ] );
+        }
+      }
+    }
+    return result;
+  }
+
+  private static boolean isZeroQuality( String parameter ) {
+    String value = parameter.trim();
+    boolean result = false;
+    if( value.startsWith( "q=" ) ) {
+      try {
+        result = Float.parseFloat( value.substring( 2 ) ) == 0;
+      } catch( NumberFormatException notANumber ) {
+        // ignore malformed quality values
+      }
+    }
+    return result;
+  }
+
+  private static void write( HttpServletResponse response, byte[] content, File file )
+    throws IOException
+  {
+    OutputStream outputStream = response.getOutputStream();
+    if( content != null ) {
+      response.setContentLength( content.length );
+      outputStream.write( content );
+    } else {
+      response.setContentLength( ( int )file.length() );
+      InputStream inputStream = new FileInputStream( file );
+      try {
+        byte[] buffer = new byte[ 8192 ];
+        int read = inputStream.read( buffer );
+        while( read != -1 ) {
+          outputStream.write( buffer, 0, read );
+          read = inputStream.read( buffer );
+        }
+      } finally {
+        inputStream.close();
+      }
+    }
+  }
+
+  private static byte[] readIfSmall( File file ) throws IOException {
+    byte[] result = null;
+    if( file.length() <= MAX_CACHED_LENGTH ) {
+      result = ResourceUtil.readBinary( new FileInputStream( file ) );
+    }
+    return result;
+  }
+
+  private static final class CachedFile {
+    private final File file;
+    private final File gzipFile;
+    private final long lastModified;
+    private final long length;
+    private final long gzipLastModified;
+    private final byte[] content;
+    private final byte[] gzipContent;
+
+    CachedFile( File file, File gzipFile ) throws IOException {
+      this.file = file;
+      this.gzipFile = gzipFile;
+      lastModified = file.lastModified();
+      length = file.length();
+      gzipLastModified = gzipFile.isFile() ? gzipFile.lastModified() : 0;
+      content = readIfSmall( file );
+      gzipContent = gzipLastModified == 0 ? null : readIfSmall( gzipFile );
+    }
+
+    boolean isUpToDate( File file, File gzipFile ) {
+      long currentGzipLastModified = gzipFile.isFile() ? gzipFile.lastModified() : 0;
+      return    file.lastModified() == lastModified
+             && file.length() == length
+             && currentGzipLastModified == gzipLastModified;
+    }
+
+    File getFile() {
+      return file;
+    }
+
+    File getGzipFile() {
+      return gzipFile;
+    }
+
+    byte[] getContent() {
+      return content;
+    }
+
+    byte[] getGzipContent() {
+      return gzipContent;
+    }
+
+    long getLastModified() {
+      return lastModified;
+    }
+
+    boolean hasGzipVariant() {
+      return gzipLastModified != 0;
+    }
+
+    String getETag() {
+      return "\"" + Long.toHexString( length ) + "-" + Long.toHexString( lastModified ) + "\"";
+    }
+
+    String getGzipETag() {
+      return "\"" + Long.toHexString( length ) + "-" + Long.toHexString( lastModified ) + "-gz\"";
+    }
+  }
+}
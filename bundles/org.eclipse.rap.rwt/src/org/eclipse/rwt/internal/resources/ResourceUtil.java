@@ -151,9 +151,9 @@ public final class ResourceUtil {
   }
 
   static void compress( StringBuilder javaScript ) throws IOException {
-    JSFile jsFile = new JSFile( javaScript.toString() );
+    String compressed = RWTFactory.getJSCompressionCache().compress( javaScript.toString() );
     javaScript.setLength( 0 );
-    javaScript.append( jsFile.compress() );
+    javaScript.append( compressed );
   }
 
   private ResourceUtil() {
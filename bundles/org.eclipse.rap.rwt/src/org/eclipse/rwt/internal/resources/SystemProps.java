@@ -19,6 +19,23 @@ public final class SystemProps {
   public static final String CLIENT_LIBRARY_VARIANT = "org.eclipse.rwt.clientLibraryVariant";
   public static final String DEBUG_CLIENT_LIBRARY_VARIANT = "DEBUG";
   public static final String ENABLE_THEME_WARNINGS = "org.eclipse.rap.enableThemeWarnings";
+  public static final String UI_THREAD_STACK_SIZE = "org.eclipse.rap.uiThreadStackSize";
+  public static final String RENDER_DIRTY_WIDGETS_ONLY = "org.eclipse.rap.renderDirtyWidgetsOnly";
+  public static final String COMPRESS_LAST_RESPONSE = "org.eclipse.rap.compressLastResponse";
+  public static final String IMAGE_DATA_CACHE_SIZE = "org.eclipse.rap.imageDataCacheSize";
+  public static final String IMAGE_DATA_CACHE_MAX_ENTRY_SIZE
+    = "org.eclipse.rap.imageDataCacheMaxEntrySize";
+  public static final String EVICT_UNREFERENCED_IMAGES = "org.eclipse.rap.evictUnreferencedImages";
+  public static final String TEXT_SIZE_STORE_SIZE = "org.eclipse.rap.textSizeStoreSize";
+  public static final String TEXT_SIZE_STORE_FILE = "org.eclipse.rap.textSizeStoreFile";
+  public static final String CALCULATE_TEXT_SIZES = "org.eclipse.rap.calculateTextSizes";
+  public static final String JOURNAL_SETTING_STORE = "org.eclipse.rap.journalSettingStore";
+  public static final String JS_COMPRESSION_CACHE_DIR = "org.eclipse.rap.jsCompressionCacheDir";
+  public static final String PRECOMPRESS_RESOURCES = "org.eclipse.rap.precompressResources";
+  public static final String READ_DATA_FOR_INPUT_ONLY = "org.eclipse.rap.readDataForInputOnly";
+  public static final String PNG_COMPRESSION_LEVEL = "org.eclipse.rap.pngCompressionLevel";
+  public static final String PACK_GC_OPERATIONS = "org.eclipse.rap.packGCOperations";
+  public static final String RETAIN_GC_OPERATIONS = "org.eclipse.rap.retainGCOperations";
 
   private SystemProps() {
     // prevent instantiation
@@ -42,6 +59,80 @@ public final class SystemProps {
     return DEBUG_CLIENT_LIBRARY_VARIANT.equals( libraryVariant );
   }
 
+  public static boolean renderDirtyWidgetsOnly() {
+    return getBooleanProperty( RENDER_DIRTY_WIDGETS_ONLY, false );
+  }
+
+  public static boolean compressLastResponse() {
+    return getBooleanProperty( COMPRESS_LAST_RESPONSE, false );
+  }
+
+  public static boolean calculateTextSizes() {
+    return getBooleanProperty( CALCULATE_TEXT_SIZES, false );
+  }
+
+  public static boolean journalSettingStore() {
+    return getBooleanProperty( JOURNAL_SETTING_STORE, false );
+  }
+
+  public static boolean precompressResources() {
+    return getBooleanProperty( PRECOMPRESS_RESOURCES, false );
+  }
+
+  // Only widgets that the request carries parameters for are asked to read their data
+  public static boolean readDataForInputOnly() {
+    return getBooleanProperty( READ_DATA_FOR_INPUT_ONLY, false );
+  }
+
+  public static boolean evictUnreferencedImages() {
+    return getBooleanProperty( EVICT_UNREFERENCED_IMAGES, false );
+  }
+
+  // Maximum number of bytes held by the image data cache
+  public static long getImageDataCacheSize() {
+    return getLongProperty( IMAGE_DATA_CACHE_SIZE, 1024 * 1024 );
+  }
+
+  // Maximum number of pixel data bytes of an image that the image data cache holds
+  public static int getImageDataCacheMaxEntrySize() {
+    return ( int )getLongProperty( IMAGE_DATA_CACHE_MAX_ENTRY_SIZE, 1024 );
+  }
+
+  // A value of zero uses the default size of the text size storage
+  public static long getTextSizeStoreSize() {
+    return getLongProperty( TEXT_SIZE_STORE_SIZE, 0 );
+  }
+
+  // File to load measured text sizes from on startup and to save them to on shutdown, may be null
+  public static String getTextSizeStoreFile() {
+    return System.getProperty( TEXT_SIZE_STORE_FILE );
+  }
+
+  // Directory to keep compressed JavaScript in across restarts, may be null
+  public static String getJSCompressionCacheDir() {
+    return System.getProperty( JS_COMPRESSION_CACHE_DIR );
+  }
+
+  // Canvas drawings are sent as packed number arrays with interned styles and texts
+  public static boolean packGCOperations() {
+    return getBooleanProperty( PACK_GC_OPERATIONS, false ) || retainGCOperations();
+  }
+
+  // Canvas redraws only send the operations that differ from the previous drawing, implies packing
+  public static boolean retainGCOperations() {
+    return getBooleanProperty( RETAIN_GC_OPERATIONS, false );
+  }
+
+  // Deflate level (0-9) for PNG images created from image data, -1 for the zlib default
+  public static int getPngCompressionLevel() {
+    return ( int )getLongProperty( PNG_COMPRESSION_LEVEL, -1 );
+  }
+
+  // A value of zero lets the virtual machine choose the stack size
+  public static long getUIThreadStackSize() {
+    return getLongProperty( UI_THREAD_STACK_SIZE, 0 );
+  }
+
   private static boolean getBooleanProperty( String key, boolean defaultValue ) {
     boolean result = defaultValue;
     String propertyValue = System.getProperty( key );
@@ -50,4 +141,18 @@ public final class SystemProps {
     }
     return result;
   }
+
+  private static long getLongProperty( String key, long defaultValue ) {
+    long result = defaultValue;
+    String propertyValue = System.getProperty( key );
+    if( propertyValue != null ) {
+      try {
+        result = Long.parseLong( propertyValue.trim() );
+      } catch( NumberFormatException exception ) {
+        String msg = "Invalid value for system property " + key + ": " + propertyValue;
+        throw new IllegalArgumentException( msg );
+      }
+    }
+    return result;
+  }
 }
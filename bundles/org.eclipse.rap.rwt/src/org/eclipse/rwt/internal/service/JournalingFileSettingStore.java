@@ -0,0 +1,421 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.service;
+
+import java.io.*;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.*;
+
+import org.eclipse.rwt.internal.application.RWTFactory;
+import org.eclipse.rwt.internal.util.ParamCheck;
+import org.eclipse.rwt.service.*;
+
+
+/*
+ * An ISettingStore that persists its attributes in the same files as the FileSettingStore, but
+ * writes changes behind the request. Changes are applied to the attributes in memory and queued,
+ * a shared background thread appends them to a journal file shortly after. When the journal grows
+ * too long, or when the session ends, the attributes are written to the properties file and the
+ * journal is deleted. At rest, the files can therefore also be read by a FileSettingStore.
+ * The changes are written by the SettingStoreWriter of the application context.
+ *
+ * Files in the work directory:
+ *   <id>                     the attributes in Java properties format
+ *   <id>.journal             changes made after the properties file was written, one per line
+ *   <id>.tmp                 the attributes while the properties file is rewritten
+ *   <id>.journal.compacting  the journal while it is folded into the properties file
+ *
+ * Compaction writes the new properties to the temporary file first, then moves the journal aside,
+ * replaces the properties file and deletes the journal that was moved aside. When a store is
+ * loaded, an interrupted compaction is completed if the journal was already moved aside, and
+ * rolled back otherwise. Journal lines are therefore never replayed over a properties file that
+ * already contains them.
+ *
+ * Changes that are not written yet are lost when the virtual machine terminates abnormally.
+ *
+ * Enabled for the setting store factories with the system property
+ * org.eclipse.rap.journalSettingStore.
+ */
+public final class JournalingFileSettingStore implements ISettingStore {
+
+  static final long FLUSH_DELAY = 500;
+  // The journal is folded into the properties file when it contains more lines than this
+  static final int COMPACTION_THRESHOLD = 256;
+
+  private static final String JOURNAL_SUFFIX = ".journal";
+  private static final String COMPACTING_SUFFIX = ".compacting";
+  private static final String TEMP_SUFFIX = ".tmp";
+  private static final String ENCODING = "UTF-8";
+  private static final String SET = "S";
+  private static final String REMOVE = "R";
+  private static final Random RANDOM = new Random( System.currentTimeMillis() );
+  // Locks that guard the file access of the stores in a directory, by directory
+  private static final Map<File,Object> IO_LOCKS = new HashMap<File,Object>();
+
+  private final File workDir;
+  // Guards the file access of all stores in the work directory, must not be acquired while
+  // holding the lock of a store
+  private final Object ioLock;
+  private final SettingStoreWriter writer;
+  private final Properties props;
+  private final Set<SettingStoreListener> listeners;
+  private List<String> pendingLines;
+  private boolean flushScheduled;
+  private int journalLength;
+  private String id;
+
+  public JournalingFileSettingStore( File workDir ) {
+    this( workDir, RWTFactory.getSettingStoreWriter() );
+  }
+
+  JournalingFileSettingStore( File workDir, SettingStoreWriter writer ) {
+    ParamCheck.notNull( workDir, "workDir" );
+    if( !workDir.isDirectory() ) {
+      throw new IllegalArgumentException( "workDir is not a directory: " + workDir );
+    }
+    this.workDir = workDir;
+    this.writer = writer;
+    ioLock = getIOLock( workDir );
+    props = new Properties();
+    listeners = new HashSet<SettingStoreListener>();
+    pendingLines = new ArrayList<String>();
+    id = String.valueOf( System.currentTimeMillis() ) + "_" + RANDOM.nextInt( Short.MAX_VALUE );
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public synchronized String getAttribute( String name ) {
+    ParamCheck.notNull( name, "name" );
+    return props.getProperty( name );
+  }
+
+  public synchronized void setAttribute( String name, String value ) {
+    ParamCheck.notNull( name, "name" );
+    if( value == null ) {
+      removeAttribute( name );
+    } else {
+      String oldValue = ( String )props.setProperty( name, value );
+      if( !value.equals( oldValue ) ) {
+        notifyListeners( name, oldValue, value );
+        enqueue( SET + " " + encode( name ) + " " + encode( value ) );
+      }
+    }
+  }
+
+  public synchronized Enumeration getAttributeNames() {
+    return props.keys();
+  }
+
+  public synchronized void removeAttribute( String name ) {
+    String oldValue = ( String )props.remove( name );
+    if( oldValue != null ) {
+      notifyListeners( name, oldValue, null );
+      enqueue( REMOVE + " " + encode( name ) );
+    }
+  }
+
+  public void loadById( String id ) throws SettingStoreException {
+    ParamCheck.notNullOrEmpty( id, "id" );
+    synchronized( ioLock ) {
+      // another session may have queued changes for the same id
+      JournalingFileSettingStore other = writer.getDirtyStore( getStoreFile( id ) );
+      if( other != null && other != this ) {
+        other.flush( false );
+      }
+      synchronized( this ) {
+        flush( false );
+        this.id = id;
+        notifyForEachAttribute( true );
+        props.clear();
+        try {
+          recoverCompaction( id );
+          readProperties( getStoreFile( id ) );
+          journalLength = readJournal( getJournalFile( id ) );
+        } catch( IOException ioe ) {
+          String msg = "Failed to load into journaling file setting store; id= " + id;
+          throw new SettingStoreException( msg, ioe );
+        }
+        notifyForEachAttribute( false );
+      }
+    }
+  }
+
+  public synchronized void addSettingStoreListener( SettingStoreListener listener ) {
+    ParamCheck.notNull( listener, "listener" );
+    listeners.add( listener );
+  }
+
+  public synchronized void removeSettingStoreListener( SettingStoreListener listener ) {
+    ParamCheck.notNull( listener, "listener" );
+    listeners.remove( listener );
+  }
+
+  /*
+   * Writes the queued changes to the journal. The journal is compacted if it grew too long.
+   */
+  public void flush() throws SettingStoreException {
+    flush( false );
+  }
+
+  /*
+   * Writes all attributes to the properties file and deletes the journal.
+   */
+  public void compact() throws SettingStoreException {
+    flush( true );
+  }
+
+  /*
+   * Compacts the store when the given session ends.
+   */
+  public void compactOnDestroy( ISessionStore sessionStore ) {
+    sessionStore.addSessionStoreListener( new SessionStoreListener() {
+      public void beforeDestroy( SessionStoreEvent event ) {
+        try {
+          compact();
+        } catch( SettingStoreException sse ) {
+          ServletLog.log( sse.getMessage(), sse );
+        }
+      }
+    } );
+  }
+
+  //////////////////
+  // helping methods
+
+  // called while holding the lock of this store
+  private void enqueue( String line ) {
+    pendingLines.add( line );
+    if( !flushScheduled ) {
+      flushScheduled = true;
+      writer.schedule( getStoreFile( id ), this, FLUSH_DELAY );
+    }
+  }
+
+  private void flush( boolean compact ) throws SettingStoreException {
+    synchronized( ioLock ) {
+      List<String> lines;
+      String storeId;
+      Properties snapshot = null;
+      synchronized( this ) {
+        lines = pendingLines;
+        pendingLines = new ArrayList<String>();
+        flushScheduled = false;
+        storeId = id;
+        // together with the swap, a change queued after this point schedules the store again
+        writer.removeDirtyStore( getStoreFile( storeId ), this );
+        if( compact || journalLength + lines.size() > COMPACTION_THRESHOLD ) {
+          snapshot = new Properties();
+          snapshot.putAll( props );
+        }
+      }
+      try {
+        if( snapshot != null ) {
+          writeCompacted( storeId, snapshot );
+          journalLength = 0;
+        } else if( !lines.isEmpty() ) {
+          appendJournal( getJournalFile( storeId ), lines );
+          journalLength += lines.size();
+        }
+      } catch( IOException ioe ) {
+        requeue( lines );
+        String msg = "Failed to persist journaling file setting store; id= " + storeId;
+        throw new SettingStoreException( msg, ioe );
+      }
+    }
+  }
+
+  // Keeps lines that could not be written, they are retried with the next change
+  private synchronized void requeue( List<String> lines ) {
+    pendingLines.addAll( 0, lines );
+  }
+
+  private void readProperties( File file ) throws IOException {
+    if( file.exists() ) {
+      InputStream inputStream = new BufferedInputStream( new FileInputStream( file ) );
+      try {
+        props.load( inputStream );
+      } finally {
+        inputStream.close();
+      }
+    }
+  }
+
+  // Returns the number of lines read, incomplete or malformed lines are skipped
+  private int readJournal( File file ) throws IOException {
+    int result = 0;
+    if( file.exists() ) {
+      InputStream inputStream = new FileInputStream( file );
+      BufferedReader reader = new BufferedReader( new InputStreamReader( inputStream, ENCODING ) );
+      try {
+        String line = reader.readLine();
+        while( line != null ) {
+          if( line.length() > 0 ) {
+            replay( line );
+            result++;
+          }
+          line = reader.readLine();
+        }
+      } finally {
+        reader.close();
+      }
+    }
+    return result;
+  }
+
+  private void replay( String line ) {
+    String[] parts = line.split( " " );
+    try {
+      if( parts.length == 3 && SET.equals( parts[ 0 ] ) ) {
+        props.setProperty( decode( parts[ 1 ] ), decode( parts[ 2 ] ) );
+      } else if( parts.length == 2 && REMOVE.equals( parts[ 0 ] ) ) {
+        props.remove( decode( parts[ 1 ] ) );
+      }
+    } catch( IllegalArgumentException iae ) {
+      // incomplete escape sequence from an interrupted write, ignore the line
+    }
+  }
+
+  private static void appendJournal( File file, List<String> lines ) throws IOException {
+    OutputStream outputStream = new FileOutputStream( file, true );
+    Writer writer = new BufferedWriter( new OutputStreamWriter( outputStream, ENCODING ) );
+    try {
+      // terminate a line that may be incomplete from an interrupted write
+      writer.write( '\n' );
+      for( String line : lines ) {
+        writer.write( line );
+        writer.write( '\n' );
+      }
+    } finally {
+      writer.close();
+    }
+  }
+
+  private void writeCompacted( String storeId, Properties properties ) throws IOException {
+    File storeFile = getStoreFile( storeId );
+    File tempFile = getTempFile( storeId );
+    File journalFile = getJournalFile( storeId );
+    File compactingFile = getCompactingFile( storeId );
+    OutputStream outputStream = new BufferedOutputStream( new FileOutputStream( tempFile ) );
+    try {
+      properties.store( outputStream, FileSettingStore.class.getName() );
+    } finally {
+      outputStream.close();
+    }
+    // from here on, the temporary file replaces the properties file, also after a crash
+    if( journalFile.exists() && !journalFile.renameTo( compactingFile ) ) {
+      tempFile.delete();
+      throw new IOException( "Could not rename " + journalFile + " to " + compactingFile );
+    }
+    rename( tempFile, storeFile );
+    compactingFile.delete();
+  }
+
+  // Completes or rolls back a compaction that was interrupted by a crash
+  private void recoverCompaction( String storeId ) throws IOException {
+    File tempFile = getTempFile( storeId );
+    File compactingFile = getCompactingFile( storeId );
+    if( compactingFile.exists() ) {
+      if( tempFile.exists() ) {
+        rename( tempFile, getStoreFile( storeId ) );
+      }
+      compactingFile.delete();
+    } else if( tempFile.exists() ) {
+      tempFile.delete();
+    }
+  }
+
+  private static void rename( File source, File target ) throws IOException {
+    if( !source.renameTo( target ) ) {
+      target.delete();
+      if( !source.renameTo( target ) ) {
+        throw new IOException( "Could not rename " + source + " to " + target );
+      }
+    }
+  }
+
+  private File getStoreFile( String fileName ) {
+    return new File( workDir, fileName );
+  }
+
+  private File getJournalFile( String fileName ) {
+    return new File( workDir, fileName + JOURNAL_SUFFIX );
+  }
+
+  private File getCompactingFile( String fileName ) {
+    return new File( workDir, fileName + JOURNAL_SUFFIX + COMPACTING_SUFFIX );
+  }
+
+  private File getTempFile( String fileName ) {
+    return new File( workDir, fileName + TEMP_SUFFIX );
+  }
+
+  private static Object getIOLock( File workDir ) {
+    File directory = workDir.getAbsoluteFile();
+    synchronized( IO_LOCKS ) {
+      Object result = IO_LOCKS.get( directory );
+      if( result == null ) {
+        result = new Object();
+        IO_LOCKS.put( directory, result );
+      }
+      return result;
+    }
+  }
+
+  private void notifyForEachAttribute( boolean removed ) {
+    Enumeration attributes = props.keys();
+    while( attributes.hasMoreElements() ) {
+      String attribute = ( String )attributes.nextElement();
+      String value = props.getProperty( attribute );
+      if( removed ) {
+        notifyListeners( attribute, value, null );
+      } else {
+        notifyListeners( attribute, null, value );
+      }
+    }
+  }
+
+  private void notifyListeners( String attribute, String oldValue, String newValue ) {
+    SettingStoreEvent event = new SettingStoreEvent( this, attribute, oldValue, newValue );
+    SettingStoreListener[] currentListeners
+      = listeners.toArray( new SettingStoreListener[ listeners.size() ] );
+    for( int i = 0; i < currentListeners.length; i++ ) {
+      SettingStoreListener listener = currentListeners[ i ];
+      try {
+        listener.settingChanged( event );
+      } catch( Exception exc ) {
+        String msg = "Exception when invoking listener " + listener.getClass().getName();
+        ServletLog.log( msg, exc );
+      } catch( LinkageError le ) {
+        String msg = "Linkage error when invoking listener " + listener.getClass().getName();
+        ServletLog.log( msg, le );
+      }
+    }
+  }
+
+  private static String encode( String string ) {
+    try {
+      return URLEncoder.encode( string, ENCODING );
+    } catch( UnsupportedEncodingException uee ) {
+      throw new RuntimeException( uee );
+    }
+  }
+
+  private static String decode( String string ) {
+    try {
+      return URLDecoder.decode( string, ENCODING );
+    } catch( UnsupportedEncodingException uee ) {
+      throw new RuntimeException( uee );
+    }
+  }
+}
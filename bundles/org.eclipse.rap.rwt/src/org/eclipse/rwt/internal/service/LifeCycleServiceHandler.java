@@ -29,6 +29,7 @@ import org.eclipse.rwt.internal.lifecycle.LifeCycle;
 import org.eclipse.rwt.internal.lifecycle.LifeCycleFactory;
 import org.eclipse.rwt.internal.lifecycle.RWTRequestVersionControl;
 import org.eclipse.rwt.internal.protocol.ProtocolMessageWriter;
+import org.eclipse.rwt.internal.resources.SystemProps;
 import org.eclipse.rwt.internal.theme.JsonValue;
 import org.eclipse.rwt.internal.theme.ThemeUtil;
 import org.eclipse.rwt.internal.util.HTTP;
@@ -103,8 +104,7 @@ public class LifeCycleServiceHandler implements IServiceHandler {
   
   private void sendLastResponse()throws IOException  {
     HttpServletResponse response = ContextProvider.getResponse();
-    String lastResponseMessage = RWTRequestVersionControl.getInstance().getLastResponseMessage();
-    response.getWriter().write( lastResponseMessage);
+    RWTRequestVersionControl.getInstance().writeLastResponseMessage( response.getWriter() );
   }
 
   private void runLifeCycle() throws IOException {
@@ -215,9 +215,12 @@ public class LifeCycleServiceHandler implements IServiceHandler {
   private static void writeProtocolMessage() throws IOException {
     HttpServletResponse response = ContextProvider.getResponse();
     ProtocolMessageWriter protocolWriter = ContextProvider.getProtocolWriter();
-    String message = protocolWriter.createMessage();
-    response.getWriter().write( message );
-    
-    RWTRequestVersionControl.getInstance().setLastResponseMessage( message);
+    // keep an encoded copy of the message instead of the message string to resend it if needed
+    boolean compressed = SystemProps.compressLastResponse();
+    RecordingWriter writer = new RecordingWriter( response.getWriter(), compressed );
+    protocolWriter.writeMessage( writer );
+    writer.close();
+    byte[] recording = writer.getRecording();
+    RWTRequestVersionControl.getInstance().setLastResponseMessage( recording, compressed );
   }
 }
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.rwt.internal.util.HTTP;
+
+
+/**
+ * A writer that passes all characters to the given writer and records them as UTF-8 encoded
+ * (and optionally gzip compressed) bytes at the same time.
+ */
+final class RecordingWriter extends Writer {
+
+  private final Writer writer;
+  private final ByteArrayOutputStream recording;
+  private final Writer recordingWriter;
+
+  RecordingWriter( Writer writer, boolean compressed ) throws IOException {
+    this.writer = writer;
+    recording = new ByteArrayOutputStream();
+    OutputStream outputStream = compressed ? new GZIPOutputStream( recording ) : recording;
+    recordingWriter = new OutputStreamWriter( outputStream, HTTP.CHARSET_UTF_8 );
+  }
+
+  public void write( char[] buffer, int offset, int length ) throws IOException {
+    writer.write( buffer, offset, length );
+    recordingWriter.write( buffer, offset, length );
+  }
+
+  public void write( String string, int offset, int length ) throws IOException {
+    writer.write( string, offset, length );
+    recordingWriter.write( string, offset, length );
+  }
+
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  public void close() throws IOException {
+    // the underlying writer is owned by the caller
+    recordingWriter.close();
+  }
+
+  /**
+   * Returns the recorded bytes. Must not be called before the writer is closed.
+   */
+  byte[] getRecording() {
+    return recording.toByteArray();
+  }
+}
@@ -14,6 +14,7 @@ package org.eclipse.rwt.internal.service;
 import java.text.MessageFormat;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.http.*;
 
@@ -45,7 +46,7 @@ public final class SessionStoreImpl
   private final Set<SessionStoreListener> sessionStoreListeners;
   private final String id;
   private transient HttpSession httpSession;
-  private boolean bound;
+  private volatile boolean bound;
   private boolean aboutUnbound;
   private transient ISessionShutdownAdapter shutdownAdapter;
 
@@ -54,7 +55,7 @@ public final class SessionStoreImpl
     ParamCheck.notNull( httpSession, "httpSession" );
     this.requestLock = new SerializableLock();
     this.lock = new SerializableLock();
-    this.attributes = new HashMap<String,Object>();
+    this.attributes = new ConcurrentHashMap<String,Object>();
     this.sessionStoreListeners = new HashSet<SessionStoreListener>();
     this.id = httpSession.getId();
     this.bound = true;
@@ -82,11 +83,8 @@ public final class SessionStoreImpl
 
   public Object getAttribute( String name ) {
     ParamCheck.notNull( name, "name" );
-    Object result = null;
-    synchronized( lock ) {
-      result = attributes.get( name );
-    }
-    return result;
+    // attributes are read without locking, they are looked up many times per request
+    return attributes.get( name );
   }
 
   public boolean setAttribute( String name, Object value ) {
@@ -96,8 +94,10 @@ public final class SessionStoreImpl
       if( bound ) {
         result = true;
         removeAttributeInternal( name );
-        attributes.put( name, value );
-        fireValueBound( name, value );
+        if( value != null ) {
+          attributes.put( name, value );
+          fireValueBound( name, value );
+        }
       }
     }
     return result;
@@ -137,9 +137,7 @@ public final class SessionStoreImpl
   }
 
   public boolean isBound() {
-    synchronized( lock ) {
-      return bound;
-    }
+    return bound;
   }
 
   public boolean addSessionStoreListener( SessionStoreListener listener ) {
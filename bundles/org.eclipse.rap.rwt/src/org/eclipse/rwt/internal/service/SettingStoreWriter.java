@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.service;
+
+import java.io.File;
+import java.util.*;
+
+import org.eclipse.rwt.service.SettingStoreException;
+
+
+/*
+ * Writes the queued changes of the journaling file setting stores of one application context in
+ * the background. The timer thread is started with the first change and stopped when the
+ * application context is deactivated.
+ */
+public final class SettingStoreWriter {
+
+  // Stores with queued changes, by their properties file
+  private final Map<File,JournalingFileSettingStore> dirtyStores;
+  private Timer timer;
+
+  public SettingStoreWriter() {
+    dirtyStores = new HashMap<File,JournalingFileSettingStore>();
+  }
+
+  // Writes the queued changes of all stores of this writer
+  public void flushAll() {
+    JournalingFileSettingStore[] stores;
+    synchronized( this ) {
+      Collection<JournalingFileSettingStore> values = dirtyStores.values();
+      stores = values.toArray( new JournalingFileSettingStore[ values.size() ] );
+    }
+    for( int i = 0; i < stores.length; i++ ) {
+      try {
+        stores[ i ].flush();
+      } catch( SettingStoreException sse ) {
+        ServletLog.log( sse.getMessage(), sse );
+      }
+    }
+  }
+
+  // Writes the queued changes of all stores and stops the timer thread
+  public void dispose() {
+    flushAll();
+    synchronized( this ) {
+      if( timer != null ) {
+        timer.cancel();
+        timer = null;
+      }
+    }
+  }
+
+  synchronized void schedule( File file, JournalingFileSettingStore store, long delay ) {
+    dirtyStores.put( file, store );
+    if( timer == null ) {
+      timer = new Timer( "RWT setting store writer", true );
+    }
+    timer.schedule( new FlushTask( store ), delay );
+  }
+
+  synchronized JournalingFileSettingStore getDirtyStore( File file ) {
+    return dirtyStores.get( file );
+  }
+
+  synchronized void removeDirtyStore( File file, JournalingFileSettingStore store ) {
+    if( dirtyStores.get( file ) == store ) {
+      dirtyStores.remove( file );
+    }
+  }
+
+  private static final class FlushTask extends TimerTask {
+    private final JournalingFileSettingStore store;
+
+    FlushTask( JournalingFileSettingStore store ) {
+      this.store = store;
+    }
+
+    @Override
+    public void run() {
+      try {
+        store.flush();
+      } catch( SettingStoreException sse ) {
+        ServletLog.log( sse.getMessage(), sse );
+      }
+    }
+  }
+}
@@ -52,6 +52,8 @@ final class StartupPageConfigurer {
   private static final String DISPLAY_TYPE = "rwt.Display";
   private static final String PROPERTY_FONTS = "fonts";
   private static final String METHOD_PROBE = "probe";
+  private static final String PROPERTY_STRINGS = "strings";
+  private static final String METHOD_MEASURE_STRINGS = "measureStrings";
   private static final String PROPERTY_URL = "url";
   private static final String PROPERTY_ROOT_ID = "rootId";
   private static final String METHOD_INIT = "init";
@@ -150,6 +152,12 @@ final class StartupPageConfigurer {
       args.put( PROPERTY_FONTS, startupTextSizeProbeObject );
       writer.appendCall( id, METHOD_PROBE, args );
     }
+    Object startupSamplesObject = MeasurementUtil.getStartupSamplesObject();
+    if( startupSamplesObject != null ) {
+      Map<String, Object> args = new HashMap<String, Object>();
+      args.put( PROPERTY_STRINGS, startupSamplesObject );
+      writer.appendCall( id, METHOD_MEASURE_STRINGS, args );
+    }
   }
 
   private static void appendInitDisplay( String id, ProtocolMessageWriter writer ) {
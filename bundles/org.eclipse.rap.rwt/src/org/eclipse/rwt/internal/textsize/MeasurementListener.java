@@ -58,8 +58,9 @@ public class MeasurementListener implements PhaseListener {
   }
 
   private void handleMeasurementResults() {
-    if( getMeasurementOperator().handleMeasurementResults() ) {
-      textSizeRecalculation.execute();
+    MeasurementOperator measurementOperator = getMeasurementOperator();
+    if( measurementOperator.handleMeasurementResults() ) {
+      textSizeRecalculation.execute( measurementOperator.getAffectedControls() );
     }
   }
 
@@ -23,6 +23,7 @@ import org.eclipse.rwt.internal.service.ContextProvider;
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.internal.SerializableCompatibility;
+import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
 
 class MeasurementOperator implements SerializableCompatibility {
@@ -34,7 +35,14 @@ class MeasurementOperator implements SerializableCompatibility {
 
   private final Set<Probe> probes;
   private final Set<MeasurementItem> items;
+  // texts measured to verify the calibration of the TextSizeCalculator, not used by layouts
+  private final Set<MeasurementItem> samples;
+  // the controls that were laid out with the estimated size of an item, null for unknown controls
+  private final Map<MeasurementItem,Set<Control>> itemOwners;
+  private final Set<Control> affectedControls;
   private boolean isStartupProbeMeasurementPerformed;
+  // incremented whenever measured sizes arrive, text sizes may differ from then on
+  private int measurementCount;
 
   static MeasurementOperator getInstance() {
     return SessionSingletonBase.getInstance( MeasurementOperator.class );
@@ -43,6 +51,9 @@ class MeasurementOperator implements SerializableCompatibility {
   MeasurementOperator() {
     probes = new HashSet<Probe>();
     items = new HashSet<MeasurementItem>();
+    samples = new HashSet<MeasurementItem>();
+    itemOwners = new HashMap<MeasurementItem,Set<Control>>();
+    affectedControls = new HashSet<Control>();
     addStartupProbesToBuffer();
   }
 
@@ -50,23 +61,30 @@ class MeasurementOperator implements SerializableCompatibility {
     if( hasProbesToMeasure() ) {
       renderFontProbing();
     }
-    if( hasItemsToMeasure() ) {
+    removeObsoleteItemOwners();
+    if( hasItemsToMeasure() || hasSamplesToMeasure() ) {
       renderStringMeasurements();
     }
   }
 
   boolean handleMeasurementResults() {
     readMeasuredFontProbeSizes();
+    readMeasuredSamples();
     return readMeasuredTextSizes();
   }
 
   void handleStartupProbeMeasurementResults() {
     if( !isStartupProbeMeasurementPerformed ) {
       readMeasuredFontProbeSizes();
+      readMeasuredSamples();
       isStartupProbeMeasurementPerformed = true;
     }
   }
 
+  int getMeasurementCount() {
+    return measurementCount;
+  }
+
   int getProbeCount() {
     return probes.size();
   }
@@ -77,6 +95,22 @@ class MeasurementOperator implements SerializableCompatibility {
       probe = RWTFactory.getProbeStore().createProbe( fontData );
     }
     probes.add( probe );
+    // the samples are measured along with the probe, before any text of the font is laid out
+    addSamplesToMeasure( fontData );
+  }
+
+  /*
+   * Adds the texts that verify the calibration of the TextSizeCalculator for the given font, if
+   * it has no verified calibration yet.
+   */
+  void addSamplesToMeasure( FontData fontData ) {
+    if( RWTFactory.getTextSizeCalculator().needsVerification( fontData ) ) {
+      samples.addAll( Arrays.asList( TextSizeCalculator.createSamples( fontData ) ) );
+    }
+  }
+
+  int getSampleCount() {
+    return samples.size();
   }
 
   Probe[] getProbes() {
@@ -85,16 +119,43 @@ class MeasurementOperator implements SerializableCompatibility {
 
   void addItemToMeasure( MeasurementItem newItem ) {
     items.add( newItem );
+    Set<Control> owners = itemOwners.get( newItem );
+    if( owners == null ) {
+      owners = new HashSet<Control>();
+      itemOwners.put( newItem, owners );
+    }
+    owners.add( TextSizeUtil.getLayoutOwner() );
+  }
+
+  /*
+   * Returns the controls that were laid out with the estimated sizes of the items measured in
+   * the current request, or null if any of these items was used outside of a layout.
+   */
+  Control[] getAffectedControls() {
+    Control[] result = null;
+    if( !affectedControls.contains( null ) ) {
+      result = affectedControls.toArray( new Control[ affectedControls.size() ] );
+    }
+    return result;
   }
 
   int getItemCount() {
     return items.size();
   }
 
+  Control[] getItemOwners( MeasurementItem item ) {
+    Set<Control> owners = itemOwners.get( item );
+    return owners == null ? new Control[ 0 ] : owners.toArray( new Control[ owners.size() ] );
+  }
+
   MeasurementItem[] getItems() {
     return items.toArray( new MeasurementItem[ items.size() ] );
   }
 
+  MeasurementItem[] getSamples() {
+    return samples.toArray( new MeasurementItem[ samples.size() ] );
+  }
+
   //////////////////
   // helping methods
 
@@ -110,39 +171,119 @@ class MeasurementOperator implements SerializableCompatibility {
       String name = String.valueOf( probe.getFontData().hashCode() );
       String value = request.getParameter( name );
       if( value != null ) {
-        createProbeResult( probe, value );
+        ProbeResult probeResult = createProbeResult( probe, value );
         probeList.remove();
+        addSamplesToVerify( probeResult );
       }
     }
   }
 
-  private void createProbeResult( Probe probe, String value ) {
+  private ProbeResult createProbeResult( Probe probe, String value ) {
     Point size = getSize( value );
-    ProbeResultStore.getInstance().createProbeResult( probe, size );
+    ProbeResult result = ProbeResultStore.getInstance().createProbeResult( probe, size );
+    measurementCount++;
+    return result;
+  }
+
+  // Probes measured by a client whose fonts render differently lead to a calibration of their own,
+  // its samples are measured with the next response
+  private void addSamplesToVerify( ProbeResult probeResult ) {
+    if( RWTFactory.getTextSizeCalculator().needsVerification( probeResult ) ) {
+      FontData fontData = probeResult.getProbe().getFontData();
+      samples.addAll( Arrays.asList( TextSizeCalculator.createSamples( fontData ) ) );
+    }
   }
 
   private void addStartupProbesToBuffer() {
     Probe[] probeList = RWTFactory.getProbeStore().getProbes();
     probes.addAll( Arrays.asList( probeList ) );
+    for( int i = 0; i < probeList.length; i++ ) {
+      addSamplesToMeasure( probeList[ i ].getFontData() );
+    }
+  }
+
+  /*
+   * Samples only verify the calibration of the TextSizeCalculator. No layout used their sizes,
+   * so they neither change the measurement count nor affect any control.
+   */
+  private void readMeasuredSamples() {
+    Iterator<MeasurementItem> sampleList = samples.iterator();
+    while( sampleList.hasNext() ) {
+      MeasurementItem sample = sampleList.next();
+      if( requestContainsMeasurementResult( sample ) ) {
+        storeTextMeasurement( sample );
+        sampleList.remove();
+      }
+    }
   }
 
   private boolean readMeasuredTextSizes() {
     int originalItemsSize = items.size();
+    affectedControls.clear();
     Iterator itemList = items.iterator();
     while( itemList.hasNext() ) {
       MeasurementItem item = ( MeasurementItem )itemList.next();
       if( requestContainsMeasurementResult( item ) ) {
         storeTextMeasurement( item );
+        measurementCount++;
         itemList.remove();
+        addAffectedControls( itemOwners.remove( item ) );
       }
     }
+    if( items.isEmpty() ) {
+      itemOwners.clear();
+    }
     return itemsHasBeenMeasured( originalItemsSize );
   }
 
+  /*
+   * Items stay pending until their measurement result arrives, which may never happen, e.g. after
+   * a client reload. Keeps only the owners of pending items that are not disposed, so that pending
+   * items do not hold on to disposed controls.
+   */
+  private void removeObsoleteItemOwners() {
+    Iterator<Map.Entry<MeasurementItem,Set<Control>>> entries = itemOwners.entrySet().iterator();
+    while( entries.hasNext() ) {
+      Map.Entry<MeasurementItem,Set<Control>> entry = entries.next();
+      if( items.contains( entry.getKey() ) ) {
+        removeDisposedControls( entry.getValue() );
+      } else {
+        entries.remove();
+      }
+    }
+  }
+
+  private static void removeDisposedControls( Set<Control> controls ) {
+    Iterator<Control> iterator = controls.iterator();
+    while( iterator.hasNext() ) {
+      Control control = iterator.next();
+      if( control != null && control.isDisposed() ) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private void addAffectedControls( Set<Control> owners ) {
+    // without known owners all controls are affected, as for items used outside of a layout
+    if( owners == null ) {
+      affectedControls.add( null );
+    } else {
+      for( Control owner : owners ) {
+        if( owner == null || !owner.isDisposed() ) {
+          affectedControls.add( owner );
+        }
+      }
+    }
+  }
+
   private boolean hasItemsToMeasure() {
     return !items.isEmpty();
   }
 
+  private boolean hasSamplesToMeasure() {
+    return !samples.isEmpty();
+  }
+
   private boolean itemsHasBeenMeasured( int originalItemsSize ) {
     return originalItemsSize != items.size();
   }
@@ -164,6 +305,7 @@ class MeasurementOperator implements SerializableCompatibility {
     String textToMeasure = item.getTextToMeasure();
     int wrapWidth = item.getWrapWidth();
     int mode = item.getMode();
+    TextSizeStorageUtil.compareWithCalculation( fontData, textToMeasure, wrapWidth, mode, size );
     TextSizeStorageUtil.store( fontData, textToMeasure, wrapWidth, mode, size );
   }
 
@@ -173,12 +315,14 @@ class MeasurementOperator implements SerializableCompatibility {
     return getSize( request.getParameter( name ) );
   }
 
-  private static void renderStringMeasurements() {
-    MeasurementItem[] items = MeasurementOperator.getInstance().getItems();
-    if( items.length > 0 ) {
-      Object[] itemsObject = new Object[ items.length ];
-      for( int i = 0; i < items.length; i++ ) {
-        itemsObject[ i ] = MeasurementUtil.createItemParamObject( items[ i ] );
+  private void renderStringMeasurements() {
+    Set<MeasurementItem> toMeasure = new LinkedHashSet<MeasurementItem>( items );
+    toMeasure.addAll( samples );
+    if( !toMeasure.isEmpty() ) {
+      Object[] itemsObject = new Object[ toMeasure.size() ];
+      int index = 0;
+      for( MeasurementItem item : toMeasure ) {
+        itemsObject[ index++ ] = MeasurementUtil.createItemParamObject( item );
       }
       callDisplayMethod( METHOD_MEASURE_STRINGS, PROPERTY_STRINGS, itemsObject );
     }
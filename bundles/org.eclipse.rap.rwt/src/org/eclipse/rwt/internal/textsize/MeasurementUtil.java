@@ -11,6 +11,9 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.textsize;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.rwt.internal.application.RWTFactory;
 import org.eclipse.rwt.internal.protocol.ProtocolUtil;
 import org.eclipse.swt.SWT;
@@ -33,6 +36,30 @@ public class MeasurementUtil {
     return result;
   }
 
+  /*
+   * Returns the texts that verify the calibration of the TextSizeCalculator for the startup probe
+   * fonts, or null if there are none. They are measured together with the startup probe.
+   */
+  public static Object getStartupSamplesObject() {
+    Object[] result = null;
+    List<Object> samples = new ArrayList<Object>();
+    TextSizeCalculator calculator = RWTFactory.getTextSizeCalculator();
+    Probe[] probeList = RWTFactory.getProbeStore().getProbes();
+    for( int i = 0; i < probeList.length; i++ ) {
+      FontData fontData = probeList[ i ].getFontData();
+      if( calculator.needsVerification( fontData ) ) {
+        MeasurementItem[] fontSamples = TextSizeCalculator.createSamples( fontData );
+        for( int j = 0; j < fontSamples.length; j++ ) {
+          samples.add( createItemParamObject( fontSamples[ j ] ) );
+        }
+      }
+    }
+    if( !samples.isEmpty() ) {
+      result = samples.toArray();
+    }
+    return result;
+  }
+
   static Object createItemParamObject( MeasurementItem item ) {
     Object[] result = new Object[ 8 ];
     result[ 0 ] = Integer.valueOf( item.hashCode() );
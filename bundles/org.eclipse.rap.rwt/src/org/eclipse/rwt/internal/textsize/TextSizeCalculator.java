@@ -0,0 +1,463 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.textsize;
+
+import java.awt.GraphicsEnvironment;
+import java.awt.font.FontRenderContext;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.rwt.internal.resources.SystemProps;
+import org.eclipse.rwt.internal.service.ServletLog;
+import org.eclipse.rwt.internal.util.EncodingUtil;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+
+
+/*
+ * Calculates text sizes on the server from the font files installed on the server, using the
+ * headless AWT font API. The widths calculated by AWT are calibrated once per font against the
+ * probe text that was measured by the client. Fonts that are not installed on the server, or
+ * whose calibrated widths deviate too much from the client measurement, are left to the client.
+ *
+ * A calibration is verified with a fixed set of sample texts that the client measures together
+ * with the font probe, or with the next response if the probe was measured before (see
+ * MeasurementOperator). Verification samples are not used by layouts, their results neither
+ * cause a TextSizeRecalculation nor a measurement round trip of their own. Until the calibration
+ * of a font is trusted, texts of that font are estimated and measured by the client as without
+ * the calculator. Afterwards their sizes are calculated and never measured by the client.
+ *
+ * Enabled with the system property org.eclipse.rap.calculateTextSizes.
+ */
+public final class TextSizeCalculator {
+
+  // Calibration factors outside of this range indicate that the server uses a different font
+  // than the client
+  private static final float MIN_WIDTH_FACTOR = 0.9f;
+  private static final float MAX_WIDTH_FACTOR = 1.1f;
+  // Texts measured by the client to verify the calibration of a font, single lines and texts
+  // wrapped at the given width
+  private static final String[] SAMPLE_STRINGS = {
+    "OK",
+    "Cancel",
+    "File",
+    "Window",
+    "Properties...",
+    "Name:",
+    "0123456789",
+    "WMW iIl1 ;:,.!?",
+    "Open Perspective",
+    "The quick brown fox jumps over the lazy dog"
+  };
+  private static final String[] SAMPLE_TEXTS = {
+    "The quick brown fox jumps over the lazy dog",
+    "Lorem ipsum dolor sit amet, consectetur adipisici elit"
+  };
+  private static final int SAMPLE_WRAP_WIDTH = 100;
+  // A calibration is trusted after this many client measurements of calculated sizes ...
+  static final int MIN_VERIFICATIONS = SAMPLE_STRINGS.length + SAMPLE_TEXTS.length;
+  // ... if their average deviation (width plus height) is at most this many pixels
+  static final float MAX_TRUSTED_DEVIATION = 0.5f;
+
+  private static final Calibration UNSUPPORTED = new Calibration( null, null, 0, 0 );
+  private static final Map<String,String> GENERIC_FAMILIES = createGenericFamilies();
+
+  private final boolean enabled;
+  private final FontRenderContext fontRenderContext;
+  private final ConcurrentMap<CalibrationKey,Calibration> calibrations;
+  private final AtomicLong comparisonCount;
+  private final AtomicLong exactMatchCount;
+  private final AtomicLong widthDeviation;
+  private final AtomicLong heightDeviation;
+  private volatile Set<String> installedFamilies;
+
+  public TextSizeCalculator() {
+    this( SystemProps.calculateTextSizes() );
+  }
+
+  TextSizeCalculator( boolean enabled ) {
+    this.enabled = enabled;
+    fontRenderContext = new FontRenderContext( null, true, true );
+    calibrations = new ConcurrentHashMap<CalibrationKey,Calibration>();
+    comparisonCount = new AtomicLong();
+    exactMatchCount = new AtomicLong();
+    widthDeviation = new AtomicLong();
+    heightDeviation = new AtomicLong();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /*
+   * Returns the calculated size or null if the size cannot be calculated on the server.
+   */
+  Point calculate( ProbeResult probeResult, String string, int wrapWidth, int mode ) {
+    Point result = null;
+    Calibration calibration = getCalibration( probeResult );
+    if( calibration != UNSUPPORTED ) {
+      switch( mode ) {
+        case TextSizeUtil.STRING_EXTENT: {
+          result = new Point( calibration.getWidth( string ), calibration.lineHeight );
+        }
+        break;
+        case TextSizeUtil.TEXT_EXTENT: {
+          result = calculateTextExtent( calibration, string, wrapWidth );
+        }
+        break;
+        default: {
+          // markup may change fonts and sizes, leave it to the client
+        }
+        break;
+      }
+    }
+    return result;
+  }
+
+  /*
+   * Returns whether sizes calculated for the font of the given probe result can be used without
+   * a client measurement.
+   */
+  boolean isTrusted( ProbeResult probeResult ) {
+    return enabled && getCalibration( probeResult ).isTrusted();
+  }
+
+  /*
+   * Returns whether the calibration for the given probe result still waits for verification.
+   */
+  boolean needsVerification( ProbeResult probeResult ) {
+    return enabled && getCalibration( probeResult ).needsVerification();
+  }
+
+  /*
+   * Returns whether the given font is installed on the server and has no verified calibration
+   * yet. Used before the font is probed, when its calibration is not known.
+   */
+  boolean needsVerification( FontData fontData ) {
+    boolean result = enabled && findInstalledFamily( fontData.getName() ) != null;
+    Iterator<Map.Entry<CalibrationKey,Calibration>> iterator = calibrations.entrySet().iterator();
+    while( result && iterator.hasNext() ) {
+      Map.Entry<CalibrationKey,Calibration> entry = iterator.next();
+      if( entry.getKey().fontData.equals( fontData ) ) {
+        result = entry.getValue().needsVerification();
+      }
+    }
+    return result;
+  }
+
+  /*
+   * Returns the texts the client measures to verify the calibration of the given font.
+   */
+  static MeasurementItem[] createSamples( FontData fontData ) {
+    int stringCount = SAMPLE_STRINGS.length;
+    MeasurementItem[] result = new MeasurementItem[ stringCount + SAMPLE_TEXTS.length ];
+    for( int i = 0; i < stringCount; i++ ) {
+      int mode = TextSizeUtil.STRING_EXTENT;
+      result[ i ] = new MeasurementItem( SAMPLE_STRINGS[ i ], fontData, SWT.DEFAULT, mode );
+    }
+    for( int i = 0; i < SAMPLE_TEXTS.length; i++ ) {
+      int mode = TextSizeUtil.TEXT_EXTENT;
+      result[ stringCount + i ]
+        = new MeasurementItem( SAMPLE_TEXTS[ i ], fontData, SAMPLE_WRAP_WIDTH, mode );
+    }
+    return result;
+  }
+
+  /*
+   * Compares the size measured by the client with the calculated size to track the accuracy
+   * of the calculation, for all fonts and for the calibration of the font.
+   */
+  void compare( ProbeResult probeResult, String string, int wrapWidth, int mode, Point size ) {
+    Point calculated = calculate( probeResult, string, wrapWidth, mode );
+    if( calculated != null ) {
+      int width = Math.abs( calculated.x - size.x );
+      int height = Math.abs( calculated.y - size.y );
+      comparisonCount.incrementAndGet();
+      if( width == 0 && height == 0 ) {
+        exactMatchCount.incrementAndGet();
+      }
+      widthDeviation.addAndGet( width );
+      heightDeviation.addAndGet( height );
+      Calibration calibration = getCalibration( probeResult );
+      if( calibration.addVerification( width + height ) ) {
+        logVerification( probeResult, calibration );
+      }
+    }
+  }
+
+  public long getComparisonCount() {
+    return comparisonCount.get();
+  }
+
+  public long getExactMatchCount() {
+    return exactMatchCount.get();
+  }
+
+  // Average absolute deviation of the calculated widths from the client measurements in pixels
+  public float getAverageWidthDeviation() {
+    return getAverage( widthDeviation.get() );
+  }
+
+  // Average absolute deviation of the calculated heights from the client measurements in pixels
+  public float getAverageHeightDeviation() {
+    return getAverage( heightDeviation.get() );
+  }
+
+  // Number of fonts whose calculated sizes are used without client measurement
+  public int getTrustedFontCount() {
+    int result = 0;
+    for( Calibration calibration : calibrations.values() ) {
+      if( calibration.isTrusted() ) {
+        result++;
+      }
+    }
+    return result;
+  }
+
+  // Number of fonts whose calculated sizes deviated too much from the client measurements
+  public int getRejectedFontCount() {
+    int result = 0;
+    for( Calibration calibration : calibrations.values() ) {
+      if( calibration.isRejected() ) {
+        result++;
+      }
+    }
+    return result;
+  }
+
+  //////////////////
+  // helping methods
+
+  private Point calculateTextExtent( Calibration calibration, String string, int wrapWidth ) {
+    int lineCount = 0;
+    int maxWidth = 0;
+    String[] lines = EncodingUtil.splitNewLines( string );
+    for( int i = 0; i < lines.length; i++ ) {
+      if( wrapWidth > 0 ) {
+        List<String> wrappedLines = wrap( calibration, lines[ i ], wrapWidth );
+        for( String wrappedLine : wrappedLines ) {
+          maxWidth = Math.max( maxWidth, calibration.getWidth( wrappedLine ) );
+        }
+        lineCount += wrappedLines.size();
+      } else {
+        maxWidth = Math.max( maxWidth, calibration.getWidth( lines[ i ] ) );
+        lineCount++;
+      }
+    }
+    return new Point( maxWidth, calibration.lineHeight * Math.max( lineCount, 1 ) );
+  }
+
+  // Breaks lines at spaces like the browser does, words that are too long are not broken
+  private static List<String> wrap( Calibration calibration, String line, int wrapWidth ) {
+    List<String> result = new ArrayList<String>();
+    int start = 0;
+    int end = nextWordEnd( line, start );
+    while( end < line.length() ) {
+      int nextEnd = nextWordEnd( line, end + 1 );
+      if( calibration.getWidth( line.substring( start, nextEnd ) ) > wrapWidth ) {
+        result.add( line.substring( start, end ) );
+        start = end + 1;
+      }
+      end = nextEnd;
+    }
+    result.add( line.substring( start ) );
+    return result;
+  }
+
+  private static int nextWordEnd( String line, int start ) {
+    int result = line.indexOf( ' ', start );
+    return result == -1 ? line.length() : result;
+  }
+
+  private Calibration getCalibration( ProbeResult probeResult ) {
+    CalibrationKey key = new CalibrationKey( probeResult );
+    Calibration result = calibrations.get( key );
+    if( result == null ) {
+      result = calibrate( probeResult );
+      calibrations.putIfAbsent( key, result );
+    }
+    return result;
+  }
+
+  private Calibration calibrate( ProbeResult probeResult ) {
+    Calibration result = UNSUPPORTED;
+    FontData fontData = probeResult.getProbe().getFontData();
+    java.awt.Font font = createFont( fontData );
+    if( font != null ) {
+      String probeText = probeResult.getProbe().getText();
+      double width = font.getStringBounds( probeText, fontRenderContext ).getWidth();
+      float widthFactor = ( float )( probeResult.getSize().x / width );
+      if( widthFactor >= MIN_WIDTH_FACTOR && widthFactor <= MAX_WIDTH_FACTOR ) {
+        int lineHeight = probeResult.getSize().y;
+        result = new Calibration( font, fontRenderContext, widthFactor, lineHeight );
+      }
+    }
+    return result;
+  }
+
+  private java.awt.Font createFont( FontData fontData ) {
+    java.awt.Font result = null;
+    String family = findInstalledFamily( fontData.getName() );
+    if( family != null ) {
+      int style = java.awt.Font.PLAIN;
+      if( ( fontData.getStyle() & SWT.BOLD ) != 0 ) {
+        style |= java.awt.Font.BOLD;
+      }
+      if( ( fontData.getStyle() & SWT.ITALIC ) != 0 ) {
+        style |= java.awt.Font.ITALIC;
+      }
+      // font heights are pixels in RWT
+      result = new java.awt.Font( family, style, 1 ).deriveFont( ( float )fontData.getHeight() );
+    }
+    return result;
+  }
+
+  // The name of a FontData is a CSS font family list, the first installed family is used
+  private String findInstalledFamily( String fontFamilyList ) {
+    String result = null;
+    String[] families = fontFamilyList.split( "," );
+    for( int i = 0; result == null && i < families.length; i++ ) {
+      String family = families[ i ].replace( '"', ' ' ).replace( '\'', ' ' ).trim();
+      String genericFamily = GENERIC_FAMILIES.get( family.toLowerCase( Locale.ENGLISH ) );
+      if( genericFamily != null ) {
+        result = genericFamily;
+      } else if( getInstalledFamilies().contains( family.toLowerCase( Locale.ENGLISH ) ) ) {
+        result = family;
+      }
+    }
+    return result;
+  }
+
+  private Set<String> getInstalledFamilies() {
+    if( installedFamilies == null ) {
+      Set<String> families = new HashSet<String>();
+      try {
+        GraphicsEnvironment environment = GraphicsEnvironment.getLocalGraphicsEnvironment();
+        String[] names = environment.getAvailableFontFamilyNames( Locale.ENGLISH );
+        for( int i = 0; i < names.length; i++ ) {
+          families.add( names[ i ].toLowerCase( Locale.ENGLISH ) );
+        }
+      } catch( Error error ) {
+        // no font configuration available on this server, leave all fonts to the client
+      }
+      installedFamilies = families;
+    }
+    return installedFamilies;
+  }
+
+  private static void logVerification( ProbeResult probeResult, Calibration calibration ) {
+    String result = calibration.isTrusted() ? "trusted" : "rejected";
+    String message = "Text size calculation " + result + " for "
+                   + probeResult.getProbe().getFontData()
+                   + ", average deviation from client measurements: "
+                   + calibration.getAverageDeviation() + "px";
+    ServletLog.log( message, null );
+  }
+
+  private float getAverage( long deviation ) {
+    long count = comparisonCount.get();
+    return count == 0 ? 0 : ( float )deviation / count;
+  }
+
+  private static Map<String,String> createGenericFamilies() {
+    Map<String,String> result = new HashMap<String,String>();
+    result.put( "sans-serif", java.awt.Font.SANS_SERIF );
+    result.put( "serif", java.awt.Font.SERIF );
+    result.put( "monospace", java.awt.Font.MONOSPACED );
+    return result;
+  }
+
+  private static final class Calibration {
+    private final java.awt.Font font;
+    private final FontRenderContext fontRenderContext;
+    private final float widthFactor;
+    private final AtomicLong verificationCount;
+    private final AtomicLong deviation;
+    final int lineHeight;
+
+    Calibration( java.awt.Font font,
+                 FontRenderContext fontRenderContext,
+                 float widthFactor,
+                 int lineHeight )
+    {
+      this.font = font;
+      this.fontRenderContext = fontRenderContext;
+      this.widthFactor = widthFactor;
+      this.lineHeight = lineHeight;
+      verificationCount = new AtomicLong();
+      deviation = new AtomicLong();
+    }
+
+    boolean needsVerification() {
+      return font != null && verificationCount.get() < MIN_VERIFICATIONS;
+    }
+
+    boolean isTrusted() {
+      return    font != null
+             && verificationCount.get() >= MIN_VERIFICATIONS
+             && getAverageDeviation() <= MAX_TRUSTED_DEVIATION;
+    }
+
+    boolean isRejected() {
+      return    font != null
+             && verificationCount.get() >= MIN_VERIFICATIONS
+             && getAverageDeviation() > MAX_TRUSTED_DEVIATION;
+    }
+
+    float getAverageDeviation() {
+      long count = verificationCount.get();
+      return count == 0 ? 0 : ( float )deviation.get() / count;
+    }
+
+    // Returns true if this verification completed the calibration
+    boolean addVerification( int pixels ) {
+      deviation.addAndGet( pixels );
+      return verificationCount.incrementAndGet() == MIN_VERIFICATIONS;
+    }
+
+    int getWidth( String string ) {
+      int result = 0;
+      if( string.length() > 0 ) {
+        double width = font.getStringBounds( string, fontRenderContext ).getWidth();
+        result = ( int )Math.ceil( width * widthFactor );
+      }
+      return result;
+    }
+  }
+
+  private static final class CalibrationKey {
+    private final FontData fontData;
+    private final Point probeSize;
+
+    CalibrationKey( ProbeResult probeResult ) {
+      fontData = probeResult.getProbe().getFontData();
+      probeSize = probeResult.getSize();
+    }
+
+    @Override
+    public boolean equals( Object object ) {
+      boolean result = false;
+      if( object instanceof CalibrationKey ) {
+        CalibrationKey other = ( CalibrationKey )object;
+        result = fontData.equals( other.fontData ) && probeSize.equals( other.probeSize );
+      }
+      return result;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * fontData.hashCode() + probeSize.hashCode();
+    }
+  }
+}
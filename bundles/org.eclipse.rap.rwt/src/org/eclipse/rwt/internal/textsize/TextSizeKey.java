@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.textsize;
+
+import java.io.Serializable;
+
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+
+
+/*
+ * Identifies a measured text size. Keys compare all of their components, hence two different
+ * strings can never share a stored size even if their hash codes collide.
+ */
+final class TextSizeKey implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String probeText;
+  private final Point probeSize;
+  private final FontData fontData;
+  private final String string;
+  private final int wrapWidth;
+  private final int mode;
+  private final int hashCode;
+
+  TextSizeKey( String probeText,
+               Point probeSize,
+               FontData fontData,
+               String string,
+               int wrapWidth,
+               int mode )
+  {
+    this.probeText = probeText;
+    this.probeSize = new Point( probeSize.x, probeSize.y );
+    this.fontData = fontData;
+    this.string = string;
+    this.wrapWidth = wrapWidth;
+    this.mode = mode;
+    hashCode = computeHashCode();
+  }
+
+  String getProbeText() {
+    return probeText;
+  }
+
+  Point getProbeSize() {
+    return new Point( probeSize.x, probeSize.y );
+  }
+
+  FontData getFontData() {
+    return fontData;
+  }
+
+  String getString() {
+    return string;
+  }
+
+  int getWrapWidth() {
+    return wrapWidth;
+  }
+
+  int getMode() {
+    return mode;
+  }
+
+  @Override
+  public boolean equals( Object object ) {
+    boolean result = object == this;
+    if( !result && object instanceof TextSizeKey ) {
+      TextSizeKey other = ( TextSizeKey )object;
+      result =    hashCode == other.hashCode
+               && wrapWidth == other.wrapWidth
+               && mode == other.mode
+               && string.equals( other.string )
+               && fontData.equals( other.fontData )
+               && probeSize.equals( other.probeSize )
+               && probeText.equals( other.probeText );
+    }
+    return result;
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  private int computeHashCode() {
+    int result = 1;
+    result = 31 * result + probeText.hashCode();
+    result = 31 * result + probeSize.hashCode();
+    result = 31 * result + fontData.hashCode();
+    result = 31 * result + string.hashCode();
+    result = 31 * result + wrapWidth;
+    result = 31 * result + mode;
+    return result;
+  }
+}
@@ -11,13 +11,15 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.textsize;
 
+import java.util.*;
+
 import org.eclipse.rwt.internal.lifecycle.LifeCycleUtil;
 import org.eclipse.rwt.internal.service.ContextProvider;
 import org.eclipse.rwt.service.IServiceStore;
+import org.eclipse.swt.custom.ScrolledComposite;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.widgets.*;
-import org.eclipse.swt.widgets.Display;
-import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.*;
 
 
 class TextSizeRecalculation {
@@ -27,12 +29,112 @@ class TextSizeRecalculation {
   static final int RESIZE_OFFSET = 1000;
 
   void execute() {
+    markAllWidgetsDirty();
     Shell[] shells = getShells();
     for( int i = 0; i < shells.length; i++ ) {
       forceShellRecalculations( shells[ i ] );
     }
   }
 
+  /*
+   * Lays out only the given controls, which were laid out with estimated text sizes, together
+   * with their ancestors. Controls inside of a scrolled composite depend on the content size set
+   * by the application, therefore all shells are recalculated in this case as well as for
+   * unknown (null) controls.
+   */
+  void execute( Control[] affectedControls ) {
+    if( affectedControls == null || isInScrolledComposite( affectedControls ) ) {
+      execute();
+    } else {
+      Map<Shell,Set<Control>> changedControls = new LinkedHashMap<Shell,Set<Control>>();
+      Map<Shell,Set<Control>> packCandidates = new LinkedHashMap<Shell,Set<Control>>();
+      for( int i = 0; i < affectedControls.length; i++ ) {
+        Control control = affectedControls[ i ];
+        if( !control.isDisposed() ) {
+          Shell shell = control.getShell();
+          addChangedControls( getControls( changedControls, shell ), control );
+          addPackCandidates( getControls( packCandidates, shell ), control );
+        }
+      }
+      for( Shell shell : packCandidates.keySet() ) {
+        Set<Control> changed = changedControls.get( shell );
+        recalculateControls( shell, changed, packCandidates.get( shell ) );
+      }
+    }
+  }
+
+  private void recalculateControls( Shell shell,
+                                    Set<Control> changed,
+                                    Set<Control> packCandidates )
+  {
+    Control[] changedArray = changed.toArray( new Control[ changed.size() ] );
+    shell.changed( changedArray );
+    for( Control control : packCandidates ) {
+      rePack( control );
+    }
+    shell.layout( changedArray );
+  }
+
+  private static void addChangedControls( Set<Control> changed, Control control ) {
+    if( control instanceof Composite ) {
+      // estimated sizes recorded for a composite were used by its layout
+      for( Control child : ( ( Composite )control ).getChildren() ) {
+        changed.add( child );
+      }
+    } else {
+      changed.add( control );
+    }
+  }
+
+  // Ancestors are added before their children to repack in the same order as RePackVisitor
+  private static void addPackCandidates( Set<Control> packCandidates, Control control ) {
+    LinkedList<Control> path = new LinkedList<Control>();
+    Control current = control;
+    while( current != null ) {
+      path.addFirst( current );
+      current = current instanceof Shell ? null : current.getParent();
+    }
+    packCandidates.addAll( path );
+    if( control instanceof Composite ) {
+      packCandidates.addAll( Arrays.asList( ( ( Composite )control ).getChildren() ) );
+    }
+  }
+
+  private static void rePack( Control control ) {
+    RePackVisitor visitor = new RePackVisitor();
+    visitor.doVisit( control );
+    if( control instanceof Table ) {
+      for( TableColumn column : ( ( Table )control ).getColumns() ) {
+        visitor.doVisit( column );
+      }
+    } else if( control instanceof Tree ) {
+      for( TreeColumn column : ( ( Tree )control ).getColumns() ) {
+        visitor.doVisit( column );
+      }
+    }
+  }
+
+  private static boolean isInScrolledComposite( Control[] controls ) {
+    boolean result = false;
+    for( int i = 0; !result && i < controls.length; i++ ) {
+      Control current = controls[ i ];
+      while( !result && current != null && !current.isDisposed() ) {
+        result = current instanceof ScrolledComposite;
+        current = current.getParent();
+      }
+    }
+    return result;
+  }
+
+  private static Set<Control> getControls( Map<Shell,Set<Control>> controls, Shell shell ) {
+    Set<Control> result = controls.get( shell );
+    if( result == null ) {
+      result = new LinkedHashSet<Control>();
+      controls.put( shell, result );
+    }
+    return result;
+  }
+
   private void forceShellRecalculations( Shell shell ) {
     boolean isPacked = ControlUtil.getControlAdapter( shell ).isPacked();
     Rectangle boundsBuffer = shell.getBounds();
@@ -90,6 +192,14 @@ class TextSizeRecalculation {
     setShellSize( shell, new Rectangle( xPos, yPos, width, height ) );
   }
 
+  private void markAllWidgetsDirty() {
+    // shells are resized through adapters which bypass the dirty tracking of widgets
+    DirtyWidgetTracker tracker = DirtyWidgetTracker.getTracker( getDisplay() );
+    if( tracker != null ) {
+      tracker.markAllDirty();
+    }
+  }
+
   private Shell[] getShells() {
     return getShells( getDisplay() );
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2011 Innoopract Informationssysteme GmbH.
+ * Copyright (c) 2007, 2012 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,11 +11,14 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.textsize;
 
-import java.io.Serializable;
-import java.math.BigDecimal;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.*;
 
+import org.eclipse.rwt.internal.resources.SystemProps;
+import org.eclipse.rwt.internal.service.ServletLog;
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.Point;
 
@@ -24,40 +27,75 @@ public final class TextSizeStorage {
   public static final int MIN_STORE_SIZE = 1000;
   public static final int DEFAULT_STORE_SIZE = 10000;
 
+  private static final int SNAPSHOT_VERSION = 1;
+  // strings are written with writeUTF, which encodes a char with at most three bytes
+  private static final int MAX_SNAPSHOT_STRING_LENGTH = 65535 / 3;
+
+  // Entries are spread over segments with separate locks. Each segment evicts its least recently
+  // used entries, hence the least recently used entries of the whole store are evicted first
+  // as long as keys are evenly distributed.
+  private static final int SEGMENT_COUNT = 16;
+
   private final Object lock;
   // access is guarded by 'lock'
   private final Set<FontData> fontDatas;
-  // access is guarded by 'lock'
-  private final Map<Integer,Entry> data;
-  private int maximumStoreSize;
-  private int clearRange;
-  private long clock;
+  private final Segment[] segments;
+  // sizes calculated on the server, kept apart from the measured sizes and never saved
+  private final Segment[] calculatedSegments;
+  private volatile int maximumStoreSize;
 
 
-  private static class Entry {
-    private Point point;
-    private long timeStamp;
-  }
-  
-  private static class EntryComparator implements Comparator<Entry>, Serializable {
+  private static class Segment {
+    // access is guarded by the segment itself
+    private final LinkedHashMap<Object,Point> entries;
+    private int capacity;
+
+    Segment() {
+      entries = new LinkedHashMap<Object,Point>( 16, 0.75f, true );
+    }
+
+    synchronized Point get( Object key ) {
+      return entries.get( key );
+    }
+
+    synchronized void put( Object key, Point point ) {
+      entries.put( key, point );
+      evict();
+    }
+
+    synchronized void remove( Object key ) {
+      entries.remove( key );
+    }
+
+    synchronized void setCapacity( int capacity ) {
+      this.capacity = capacity;
+      evict();
+    }
+
+    synchronized int size() {
+      return entries.size();
+    }
+
+    synchronized void copyTo( Map<Object,Point> map ) {
+      map.putAll( entries );
+    }
 
-    public int compare( Entry entry1, Entry entry2 ) {
-      int result = 0;
-      if( entry1.timeStamp > entry2.timeStamp ) {
-        result = 1;
-      } else if( entry1.timeStamp < entry2.timeStamp ) {
-        result = -1;
+    private void evict() {
+      Iterator<Object> iterator = entries.keySet().iterator();
+      while( entries.size() > capacity ) {
+        iterator.next();
+        iterator.remove();
       }
-      return result;
     }
   }
 
 
   public TextSizeStorage() {
     lock = new Object();
-    data = new HashMap<Integer,Entry>();
     fontDatas = new HashSet<FontData>();
-    setMaximumStoreSize( DEFAULT_STORE_SIZE );
+    segments = createSegments();
+    calculatedSegments = createSegments();
+    setMaximumStoreSize( getConfiguredStoreSize() );
   }
 
   FontData[] getFontList() {
@@ -75,27 +113,30 @@ public final class TextSizeStorage {
     }
   }
 
-  Point lookupTextSize( Integer key ) {
-    Point result = null;
-    synchronized( lock ) {
-      Entry entry = data.get( key );
-      if( entry != null ) {
-        updateTimestamp( entry );
-        result = entry.point;
-      }
-    }
-    result = defensiveCopy( result );
-    return result;
+  Point lookupTextSize( Object key ) {
+    return defensiveCopy( getSegment( segments, key ).get( key ) );
   }
 
-  void storeTextSize( Integer key, Point size ) {
-    Entry entry = new Entry();
-    entry.point = defensiveCopy( size );
-    updateTimestamp( entry );
-    synchronized( lock ) {
-      data.put( key, entry );
-      handleOverFlow();
+  void storeTextSize( Object key, Point size ) {
+    getSegment( segments, key ).put( key, defensiveCopy( size ) );
+    // the measured size replaces a calculated one
+    getSegment( calculatedSegments, key ).remove( key );
+  }
+
+  Point lookupCalculatedTextSize( Object key ) {
+    return defensiveCopy( getSegment( calculatedSegments, key ).get( key ) );
+  }
+
+  void storeCalculatedTextSize( Object key, Point size ) {
+    getSegment( calculatedSegments, key ).put( key, defensiveCopy( size ) );
+  }
+
+  int getSize() {
+    int result = 0;
+    for( int i = 0; i < segments.length; i++ ) {
+      result += segments[ i ].size();
     }
+    return result;
   }
 
   ////////////////////
@@ -103,34 +144,144 @@ public final class TextSizeStorage {
 
   void setMaximumStoreSize( int maximumStoreSize ) {
     checkLowerStoreSizeBoundary( maximumStoreSize );
-    calculateClearRange( maximumStoreSize );
     this.maximumStoreSize = maximumStoreSize;
+    int segmentCapacity = maximumStoreSize / SEGMENT_COUNT;
+    for( int i = 0; i < segments.length; i++ ) {
+      segments[ i ].setCapacity( segmentCapacity );
+      calculatedSegments[ i ].setCapacity( segmentCapacity );
+    }
   }
 
   int getMaximumStoreSize() {
     return maximumStoreSize;
   }
 
-  private void handleOverFlow() {
-    if( data.size() >= maximumStoreSize ) {
-      Entry[] entries = sortEntries();
-      for( int i = 0; i < clearRange; i++ ) {
-        data.values().remove( entries[ i ] );
+  ///////////
+  // snapshot
+
+  // The snapshot file is shared between the nodes of a cluster, hence it holds plain data only and
+  // is not read with Java deserialization
+  void writeSnapshot( DataOutputStream stream ) throws IOException {
+    List<TextSizeKey> keys = new ArrayList<TextSizeKey>();
+    List<Point> sizes = new ArrayList<Point>();
+    Map<Object,Point> entries = new LinkedHashMap<Object,Point>();
+    for( int i = 0; i < segments.length; i++ ) {
+      segments[ i ].copyTo( entries );
+    }
+    for( Map.Entry<Object,Point> entry : entries.entrySet() ) {
+      if( isSnapshotKey( entry.getKey() ) ) {
+        keys.add( ( TextSizeKey )entry.getKey() );
+        sizes.add( entry.getValue() );
       }
     }
+    FontData[] fontList = getFontList();
+    stream.writeInt( SNAPSHOT_VERSION );
+    stream.writeInt( fontList.length );
+    for( int i = 0; i < fontList.length; i++ ) {
+      writeFontData( stream, fontList[ i ] );
+    }
+    stream.writeInt( keys.size() );
+    for( int i = 0; i < keys.size(); i++ ) {
+      TextSizeKey key = keys.get( i );
+      stream.writeUTF( key.getProbeText() );
+      writePoint( stream, key.getProbeSize() );
+      writeFontData( stream, key.getFontData() );
+      stream.writeUTF( key.getString() );
+      stream.writeInt( key.getWrapWidth() );
+      stream.writeInt( key.getMode() );
+      writePoint( stream, sizes.get( i ) );
+    }
   }
 
-  private Entry[] sortEntries() {
-    Entry[] result = new Entry[ data.size() ];
-    data.values().toArray( result );
-    Arrays.sort( result, new EntryComparator() );
+  void readSnapshot( DataInputStream stream ) throws IOException {
+    if( stream.readInt() != SNAPSHOT_VERSION ) {
+      throw new IOException( "Unsupported text size snapshot version" );
+    }
+    try {
+      int fontCount = readCount( stream );
+      for( int i = 0; i < fontCount; i++ ) {
+        storeFont( readFontData( stream ) );
+      }
+      int size = readCount( stream );
+      for( int i = 0; i < size; i++ ) {
+        String probeText = stream.readUTF();
+        Point probeSize = readPoint( stream );
+        FontData fontData = readFontData( stream );
+        String string = stream.readUTF();
+        int wrapWidth = stream.readInt();
+        int mode = stream.readInt();
+        Point textSize = readPoint( stream );
+        TextSizeKey key = new TextSizeKey( probeText, probeSize, fontData, string, wrapWidth, mode );
+        storeTextSize( key, textSize );
+      }
+    } catch( IllegalArgumentException iae ) {
+      // invalid font data
+      throw new IOException( "Invalid text size snapshot: " + iae.getMessage() );
+    }
+  }
+
+  private static boolean isSnapshotKey( Object key ) {
+    boolean result = false;
+    if( key instanceof TextSizeKey ) {
+      TextSizeKey textSizeKey = ( TextSizeKey )key;
+      result =    textSizeKey.getString().length() <= MAX_SNAPSHOT_STRING_LENGTH
+               && textSizeKey.getProbeText().length() <= MAX_SNAPSHOT_STRING_LENGTH;
+    }
     return result;
   }
 
+  private static int readCount( DataInputStream stream ) throws IOException {
+    int result = stream.readInt();
+    if( result < 0 ) {
+      throw new IOException( "Invalid text size snapshot: negative count" );
+    }
+    return result;
+  }
+
+  private static void writeFontData( DataOutputStream stream, FontData fontData )
+    throws IOException
+  {
+    stream.writeUTF( fontData.getName() );
+    stream.writeInt( fontData.getHeight() );
+    stream.writeInt( fontData.getStyle() );
+  }
+
+  private static FontData readFontData( DataInputStream stream ) throws IOException {
+    String name = stream.readUTF();
+    int height = stream.readInt();
+    int style = stream.readInt();
+    return new FontData( name, height, style );
+  }
+
+  private static void writePoint( DataOutputStream stream, Point point ) throws IOException {
+    stream.writeInt( point.x );
+    stream.writeInt( point.y );
+  }
+
+  private static Point readPoint( DataInputStream stream ) throws IOException {
+    int x = stream.readInt();
+    int y = stream.readInt();
+    return new Point( x, y );
+  }
 
   //////////////////
   // helping methods
 
+  private static Segment[] createSegments() {
+    Segment[] result = new Segment[ SEGMENT_COUNT ];
+    for( int i = 0; i < result.length; i++ ) {
+      result[ i ] = new Segment();
+    }
+    return result;
+  }
+
+  private static Segment getSegment( Segment[] segments, Object key ) {
+    int hashCode = key.hashCode();
+    hashCode ^= ( hashCode >>> 20 ) ^ ( hashCode >>> 12 );
+    hashCode ^= ( hashCode >>> 7 ) ^ ( hashCode >>> 4 );
+    return segments[ hashCode & ( SEGMENT_COUNT - 1 ) ];
+  }
+
   private void checkLowerStoreSizeBoundary( int maximumStoreSize ) {
     if( maximumStoreSize < MIN_STORE_SIZE ) {
       Object[] param = new Object[] { new Integer( MIN_STORE_SIZE ) };
@@ -139,6 +290,19 @@ public final class TextSizeStorage {
     }
   }
 
+  private static int getConfiguredStoreSize() {
+    long configuredSize = SystemProps.getTextSizeStoreSize();
+    int result = ( int )Math.min( configuredSize, Integer.MAX_VALUE );
+    if( configuredSize == 0 ) {
+      result = DEFAULT_STORE_SIZE;
+    } else if( configuredSize < MIN_STORE_SIZE ) {
+      String msg = "Text size store size " + configuredSize + " is too small, using " + MIN_STORE_SIZE;
+      ServletLog.log( msg, null );
+      result = MIN_STORE_SIZE;
+    }
+    return result;
+  }
+
   private static Point defensiveCopy( Point point ) {
     Point result = null;
     if( point != null ) {
@@ -146,14 +310,4 @@ public final class TextSizeStorage {
     }
     return result;
   }
-  
-  private void updateTimestamp( Entry entry ) {
-    entry.timeStamp = clock++;
-  }
-
-  private void calculateClearRange( int maximumStoreSize ) {
-    BigDecimal ten = new BigDecimal( 10 );
-    BigDecimal bdStoreSize = new BigDecimal( maximumStoreSize );
-    clearRange = bdStoreSize.divide( ten, 0, BigDecimal.ROUND_HALF_UP ).intValue();
-  }
-}
\ No newline at end of file
+}
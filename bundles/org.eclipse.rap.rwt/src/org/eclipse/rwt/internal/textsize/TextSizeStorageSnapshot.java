@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.textsize;
+
+import java.io.*;
+
+import org.eclipse.rwt.internal.resources.SystemProps;
+import org.eclipse.rwt.internal.service.ServletLog;
+
+
+/*
+ * Loads and saves the measured text sizes from and to the file given by the system property
+ * org.eclipse.rap.textSizeStoreFile. Nodes of a cluster that share this file start with the
+ * measurements of the nodes that ran before.
+ */
+public final class TextSizeStorageSnapshot {
+
+  public static void load( TextSizeStorage textSizeStorage ) {
+    File file = getSnapshotFile();
+    if( file != null && file.isFile() ) {
+      try {
+        read( textSizeStorage, file );
+      } catch( IOException ioe ) {
+        ServletLog.log( "Failed to load text size snapshot from: " + file, ioe );
+      }
+    }
+  }
+
+  public static void save( TextSizeStorage textSizeStorage ) {
+    File file = getSnapshotFile();
+    if( file != null ) {
+      try {
+        write( textSizeStorage, file );
+      } catch( IOException ioe ) {
+        ServletLog.log( "Failed to save text size snapshot to: " + file, ioe );
+      }
+    }
+  }
+
+  static void read( TextSizeStorage textSizeStorage, File file ) throws IOException {
+    InputStream inputStream = new BufferedInputStream( new FileInputStream( file ) );
+    try {
+      textSizeStorage.readSnapshot( new DataInputStream( inputStream ) );
+    } finally {
+      inputStream.close();
+    }
+  }
+
+  static void write( TextSizeStorage textSizeStorage, File file ) throws IOException {
+    // write to a temporary file first so that other nodes never read an incomplete snapshot,
+    // the name is unique so that nodes sharing the directory do not write to the same file
+    File directory = file.getAbsoluteFile().getParentFile();
+    File tempFile = File.createTempFile( file.getName() + ".", ".tmp", directory );
+    try {
+      OutputStream outputStream = new BufferedOutputStream( new FileOutputStream( tempFile ) );
+      try {
+        DataOutputStream stream = new DataOutputStream( outputStream );
+        textSizeStorage.writeSnapshot( stream );
+        stream.flush();
+      } finally {
+        outputStream.close();
+      }
+      if( !tempFile.renameTo( file ) ) {
+        file.delete();
+        if( !tempFile.renameTo( file ) ) {
+          throw new IOException( "Could not rename " + tempFile + " to " + file );
+        }
+      }
+    } finally {
+      tempFile.delete();
+    }
+  }
+
+  private static File getSnapshotFile() {
+    String fileName = SystemProps.getTextSizeStoreFile();
+    return fileName == null ? null : new File( fileName );
+  }
+
+  private TextSizeStorageSnapshot() {
+    // prevent instantiation
+  }
+}
@@ -21,7 +21,7 @@ final class TextSizeStorageUtil {
   static Point lookup( FontData fontData, String string, int wrapWidth, int mode ) {
     Point result = null;
     if( ProbeResultStore.getInstance().containsProbeResult( fontData ) ) {
-      Integer key = getKey( fontData, string, wrapWidth, mode );
+      TextSizeKey key = getKey( fontData, string, wrapWidth, mode );
       result = RWTFactory.getTextSizeStorage().lookupTextSize( key );
     } else {
       MeasurementOperator.getInstance().addProbeToMeasure( fontData );
@@ -36,23 +36,52 @@ final class TextSizeStorageUtil {
                      Point measuredTextSize )
   {
     checkFontExists( fontData );
-    Integer key = getKey( fontData, string, wrapWidth, mode );
+    TextSizeKey key = getKey( fontData, string, wrapWidth, mode );
     RWTFactory.getTextSizeStorage().storeTextSize( key, measuredTextSize );
   }
 
-  static Integer getKey( FontData fontData, String string, int wrapWidth, int mode ) {
+  /*
+   * Calculates the text size on the server if enabled and the calibration of the font is trusted,
+   * see TextSizeCalculator. Calculated sizes are kept apart from measured sizes and never saved
+   * to the snapshot. Returns null if no size could be calculated.
+   */
+  static Point calculate( FontData fontData, String string, int wrapWidth, int mode ) {
+    Point result = null;
+    TextSizeCalculator calculator = RWTFactory.getTextSizeCalculator();
+    ProbeResult probeResult = ProbeResultStore.getInstance().getProbeResult( fontData );
+    if( probeResult != null && calculator.isTrusted( probeResult ) ) {
+      TextSizeKey key = getKey( fontData, string, wrapWidth, mode );
+      TextSizeStorage textSizeStorage = RWTFactory.getTextSizeStorage();
+      result = textSizeStorage.lookupCalculatedTextSize( key );
+      if( result == null ) {
+        result = calculator.calculate( probeResult, string, wrapWidth, mode );
+        if( result != null ) {
+          textSizeStorage.storeCalculatedTextSize( key, result );
+        }
+      }
+    }
+    return result;
+  }
+
+  static void compareWithCalculation( FontData fontData,
+                                      String string,
+                                      int wrapWidth,
+                                      int mode,
+                                      Point measuredTextSize )
+  {
+    TextSizeCalculator calculator = RWTFactory.getTextSizeCalculator();
+    ProbeResult probeResult = ProbeResultStore.getInstance().getProbeResult( fontData );
+    if( calculator.isEnabled() && probeResult != null ) {
+      calculator.compare( probeResult, string, wrapWidth, mode, measuredTextSize );
+    }
+  }
+
+  static TextSizeKey getKey( FontData fontData, String string, int wrapWidth, int mode ) {
     ProbeResultStore instance = ProbeResultStore.getInstance();
     ProbeResult probeResult = instance.getProbeResult( fontData );
     String probeText = probeResult.getProbe().getText();
     Point probeSize = probeResult.getSize();
-    int hashCode = 1;
-    hashCode = 31 * hashCode + probeText.hashCode();
-    hashCode = 31 * hashCode + probeSize.hashCode();
-    hashCode = 31 * hashCode + fontData.hashCode();
-    hashCode = 31 * hashCode + string.hashCode();
-    hashCode = 31 * hashCode + wrapWidth;
-    hashCode = 31 * hashCode + mode;
-    return Integer.valueOf( hashCode );
+    return new TextSizeKey( probeText, probeSize, fontData, string, wrapWidth, mode );
   }
 
 
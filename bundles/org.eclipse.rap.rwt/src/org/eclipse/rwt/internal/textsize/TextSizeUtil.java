@@ -20,6 +20,7 @@ import org.eclipse.rwt.service.IServiceStore;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.internal.graphics.FontUtil;
+import org.eclipse.swt.widgets.Control;
 
 
 public class TextSizeUtil {
@@ -28,6 +29,10 @@ public class TextSizeUtil {
   static final int TEXT_EXTENT = 1;
   static final int MARKUP_EXTENT = 2;
 
+  // The control that is being laid out or packed. Estimated text sizes are recorded for this
+  // control, when the measured sizes arrive only the recorded controls are laid out again.
+  private static final ThreadLocal<Control> LAYOUT_OWNER = new ThreadLocal<Control>();
+
   public static Point stringExtent( Font font, String string ) {
     Point result;
     if( isEmptyString( string ) ) {
@@ -73,12 +78,38 @@ public class TextSizeUtil {
     return result;
   }
 
+  /*
+   * Returns a number that changes whenever measured text sizes arrive for the current session.
+   * Text sizes that were determined earlier may be outdated if the number has changed since.
+   */
+  public static int getMeasurementCount() {
+    return MeasurementOperator.getInstance().getMeasurementCount();
+  }
+
   public static boolean isTemporaryResize() {
     IServiceStore serviceStore = ContextProvider.getServiceStore();
     Object attribute = serviceStore.getAttribute( TextSizeRecalculation.TEMPORARY_RESIZE );
     return Boolean.TRUE.equals( attribute );
   }
 
+  /*
+   * Sets the control that is laid out or packed by the current thread and returns the previous
+   * one, which has to be restored afterwards.
+   */
+  public static Control setLayoutOwner( Control control ) {
+    Control result = LAYOUT_OWNER.get();
+    if( control == null ) {
+      LAYOUT_OWNER.remove();
+    } else {
+      LAYOUT_OWNER.set( control );
+    }
+    return result;
+  }
+
+  static Control getLayoutOwner() {
+    return LAYOUT_OWNER.get();
+  }
+
   //////////////////
   // Helping methods
 
@@ -94,8 +125,11 @@ public class TextSizeUtil {
     int normalizedWrapWidth = normalizeWrapWidth( wrapWidth );
     Point result = lookup( font, string, normalizedWrapWidth, mode );
     if( result == null ) {
-      result = estimate( font, string, normalizedWrapWidth, mode );
-      addItemToMeasure( font, string, normalizedWrapWidth, mode );
+      result = calculate( font, string, normalizedWrapWidth, mode );
+      if( result == null ) {
+        result = estimate( font, string, normalizedWrapWidth, mode );
+        addItemToMeasure( font, string, normalizedWrapWidth, mode );
+      }
     }
 
     // TODO [rst] Still returns wrong result for texts that contain only
@@ -120,6 +154,12 @@ public class TextSizeUtil {
     return TextSizeStorageUtil.lookup( fontData, measurementString, wrapWidth, mode );
   }
 
+  private static Point calculate( Font font, String string, int wrapWidth, int mode ) {
+    String measurementString = createMeasurementString( string, mode );
+    FontData fontData = FontUtil.getData( font );
+    return TextSizeStorageUtil.calculate( fontData, measurementString, wrapWidth, mode );
+  }
+
   private static Point estimate( Font font, String string, int wrapWidth, int mode ) {
     Point result;
     switch( mode ) {
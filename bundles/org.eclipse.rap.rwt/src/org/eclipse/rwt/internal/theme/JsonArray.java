@@ -11,6 +11,9 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.theme;
 
+import java.io.IOException;
+import java.io.Writer;
+
 
 /**
  * Simple generator for JSON arrays.
@@ -43,16 +46,32 @@ public final class JsonArray extends JsonValue {
   }
 
   public void append( JsonValue value ) {
+    buffer.append( count == 0 ? " " : ", " );
+    // append nested objects and arrays without creating an intermediate string
     if( value != null ) {
-      doAppend( value.toString() );
+      value.appendTo( buffer );
     } else {
-      doAppend( "null" );
+      buffer.append( "null" );
     }
+    count++;
   }
 
   public String toString() {
-    String tail = count == 0 ? "]" : " ]";
-    return buffer.toString() + tail;
+    return buffer.toString() + getTail();
+  }
+
+  public void write( Writer writer ) throws IOException {
+    write( writer, buffer );
+    writer.write( getTail() );
+  }
+
+  void appendTo( StringBuilder builder ) {
+    builder.append( buffer );
+    builder.append( getTail() );
+  }
+
+  private String getTail() {
+    return count == 0 ? "]" : " ]";
   }
 
   public static JsonArray valueOf( int[] array ) {
@@ -86,10 +105,4 @@ public final class JsonArray extends JsonValue {
     }
     return result;
   }
-
-  private void doAppend( String valueStr ) {
-    buffer.append( count == 0 ? " " : ", " );
-    buffer.append( valueStr );
-    count++;
-  }
 }
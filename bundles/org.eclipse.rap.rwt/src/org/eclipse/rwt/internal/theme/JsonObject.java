@@ -11,6 +11,9 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.theme;
 
+import java.io.IOException;
+import java.io.Writer;
+
 
 /**
  * Simple generator for JSON objects.
@@ -42,23 +45,33 @@ public final class JsonObject extends JsonValue {
   }
 
   public void append( String key, JsonValue value ) {
+    buffer.append( count == 0 ? "\n" : ",\n" );
+    buffer.append( quoteAndEscapeString( key ) );
+    buffer.append( ": " );
+    // append nested objects and arrays without creating an intermediate string
     if( value != null ) {
-      doAppend( key, value.toString() );
+      value.appendTo( buffer );
     } else {
-      doAppend( key, "null" );
+      buffer.append( "null" );
     }
+    count++;
   }
 
   public String toString() {
-    String tail = count == 0 ? "}" : "\n}";
-    return buffer.toString() + tail;
+    return buffer.toString() + getTail();
   }
 
-  private void doAppend( String key, String valueStr ) {
-    buffer.append( count == 0 ? "\n" : ",\n" );
-    buffer.append( quoteAndEscapeString( key ) );
-    buffer.append( ": " );
-    buffer.append( valueStr );
-    count++;
+  public void write( Writer writer ) throws IOException {
+    write( writer, buffer );
+    writer.write( getTail() );
+  }
+
+  void appendTo( StringBuilder builder ) {
+    builder.append( buffer );
+    builder.append( getTail() );
+  }
+
+  private String getTail() {
+    return count == 0 ? "}" : "\n}";
   }
 }
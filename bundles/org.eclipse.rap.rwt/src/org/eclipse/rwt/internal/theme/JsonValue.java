@@ -11,6 +11,9 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.theme;
 
+import java.io.IOException;
+import java.io.Writer;
+
 
 /**
  * Simple generator for JSON values.
@@ -23,6 +26,7 @@ public abstract class JsonValue {
 
   private static final int CONTROL_CHARACTERS_START = 0x0000;
   private static final int CONTROL_CHARACTERS_END = 0x001f;
+  private static final int WRITE_CHUNK_SIZE = 8192;
 
   JsonValue() {
     // prevent instantiation from outside
@@ -59,6 +63,29 @@ public abstract class JsonValue {
     return result;
   }
 
+  /**
+   * Writes the JSON representation of this value to the given writer. Compared to
+   * <code>writer.write( value.toString() )</code> this avoids creating a copy of the serialized
+   * value.
+   */
+  public void write( Writer writer ) throws IOException {
+    writer.write( toString() );
+  }
+
+  void appendTo( StringBuilder builder ) {
+    builder.append( toString() );
+  }
+
+  static void write( Writer writer, StringBuilder buffer ) throws IOException {
+    int length = buffer.length();
+    char[] chunk = new char[ Math.min( length, WRITE_CHUNK_SIZE ) ];
+    for( int offset = 0; offset < length; offset += chunk.length ) {
+      int count = Math.min( chunk.length, length - offset );
+      buffer.getChars( offset, offset + count, chunk, 0 );
+      writer.write( chunk, 0, count );
+    }
+  }
+
   static String quoteAndEscapeString( String string ) {
     StringBuilder resultBuffer = new StringBuilder();
     resultBuffer.append( '"' );
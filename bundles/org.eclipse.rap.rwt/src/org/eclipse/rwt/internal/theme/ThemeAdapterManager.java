@@ -11,8 +11,8 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.theme;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.rwt.internal.lifecycle.LifeCycleAdapterUtil;
 import org.eclipse.rwt.internal.util.ClassInstantiationException;
@@ -21,10 +21,10 @@ import org.eclipse.swt.widgets.Widget;
 
 
 public final class ThemeAdapterManager {
-  private final Map<Class,IThemeAdapter> themeAdapters;
+  private final ConcurrentMap<Class,IThemeAdapter> themeAdapters;
 
   public ThemeAdapterManager() {
-    themeAdapters = new HashMap<Class, IThemeAdapter>();
+    themeAdapters = new ConcurrentHashMap<Class, IThemeAdapter>();
   }
   
   public void reset() {
@@ -33,16 +33,15 @@ public final class ThemeAdapterManager {
 
   public IThemeAdapter getThemeAdapter( Widget widget ) {
     Class widgetClass = widget.getClass();
-    IThemeAdapter result;
-    synchronized( themeAdapters ) {
-      result = themeAdapters.get( widgetClass );
+    IThemeAdapter result = themeAdapters.get( widgetClass );
+    if( result == null ) {
+      IThemeAdapter adapter = findThemeAdapter( widgetClass );
+      ensureThemeAdapterWasFound( widgetClass, adapter );
+      result = themeAdapters.putIfAbsent( widgetClass, adapter );
       if( result == null ) {
-        IThemeAdapter adapter = findThemeAdapter( widgetClass );
-        themeAdapters.put( widgetClass, adapter );
         result = adapter;
       }
     }
-    ensureThemeAdapterWasFound( widgetClass, result );
     return result;
   }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2011 Innoopract Informationssysteme GmbH.
+ * Copyright (c) 2008, 2012 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,10 +12,13 @@
 package org.eclipse.rwt.internal.theme;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.rwt.internal.resources.SystemProps;
 import org.eclipse.rwt.internal.theme.css.ConditionalValue;
 import org.eclipse.rwt.internal.theme.css.StyleSheet;
+import org.eclipse.rwt.lifecycle.WidgetUtil;
+import org.eclipse.swt.widgets.Widget;
 
 
 /**
@@ -24,16 +27,50 @@ import org.eclipse.rwt.internal.theme.css.StyleSheet;
  */
 public final class ThemeCssValuesMap {
 
+  private static final Object NO_VALUE = new Object();
+
   private final Map<PropertyKey,ConditionalValue[]> valuesMap;
+  // caches the values selected by widget matchers, filled lazily
+  private final Map<ResolutionKey,Object> resolutionCache;
   private final Theme theme;
 
   public ThemeCssValuesMap( Theme theme, StyleSheet styleSheet, ThemeableWidget[] themeableWidgets )
   {
     this.theme = theme;
     valuesMap = new LinkedHashMap<PropertyKey,ConditionalValue[]>();
+    resolutionCache = new ConcurrentHashMap<ResolutionKey,Object>();
     extractValues( styleSheet, themeableWidgets );
   }
 
+  public QxType select( String elementName,
+                        String propertyName,
+                        ValueSelector selector,
+                        Widget widget )
+  {
+    QxType result;
+    long matchingConstraints = WidgetMatcher.NOT_CACHEABLE;
+    if( selector instanceof WidgetMatcher && widget != null ) {
+      matchingConstraints = ( ( WidgetMatcher )selector ).getMatchingConstraints( widget );
+    }
+    if( matchingConstraints == WidgetMatcher.NOT_CACHEABLE ) {
+      result = selector.select( getValues( elementName, propertyName ), widget );
+    } else {
+      ResolutionKey key = new ResolutionKey( elementName,
+                                             propertyName,
+                                             selector,
+                                             matchingConstraints,
+                                             WidgetUtil.getVariant( widget ) );
+      Object value = resolutionCache.get( key );
+      if( value == null ) {
+        // concurrent callers compute the same value, no need to lock
+        value = selector.select( getValues( elementName, propertyName ), widget );
+        resolutionCache.put( key, value == null ? NO_VALUE : value );
+      }
+      result = value == NO_VALUE ? null : ( QxType )value;
+    }
+    return result;
+  }
+
   public ConditionalValue[] getValues( String elementName, String propertyName ) {
     ConditionalValue[] result;
     PropertyKey propertyKey = new PropertyKey( elementName, propertyName );
@@ -167,4 +204,53 @@ public final class ThemeCssValuesMap {
       return hashCode;
     }
   }
+
+  private static class ResolutionKey {
+
+    private final String element;
+    private final String property;
+    private final ValueSelector selector;
+    private final long matchingConstraints;
+    private final String variant;
+    private final int hashCode;
+
+    ResolutionKey( String element,
+                   String property,
+                   ValueSelector selector,
+                   long matchingConstraints,
+                   String variant )
+    {
+      this.element = element;
+      this.property = property;
+      this.selector = selector;
+      this.matchingConstraints = matchingConstraints;
+      this.variant = variant;
+      int hash = element.hashCode() ^ property.hashCode();
+      hash = 31 * hash + System.identityHashCode( selector );
+      hash = 31 * hash + ( int )( matchingConstraints ^ ( matchingConstraints >>> 32 ) );
+      hash = 31 * hash + ( variant == null ? 0 : variant.hashCode() );
+      hashCode = hash;
+    }
+
+    public boolean equals( Object obj ) {
+      boolean result;
+      if( obj == this ) {
+        result = true;
+      } else if( obj instanceof ResolutionKey ) {
+        ResolutionKey other = ( ResolutionKey )obj;
+        result =    selector == other.selector
+                 && matchingConstraints == other.matchingConstraints
+                 && element.equals( other.element )
+                 && property.equals( other.property )
+                 && ( variant == null ? other.variant == null : variant.equals( other.variant ) );
+      } else {
+        result = false;
+      }
+      return result;
+    }
+
+    public int hashCode() {
+      return hashCode;
+    }
+  }
 }
@@ -15,12 +15,13 @@ import java.io.IOException;
 
 import org.eclipse.rwt.RWT;
 import org.eclipse.rwt.internal.application.RWTFactory;
+import org.eclipse.rwt.internal.lifecycle.LifeCycleUtil;
 import org.eclipse.rwt.internal.service.ContextProvider;
-import org.eclipse.rwt.internal.theme.css.ConditionalValue;
 import org.eclipse.rwt.internal.theme.css.CssFileReader;
 import org.eclipse.rwt.internal.theme.css.StyleSheet;
 import org.eclipse.rwt.resources.ResourceLoader;
 import org.eclipse.rwt.service.ISessionStore;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.widgets.Widget;
 
 
@@ -68,6 +69,8 @@ public final class ThemeUtil {
     if( !RWTFactory.getThemeManager().hasTheme( themeId ) ) {
       throw new IllegalArgumentException( "Illegal theme id: " + themeId );
     }
+    // theme dependent values of all widgets may change
+    markAllWidgetsDirty();
     ContextProvider.getSessionStore().setAttribute( CURR_THEME_ATTR, themeId );
   }
 
@@ -80,6 +83,13 @@ public final class ThemeUtil {
     return themeManager.getTheme( RWT.DEFAULT_THEME_ID );
   }
 
+  private static void markAllWidgetsDirty() {
+    DirtyWidgetTracker tracker = DirtyWidgetTracker.getTracker( LifeCycleUtil.getSessionDisplay() );
+    if( tracker != null ) {
+      tracker.markAllDirty();
+    }
+  }
+
   private static Theme getFallbackTheme() {
     ThemeManager themeManager = RWTFactory.getThemeManager();
     return themeManager.getTheme( ThemeManager.FALLBACK_THEME_ID );
@@ -120,14 +130,12 @@ public final class ThemeUtil {
   {
     Theme theme = getCurrentTheme();
     ThemeCssValuesMap valuesMap = theme.getValuesMap();
-    ConditionalValue[] values = valuesMap.getValues( cssElement, cssProperty );
-    QxType result = selector.select( values, widget );
+    QxType result = valuesMap.select( cssElement, cssProperty, selector, widget );
     if( result == null ) {
       // resort to fallback theme
       theme = getFallbackTheme();
       valuesMap = theme.getValuesMap();
-      values = valuesMap.getValues( cssElement, cssProperty );
-      result = selector.select( values, widget );
+      result = valuesMap.select( cssElement, cssProperty, selector, widget );
     }
     return result;
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2011 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2012 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,9 +11,10 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.theme;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
 import org.eclipse.rwt.internal.theme.css.ConditionalValue;
 import org.eclipse.rwt.lifecycle.WidgetUtil;
@@ -26,34 +27,61 @@ public final class WidgetMatcher implements ValueSelector {
     boolean matches( Widget widget );
   }
 
+  // The result of select depends on the matching constraints and the variant only, thus the
+  // theme caches results for the mask returned by getMatchingConstraints (see ThemeCssValuesMap)
+  static final long NOT_CACHEABLE = -1;
+  private static final int MAX_CACHEABLE_CONSTRAINTS = 63;
+
   // TODO [rst] Optimize, linear search might be faster than hashmap overhead
   private final Map<String,Constraint> constraintMap;
+  private final List<String> constraintNames;
+  private final List<Constraint> constraints;
 
   public WidgetMatcher() {
     constraintMap = new HashMap<String,Constraint>();
+    constraintNames = new ArrayList<String>();
+    constraints = new ArrayList<Constraint>();
   }
 
   public void addStyle( String string, int style ) {
-    constraintMap.put( "[" + string, createStyleConstraint( style ) );
+    addConstraint( "[" + string, createStyleConstraint( style ) );
   }
 
   public void addState( String string, Constraint constraint ) {
-    constraintMap.put( ":" + string, constraint );
+    addConstraint( ":" + string, constraint );
   }
 
   public QxType select( ConditionalValue[] values, Widget widget ) {
     QxType result = null;
-    TreeMap<Integer, QxType> valueMap = new TreeMap<Integer, QxType>(); 
+    int bestMatches = -1;
     for( int i = 0; i < values.length; i++ ) {
       ConditionalValue condValue = values[ i ];
       String[] constraints = condValue.constraints;
       int matches = matches( widget, constraints );
-      if( matches >= 0 ) {
-        valueMap.put( Integer.valueOf( matches ), condValue.value ); 
+      // among values with the same number of matches, the last one wins
+      if( matches >= 0 && matches >= bestMatches ) {
+        bestMatches = matches;
+        result = condValue.value;
       }
     }
-    if(!valueMap.isEmpty()) {
-      result = valueMap.get(valueMap.lastKey());
+    return result;
+  }
+
+  /*
+   * Returns a bit mask of the constraints that match the given widget, or NOT_CACHEABLE if this
+   * matcher has too many constraints to represent them in a mask.
+   */
+  long getMatchingConstraints( Widget widget ) {
+    long result = 0;
+    int size = constraints.size();
+    if( size > MAX_CACHEABLE_CONSTRAINTS ) {
+      result = NOT_CACHEABLE;
+    } else {
+      for( int i = 0; i < size; i++ ) {
+        if( constraints.get( i ).matches( widget ) ) {
+          result |= 1L << i;
+        }
+      }
     }
     return result;
   }
@@ -67,6 +95,17 @@ public final class WidgetMatcher implements ValueSelector {
     return matcher;
   }
 
+  private void addConstraint( String string, Constraint constraint ) {
+    constraintMap.put( string, constraint );
+    int index = constraintNames.indexOf( string );
+    if( index != -1 ) {
+      constraints.set( index, constraint );
+    } else {
+      constraintNames.add( string );
+      constraints.add( constraint );
+    }
+  }
+
   private int matches( Widget widget, String[] constraints ) {
     int result = 0;
     for( int i = 0; i < constraints.length && result>=0 ; i++ ) {
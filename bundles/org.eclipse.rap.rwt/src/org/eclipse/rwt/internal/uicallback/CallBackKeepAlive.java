@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.uicallback;
+
+import java.util.Timer;
+import java.util.TimerTask;
+
+
+/*
+ * Checks the connections of suspended UI callback requests in regular intervals, like a blocked
+ * request does while it waits. A single timer thread serves all suspended requests. It is started
+ * with the first request and stopped when the last one has been resumed or completed.
+ */
+final class CallBackKeepAlive {
+
+  private static final CallBackKeepAlive INSTANCE = new CallBackKeepAlive();
+
+  static CallBackKeepAlive getInstance() {
+    return INSTANCE;
+  }
+
+  private Timer timer;
+  private int taskCount;
+
+  private CallBackKeepAlive() {
+  }
+
+  synchronized TimerTask schedule( final SuspendedCallBackRequest request, long interval ) {
+    if( timer == null ) {
+      timer = new Timer( "RWT UICallBack Keep-Alive", true );
+    }
+    TimerTask result = new TimerTask() {
+      @Override
+      public void run() {
+        request.keepAlive();
+      }
+    };
+    timer.schedule( result, interval, interval );
+    taskCount++;
+    return result;
+  }
+
+  synchronized void cancel( TimerTask task ) {
+    if( task.cancel() ) {
+      taskCount--;
+      if( taskCount == 0 ) {
+        timer.cancel();
+        timer = null;
+      }
+    }
+  }
+
+  synchronized int getTaskCount() {
+    return taskCount;
+  }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011 EclipseSource and others.
+ * Copyright (c) 2011, 2012 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,26 +13,30 @@ package org.eclipse.rwt.internal.uicallback;
 import java.util.LinkedList;
 import java.util.List;
 
+/*
+ * Tracks the waiting UI callback requests. A request is represented either by the thread that
+ * blocks or by a SuspendedCallBackRequest.
+ */
 class CallBackRequestTracker {
-  private transient List<Thread> callBackRequests;
+  private transient List<Object> callBackRequests;
 
   CallBackRequestTracker() {
-    callBackRequests = new LinkedList<Thread>();
+    callBackRequests = new LinkedList<Object>();
   }
 
-  void deactivate( Thread thread ) {
-    callBackRequests.remove( thread );
+  void deactivate( Object request ) {
+    callBackRequests.remove( request );
   }
 
-  void activate( Thread thread ) {
-    callBackRequests.add( 0, thread );
+  void activate( Object request ) {
+    callBackRequests.add( 0, request );
   }
 
   boolean hasActive() {
     return callBackRequests.isEmpty();
   }
 
-  boolean isActive( Thread thread ) {
-    return !hasActive() && callBackRequests.get( 0 ) == thread;
+  boolean isActive( Object request ) {
+    return !hasActive() && callBackRequests.get( 0 ) == request;
   }
 }
\ No newline at end of file
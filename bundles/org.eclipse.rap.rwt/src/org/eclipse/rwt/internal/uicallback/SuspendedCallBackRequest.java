@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.uicallback;
+
+import java.io.IOException;
+import java.util.TimerTask;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import org.eclipse.rwt.internal.protocol.ProtocolMessageWriter;
+import org.eclipse.rwt.internal.service.ContextProvider;
+import org.eclipse.rwt.service.ISessionStore;
+import org.eclipse.rwt.service.SessionStoreEvent;
+import org.eclipse.rwt.service.SessionStoreListener;
+import org.eclipse.swt.internal.SerializableCompatibility;
+
+
+/*
+ * A UI callback request that waits without occupying a thread of the servlet engine. The request
+ * is suspended with the asynchronous processing of Servlet 3.0 and resumed by dispatching it to
+ * the RWT servlet again, which then writes the response.
+ *
+ * While it waits, the request behaves like a blocked one: its connection is checked with a
+ * keep-alive in every request check interval, and it is answered without a UI request when the
+ * session expires. Neither involves the RWT servlet, so waiting does not count as activity of the
+ * session.
+ *
+ * This class requires the servlet 3.0 API. Callers must make sure that the servlet engine
+ * supports asynchronous processing before using it.
+ */
+final class SuspendedCallBackRequest implements AsyncListener {
+
+  static final String ATTR_RESUMED = SuspendedCallBackRequest.class.getName() + "#resumed";
+
+  private final UICallBackManager manager;
+  private final AsyncContext asyncContext;
+  private final TimerTask keepAliveTask;
+  private final SessionTerminationListener sessionTerminationListener;
+
+  SuspendedCallBackRequest( UICallBackManager manager,
+                            HttpServletRequest request,
+                            long keepAliveInterval )
+  {
+    this.manager = manager;
+    asyncContext = request.startAsync();
+    asyncContext.setTimeout( getSessionTimeout( request.getSession() ) );
+    asyncContext.addListener( this );
+    keepAliveTask = CallBackKeepAlive.getInstance().schedule( this, keepAliveInterval );
+    sessionTerminationListener = new SessionTerminationListener( this );
+    sessionTerminationListener.attach();
+  }
+
+  static boolean isResumed( HttpServletRequest request ) {
+    return request.getAttribute( ATTR_RESUMED ) != null;
+  }
+
+  static boolean getResumedResult( HttpServletRequest request ) {
+    return Boolean.TRUE.equals( request.getAttribute( ATTR_RESUMED ) );
+  }
+
+  void resume( boolean result ) {
+    detach();
+    asyncContext.getRequest().setAttribute( ATTR_RESUMED, Boolean.valueOf( result ) );
+    asyncContext.dispatch();
+  }
+
+  void terminate() {
+    // answer without dispatching to the RWT servlet, the session is gone or must not be touched
+    detach();
+    try {
+      new ProtocolMessageWriter().writeMessage( asyncContext.getResponse().getWriter() );
+    } catch( IOException ignore ) {
+      // the client is gone as well
+    }
+    asyncContext.complete();
+  }
+
+  void keepAlive() {
+    manager.keepAliveSuspendedRequest( this );
+  }
+
+  boolean isConnectionAlive() {
+    return UICallBackManager.isConnectionAlive( asyncContext.getResponse() );
+  }
+
+  //////////////////////////
+  // interface AsyncListener
+
+  public void onTimeout( AsyncEvent event ) {
+    // the timeout is the session timeout, see getSessionTimeout()
+    manager.expireSuspendedRequest( this );
+  }
+
+  public void onError( AsyncEvent event ) {
+    detach();
+    manager.removeSuspendedRequest( this );
+  }
+
+  public void onComplete( AsyncEvent event ) {
+    detach();
+    manager.removeSuspendedRequest( this );
+  }
+
+  public void onStartAsync( AsyncEvent event ) {
+  }
+
+  private void detach() {
+    CallBackKeepAlive.getInstance().cancel( keepAliveTask );
+    sessionTerminationListener.detach();
+  }
+
+  private static long getSessionTimeout( HttpSession httpSession ) {
+    // like a blocked request, a suspended request waits until the session expires at the latest
+    long result = 0;
+    int maxInactiveInterval = httpSession.getMaxInactiveInterval();
+    if( maxInactiveInterval > 0 ) {
+      result = maxInactiveInterval * 1000L;
+    }
+    return result;
+  }
+
+  private static class SessionTerminationListener
+    implements SessionStoreListener, SerializableCompatibility
+  {
+    private transient final SuspendedCallBackRequest request;
+    private transient final ISessionStore sessionStore;
+
+    private SessionTerminationListener( SuspendedCallBackRequest request ) {
+      this.request = request;
+      sessionStore = ContextProvider.getSessionStore();
+    }
+
+    public void attach() {
+      sessionStore.addSessionStoreListener( this );
+    }
+
+    public void detach() {
+      sessionStore.removeSessionStoreListener( this );
+    }
+
+    public void beforeDestroy( SessionStoreEvent event ) {
+      if( request.manager.removeSuspendedRequest( request ) ) {
+        request.terminate();
+      }
+    }
+  }
+}
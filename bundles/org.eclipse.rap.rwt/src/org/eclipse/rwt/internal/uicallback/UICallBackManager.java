@@ -13,7 +13,12 @@ package org.eclipse.rwt.internal.uicallback;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
@@ -45,6 +50,8 @@ public final class UICallBackManager implements SerializableCompatibility {
   private boolean hasRunnables;
   private int requestCheckInterval;
   private transient CallBackRequestTracker callBackRequestTracker;
+  // requests that wait without a thread, see SuspendedCallBackRequest
+  private transient List<SuspendedCallBackRequest> suspendedRequests;
 
   private UICallBackManager() {
     lock = new SerializableLock();
@@ -52,6 +59,7 @@ public final class UICallBackManager implements SerializableCompatibility {
     uiThreadRunning = false;
     requestCheckInterval = DEFAULT_REQUEST_CHECK_INTERVAL;
     callBackRequestTracker = new CallBackRequestTracker();
+    suspendedRequests = new LinkedList<SuspendedCallBackRequest>();
   }
 
   public boolean isCallBackRequestBlocked() {
@@ -71,6 +79,7 @@ public final class UICallBackManager implements SerializableCompatibility {
   public void releaseBlockedRequest() {
     synchronized( lock ) {
       lock.notifyAll();
+      resumeSuspendedRequests();
     }
   }
 
@@ -129,6 +138,7 @@ public final class UICallBackManager implements SerializableCompatibility {
       if( mustBlockCallBackRequest() ) {
         long requestStartTime = System.currentTimeMillis();
         callBackRequestTracker.activate( Thread.currentThread() );
+        resumeSuspendedRequests();
         SessionTerminationListener listener = attachSessionTerminationListener();
         try {
           boolean canRelease = false;
@@ -152,6 +162,67 @@ public final class UICallBackManager implements SerializableCompatibility {
     return result;
   }
 
+  boolean suspendRequest( HttpServletRequest request ) {
+    boolean result = false;
+    synchronized( lock ) {
+      if( mustBlockCallBackRequest() ) {
+        SuspendedCallBackRequest suspendedRequest
+          = new SuspendedCallBackRequest( this, request, requestCheckInterval );
+        callBackRequestTracker.activate( suspendedRequest );
+        suspendedRequests.add( suspendedRequest );
+        // the new request supersedes all requests that are still waiting
+        releaseBlockedRequest();
+        result = true;
+      }
+    }
+    return result;
+  }
+
+  void keepAliveSuspendedRequest( SuspendedCallBackRequest request ) {
+    synchronized( lock ) {
+      if( suspendedRequests.contains( request ) && !request.isConnectionAlive() ) {
+        suspendedRequests.remove( request );
+        callBackRequestTracker.deactivate( request );
+        request.terminate();
+      }
+    }
+  }
+
+  void expireSuspendedRequest( SuspendedCallBackRequest request ) {
+    synchronized( lock ) {
+      if( suspendedRequests.remove( request ) ) {
+        callBackRequestTracker.deactivate( request );
+        request.terminate();
+      }
+    }
+  }
+
+  boolean removeSuspendedRequest( SuspendedCallBackRequest request ) {
+    synchronized( lock ) {
+      callBackRequestTracker.deactivate( request );
+      return suspendedRequests.remove( request );
+    }
+  }
+
+  int getSuspendedRequestCount() {
+    synchronized( lock ) {
+      return suspendedRequests.size();
+    }
+  }
+
+  private void resumeSuspendedRequests() {
+    Iterator<SuspendedCallBackRequest> iterator = suspendedRequests.iterator();
+    while( iterator.hasNext() ) {
+      SuspendedCallBackRequest request = iterator.next();
+      boolean active = callBackRequestTracker.isActive( request );
+      if( !mustBlockCallBackRequest() || !active ) {
+        iterator.remove();
+        callBackRequestTracker.deactivate( request );
+        request.resume( active );
+      }
+    }
+  }
+
   private boolean canReleaseBlockedRequest( HttpServletResponse response, long requestStartTime ) {
     boolean result = false;
     if( !mustBlockCallBackRequest() ) {
@@ -180,6 +251,7 @@ public final class UICallBackManager implements SerializableCompatibility {
 
   private Object readResolve() {
     callBackRequestTracker = new CallBackRequestTracker();
+    suspendedRequests = new LinkedList<SuspendedCallBackRequest>();
     return this;
   }
 
@@ -204,7 +276,7 @@ public final class UICallBackManager implements SerializableCompatibility {
     return result;
   }
 
-  private static boolean isConnectionAlive( HttpServletResponse response ) {
+  static boolean isConnectionAlive( ServletResponse response ) {
     boolean result;
     try {
       PrintWriter writer = response.getWriter();
@@ -13,7 +13,10 @@ package org.eclipse.rwt.internal.uicallback;
 
 import java.io.IOException;
 
+import javax.servlet.ServletContext;
+import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.rwt.internal.protocol.ProtocolMessageWriter;
@@ -23,6 +26,11 @@ import org.eclipse.rwt.service.IServiceHandler;
 import org.eclipse.rwt.service.ISessionStore;
 
 
+/*
+ * Waiting UI callback requests are suspended when the servlet engine supports Servlet 3.0, the
+ * servlet API the bundle is wired to is 3.0 or later, and the RWT servlet is registered with
+ * async support, see RWTServlet. Otherwise they block a thread of the servlet engine.
+ */
 public class UICallBackServiceHandler implements IServiceHandler {
 
   private final static String UI_CALLBACK_ID = "uicb";
@@ -35,18 +43,35 @@ public class UICallBackServiceHandler implements IServiceHandler {
   private static final String ATTR_NEEDS_UICALLBACK
     = UICallBackServiceHandler.class.getName() + ".needsUICallback";
 
+  private static final boolean ASYNC_API_AVAILABLE = isAsyncApiAvailable();
+
   public void service() throws IOException {
+    HttpServletRequest request = ContextProvider.getRequest();
     HttpServletResponse response = ContextProvider.getResponse();
     configureResponseHeaders( response );
     ISessionStore sessionStore = ContextProvider.getSessionStore();
+    UICallBackManager manager = UICallBackManager.getInstance();
+    boolean servlet30 = isServlet30( sessionStore );
+    if( servlet30 && SuspendedCallBackRequest.isResumed( request ) ) {
+      boolean success = SuspendedCallBackRequest.getResumedResult( request );
+      writeResponse( response, sessionStore, success );
+    } else if( !servlet30 || !request.isAsyncSupported() || !manager.suspendRequest( request ) ) {
+      // fall back to blocking the request thread on servlet engines without async support
+      writeResponse( response, sessionStore, manager.processRequest( response ) );
+    }
+  }
+
+  private static void writeResponse( HttpServletResponse response,
+                                     ISessionStore sessionStore,
+                                     boolean success )
+    throws IOException
+  {
     ProtocolMessageWriter writer = new ProtocolMessageWriter();
-    boolean success = UICallBackManager.getInstance().processRequest( response );
     if( success && sessionStore.isBound() ) {
       writeUICallBackDeactivation( writer );
       writeUIRequestNeeded( writer );
     }
-    String message = writer.createMessage();
-    response.getWriter().write( message );
+    writer.writeMessage( response.getWriter() );
   }
 
   public static void writeUICallBackActivation( ProtocolMessageWriter writer ) {
@@ -84,6 +109,28 @@ public class UICallBackServiceHandler implements IServiceHandler {
     return result;
   }
 
+  private static boolean isServlet30( ISessionStore sessionStore ) {
+    // SuspendedCallBackRequest and isAsyncSupported() require the servlet 3.0 API. The bundle also
+    // resolves against older versions of the API, whatever version the servlet engine reports.
+    boolean result = false;
+    if( ASYNC_API_AVAILABLE ) {
+      ServletContext servletContext = sessionStore.getHttpSession().getServletContext();
+      result = servletContext.getMajorVersion() >= 3;
+    }
+    return result;
+  }
+
+  private static boolean isAsyncApiAvailable() {
+    boolean result;
+    try {
+      ServletRequest.class.getMethod( "isAsyncSupported" );
+      result = true;
+    } catch( NoSuchMethodException exception ) {
+      result = false;
+    }
+    return result;
+  }
+
   private static void configureResponseHeaders( ServletResponse response ) {
     response.setContentType( HTTP.CONTENT_TYPE_JSON );
     response.setCharacterEncoding( HTTP.CHARSET_UTF_8 );
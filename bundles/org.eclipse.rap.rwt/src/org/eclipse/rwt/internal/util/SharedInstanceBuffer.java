@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011 EclipseSource and others.
+ * Copyright (c) 2011, 2012 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,39 +11,72 @@
 package org.eclipse.rwt.internal.util;
 
 import java.io.Serializable;
-import java.util.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
+/**
+ * A buffer that creates a single instance per key. Instances of different keys are created
+ * concurrently, concurrent requests for the same key wait for a single creation. Looking up an
+ * existing instance does not lock. The <code>null</code> key is permitted.
+ */
 public class SharedInstanceBuffer<K,I> implements Serializable {
 
   public interface IInstanceCreator<T> {
     T createInstance();
   }
 
-  private final SerializableLock lock;
-  private final Map<K,I> store;
+  // ConcurrentHashMap does not accept null, the null key is stored under this key instead
+  private enum NullKey { INSTANCE }
+
+  private final ConcurrentMap<Object,Entry<I>> store;
   
   public SharedInstanceBuffer() {
-    lock = new SerializableLock();
-    store = new HashMap<K,I>();
+    store = new ConcurrentHashMap<Object,Entry<I>>();
   }
   
   public I get( K key, IInstanceCreator<I> instanceCreator ) {
     ParamCheck.notNull( instanceCreator, "valueCreator" );
-    synchronized( lock ) {
-      I result = store.get( key );
-      if( result == null ) {
-        result = instanceCreator.createInstance();
-        store.put( key, result );
+    Object storeKey = toStoreKey( key );
+    Entry<I> entry = store.get( storeKey );
+    if( entry == null ) {
+      Entry<I> newEntry = new Entry<I>();
+      entry = store.putIfAbsent( storeKey, newEntry );
+      if( entry == null ) {
+        entry = newEntry;
       }
-      return result;
     }
+    return entry.getInstance( instanceCreator );
   }
   
   public I remove( K key ) {
-    synchronized( lock ) {
-      return store.remove( key );
+    Entry<I> removed = store.remove( toStoreKey( key ) );
+    return removed == null ? null : removed.instance;
+  }
+
+  private static Object toStoreKey( Object key ) {
+    return key == null ? NullKey.INSTANCE : key;
+  }
+
+  private static final class Entry<I> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private volatile I instance;
+
+    I getInstance( IInstanceCreator<I> instanceCreator ) {
+      I result = instance;
+      if( result == null ) {
+        // only callers that ask for the same key wait here
+        synchronized( this ) {
+          result = instance;
+          if( result == null ) {
+            result = instanceCreator.createInstance();
+            instance = result;
+          }
+        }
+      }
+      return result;
     }
   }
 }
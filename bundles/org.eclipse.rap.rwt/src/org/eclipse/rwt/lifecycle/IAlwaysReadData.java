@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.lifecycle;
+
+
+/**
+ * Marks widget life cycle adapters whose <code>readData</code> method must be
+ * called in every request.
+ * <p>
+ * When the system property <code>org.eclipse.rap.readDataForInputOnly</code>
+ * is set to <code>true</code>, the <code>readData</code> method of a widget
+ * LCA is only called if the request carries a parameter for the widget, as in
+ * <code>w3.selection</code>, or an event with the widget as its source. LCAs
+ * that react to parameters of other widgets or that do work which does not
+ * depend on the request at all must implement this interface to be read in
+ * every request. Without the system property, the interface has no effect.
+ * </p>
+ *
+ * @see IWidgetLifeCycleAdapter#readData(org.eclipse.swt.widgets.Widget)
+ * @since 1.5
+ */
+public interface IAlwaysReadData {
+}
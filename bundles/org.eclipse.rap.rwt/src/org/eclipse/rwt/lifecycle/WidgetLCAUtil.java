@@ -13,9 +13,13 @@ package org.eclipse.rwt.lifecycle;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import javax.servlet.http.HttpServletRequest;
 
 import org.eclipse.rwt.internal.lifecycle.JSConst;
+import org.eclipse.rwt.internal.lifecycle.WidgetInputIndex;
 import org.eclipse.rwt.internal.protocol.*;
 import org.eclipse.rwt.internal.service.ContextProvider;
 import org.eclipse.rwt.internal.util.*;
@@ -25,8 +29,10 @@ import org.eclipse.swt.events.HelpEvent;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.internal.graphics.FontUtil;
 import org.eclipse.swt.internal.graphics.ImageFactory;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.IWidgetGraphicsAdapter;
 import org.eclipse.swt.internal.widgets.Props;
+import org.eclipse.swt.internal.widgets.WidgetAdapter;
 import org.eclipse.swt.widgets.*;
 
 
@@ -68,6 +74,9 @@ public final class WidgetLCAUtil {
   private static final String PROP_HELP_LISTENER = "help";
 
   static final String LISTENER_PREFIX = "listener_";
+  // avoids concatenating the listener property names over and over again
+  private static final Map<String,String> LISTENER_PROPERTIES
+    = new ConcurrentHashMap<String,String>();
 
   private static final Rectangle DEF_ROUNDED_BORDER_RADIUS = new Rectangle( 0, 0, 0, 0 );
 
@@ -625,12 +634,7 @@ public final class WidgetLCAUtil {
   }
 
   private static String readPropertyValue( String widgetId, String propertyName ) {
-    HttpServletRequest request = ContextProvider.getRequest();
-    StringBuilder key = new StringBuilder();
-    key.append( widgetId );
-    key.append( "." );
-    key.append( propertyName );
-    return request.getParameter( key.toString() );
+    return WidgetInputIndex.getInstance().getPropertyValue( widgetId, propertyName );
   }
 
   /**
@@ -675,7 +679,12 @@ public final class WidgetLCAUtil {
    * @since 1.5
    */
   public static void preserveProperty( Widget widget, String property, int value ) {
-    preserveProperty( widget, property, Integer.valueOf( value ) );
+    IWidgetAdapter adapter = WidgetUtil.getAdapter( widget );
+    if( adapter instanceof WidgetAdapter ) {
+      ( ( WidgetAdapter )adapter ).preserve( property, value );
+    } else {
+      adapter.preserve( property, Integer.valueOf( value ) );
+    }
   }
 
   /**
@@ -688,7 +697,12 @@ public final class WidgetLCAUtil {
    * @since 1.5
    */
   public static void preserveProperty( Widget widget, String property, boolean value ) {
-    preserveProperty( widget, property, Boolean.valueOf( value ) );
+    IWidgetAdapter adapter = WidgetUtil.getAdapter( widget );
+    if( adapter instanceof WidgetAdapter ) {
+      ( ( WidgetAdapter )adapter ).preserve( property, value );
+    } else {
+      adapter.preserve( property, Boolean.valueOf( value ) );
+    }
   }
 
   /**
@@ -701,8 +715,7 @@ public final class WidgetLCAUtil {
    * @since 1.5
    */
   public static void preserveListener( Widget widget, String listener, boolean value ) {
-    IWidgetAdapter adapter = WidgetUtil.getAdapter( widget );
-    adapter.preserve( LISTENER_PREFIX + listener, new Boolean( value ) );
+    preserveProperty( widget, getListenerProperty( listener ), value );
   }
 
   ////////////////////////////////////////////
@@ -748,9 +761,10 @@ public final class WidgetLCAUtil {
                                      int newValue,
                                      int defaultValue )
   {
-    Integer newValueObject = Integer.valueOf( newValue );
-    Integer defaultValueObject = Integer.valueOf( defaultValue );
-    renderProperty( widget, property, newValueObject, defaultValueObject );
+    if( hasChanged( widget, property, newValue, defaultValue ) ) {
+      IClientObject clientObject = ClientObjectFactory.getClientObject( widget );
+      clientObject.set( property, newValue );
+    }
   }
 
   /**
@@ -770,9 +784,10 @@ public final class WidgetLCAUtil {
                                      boolean newValue,
                                      boolean defaultValue )
   {
-    Boolean newValueObject = Boolean.valueOf( newValue );
-    Boolean defaultValueObject = Boolean.valueOf( defaultValue );
-    renderProperty( widget, property, newValueObject, defaultValueObject );
+    if( hasChanged( widget, property, newValue, defaultValue ) ) {
+      IClientObject clientObject = ClientObjectFactory.getClientObject( widget );
+      clientObject.set( property, newValue );
+    }
   }
 
   /**
@@ -1001,10 +1016,8 @@ public final class WidgetLCAUtil {
                                      boolean newValue,
                                      boolean defaultValue )
   {
-    String property = LISTENER_PREFIX + listener;
-    Boolean newValueObject = new Boolean( newValue );
-    Boolean defaultValueObject = new Boolean( defaultValue );
-    if( WidgetLCAUtil.hasChanged( widget, property, newValueObject, defaultValueObject ) ) {
+    String property = getListenerProperty( listener );
+    if( hasChanged( widget, property, newValue, defaultValue ) ) {
       IClientObject clientObject = ClientObjectFactory.getClientObject( widget );
       clientObject.listen( listener, newValue );
     }
@@ -1033,7 +1046,12 @@ public final class WidgetLCAUtil {
   public static boolean hasChanged( Widget widget, String property, Object newValue ) {
     IWidgetAdapter adapter = WidgetUtil.getAdapter( widget );
     Object oldValue = adapter.getPreserved( property );
-    return !WidgetLCAUtil.equals( oldValue, newValue );
+    boolean result = !WidgetLCAUtil.equals( oldValue, newValue );
+    if( !result && adapter instanceof WidgetAdapter ) {
+      // the image may have been drawn on while it was shown
+      result = ( ( WidgetAdapter )adapter ).isPreservedContentChanged( property, newValue );
+    }
+    return result;
   }
 
   /**
@@ -1071,6 +1089,50 @@ public final class WidgetLCAUtil {
     } else {
       result = !equals( newValue, defaultValue );
     }
+    if( newValue instanceof Image || newValue instanceof Image[] ) {
+      // the widget has to render the image again when it is drawn on
+      DirtyWidgetTracker.addImageUser( widget, newValue );
+    }
+    return result;
+  }
+
+  private static boolean hasChanged( Widget widget,
+                                     String property,
+                                     int newValue,
+                                     int defaultValue )
+  {
+    boolean result;
+    IWidgetAdapter adapter = WidgetUtil.getAdapter( widget );
+    if( !( adapter instanceof WidgetAdapter ) ) {
+      result = hasChanged( widget,
+                           property,
+                           Integer.valueOf( newValue ),
+                           Integer.valueOf( defaultValue ) );
+    } else if( adapter.isInitialized() ) {
+      result = !( ( WidgetAdapter )adapter ).isPreserved( property, newValue );
+    } else {
+      result = newValue != defaultValue;
+    }
+    return result;
+  }
+
+  private static boolean hasChanged( Widget widget,
+                                     String property,
+                                     boolean newValue,
+                                     boolean defaultValue )
+  {
+    boolean result;
+    IWidgetAdapter adapter = WidgetUtil.getAdapter( widget );
+    if( !( adapter instanceof WidgetAdapter ) ) {
+      result = hasChanged( widget,
+                           property,
+                           Boolean.valueOf( newValue ),
+                           Boolean.valueOf( defaultValue ) );
+    } else if( adapter.isInitialized() ) {
+      result = !( ( WidgetAdapter )adapter ).isPreserved( property, newValue );
+    } else {
+      result = newValue != defaultValue;
+    }
     return result;
   }
 
@@ -1104,6 +1166,15 @@ public final class WidgetLCAUtil {
     return StylesUtil.filterStyles( widget, styles );
   }
 
+  private static String getListenerProperty( String listener ) {
+    String result = LISTENER_PROPERTIES.get( listener );
+    if( result == null ) {
+      result = LISTENER_PREFIX + listener;
+      LISTENER_PROPERTIES.put( listener, result );
+    }
+    return result;
+  }
+
   static boolean equals( Object object1, Object object2 ) {
     boolean result;
     if( object1 == object2 ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2008 Innoopract Informationssysteme GmbH.
+ * Copyright (c) 2002, 2012 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Innoopract Informationssysteme GmbH - initial API and implementation
+ *     EclipseSource - ongoing development
  ******************************************************************************/
 package org.eclipse.rwt.service;
 
@@ -15,7 +16,9 @@ import java.io.File;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpSession;
 
+import org.eclipse.rwt.internal.resources.SystemProps;
 import org.eclipse.rwt.internal.service.ContextProvider;
+import org.eclipse.rwt.internal.service.JournalingFileSettingStore;
 import org.eclipse.rwt.internal.service.ServletLog;
 import org.eclipse.rwt.internal.util.ParamCheck;
 
@@ -42,6 +45,10 @@ import org.eclipse.rwt.internal.util.ParamCheck;
  * given above) will be used. If the path determined does not exist it will
  * be created.
  * <p>
+ * If the system property <code>"org.eclipse.rap.journalSettingStore"</code> is
+ * set to <code>true</code>, changes are written to the file system in the
+ * background instead of on every change.
+ * <p>
  * <b>Note:</b> This setting store factory should be used in an RWT-only 
  * deployment. For a regular RAP deployment use the
  * <code>WorkbenchFileSettingStoreFactory</code>.
@@ -52,7 +59,7 @@ public final class RWTFileSettingStoreFactory implements ISettingStoreFactory {
 
   public ISettingStore createSettingStore( String storeId ) {
     ParamCheck.notNullOrEmpty( storeId, "storeId" );
-    ISettingStore result = new FileSettingStore( getWorkDir() );
+    ISettingStore result = createStore( getWorkDir() );
     try {
       result.loadById( storeId );
     } catch( SettingStoreException sse ) {
@@ -64,6 +71,18 @@ public final class RWTFileSettingStoreFactory implements ISettingStoreFactory {
   //////////////////
   // helping methods
 
+  private static ISettingStore createStore( File workDir ) {
+    ISettingStore result;
+    if( SystemProps.journalSettingStore() ) {
+      JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+      store.compactOnDestroy( ContextProvider.getSessionStore() );
+      result = store;
+    } else {
+      result = new FileSettingStore( workDir );
+    }
+    return result;
+  }
+
   private static ServletContext getServletContext() {
     HttpSession session = ContextProvider.getRequest().getSession();
     return session.getServletContext();
@@ -19,6 +19,7 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.widgets.*;
 
 
@@ -104,6 +105,7 @@ public class FileUpload extends Canvas {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.text = text;
   }
 
@@ -142,6 +144,7 @@ public class FileUpload extends Canvas {
     if( image != null && image.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     this.image = image;
   }
 
@@ -203,6 +206,7 @@ public class FileUpload extends Canvas {
     }
     checkWidget();
     if( fileName != null ) {
+      DirtyWidgetTracker.markDirty( this );
       this.url  = url;
     }
   }
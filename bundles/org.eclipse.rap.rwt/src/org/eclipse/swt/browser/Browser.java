@@ -24,6 +24,7 @@ import org.eclipse.swt.*;
 import org.eclipse.swt.events.DisposeEvent;
 import org.eclipse.swt.events.DisposeListener;
 import org.eclipse.swt.internal.SerializableCompatibility;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.IBrowserAdapter;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
@@ -133,6 +134,7 @@ public class Browser extends Composite {
     if( url == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     LocationEvent event = new LocationEvent( this, LocationEvent.CHANGING, url );
     event.processEvent();
     boolean result = event.doit;
@@ -194,6 +196,7 @@ public class Browser extends Composite {
     if( html == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     LocationEvent event = new LocationEvent( this, LocationEvent.CHANGING, ABOUT_BLANK );
     event.processEvent();
     boolean result = event.doit;
@@ -361,6 +364,7 @@ public class Browser extends Composite {
    */
   public void addLocationListener( LocationListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     LocationEvent.addListener( this, listener );
   }
 
@@ -381,6 +385,7 @@ public class Browser extends Composite {
    */
   public void removeLocationListener( LocationListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     LocationEvent.removeListener( this, listener );
   }
 
@@ -404,6 +409,7 @@ public class Browser extends Composite {
    */
   public void addProgressListener( ProgressListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ProgressEvent.addListener( this, listener );
   }
 
@@ -427,6 +433,7 @@ public class Browser extends Composite {
    */
   public void removeProgressListener( ProgressListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ProgressEvent.removeListener( this, listener );
   }
 
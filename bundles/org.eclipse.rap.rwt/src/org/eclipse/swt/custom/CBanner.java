@@ -16,6 +16,7 @@ import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.SerializableCompatibility;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.widgets.*;
 
 /**
@@ -368,6 +369,7 @@ public class CBanner extends Composite {
     if( control != null && control.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( bottom != null && !bottom.isDisposed() ) {
       Point size = bottom.getSize();
       bottom.setLocation( OFFSCREEN - size.x, OFFSCREEN - size.y );
@@ -418,6 +420,7 @@ public class CBanner extends Composite {
     if( control != null && control.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( left != null && !left.isDisposed() ) {
       Point size = left.getSize();
       left.setLocation( OFFSCREEN - size.x, OFFSCREEN - size.y );
@@ -447,6 +450,7 @@ public class CBanner extends Composite {
     if( control != null && control.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( right != null && !right.isDisposed() ) {
       Point size = right.getSize();
       right.setLocation( OFFSCREEN - size.x, OFFSCREEN - size.y );
@@ -473,6 +477,7 @@ public class CBanner extends Composite {
     checkWidget();
     if( size == null || size.x < SWT.DEFAULT || size.y < SWT.DEFAULT )
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+    DirtyWidgetTracker.markDirty( this );
     rightMinWidth = size.x;
     rightMinHeight = size.y;
     layout();
@@ -495,6 +500,7 @@ public class CBanner extends Composite {
     checkWidget();
     if( width < SWT.DEFAULT )
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+    DirtyWidgetTracker.markDirty( this );
     rightWidth = width;
     layout();
   }
@@ -513,6 +519,7 @@ public class CBanner extends Composite {
    */
   public void setSimple( boolean simple ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( this.simple != simple ) {
       this.simple = simple;
       if( simple ) {
@@ -18,6 +18,8 @@ import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.internal.custom.ccombokit.CComboThemeAdapter;
 import org.eclipse.swt.internal.graphics.FontUtil;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
+import org.eclipse.swt.internal.widgets.IListItemsAdapter;
 import org.eclipse.swt.internal.widgets.ListModel;
 import org.eclipse.swt.widgets.*;
 
@@ -127,6 +129,18 @@ public final class CCombo extends Composite {
     return result;
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T getAdapter( Class<T> adapter ) {
+    T result;
+    if( adapter == IListItemsAdapter.class ) {
+      result = ( T )model;
+    } else {
+      result = super.getAdapter( adapter );
+    }
+    return result;
+  }
+
   /**
    * Returns the zero-relative index of the item which is currently
    * selected in the receiver's list, or -1 if no item is selected.
@@ -157,6 +171,7 @@ public final class CCombo extends Composite {
    */
   public void select( int index ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( -1 <= index && index < getItemCount() ) {
       model.setSelection( index );
       updateText();
@@ -177,6 +192,7 @@ public final class CCombo extends Composite {
    */
   public void deselect( int index ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( index == model.getSelectionIndex() ) {
       model.setSelection( -1 );
       updateText();
@@ -199,6 +215,7 @@ public final class CCombo extends Composite {
    */
   public void deselectAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.deselectAll();
     updateText();
   }
@@ -222,6 +239,7 @@ public final class CCombo extends Composite {
   public void setSelection( Point selection ) {
     checkWidget();
     if( selection == null ) SWT.error ( SWT.ERROR_NULL_ARGUMENT );
+    DirtyWidgetTracker.markDirty( this );
     int validatedStart = this.selection.x;
     int validatedEnd = this.selection.y;
     int start = selection.x;
@@ -275,6 +293,7 @@ public final class CCombo extends Composite {
     if( limit == 0 ) {
       SWT.error ( SWT.ERROR_CANNOT_BE_ZERO );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( limit > 0 ) {
       textLimit = limit;
     } else {
@@ -338,6 +357,7 @@ public final class CCombo extends Composite {
    */
   public void clearSelection() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     selection.x = 0;
     selection.y = 0;
   }
@@ -359,6 +379,7 @@ public final class CCombo extends Composite {
    */
   public void add( String string ) {
   	checkWidget();
+  	DirtyWidgetTracker.markDirty( this );
   	model.add( string );
   }
 
@@ -387,6 +408,7 @@ public final class CCombo extends Composite {
    */
   public void add( String string, int index) {
   	checkWidget();
+  	DirtyWidgetTracker.markDirty( this );
   	model.add( string, index );
   }
 
@@ -406,6 +428,7 @@ public final class CCombo extends Composite {
    */
   public void remove( int index ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int selectionIndex = getSelectionIndex();
     if( selectionIndex == index ) {
       deselect( index );
@@ -431,6 +454,7 @@ public final class CCombo extends Composite {
    */
   public void remove( int start, int end ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int selectionIndex = getSelectionIndex();
     String[] items = model.getItems();
     for( int i = start; i <= end; i++ ) {
@@ -460,6 +484,7 @@ public final class CCombo extends Composite {
    */
   public void remove( String string ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int indexOfThisString = indexOf( string );
     int selectionIndex = getSelectionIndex();
     if( selectionIndex == indexOfThisString ) {
@@ -479,6 +504,7 @@ public final class CCombo extends Composite {
    */
   public void removeAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     deselectAll();
     model.removeAll();
   }
@@ -503,6 +529,7 @@ public final class CCombo extends Composite {
    */
   public void setItem( int index, String string ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.setItem( index, string );
   }
 
@@ -522,6 +549,7 @@ public final class CCombo extends Composite {
    */
   public void setItems( String [] items ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.setItems( items );
   }
 
@@ -614,6 +642,7 @@ public final class CCombo extends Composite {
    */
   public void setVisibleItemCount( int count ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( count >= 0 ) {
       visibleCount = count;
     }
@@ -655,6 +684,7 @@ public final class CCombo extends Composite {
    */
   public void setListVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     dropped = visible;
   }
 
@@ -756,6 +786,7 @@ public final class CCombo extends Composite {
     if( string == null ) {
       SWT.error ( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     internalSetText( string, true );
   }
 
@@ -788,6 +819,7 @@ public final class CCombo extends Composite {
    */
   public void setEditable( boolean editable ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.editable = editable;
   }
 
@@ -875,6 +907,7 @@ public final class CCombo extends Composite {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -897,6 +930,7 @@ public final class CCombo extends Composite {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
@@ -921,6 +955,7 @@ public final class CCombo extends Composite {
    */
   public void addModifyListener( ModifyListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ModifyEvent.addListener( this, listener );
   }
 
@@ -943,6 +978,7 @@ public final class CCombo extends Composite {
    */
   public void removeModifyListener( ModifyListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ModifyEvent.removeListener( this, listener );
   }
 
@@ -968,6 +1004,7 @@ public final class CCombo extends Composite {
    */
   public void addVerifyListener( VerifyListener verifyListener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     VerifyEvent.addListener( this, verifyListener );
   }
 
@@ -991,6 +1028,7 @@ public final class CCombo extends Composite {
    */
   public void removeVerifyListener( VerifyListener verifyListener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     VerifyEvent.removeListener( this, verifyListener );
   }
 
@@ -22,6 +22,7 @@ import org.eclipse.swt.events.DisposeListener;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.internal.SerializableCompatibility;
 import org.eclipse.swt.internal.custom.clabelkit.CLabelThemeAdapter;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.IWidgetGraphicsAdapter;
 import org.eclipse.swt.internal.widgets.MarkupValidator;
 import org.eclipse.swt.widgets.Canvas;
@@ -271,6 +272,7 @@ public class CLabel extends Canvas {
     if ( align != SWT.LEFT && align != SWT.RIGHT && align != SWT.CENTER ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if ( this.align != align ) {
       this.align = align;
     }
@@ -306,6 +308,7 @@ public class CLabel extends Canvas {
    */
   public void setBackground( Image image ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( image != backgroundImage ) {
       backgroundImage = image;
       if( image != null ) {
@@ -390,6 +393,7 @@ public class CLabel extends Canvas {
         }
       }
     }
+    DirtyWidgetTracker.markDirty( this );
     if( colors == null ) {
       setBackgroundGradient( null, null, false );
     } else {
@@ -430,6 +434,7 @@ public class CLabel extends Canvas {
    */
   public void setImage( Image image ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if ( image != this.image ) {
       this.image = image;
     }
@@ -448,6 +453,7 @@ public class CLabel extends Canvas {
    */
   public void setText( String text ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( text == null ) {
       this.text = "";
     } else if( !text.equals( this.text ) ) {
@@ -539,6 +545,7 @@ public class CLabel extends Canvas {
    */
   public void setMargins( int leftMargin, int topMargin, int rightMargin, int bottomMargin ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.leftMargin = Math.max( 0, leftMargin );
     this.topMargin = Math.max( 0, topMargin );
     this.rightMargin = Math.max( 0, rightMargin );
@@ -559,6 +566,7 @@ public class CLabel extends Canvas {
    */
   public void setLeftMargin( int leftMargin ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( leftMargin >= 0 ) {
       this.leftMargin = leftMargin;
     }
@@ -590,6 +598,7 @@ public class CLabel extends Canvas {
    */
   public void setTopMargin( int topMargin ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( topMargin >= 0 ) {
       this.topMargin = topMargin;
     }
@@ -621,6 +630,7 @@ public class CLabel extends Canvas {
    */
   public void setRightMargin( int rightMargin ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( rightMargin >= 0 ) {
       this.rightMargin = rightMargin;
     }
@@ -652,6 +662,7 @@ public class CLabel extends Canvas {
    */
   public void setBottomMargin( int bottomMargin ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( bottomMargin >= 0 ) {
       this.bottomMargin = bottomMargin;
     }
@@ -314,6 +314,7 @@ public class CTabFolder extends Composite {
    */
   public void setSelection( int index ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( index >= 0 && index <= itemHolder.size() - 1 ) {
       if( selectedIndex != index ) {
         int oldSelectionIndex = selectedIndex;
@@ -372,6 +373,7 @@ public class CTabFolder extends Composite {
     if( item == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int index = itemHolder.indexOf( item );
     setSelection( index );
   }
@@ -409,6 +411,7 @@ public class CTabFolder extends Composite {
    */
   public void showSelection () {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( selectedIndex != -1 ) {
       showItem( getSelection() );
     }
@@ -444,6 +447,7 @@ public class CTabFolder extends Composite {
     if( index == -1 ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int idx = -1;
     for( int i = 0; idx == -1 && i < priority.length; i++ ) {
       if( priority[ i ] == index ) {
@@ -496,6 +500,7 @@ public class CTabFolder extends Composite {
    */
   public void setMRUVisible( boolean show ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( mru != show ) {
       mru = show;
       if( !mru ) {
@@ -561,6 +566,7 @@ public class CTabFolder extends Composite {
    */
   public void setMaximizeVisible( boolean maximizeVisible ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( this.showMax != maximizeVisible ) {
       this.showMax = maximizeVisible;
       updateItems();
@@ -596,6 +602,7 @@ public class CTabFolder extends Composite {
    */
   public void setMinimizeVisible( boolean minimizeVisible ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( this.showMin != minimizeVisible ) {
       this.showMin = minimizeVisible;
       updateItems();
@@ -631,6 +638,7 @@ public class CTabFolder extends Composite {
    */
   public void setMinimized( boolean minimized ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( this.minimized != minimized ) {
       if( minimized && this.maximized ) {
         setMaximized( false );
@@ -666,6 +674,7 @@ public class CTabFolder extends Composite {
    */
   public void setMaximized( boolean maximized ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( this.maximized != maximized ) {
       if( maximized && this.minimized ) {
         setMinimized( false );
@@ -731,6 +740,7 @@ public class CTabFolder extends Composite {
     if( height < -1 ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     fixedTabHeight = height;
     updateTabHeight( false );
   }
@@ -784,6 +794,7 @@ public class CTabFolder extends Composite {
     if( minimumCharacters < 0 ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( this.minChars != minimumCharacters ) {
       this.minChars = minimumCharacters;
       updateItems();
@@ -826,6 +837,7 @@ public class CTabFolder extends Composite {
    */
   public void setSingle( boolean single ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( this.single != single ) {
       this.single = single;
       updateItemsWithResizeEvent();
@@ -864,6 +876,7 @@ public class CTabFolder extends Composite {
     if( position != SWT.TOP && position != SWT.BOTTOM ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( onBottom != ( position == SWT.BOTTOM ) ) {
       onBottom = position == SWT.BOTTOM;
       borderTop = onBottom ? borderLeft : 0;
@@ -900,6 +913,7 @@ public class CTabFolder extends Composite {
    */
   public void setBorderVisible( boolean show ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( borderLeft != 1 ) != !show ) {
       borderLeft = borderRight = show ? 1 : 0;
       borderTop = onBottom ? borderLeft : 0;
@@ -935,6 +949,7 @@ public class CTabFolder extends Composite {
    */
   public void setUnselectedImageVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( showUnselectedImage != visible ) {
       showUnselectedImage = visible;
       updateItems();
@@ -965,6 +980,7 @@ public class CTabFolder extends Composite {
    */
   public void setUnselectedCloseVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( showUnselectedClose != visible ) {
       showUnselectedClose = visible;
       updateItems();
@@ -1024,6 +1040,7 @@ public class CTabFolder extends Composite {
     checkWidget();
     if( null != color && color.isDisposed() )
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+    DirtyWidgetTracker.markDirty( this );
     selectionBackground = color;
   }
 
@@ -1138,6 +1155,7 @@ public class CTabFolder extends Composite {
         }
       }
     }
+    DirtyWidgetTracker.markDirty( this );
 
     if( colors == null ) {
       selectionGraphicsAdapter.setBackgroundGradient( null, null, vertical );
@@ -1177,6 +1195,7 @@ public class CTabFolder extends Composite {
    */
   public void setSelectionBackground( Image image ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     selectionBgImage = image;
   }
 
@@ -1192,6 +1211,7 @@ public class CTabFolder extends Composite {
    */
   public void setSelectionForeground( Color color ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     selectionForeground = color;
   }
 
@@ -1240,6 +1260,7 @@ public class CTabFolder extends Composite {
    */
   public void setTopRight( Control control ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     setTopRight( control, SWT.RIGHT );
   }
 
@@ -1273,6 +1294,7 @@ public class CTabFolder extends Composite {
     if( control != null && control.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_PARENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( topRight != control || topRightAlignment != alignment ) {
       topRight = control;
       topRightAlignment = alignment;
@@ -1340,6 +1362,7 @@ public class CTabFolder extends Composite {
 
   public void setFont( Font font ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( font != getFont() ) {
       super.setFont( font );
       if( !updateTabHeight( false ) ) {
@@ -1399,6 +1422,7 @@ public class CTabFolder extends Composite {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -1418,6 +1442,7 @@ public class CTabFolder extends Composite {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
@@ -1444,6 +1469,7 @@ public class CTabFolder extends Composite {
    */
   public void addCTabFolder2Listener( CTabFolder2Listener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     CTabFolderEvent.addListener( this, listener );
   }
 
@@ -1465,6 +1491,7 @@ public class CTabFolder extends Composite {
    */
   public void removeCTabFolder2Listener( CTabFolder2Listener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     CTabFolderEvent.removeListener( this, listener );
   }
 
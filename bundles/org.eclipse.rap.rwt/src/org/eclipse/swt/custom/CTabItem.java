@@ -15,6 +15,7 @@ import org.eclipse.rwt.graphics.Graphics;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.IWidgetFontAdapter;
 import org.eclipse.swt.widgets.*;
 
@@ -163,6 +164,7 @@ public class CTabItem extends Item {
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( !text.equals( getText() ) ) {
       super.setText( text );
       shortenedText = null;
@@ -173,6 +175,7 @@ public class CTabItem extends Item {
 
   public void setImage( Image image ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( image != getImage() ) {
       super.setImage( image );
       if( !parent.updateTabHeight( false ) ) {
@@ -205,6 +208,7 @@ public class CTabItem extends Item {
     if( font != null && font.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( font != this.font ) {
       this.font = font;
       if( !parent.updateTabHeight( false ) ) {
@@ -275,6 +279,7 @@ public class CTabItem extends Item {
         SWT.error( SWT.ERROR_INVALID_PARENT );
       }
     }
+    DirtyWidgetTracker.markDirty( this );
     if( this.control != null && !this.control.isDisposed() ) {
       this.control.setVisible( false );
     }
@@ -303,6 +308,7 @@ public class CTabItem extends Item {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.toolTipText = toolTipText;
   }
 
@@ -345,6 +351,7 @@ public class CTabItem extends Item {
    */
   public void setShowClose( boolean close ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( parent.getStyle() & SWT.CLOSE ) == 0 && showClose != close ) {
       showClose = close;
       parent.updateItems();
@@ -17,6 +17,7 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.widgets.*;
 
 /**
@@ -163,6 +164,7 @@ public class ScrolledComposite extends Composite {
    */
   public void setOrigin( int left, int top ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( content != null && left >= 0 && top >= 0 ) {
       int x = left;
       int y = top;
@@ -225,6 +227,7 @@ public class ScrolledComposite extends Composite {
    */
   public void setAlwaysShowScrollBars( boolean show ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( !show != !alwaysShowScroll ) {
       alwaysShowScroll = show;
       ScrollBar hBar = getHorizontalBar();
@@ -303,6 +306,7 @@ public class ScrolledComposite extends Composite {
    */
   public void setExpandHorizontal( boolean expand ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( expand != expandHorizontal ) {
       expandHorizontal = expand;
       // layout( false );
@@ -327,6 +331,7 @@ public class ScrolledComposite extends Composite {
    */
   public void setExpandVertical( boolean expand ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( expand != expandVertical ) {
       expandVertical = expand;
       // layout( false );
@@ -434,6 +439,7 @@ public class ScrolledComposite extends Composite {
    */
   public void setMinSize( int width, int height ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( width != minWidth || height != minHeight ) {
       minWidth = Math.max( 0, width );
       minHeight = Math.max( 0, height );
@@ -457,6 +463,7 @@ public class ScrolledComposite extends Composite {
    */
   public void setContent( Control content ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( this.content != null && !this.content.isDisposed() ) {
       this.content.removeControlListener( contentListener );
       this.content.setBounds( new Rectangle( -200, -200, 0, 0 ) );
@@ -517,6 +524,7 @@ public class ScrolledComposite extends Composite {
    */
   public void setShowFocusedControl( boolean show ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( showFocusedControl != show ) {
       showFocusedControl = show;
       if( showFocusedControl ) {
@@ -573,6 +581,7 @@ public class ScrolledComposite extends Composite {
     if( !contains( control ) ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     Rectangle itemRect = getDisplay().map( control.getParent(),
                                            this,
                                            control.getBounds() );
@@ -13,6 +13,7 @@ package org.eclipse.swt.custom;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.widgets.*;
 
 /**
@@ -318,6 +319,7 @@ public class ViewForm extends Composite {
     if( content != null && content.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( this.content != null && !this.content.isDisposed() ) {
       this.content.setBounds( OFFSCREEN, OFFSCREEN, 0, 0 );
     }
@@ -376,6 +378,7 @@ public class ViewForm extends Composite {
     if( topCenter != null && topCenter.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( this.topCenter != null && !this.topCenter.isDisposed() ) {
       Point size = this.topCenter.getSize();
       this.topCenter.setLocation( OFFSCREEN - size.x, OFFSCREEN - size.y );
@@ -405,6 +408,7 @@ public class ViewForm extends Composite {
     if( c != null && c.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( this.topLeft != null && !this.topLeft.isDisposed() ) {
       Point size = this.topLeft.getSize();
       this.topLeft.setLocation( OFFSCREEN - size.x, OFFSCREEN - size.y );
@@ -435,6 +439,7 @@ public class ViewForm extends Composite {
     if( c != null && c.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( this.topRight != null && !this.topRight.isDisposed() ) {
       Point size = this.topRight.getSize();
       this.topRight.setLocation( OFFSCREEN - size.x, OFFSCREEN - size.y );
@@ -456,6 +461,7 @@ public class ViewForm extends Composite {
    */
   public void setBorderVisible( boolean show ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( showBorder == show )
       return;
     showBorder = show;
@@ -487,6 +493,7 @@ public class ViewForm extends Composite {
    */
   public void setTopCenterSeparate( boolean show ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     separateTopCenter = show;
     layout(false);
   }
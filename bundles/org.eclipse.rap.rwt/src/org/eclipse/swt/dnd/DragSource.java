@@ -14,6 +14,7 @@ package org.eclipse.swt.dnd;
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.dnd.DNDAdapter;
 import org.eclipse.swt.internal.dnd.IDNDAdapter;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.widgets.*;
 
 /**
@@ -353,6 +354,7 @@ public void setDragSourceEffect(DragSourceEffect effect) {
  * dragged from this source
  */
 public void setTransfer(Transfer[] transferAgents){
+	DirtyWidgetTracker.markDirty(this);
 	this.transferAgents = transferAgents;
 }
 
@@ -11,6 +11,7 @@
 package org.eclipse.swt.dnd;
 
 import org.eclipse.swt.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.widgets.*;
 
 /**
@@ -315,6 +316,7 @@ public void setDropTargetEffect(DropTargetEffect effect) {
  */
 public void setTransfer(Transfer[] transferAgents){
 	if (transferAgents == null) DND.error(SWT.ERROR_NULL_ARGUMENT);
+	DirtyWidgetTracker.markDirty(this);
 	this.transferAgents = transferAgents;
 }
 }
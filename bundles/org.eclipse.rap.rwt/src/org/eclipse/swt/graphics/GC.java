@@ -18,8 +18,8 @@ import org.eclipse.swt.widgets.Control;
 
 /**
  * Class <code>GC</code> is where all of the drawing capabilities that are
- * supported by SWT are located. Instances are used to draw on a
- * <code>Control</code>.
+ * supported by SWT are located. Instances are used to draw on either an
+ * <code>Image</code> or a <code>Control</code>.
  * <!--
  * Class <code>GC</code> is where all of the drawing capabilities that are
  * supported by SWT are located. Instances are used to draw on either an
@@ -47,6 +47,14 @@ import org.eclipse.swt.widgets.Control;
  * -->
  *
  * <p>
+ * Drawing on an <code>Image</code> is rasterized on the server. The content of
+ * the image is replaced with the result when the GC is disposed. Widgets that
+ * display the image show the new content with the next response. Images that
+ * are shared among sessions, like those created with
+ * <code>Graphics#getImage()</code>, cannot be drawn on.
+ * </p>
+ *
+ * <p>
  * Application code must explicitly invoke the <code>GC.dispose()</code>
  * method to release the operating system resources managed by each instance
  * when those instances are no longer required. <!-- This is <em>particularly</em>
@@ -659,6 +667,7 @@ public class GC extends Resource {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
     this.antialias = antialias;
+    delegate.setAntialias( antialias );
     advanced = true;
   }
 
@@ -715,6 +724,7 @@ public class GC extends Resource {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
     textAntialias = antialias;
+    delegate.setTextAntialias( antialias );
     advanced = true;
   }
 
@@ -1474,6 +1484,11 @@ public class GC extends Resource {
     return result;
   }
 
+  @Override
+  void destroy() {
+    delegate.dispose();
+  }
+
   private void checkDisposed() {
     if( isDisposed() ) {
       SWT.error( SWT.ERROR_GRAPHIC_DISPOSED );
@@ -1521,8 +1536,10 @@ public class GC extends Resource {
 
   private static GCDelegate determineDelegate( Drawable drawable ) {
     GCDelegate result = null;
-    // Assume that Drawable is either a Control or a Device
-    if( drawable instanceof Control ) {
+    // Assume that Drawable is either an Image, a Control or a Device
+    if( drawable instanceof Image ) {
+      result = new ImageGC( ( Image )drawable );
+    } else if( drawable instanceof Control ) {
       result = new ControlGC( ( Control )drawable );
     } else if( drawable instanceof Device ) {
       result = new DeviceGC( ( Device )drawable );
@@ -1532,7 +1549,9 @@ public class GC extends Resource {
 
   private static Device determineDevice( Drawable drawable ) {
     Device result = null;
-    if( drawable instanceof Control ) {
+    if( drawable instanceof Image ) {
+      result = ( ( Image )drawable ).device;
+    } else if( drawable instanceof Control ) {
       result = ( ( Control )drawable ).getDisplay();
     } else if( drawable instanceof Device ) {
       result = ( Device )drawable;
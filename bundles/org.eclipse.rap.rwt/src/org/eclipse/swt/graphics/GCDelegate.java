@@ -1,11 +1,12 @@
 /*******************************************************************************
- * Copyright (c) 2011 Rüdiger Herrmann and others. All rights reserved.
+ * Copyright (c) 2011, 2012 Rüdiger Herrmann and others. All rights reserved.
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v1.0 which accompanies this distribution, 
  * and is available at http://www.eclipse.org/legal/epl-v10.html
  *
  * Contributors:
  *   Rüdiger Herrmann - initial API and implementation
+ *   EclipseSource - ongoing development
  ******************************************************************************/
 package org.eclipse.swt.graphics;
 
@@ -58,4 +59,14 @@ abstract class GCDelegate {
                            boolean simple );
 
   abstract void drawText( String string, int x, int y, int flags );
+
+  // Only delegates that rasterize on the server respect antialiasing and need to be disposed
+  void setAntialias( int antialias ) {
+  }
+
+  void setTextAntialias( int antialias ) {
+  }
+
+  void dispose() {
+  }
 }
@@ -52,7 +52,7 @@ import org.eclipse.swt.widgets.Display;
  * @see org.eclipse.rwt.graphics.Graphics#getImage(String, ClassLoader)
  * @see org.eclipse.rwt.graphics.Graphics#getImage(String, java.io.InputStream)
  */
-public final class Image extends Resource {
+public final class Image extends Resource implements Drawable {
 
   /**
    * The internal resource.
@@ -68,6 +68,12 @@ public final class Image extends Resource {
    */
   public final InternalImage internalImage;
 
+  /* The content drawn by an image GC, replaces the content of internalImage once set */
+  private InternalImage drawnImage;
+
+  /* The image GC that currently draws on this image, if any */
+  transient ImageGC memGC;
+
   /* This constructor is called by ImageFactory#createImageInstance() */
   private Image( Device device, InternalImage internalImage ) {
     super( device );
@@ -228,7 +234,7 @@ public final class Image extends Resource {
     }
     switch( flag ) {
       case SWT.IMAGE_COPY:
-        internalImage = srcImage.internalImage;
+        internalImage = srcImage.getInternalImage();
       break;
       default:
         internalImage = null;
@@ -342,12 +348,18 @@ public final class Image extends Resource {
     if( isDisposed() ) {
       SWT.error( SWT.ERROR_GRAPHIC_DISPOSED );
     }
+    ImageData result = findImageData();
+    return result != null ? ( ImageData )result.clone() : null;
+  }
+
+  /* Returns the shared image data of the receiver, which must not be modified */
+  ImageData findImageData() {
     ImageData result;
     if( device != null ) {
       ApplicationContext applicationContext = getApplicationContext();
-      result = applicationContext.getImageDataFactory().findImageData( internalImage );
+      result = applicationContext.getImageDataFactory().findImageData( getInternalImage() );
     } else {
-      result = internalImage.getImageData();
+      result = getInternalImage().getImageData();
     }
     return result;
   }
@@ -428,6 +440,29 @@ public final class Image extends Resource {
     return null;
   }
 
+  /**
+   * Returns the internal resource that holds the current content of this
+   * image. This is <code>internalImage</code> unless an image GC has drawn
+   * on this image.
+   * (Warning: This method is platform dependent)
+   * <p>
+   * <b>IMPORTANT:</b> This method is <em>not</em> part of the SWT
+   * public API. It is marked public only so that it can be shared
+   * within the packages provided by SWT. It is not available on all
+   * platforms and should never be accessed from application code.
+   * </p>
+   *
+   * @noreference This method is not intended to be referenced by clients.
+   */
+  public InternalImage getInternalImage() {
+    return drawnImage != null ? drawnImage : internalImage;
+  }
+
+  /* Replaces the content of this image with the result of an image GC */
+  void setImageData( ImageData imageData ) {
+    drawnImage = findInternalImage( imageData );
+  }
+
   private void writeObject( ObjectOutputStream stream ) throws IOException {
     if( device == null ) {
       throw new NotSerializableException( getClass().getName() );
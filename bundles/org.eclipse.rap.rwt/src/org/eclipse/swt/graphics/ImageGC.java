@@ -0,0 +1,504 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Locale;
+
+import org.eclipse.rwt.graphics.Graphics;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
+import org.eclipse.swt.widgets.Display;
+
+
+/*
+ * Draws on an image by rasterizing all drawing operations on the server with the headless
+ * Java2D API. When the GC is disposed, the content of the image is replaced by the result,
+ * which is registered as a cached resource like any other image that is created from image
+ * data. Hence an image that is drawn once is sent to the client as one PNG, no matter how many
+ * operations were used to draw it.
+ *
+ * Widgets that show the image render it again, as the preserved values of images include their
+ * content. When only dirty widgets are rendered, the widgets that rendered the image are marked
+ * dirty before the content is replaced.
+ */
+class ImageGC extends GCDelegate {
+
+  private static final int TAB_WIDTH = 8;
+
+  private final Image image;
+  private final BufferedImage bufferedImage;
+  private final Graphics2D graphics;
+  private Color background;
+  private Color foreground;
+  private Font font;
+  private int alpha;
+  private int lineWidth;
+  private int lineCap;
+  private int lineJoin;
+
+  ImageGC( Image image ) {
+    if( image.isDisposed() || image.device == null || image.memGC != null ) {
+      SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+    }
+    this.image = image;
+    Device device = image.getDevice();
+    this.background = device.getSystemColor( SWT.COLOR_WHITE );
+    this.foreground = device.getSystemColor( SWT.COLOR_BLACK );
+    this.font = device.getSystemFont();
+    this.alpha = 255;
+    this.lineWidth = 0;
+    this.lineCap = SWT.CAP_FLAT;
+    this.lineJoin = SWT.JOIN_MITER;
+    bufferedImage = createBufferedImage( image.findImageData() );
+    graphics = bufferedImage.createGraphics();
+    graphics.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON );
+    graphics.setRenderingHint( RenderingHints.KEY_TEXT_ANTIALIASING,
+                               RenderingHints.VALUE_TEXT_ANTIALIAS_ON );
+    updateStroke();
+    updateFont();
+    image.memGC = this;
+  }
+
+  @Override
+  void setBackground( Color color ) {
+    background = color;
+  }
+
+  @Override
+  Color getBackground() {
+    return background;
+  }
+
+  @Override
+  void setForeground( Color color ) {
+    foreground = color;
+  }
+
+  @Override
+  Color getForeground() {
+    return foreground;
+  }
+
+  @Override
+  void setFont( Font font ) {
+    this.font = font;
+    updateFont();
+  }
+
+  @Override
+  Font getFont() {
+    return font;
+  }
+
+  @Override
+  Font getDefaultFont() {
+    return image.getDevice().getSystemFont();
+  }
+
+  @Override
+  void setAlpha( int alpha ) {
+    this.alpha = alpha;
+    graphics.setComposite( AlphaComposite.getInstance( AlphaComposite.SRC_OVER, alpha / 255f ) );
+  }
+
+  @Override
+  int getAlpha() {
+    return alpha;
+  }
+
+  @Override
+  void setLineWidth( int lineWidth ) {
+    this.lineWidth = lineWidth;
+    updateStroke();
+  }
+
+  @Override
+  int getLineWidth() {
+    return lineWidth;
+  }
+
+  @Override
+  void setLineCap( int lineCap ) {
+    this.lineCap = lineCap;
+    updateStroke();
+  }
+
+  @Override
+  int getLineCap() {
+    return lineCap;
+  }
+
+  @Override
+  void setLineJoin( int lineJoin ) {
+    this.lineJoin = lineJoin;
+    updateStroke();
+  }
+
+  @Override
+  int getLineJoin() {
+    return lineJoin;
+  }
+
+  @Override
+  void setAntialias( int antialias ) {
+    Object value = antialias == SWT.OFF
+                 ? RenderingHints.VALUE_ANTIALIAS_OFF
+                 : RenderingHints.VALUE_ANTIALIAS_ON;
+    graphics.setRenderingHint( RenderingHints.KEY_ANTIALIASING, value );
+  }
+
+  @Override
+  void setTextAntialias( int antialias ) {
+    Object value = antialias == SWT.OFF
+                 ? RenderingHints.VALUE_TEXT_ANTIALIAS_OFF
+                 : RenderingHints.VALUE_TEXT_ANTIALIAS_ON;
+    graphics.setRenderingHint( RenderingHints.KEY_TEXT_ANTIALIASING, value );
+  }
+
+  @Override
+  Rectangle getClipping() {
+    return image.getBounds();
+  }
+
+  @Override
+  Point stringExtent( String string ) {
+    return Graphics.stringExtent( font, string );
+  }
+
+  @Override
+  Point textExtent( String string, int wrapWidth ) {
+    return Graphics.textExtent( font, string, wrapWidth );
+  }
+
+  @Override
+  void drawPoint( int x, int y ) {
+    graphics.setColor( toAwtColor( foreground ) );
+    graphics.fillRect( x, y, 1, 1 );
+  }
+
+  @Override
+  void drawLine( int x1, int y1, int x2, int y2 ) {
+    graphics.setColor( toAwtColor( foreground ) );
+    graphics.drawLine( x1, y1, x2, y2 );
+  }
+
+  @Override
+  void drawPolyline( int[] pointArray, boolean close, boolean fill ) {
+    int count = pointArray.length / 2;
+    int[] xPoints = new int[ count ];
+    int[] yPoints = new int[ count ];
+    for( int i = 0; i < count; i++ ) {
+      xPoints[ i ] = pointArray[ i * 2 ];
+      yPoints[ i ] = pointArray[ i * 2 + 1 ];
+    }
+    if( fill ) {
+      graphics.setColor( toAwtColor( background ) );
+      graphics.fillPolygon( xPoints, yPoints, count );
+    } else {
+      graphics.setColor( toAwtColor( foreground ) );
+      if( close ) {
+        graphics.drawPolygon( xPoints, yPoints, count );
+      } else {
+        graphics.drawPolyline( xPoints, yPoints, count );
+      }
+    }
+  }
+
+  @Override
+  void drawRectangle( Rectangle bounds, boolean fill ) {
+    if( fill ) {
+      graphics.setColor( toAwtColor( background ) );
+      graphics.fillRect( bounds.x, bounds.y, bounds.width, bounds.height );
+    } else {
+      graphics.setColor( toAwtColor( foreground ) );
+      graphics.drawRect( bounds.x, bounds.y, bounds.width, bounds.height );
+    }
+  }
+
+  @Override
+  void drawRoundRectangle( Rectangle bounds, int arcWidth, int arcHeight, boolean fill ) {
+    if( fill ) {
+      graphics.setColor( toAwtColor( background ) );
+      graphics.fillRoundRect( bounds.x, bounds.y, bounds.width, bounds.height, arcWidth, arcHeight );
+    } else {
+      graphics.setColor( toAwtColor( foreground ) );
+      graphics.drawRoundRect( bounds.x, bounds.y, bounds.width, bounds.height, arcWidth, arcHeight );
+    }
+  }
+
+  @Override
+  void fillGradientRectangle( Rectangle bounds, boolean vertical ) {
+    Rectangle area = GC.checkBounds( bounds.x, bounds.y, bounds.width, bounds.height );
+    java.awt.Color startColor = toAwtColor( foreground );
+    java.awt.Color endColor = toAwtColor( background );
+    // a negative extent in the direction of the gradient swaps the colors
+    if( vertical ? bounds.height < 0 : bounds.width < 0 ) {
+      java.awt.Color swap = startColor;
+      startColor = endColor;
+      endColor = swap;
+    }
+    float endX = vertical ? area.x : area.x + area.width;
+    float endY = vertical ? area.y + area.height : area.y;
+    graphics.setPaint( new GradientPaint( area.x, area.y, startColor, endX, endY, endColor ) );
+    graphics.fillRect( area.x, area.y, area.width, area.height );
+  }
+
+  @Override
+  void drawArc( Rectangle bounds, int startAngle, int arcAngle, boolean fill ) {
+    if( fill ) {
+      graphics.setColor( toAwtColor( background ) );
+      graphics.fillArc( bounds.x, bounds.y, bounds.width, bounds.height, startAngle, arcAngle );
+    } else {
+      graphics.setColor( toAwtColor( foreground ) );
+      graphics.drawArc( bounds.x, bounds.y, bounds.width, bounds.height, startAngle, arcAngle );
+    }
+  }
+
+  @Override
+  void drawImage( Image image, Rectangle src, Rectangle dest, boolean simple ) {
+    BufferedImage source = createBufferedImage( image.findImageData() );
+    if( simple ) {
+      graphics.drawImage( source, dest.x, dest.y, null );
+    } else {
+      graphics.drawImage( source,
+                          dest.x,
+                          dest.y,
+                          dest.x + dest.width,
+                          dest.y + dest.height,
+                          src.x,
+                          src.y,
+                          src.x + src.width,
+                          src.y + src.height,
+                          null );
+    }
+  }
+
+  @Override
+  void drawText( String string, int x, int y, int flags ) {
+    String text = prepareText( string, flags );
+    String[] lines = ( flags & SWT.DRAW_DELIMITER ) != 0
+                   ? text.split( "\r\n|\r|\n", -1 )
+                   : new String[] { text };
+    java.awt.FontMetrics metrics = graphics.getFontMetrics();
+    int lineHeight = metrics.getHeight();
+    if( ( flags & SWT.DRAW_TRANSPARENT ) == 0 ) {
+      int width = 0;
+      for( int i = 0; i < lines.length; i++ ) {
+        width = Math.max( width, metrics.stringWidth( lines[ i ] ) );
+      }
+      graphics.setColor( toAwtColor( background ) );
+      graphics.fillRect( x, y, width, lineHeight * lines.length );
+    }
+    graphics.setColor( toAwtColor( foreground ) );
+    for( int i = 0; i < lines.length; i++ ) {
+      if( lines[ i ].length() > 0 ) {
+        graphics.drawString( lines[ i ], x, y + i * lineHeight + metrics.getAscent() );
+      }
+    }
+  }
+
+  @Override
+  void dispose() {
+    graphics.dispose();
+    markUsersDirty();
+    image.setImageData( createImageData( bufferedImage ) );
+    image.memGC = null;
+  }
+
+  private void markUsersDirty() {
+    Device device = image.getDevice();
+    if( device instanceof Display ) {
+      DirtyWidgetTracker tracker = DirtyWidgetTracker.getTracker( ( Display )device );
+      if( tracker != null ) {
+        tracker.markImageChanged( image );
+      }
+    }
+  }
+
+  private void updateStroke() {
+    float width = Math.max( 1, lineWidth );
+    graphics.setStroke( new BasicStroke( width, toAwtLineCap( lineCap ), toAwtLineJoin( lineJoin ) ) );
+  }
+
+  private void updateFont() {
+    graphics.setFont( toAwtFont( font.getFontData()[ 0 ] ) );
+  }
+
+  private static java.awt.Color toAwtColor( Color color ) {
+    RGB rgb = color.getRGB();
+    return new java.awt.Color( rgb.red, rgb.green, rgb.blue );
+  }
+
+  private static java.awt.Font toAwtFont( FontData fontData ) {
+    int style = java.awt.Font.PLAIN;
+    if( ( fontData.getStyle() & SWT.BOLD ) != 0 ) {
+      style |= java.awt.Font.BOLD;
+    }
+    if( ( fontData.getStyle() & SWT.ITALIC ) != 0 ) {
+      style |= java.awt.Font.ITALIC;
+    }
+    // The name of a FontData is a CSS font family list, Java2D falls back to its default font
+    // for families that are not installed
+    String family = fontData.getName().split( "," )[ 0 ].replace( '"', ' ' ).replace( '\'', ' ' );
+    family = family.trim();
+    String lowerCaseFamily = family.toLowerCase( Locale.ENGLISH );
+    if( "sans-serif".equals( lowerCaseFamily ) ) {
+      family = java.awt.Font.SANS_SERIF;
+    } else if( "serif".equals( lowerCaseFamily ) ) {
+      family = java.awt.Font.SERIF;
+    } else if( "monospace".equals( lowerCaseFamily ) ) {
+      family = java.awt.Font.MONOSPACED;
+    }
+    // font heights are pixels in RWT
+    return new java.awt.Font( family, style, 1 ).deriveFont( ( float )fontData.getHeight() );
+  }
+
+  private static int toAwtLineCap( int lineCap ) {
+    int result;
+    switch( lineCap ) {
+      case SWT.CAP_ROUND:
+        result = BasicStroke.CAP_ROUND;
+      break;
+      case SWT.CAP_SQUARE:
+        result = BasicStroke.CAP_SQUARE;
+      break;
+      default:
+        result = BasicStroke.CAP_BUTT;
+      break;
+    }
+    return result;
+  }
+
+  private static int toAwtLineJoin( int lineJoin ) {
+    int result;
+    switch( lineJoin ) {
+      case SWT.JOIN_ROUND:
+        result = BasicStroke.JOIN_ROUND;
+      break;
+      case SWT.JOIN_BEVEL:
+        result = BasicStroke.JOIN_BEVEL;
+      break;
+      default:
+        result = BasicStroke.JOIN_MITER;
+      break;
+    }
+    return result;
+  }
+
+  private static String prepareText( String string, int flags ) {
+    String result = string;
+    if( ( flags & SWT.DRAW_TAB ) != 0 ) {
+      StringBuilder spaces = new StringBuilder();
+      for( int i = 0; i < TAB_WIDTH; i++ ) {
+        spaces.append( ' ' );
+      }
+      result = result.replace( "\t", spaces );
+    }
+    if( ( flags & SWT.DRAW_MNEMONIC ) != 0 ) {
+      result = result.replaceAll( "&(.)", "$1" );
+    }
+    return result;
+  }
+
+  static BufferedImage createBufferedImage( ImageData imageData ) {
+    int width = imageData.width;
+    int height = imageData.height;
+    BufferedImage result = new BufferedImage( width, height, BufferedImage.TYPE_INT_ARGB );
+    int transparencyType = imageData.getTransparencyType();
+    ImageData mask = null;
+    if( transparencyType == SWT.TRANSPARENCY_MASK ) {
+      mask = imageData.getTransparencyMask();
+    }
+    int[] pixels = new int[ width ];
+    byte[] alphas = new byte[ width ];
+    int[] row = new int[ width ];
+    int[] colors = getIndexedColors( imageData.palette );
+    for( int y = 0; y < height; y++ ) {
+      imageData.getPixels( 0, y, width, pixels, 0 );
+      if( transparencyType == SWT.TRANSPARENCY_ALPHA ) {
+        imageData.getAlphas( 0, y, width, alphas, 0 );
+      }
+      for( int x = 0; x < width; x++ ) {
+        int pixel = pixels[ x ];
+        int rgb = colors != null ? colors[ pixel ] : getDirectColor( imageData.palette, pixel );
+        int alpha;
+        if( transparencyType == SWT.TRANSPARENCY_ALPHA ) {
+          alpha = alphas[ x ] & 0xFF;
+        } else if( transparencyType == SWT.TRANSPARENCY_PIXEL ) {
+          alpha = pixel == imageData.transparentPixel ? 0 : 255;
+        } else if( mask != null ) {
+          alpha = mask.getPixel( x, y ) == 0 ? 0 : 255;
+        } else {
+          alpha = imageData.alpha == -1 ? 255 : imageData.alpha;
+        }
+        row[ x ] = ( alpha << 24 ) | rgb;
+      }
+      result.setRGB( 0, y, width, 1, row, 0, width );
+    }
+    return result;
+  }
+
+  private static int[] getIndexedColors( PaletteData palette ) {
+    int[] result = null;
+    if( !palette.isDirect ) {
+      RGB[] rgbs = palette.getRGBs();
+      result = new int[ rgbs.length ];
+      for( int i = 0; i < rgbs.length; i++ ) {
+        result[ i ] = ( rgbs[ i ].red << 16 ) | ( rgbs[ i ].green << 8 ) | rgbs[ i ].blue;
+      }
+    }
+    return result;
+  }
+
+  private static int getDirectColor( PaletteData palette, int pixel ) {
+    int red = shift( pixel & palette.redMask, palette.redShift );
+    int green = shift( pixel & palette.greenMask, palette.greenShift );
+    int blue = shift( pixel & palette.blueMask, palette.blueShift );
+    return ( red << 16 ) | ( green << 8 ) | blue;
+  }
+
+  private static int shift( int value, int shift ) {
+    return shift < 0 ? value >>> -shift : value << shift;
+  }
+
+  static ImageData createImageData( BufferedImage bufferedImage ) {
+    int width = bufferedImage.getWidth();
+    int height = bufferedImage.getHeight();
+    PaletteData palette = new PaletteData( 0xFF0000, 0xFF00, 0xFF );
+    ImageData result = new ImageData( width, height, 24, palette );
+    byte[] alphaData = new byte[ width * height ];
+    boolean opaque = true;
+    int[] row = new int[ width ];
+    for( int y = 0; y < height; y++ ) {
+      bufferedImage.getRGB( 0, y, width, 1, row, 0, width );
+      int index = y * result.bytesPerLine;
+      for( int x = 0; x < width; x++ ) {
+        int argb = row[ x ];
+        result.data[ index++ ] = ( byte )( argb >> 16 );
+        result.data[ index++ ] = ( byte )( argb >> 8 );
+        result.data[ index++ ] = ( byte )argb;
+        int alpha = argb >>> 24;
+        alphaData[ y * width + x ] = ( byte )alpha;
+        opaque &= alpha == 255;
+      }
+    }
+    if( !opaque ) {
+      result.alphaData = alphaData;
+    }
+    return result;
+  }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011 EclipseSource and others.
+ * Copyright (c) 2011, 2012 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -43,7 +43,7 @@ class ImageSerializer {
       PostDeserialization.addProcessor( getSessionStore(), new Runnable() {
         public void run() {
           InputStream inputStream = new ByteArrayInputStream( imageBytes.data );
-          getResourceManager().register( image.internalImage.getResourceName(), inputStream );
+          getResourceManager().register( image.getInternalImage().getResourceName(), inputStream );
         }
       } );
     }
@@ -67,7 +67,7 @@ class ImageSerializer {
   }
 
   private byte[] getImageBytes() {
-    String resourceName = image.internalImage.getResourceName();
+    String resourceName = image.getInternalImage().getResourceName();
     InputStream inputStream = getResourceManager().getRegisteredContent( resourceName );
     try {
       return ResourceUtil.readBinary( inputStream );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2011 EclipseSource and others. All rights reserved.
+ * Copyright (c) 2010, 2012 EclipseSource and others. All rights reserved.
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v1.0 which accompanies this distribution,
  * and is available at http://www.eclipse.org/legal/epl-v10.html
@@ -18,6 +18,7 @@ public final class GCAdapter implements IGCAdapter {
 
   private final List<GCOperation> gcOperations;
   private boolean forceRedraw;
+  private Object clientState;
 
   public GCAdapter() {
     gcOperations = new LinkedList<GCOperation>();
@@ -61,6 +62,14 @@ public final class GCAdapter implements IGCAdapter {
     return forceRedraw;
   }
 
+  public void setClientState( Object clientState ) {
+    this.clientState = clientState;
+  }
+
+  public Object getClientState() {
+    return clientState;
+  }
+
   private static boolean isDrawOperation( GCOperation operation ) {
     return !( operation instanceof SetProperty );
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010 EclipseSource and others. All rights reserved.
+ * Copyright (c) 2010, 2012 EclipseSource and others. All rights reserved.
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v1.0 which accompanies this distribution,
  * and is available at http://www.eclipse.org/legal/epl-v10.html
@@ -17,4 +17,7 @@ public interface IGCAdapter {
   void clearGCOperations();
   void setForceRedraw( boolean forceRedraw );
   boolean getForceRedraw();
+  // State that the life cycle adapter keeps about the operations the client retains
+  void setClientState( Object clientState );
+  Object getClientState();
 }
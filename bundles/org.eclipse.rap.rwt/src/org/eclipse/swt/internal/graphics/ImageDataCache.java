@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2011 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2012 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,27 +11,43 @@
  ******************************************************************************/
 package org.eclipse.swt.internal.graphics;
 
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.eclipse.rwt.internal.resources.SystemProps;
 import org.eclipse.rwt.internal.util.ParamCheck;
 import org.eclipse.swt.graphics.ImageData;
 
 
 /**
- * Cache for small image data, mainly for decorator images.
+ * Cache for small image data, mainly for decorator images. The cache holds image data up to a
+ * total size in bytes and evicts the least recently used entries when this size is exceeded.
+ * <p>
+ * The cached image data is shared, neither the image data that is put into the cache nor the
+ * image data that is returned from it must be modified.
+ * </p>
  */
-final class ImageDataCache {
-
-  /** Maximum size of image data that is being cached */
-  private static final int MAX_DATA_SIZE = 1024;
+public final class ImageDataCache {
 
   private final Map<InternalImage,ImageData> cache;
   private final Object cacheLock;
+  private final long maxCacheSize;
+  private final int maxEntrySize;
+  private long cacheSize;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
 
   ImageDataCache() {
+    this( SystemProps.getImageDataCacheSize(), SystemProps.getImageDataCacheMaxEntrySize() );
+  }
+
+  ImageDataCache( long maxCacheSize, int maxEntrySize ) {
+    this.maxCacheSize = maxCacheSize;
+    this.maxEntrySize = maxEntrySize;
     cacheLock = new Object();
-    cache = new HashMap<InternalImage,ImageData>( 25 );
+    cache = new LinkedHashMap<InternalImage,ImageData>( 25, 0.75f, true );
   }
 
   ImageData getImageData( InternalImage internalImage ) {
@@ -39,18 +55,71 @@ final class ImageDataCache {
     ImageData cached;
     synchronized( cacheLock ) {
       cached = cache.get( internalImage );
+      if( cached != null ) {
+        hitCount++;
+      } else {
+        missCount++;
+      }
     }
-    return cached != null ? ( ImageData )cached.clone() : null;
+    return cached;
   }
 
   void putImageData( InternalImage internalImage, ImageData imageData ) {
     ParamCheck.notNull( internalImage, "internalImage" );
     ParamCheck.notNull( imageData, "imageData" );
-    if( imageData.data.length <= MAX_DATA_SIZE ) {
+    if( imageData.data.length <= maxEntrySize ) {
       synchronized( cacheLock ) {
-        // TODO [rst] Implement replacement strategy (LRU or LFU)
-        cache.put( internalImage, ( ImageData )imageData.clone() );
+        ImageData replaced = cache.put( internalImage, imageData );
+        if( replaced != null ) {
+          cacheSize -= getSize( replaced );
+        }
+        cacheSize += getSize( imageData );
+        evictLeastRecentlyUsed();
       }
     }
   }
+
+  public long getHitCount() {
+    synchronized( cacheLock ) {
+      return hitCount;
+    }
+  }
+
+  public long getMissCount() {
+    synchronized( cacheLock ) {
+      return missCount;
+    }
+  }
+
+  public long getEvictionCount() {
+    synchronized( cacheLock ) {
+      return evictionCount;
+    }
+  }
+
+  public long getSize() {
+    synchronized( cacheLock ) {
+      return cacheSize;
+    }
+  }
+
+  private void evictLeastRecentlyUsed() {
+    Iterator<ImageData> iterator = cache.values().iterator();
+    while( cacheSize > maxCacheSize && iterator.hasNext() ) {
+      cacheSize -= getSize( iterator.next() );
+      iterator.remove();
+      evictionCount++;
+    }
+  }
+
+  private static long getSize( ImageData imageData ) {
+    long result = imageData.data.length;
+    if( imageData.alphaData != null ) {
+      result += imageData.alphaData.length;
+    }
+    if( imageData.maskData != null ) {
+      result += imageData.maskData.length;
+    }
+    return result;
+  }
 }
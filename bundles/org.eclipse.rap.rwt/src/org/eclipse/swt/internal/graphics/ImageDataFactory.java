@@ -27,6 +27,10 @@ public class ImageDataFactory {
     this.imageDataCache = new ImageDataCache();
   }
 
+  /**
+   * Returns the image data of the given image. The image data is shared and must not be
+   * modified.
+   */
   public ImageData findImageData( InternalImage internalImage ) {
     ImageData result;
     // Note [rst]: We don't need to synchronize access here. Since the creation
@@ -42,6 +46,10 @@ public class ImageDataFactory {
     return result;
   }
 
+  public ImageDataCache getImageDataCache() {
+    return imageDataCache;
+  }
+
   private ImageData createImageData( InternalImage internalImage ) {
     ImageData result = null;
     String imagePath = internalImage.getResourceName();
@@ -30,7 +30,7 @@ public class ImageFactory {
   public static String getImagePath( Image image ) {
     String result = null;
     if( image != null ) {
-      String resourceName = image.internalImage.getResourceName();
+      String resourceName = image.getInternalImage().getResourceName();
       result = RWT.getResourceManager().getLocation( resourceName );
     }
     return result;
@@ -20,6 +20,7 @@ import java.io.InputStream;
 import java.util.zip.CRC32;
 
 import org.eclipse.rwt.RWT;
+import org.eclipse.rwt.internal.resources.SystemProps;
 import org.eclipse.rwt.internal.util.SharedInstanceBuffer;
 import org.eclipse.rwt.internal.util.SharedInstanceBuffer.IInstanceCreator;
 import org.eclipse.swt.SWT;
@@ -32,16 +33,35 @@ import org.eclipse.swt.graphics.RGB;
 public class InternalImageFactory {
 
   private final SharedInstanceBuffer<String,InternalImage> cache;
+  private final WeakInternalImageCache weakCache;
 
   public InternalImageFactory() {
-    cache = new SharedInstanceBuffer<String,InternalImage>();
+    this( SystemProps.evictUnreferencedImages() );
+  }
+
+  InternalImageFactory( boolean evictUnreferencedImages ) {
+    if( evictUnreferencedImages ) {
+      cache = null;
+      weakCache = new WeakInternalImageCache();
+    } else {
+      cache = new SharedInstanceBuffer<String,InternalImage>();
+      weakCache = null;
+    }
+  }
+
+  /**
+   * Returns the number of generated images that were evicted because they were no longer
+   * referenced. Always zero unless unreferenced images are evicted.
+   */
+  public long getEvictedImageCount() {
+    return weakCache == null ? 0 : weakCache.getEvictionCount();
   }
 
   // TODO [rst] If we do not rely on the fact that there is only one
   //            InternalImage instance, we could loose synchronization as in
   //            ImageDataFactory.
   public InternalImage findInternalImage( final String fileName ) {
-    return cache.get( fileName, new IInstanceCreator<InternalImage>() {
+    return getInternalImage( fileName, new IInstanceCreator<InternalImage>() {
         public InternalImage createInstance() {
           return createInternalImage( fileName );
         }
@@ -52,7 +72,7 @@ public class InternalImageFactory {
     final BufferedInputStream bufferedStream = new BufferedInputStream( stream );
     final ImageData imageData = readImageData( bufferedStream );
     final String path = createGeneratedImagePath( imageData );
-    return cache.get( path, new IInstanceCreator<InternalImage>() {
+    return getInternalImage( path, new IInstanceCreator<InternalImage>() {
       public InternalImage createInstance() {
         return createInternalImage( path, bufferedStream, imageData );
       }
@@ -61,7 +81,7 @@ public class InternalImageFactory {
 
   public InternalImage findInternalImage( final ImageData imageData ) {
     final String path = createGeneratedImagePath( imageData );
-    return cache.get( path, new IInstanceCreator<InternalImage>() {
+    return getInternalImage( path, new IInstanceCreator<InternalImage>() {
       public InternalImage createInstance() {
         InputStream stream = createInputStream( imageData );
         return createInternalImage( path, stream, imageData );
@@ -70,7 +90,7 @@ public class InternalImageFactory {
   }
 
   InternalImage findInternalImage( String key, final InputStream inputStream ) {
-    return cache.get( key, new IInstanceCreator<InternalImage>() {
+    return getInternalImage( key, new IInstanceCreator<InternalImage>() {
       public InternalImage createInstance() {
         BufferedInputStream bufferedStream = new BufferedInputStream( inputStream );
         ImageData imageData = readImageData( bufferedStream );
@@ -80,6 +100,16 @@ public class InternalImageFactory {
     } );
   }
 
+  private InternalImage getInternalImage( String key, IInstanceCreator<InternalImage> creator ) {
+    InternalImage result;
+    if( weakCache != null ) {
+      result = weakCache.get( key, creator );
+    } else {
+      result = cache.get( key, creator );
+    }
+    return result;
+  }
+
   static ImageData readImageData( InputStream stream ) throws SWTException {
     ////////////////////////////////////////////////////////////////////////////
     // TODO: [fappel] Image size calculation and resource registration both
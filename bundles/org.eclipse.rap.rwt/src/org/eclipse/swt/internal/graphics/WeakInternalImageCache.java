@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.graphics;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.rwt.RWT;
+import org.eclipse.rwt.internal.util.SharedInstanceBuffer.IInstanceCreator;
+
+
+/**
+ * Holds internal images weakly. Once an internal image is no longer referenced by any image, it
+ * is removed from the cache and its resource is unregistered, which also removes it from disk.
+ * <p>
+ * Note that images restored from a serialized session hold their own internal image instances.
+ * Unreferenced images are therefore only evicted when session failover is not used.
+ * </p>
+ */
+final class WeakInternalImageCache {
+
+  private static final int LOCK_COUNT = 32;
+
+  private final ConcurrentMap<String,ImageReference> cache;
+  // Different keys (e.g. a file name and the image data read from that file) may share a resource
+  private final ConcurrentMap<String,AtomicInteger> resourceReferences;
+  private final ReferenceQueue<InternalImage> queue;
+  private final Object[] locks;
+  // images are created under the read lock, evicted under the write lock
+  private final ReadWriteLock evictionLock;
+  private long evictionCount;
+
+  WeakInternalImageCache() {
+    cache = new ConcurrentHashMap<String,ImageReference>();
+    resourceReferences = new ConcurrentHashMap<String,AtomicInteger>();
+    queue = new ReferenceQueue<InternalImage>();
+    locks = new Object[ LOCK_COUNT ];
+    for( int i = 0; i < locks.length; i++ ) {
+      locks[ i ] = new Object();
+    }
+    evictionLock = new ReentrantReadWriteLock();
+  }
+
+  InternalImage get( String key, IInstanceCreator<InternalImage> instanceCreator ) {
+    evictUnreferencedImages();
+    InternalImage result = dereference( cache.get( key ) );
+    if( result == null ) {
+      evictionLock.readLock().lock();
+      try {
+        // striped locks: concurrent requests for the same key share a single creation
+        synchronized( locks[ ( key.hashCode() & 0x7fffffff ) % locks.length ] ) {
+          result = dereference( cache.get( key ) );
+          if( result == null ) {
+            result = instanceCreator.createInstance();
+            ImageReference reference = new ImageReference( key, result, queue );
+            addResourceReference( reference.resourceName );
+            cache.put( key, reference );
+          }
+        }
+      } finally {
+        evictionLock.readLock().unlock();
+      }
+    }
+    return result;
+  }
+
+  long getEvictionCount() {
+    evictionLock.readLock().lock();
+    try {
+      return evictionCount;
+    } finally {
+      evictionLock.readLock().unlock();
+    }
+  }
+
+  void evictUnreferencedImages() {
+    ImageReference reference = ( ImageReference )queue.poll();
+    if( reference != null ) {
+      // an image that is being created may register the resource of a collected image again
+      evictionLock.writeLock().lock();
+      try {
+        while( reference != null ) {
+          evict( reference );
+          reference = ( ImageReference )queue.poll();
+        }
+      } finally {
+        evictionLock.writeLock().unlock();
+      }
+    }
+  }
+
+  private void evict( ImageReference reference ) {
+    // a collected reference may already have been replaced by a new image for the same key
+    cache.remove( reference.key, reference );
+    if( removeResourceReference( reference.resourceName ) ) {
+      RWT.getResourceManager().unregister( reference.resourceName );
+      evictionCount++;
+    }
+  }
+
+  private void addResourceReference( String resourceName ) {
+    AtomicInteger count = resourceReferences.get( resourceName );
+    if( count == null ) {
+      AtomicInteger newCount = new AtomicInteger();
+      count = resourceReferences.putIfAbsent( resourceName, newCount );
+      if( count == null ) {
+        count = newCount;
+      }
+    }
+    count.incrementAndGet();
+  }
+
+  // called under the eviction write lock, no reference is added concurrently
+  private boolean removeResourceReference( String resourceName ) {
+    boolean result = false;
+    AtomicInteger count = resourceReferences.get( resourceName );
+    if( count != null && count.decrementAndGet() == 0 ) {
+      resourceReferences.remove( resourceName );
+      result = true;
+    }
+    return result;
+  }
+
+  private static InternalImage dereference( ImageReference reference ) {
+    return reference == null ? null : reference.get();
+  }
+
+  private static final class ImageReference extends WeakReference<InternalImage> {
+
+    final String key;
+    final String resourceName;
+
+    ImageReference( String key, InternalImage image, ReferenceQueue<InternalImage> queue ) {
+      super( image, queue );
+      this.key = key;
+      resourceName = image.getResourceName();
+    }
+  }
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.Deflater;
+
+import org.eclipse.rwt.internal.resources.SystemProps;
+
+
+/**
+ * Compresses the image data of a PNG image into a zlib stream, using the compression level
+ * that is set in the system property <code>org.eclipse.rap.pngCompressionLevel</code>.
+ */
+final class PngCompressor {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private PngCompressor() {
+    // prevent instantiation
+  }
+
+  static byte[] compress( byte[] data ) {
+    Deflater deflater = new Deflater( SystemProps.getPngCompressionLevel() );
+    try {
+      deflater.setInput( data );
+      deflater.finish();
+      ByteArrayOutputStream result = new ByteArrayOutputStream( data.length / 4 + 64 );
+      byte[] buffer = new byte[ Math.min( BUFFER_SIZE, data.length + 64 ) ];
+      while( !deflater.finished() ) {
+        int count = deflater.deflate( buffer );
+        result.write( buffer, 0, count );
+      }
+      return result.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2012 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,18 +7,18 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - ongoing development
  *******************************************************************************/
 package org.eclipse.swt.internal.image;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.util.zip.CRC32;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.graphics.RGB;
-import org.eclipse.swt.internal.Compatibility;
 
 final class PngEncoder extends Object {
 
@@ -29,8 +29,11 @@ final class PngEncoder extends Object {
 	static final byte TAG_IDAT[] = {(byte) 'I', (byte) 'D', (byte) 'A', (byte) 'T'};
 	static final byte TAG_IEND[] = {(byte) 'I', (byte) 'E', (byte) 'N', (byte) 'D'};
 	
+	/* Only every n-th pixel of a row is considered when choosing its filter */
+	static final int FILTER_SAMPLE_PIXELS = 4;
+	
 	ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
-	PngChunk chunk;
+	CRC32 crc = new CRC32();
 	
 	ImageLoader loader;
 	ImageData data;
@@ -92,19 +95,15 @@ void writeChunk(byte[] tag, byte[] buffer) {
 
 	int bufferLength = (buffer != null) ? buffer.length : 0;
 	
-	chunk = new PngChunk(bufferLength);
-	
 	writeInt(bytes, bufferLength);
 	bytes.write(tag, 0, 4);
-	chunk.setType(tag);
+	crc.reset();
+	crc.update(tag, 0, 4);
 	if (bufferLength != 0) {
 		bytes.write(buffer, 0, bufferLength);
-		chunk.setData(buffer);
-	}
-	else {
-		chunk.setCRC(chunk.computeCRC());
+		crc.update(buffer, 0, bufferLength);
 	}
-	writeInt(bytes, chunk.getCRC());
+	writeInt(bytes, (int) crc.getValue());
 
 }
 
@@ -231,9 +230,13 @@ void writeTransparency() {
 
 void writeImageData() throws IOException {
 
-	ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
-	OutputStream os = Compatibility.newDeflaterOutputStream(baos);
-	if (os == null) os = baos;
+	/*
+	 * All rows, each preceded by its filter type, are collected in one buffer
+	 * that is compressed as a whole.
+	 */
+	int bytesPerPixel = colorType == 3 ? 1 : (colorType == 6 ? 4 : 3);
+	int rowLength = width * bytesPerPixel;
+	byte[] filtered = new byte[height * (rowLength + 1)];
 	
 	if (colorType == 3) {
 	
@@ -241,12 +244,12 @@ void writeImageData() throws IOException {
 		
 		for (int y = 0; y < height; y++) {
 			
-			int filter = 0;
-			os.write(filter);
+			int offset = y * (rowLength + 1);
+			filtered[offset] = PngIhdrChunk.FILTER_NONE;
 			
 			data.getPixels(0, y, width, lineData, 0);
 			
-			os.write(lineData);
+			System.arraycopy(lineData, 0, filtered, offset + 1, width);
 		
 		}
 	
@@ -267,56 +270,163 @@ void writeImageData() throws IOException {
 		int blueShift = data.palette.blueShift;
 		int blueMask = data.palette.blueMask;
 		
-		byte[] lineBytes = new byte[width * (colorType == 6 ? 4 : 3)];
+		byte[] lineBytes = new byte[rowLength];
+		byte[] previousLineBytes = new byte[rowLength];
+		
+		boolean rgbBytes = colorType == 2 && data.depth == 24
+			&& redMask == 0xFF0000 && greenMask == 0xFF00 && blueMask == 0xFF;
 		
 		for (int y = 0; y < height; y++) {
 		
-			int filter = 0;
-			os.write(filter);
-			
-			data.getPixels(0, y, width, lineData, 0);
-			
-			if (colorType == 6) {
-				data.getAlphas(0, y, width, alphaData, 0);
+			if (rgbBytes) {
+				/* the pixels are stored as red, green and blue bytes already */
+				System.arraycopy(data.data, y * data.bytesPerLine, lineBytes, 0, rowLength);
 			}
 			
-			int offset = 0;
-			for (int x = 0; x < lineData.length; x++) {
+			else {
 			
-				int pixel = lineData[x];
-				
-				int r = pixel & redMask;
-				lineBytes[offset++] = (byte) ((redShift < 0) ? r >>> -redShift
-						: r << redShift);
-				int g = pixel & greenMask;
-				lineBytes[offset++] = (byte) ((greenShift < 0) ? g >>> -greenShift
-						: g << greenShift);
-				int b = pixel & blueMask;
-				lineBytes[offset++] = (byte) ((blueShift < 0) ? b >>> -blueShift
-						: b << blueShift);
+				data.getPixels(0, y, width, lineData, 0);
 				
 				if (colorType == 6) {
-					lineBytes[offset++] = alphaData[x];
+					data.getAlphas(0, y, width, alphaData, 0);
 				}
-			
+				
+				int offset = 0;
+				for (int x = 0; x < lineData.length; x++) {
+				
+					int pixel = lineData[x];
+					
+					int r = pixel & redMask;
+					lineBytes[offset++] = (byte) ((redShift < 0) ? r >>> -redShift
+							: r << redShift);
+					int g = pixel & greenMask;
+					lineBytes[offset++] = (byte) ((greenShift < 0) ? g >>> -greenShift
+							: g << greenShift);
+					int b = pixel & blueMask;
+					lineBytes[offset++] = (byte) ((blueShift < 0) ? b >>> -blueShift
+							: b << blueShift);
+					
+					if (colorType == 6) {
+						lineBytes[offset++] = alphaData[x];
+					}
+				
+				}
+				
 			}
 			
-			os.write(lineBytes);
+			filterRow(lineBytes, previousLineBytes, bytesPerPixel, filtered, y * (rowLength + 1));
+			
+			byte[] temp = previousLineBytes;
+			previousLineBytes = lineBytes;
+			lineBytes = temp;
 			
 		}
 	
 	}
 	
-	os.flush();
-	os.close();
-	
-	byte[] compressed = baos.toByteArray();
-	if (os == baos) {
-		PngDeflater deflater = new PngDeflater();
-		compressed = deflater.deflate(compressed);
+	writeChunk(TAG_IDAT, PngCompressor.compress(filtered));
+
+}
+
+/*
+ * Writes the filter type followed by the filtered row to the given buffer.
+ * The filter that yields the smallest sum of absolute (signed) differences is
+ * chosen, as recommended by the PNG specification for true color images.
+ */
+static void filterRow(byte[] row, byte[] previousRow, int bytesPerPixel, byte[] result, int offset) {
+
+	int length = row.length;
+	int sumNone = 0, sumSub = 0, sumUp = 0, sumAverage = 0, sumPaeth = 0;
+	for (int i = 0; i < bytesPerPixel; i++) {
+		int current = row[i] & 0xFF;
+		int up = previousRow[i] & 0xFF;
+		sumNone += abs((byte) current);
+		sumSub += abs((byte) current);
+		sumUp += abs((byte) (current - up));
+		sumAverage += abs((byte) (current - (up >> 1)));
+		sumPaeth += abs((byte) (current - up));
 	}
-	
-	writeChunk(TAG_IDAT, compressed);
+	int sampleStep = bytesPerPixel * FILTER_SAMPLE_PIXELS;
+	for (int pixel = bytesPerPixel; pixel < length; pixel += sampleStep) {
+		for (int i = pixel; i < pixel + bytesPerPixel; i++) {
+			int current = row[i] & 0xFF;
+			int up = previousRow[i] & 0xFF;
+			int left = row[i - bytesPerPixel] & 0xFF;
+			int upLeft = previousRow[i - bytesPerPixel] & 0xFF;
+			sumNone += abs((byte) current);
+			sumSub += abs((byte) (current - left));
+			sumUp += abs((byte) (current - up));
+			sumAverage += abs((byte) (current - ((left + up) >> 1)));
+			sumPaeth += abs((byte) (current - paethPredictor(left, up, upLeft)));
+		}
+	}
+	int filter = PngIhdrChunk.FILTER_NONE;
+	int minimum = sumNone;
+	if (sumSub < minimum) {
+		filter = PngIhdrChunk.FILTER_SUB;
+		minimum = sumSub;
+	}
+	if (sumUp < minimum) {
+		filter = PngIhdrChunk.FILTER_UP;
+		minimum = sumUp;
+	}
+	if (sumAverage < minimum) {
+		filter = PngIhdrChunk.FILTER_AVERAGE;
+		minimum = sumAverage;
+	}
+	if (sumPaeth < minimum) {
+		filter = PngIhdrChunk.FILTER_PAETH;
+	}
+	result[offset++] = (byte) filter;
+	switch (filter) {
+		case PngIhdrChunk.FILTER_NONE:
+			System.arraycopy(row, 0, result, offset, length);
+			break;
+		case PngIhdrChunk.FILTER_SUB:
+			System.arraycopy(row, 0, result, offset, bytesPerPixel);
+			for (int i = bytesPerPixel; i < length; i++) {
+				result[offset + i] = (byte) (row[i] - row[i - bytesPerPixel]);
+			}
+			break;
+		case PngIhdrChunk.FILTER_UP:
+			for (int i = 0; i < length; i++) {
+				result[offset + i] = (byte) (row[i] - previousRow[i]);
+			}
+			break;
+		case PngIhdrChunk.FILTER_AVERAGE:
+			for (int i = 0; i < length; i++) {
+				int left = i < bytesPerPixel ? 0 : row[i - bytesPerPixel] & 0xFF;
+				result[offset + i] = (byte) (row[i] - ((left + (previousRow[i] & 0xFF)) >> 1));
+			}
+			break;
+		default:
+			for (int i = 0; i < length; i++) {
+				int left = 0, upLeft = 0;
+				if (i >= bytesPerPixel) {
+					left = row[i - bytesPerPixel] & 0xFF;
+					upLeft = previousRow[i - bytesPerPixel] & 0xFF;
+				}
+				result[offset + i] = (byte) (row[i] - paethPredictor(left, previousRow[i] & 0xFF, upLeft));
+			}
+			break;
+	}
+
+}
+
+static int paethPredictor(int left, int up, int upLeft) {
+
+	int distanceLeft = abs(up - upLeft);
+	int distanceUp = abs(left - upLeft);
+	int distanceUpLeft = abs(left + up - upLeft - upLeft);
+	if (distanceLeft <= distanceUp && distanceLeft <= distanceUpLeft) return left;
+	if (distanceUp <= distanceUpLeft) return up;
+	return upLeft;
+
+}
+
+static int abs(int value) {
+
+	return value < 0 ? -value : value;
 
 }
 
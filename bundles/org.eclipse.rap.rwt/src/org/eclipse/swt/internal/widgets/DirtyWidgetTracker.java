@@ -0,0 +1,410 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.rwt.lifecycle.WidgetUtil;
+import org.eclipse.swt.custom.CTabItem;
+import org.eclipse.swt.dnd.DragSource;
+import org.eclipse.swt.dnd.DropTarget;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.*;
+
+
+/**
+ * Keeps track of the widgets that were changed while the PROCESS_ACTION phase is running.
+ * <p>
+ * Instead of preserving the values of all widgets before PROCESS_ACTION, the values of a widget
+ * are preserved when it is changed for the first time. Methods that change what is rendered for a
+ * widget call <code>markDirty()</code> before they apply the change, methods that only read from
+ * a widget don't. The render phase then only visits the dirty and the newly created widgets and
+ * their ancestors. Widgets that were not changed are not visited at all.
+ * </p>
+ * <p>
+ * Changing a widget may change what its parent or owner renders (for example the item metrics of
+ * a <code>Table</code> when one of its items changes). Therefore marking a widget dirty also marks
+ * the owning widget and the items of an item holder. When the owner of a widget is unknown, all
+ * widgets are marked dirty, which is equivalent to the full preserve/render cycle.
+ * </p>
+ * <p>
+ * Only widgets whose LCA implements <code>ITrackedLCA</code> are expected to follow this contract.
+ * All other widgets, for example custom widgets, are marked dirty at the beginning of every
+ * request, so that they are preserved and rendered as in the full cycle. A widget
+ * implementation that relies on being tracked must call <code>markDirty()</code> before it
+ * changes any state that its LCA renders; marking it dirty afterwards, for example through
+ * <code>redraw()</code>, preserves the new value and the change is never rendered.
+ * </p>
+ * <p>
+ * Drawing on an image replaces its content, but not the image that the widgets hold. The tracker
+ * therefore remembers which widgets rendered an image and marks them dirty when the content of the
+ * image is replaced.
+ * </p>
+ */
+public final class DirtyWidgetTracker {
+
+  private final Display display;
+  private final List<Widget> dirtyWidgets;
+  private final List<Widget> createdWidgets;
+  private final List<Widget> unclassifiedWidgets;
+  private final List<Widget> untrackedWidgets;
+  // images and the widgets that rendered them, both are only weakly referenced
+  private final Map<Image, Map<Widget, Boolean>> imageUsers;
+  private Set<Widget> renderPath;
+  private boolean renderPathUnknown;
+  private boolean tracking;
+  private boolean allDirty;
+
+  public DirtyWidgetTracker( Display display ) {
+    this.display = display;
+    dirtyWidgets = new ArrayList<Widget>();
+    createdWidgets = new ArrayList<Widget>();
+    unclassifiedWidgets = new ArrayList<Widget>();
+    untrackedWidgets = new ArrayList<Widget>();
+    imageUsers = new WeakHashMap<Image, Map<Widget, Boolean>>();
+  }
+
+  public static DirtyWidgetTracker getTracker( Display display ) {
+    DirtyWidgetTracker result = null;
+    if( display != null && !display.isDisposed() ) {
+      IDisplayAdapter adapter = display.getAdapter( IDisplayAdapter.class );
+      result = adapter.getDirtyWidgetTracker();
+    }
+    return result;
+  }
+
+  public static boolean isDirty( Widget widget ) {
+    return getWidgetAdapter( widget ).isDirty();
+  }
+
+  /**
+   * Marks the given widget as changed. Must be called before the change is applied, so that the
+   * values that the client knows can be preserved.
+   */
+  public static void markDirty( Widget widget ) {
+    DirtyWidgetTracker tracker = getTracker( widget.getDisplay() );
+    if( tracker != null ) {
+      tracker.markChanged( widget );
+    }
+  }
+
+  public static void markCreated( Widget widget, Widget parent ) {
+    DirtyWidgetTracker tracker = getTracker( widget.getDisplay() );
+    if( tracker != null ) {
+      // the new widget is rendered because it is not yet initialized, this only leads the render
+      // phase to it, also when it was created outside of PROCESS_ACTION
+      tracker.createdWidgets.add( widget );
+      tracker.unclassifiedWidgets.add( widget );
+      tracker.markChanged( parent );
+    }
+  }
+
+  /**
+   * Records that the given widget renders the given image or array of images, so that it can be
+   * marked dirty when the content of one of these images is replaced.
+   */
+  public static void addImageUser( Widget widget, Object images ) {
+    DirtyWidgetTracker tracker = getTracker( widget.getDisplay() );
+    if( tracker != null ) {
+      if( images instanceof Image ) {
+        tracker.addImageUser( ( Image )images, widget );
+      } else if( images instanceof Image[] ) {
+        Image[] imageArray = ( Image[] )images;
+        for( int i = 0; i < imageArray.length; i++ ) {
+          if( imageArray[ i ] != null ) {
+            tracker.addImageUser( imageArray[ i ], widget );
+          }
+        }
+      }
+    }
+  }
+
+  public void beginTracking() {
+    tracking = true;
+    classifyWidgets();
+    markUntrackedWidgetsDirty();
+  }
+
+  public void endTracking() {
+    tracking = false;
+  }
+
+  public boolean isTracking() {
+    return tracking;
+  }
+
+  public boolean isAllDirty() {
+    return allDirty;
+  }
+
+  public void markChanged( Widget widget ) {
+    if( tracking && !allDirty ) {
+      // values are read from the widgets while preserving, don't track these accesses
+      tracking = false;
+      try {
+        doMarkDirty( widget, true );
+      } finally {
+        tracking = true;
+      }
+    }
+  }
+
+  public void markAllDirty() {
+    if( tracking && !allDirty ) {
+      tracking = false;
+      try {
+        doMarkAllDirty();
+      } finally {
+        tracking = true;
+      }
+    }
+  }
+
+  /**
+   * Marks the widgets that rendered the given image dirty. Must be called before the content of
+   * the image is replaced.
+   */
+  public void markImageChanged( Image image ) {
+    Map<Widget, Boolean> users = imageUsers.get( image );
+    if( users != null ) {
+      List<Widget> widgets = new ArrayList<Widget>( users.keySet() );
+      for( Widget widget : widgets ) {
+        if( !widget.isDisposed() ) {
+          markChanged( widget );
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns whether the given widget is dirty, newly created or an ancestor of such a widget.
+   * The render phase only needs to descend into these widgets. If the position of a changed widget
+   * in the widget tree is unknown, all widgets are considered to be on the render path.
+   */
+  public boolean isOnRenderPath( Widget widget ) {
+    if( renderPath == null ) {
+      renderPath = new HashSet<Widget>();
+      for( Widget dirtyWidget : dirtyWidgets ) {
+        addToRenderPath( dirtyWidget );
+      }
+      for( Widget createdWidget : createdWidgets ) {
+        if( !createdWidget.isDisposed() && !getWidgetAdapter( createdWidget ).isInitialized() ) {
+          addToRenderPath( createdWidget );
+        }
+      }
+    }
+    return allDirty || renderPathUnknown || renderPath.contains( widget );
+  }
+
+  public void reset() {
+    for( Widget widget : dirtyWidgets ) {
+      WidgetAdapter adapter = getWidgetAdapter( widget );
+      adapter.clearPreserved();
+      adapter.setDirty( false );
+    }
+    dirtyWidgets.clear();
+    createdWidgets.clear();
+    renderPath = null;
+    renderPathUnknown = false;
+    allDirty = false;
+    tracking = false;
+  }
+
+  private void addImageUser( Image image, Widget widget ) {
+    Map<Widget, Boolean> users = imageUsers.get( image );
+    if( users == null ) {
+      users = new WeakHashMap<Widget, Boolean>();
+      imageUsers.put( image, users );
+    }
+    users.put( widget, Boolean.TRUE );
+  }
+
+  private void doMarkDirty( Widget widget, boolean includeRelated ) {
+    WidgetAdapter adapter = getWidgetAdapter( widget );
+    if( widget instanceof ScrollBar ) {
+      // scroll bars are rendered by their parent
+      doMarkDirty( ( ( ScrollBar )widget ).getParent(), includeRelated );
+    } else if( adapter.isInitialized() && !adapter.isDirty() ) {
+      // uninitialized widgets are rendered anyway, their parent was marked on creation
+      adapter.setDirty( true );
+      dirtyWidgets.add( widget );
+      renderPath = null;
+      WidgetUtil.getLCA( widget ).preserveValues( widget );
+      if( includeRelated ) {
+        markItemsDirty( widget );
+        markOwnerDirty( widget );
+      }
+    }
+  }
+
+  // the LCA of a widget is known and used once the widget is initialized
+  private void classifyWidgets() {
+    Iterator<Widget> iterator = unclassifiedWidgets.iterator();
+    while( iterator.hasNext() ) {
+      Widget widget = iterator.next();
+      if( widget.isDisposed() ) {
+        iterator.remove();
+      } else if( getWidgetAdapter( widget ).isInitialized() ) {
+        if( !isTrackedLCA( WidgetUtil.getLCA( widget ).getClass() ) ) {
+          untrackedWidgets.add( widget );
+        }
+        iterator.remove();
+      }
+    }
+  }
+
+  private void markUntrackedWidgetsDirty() {
+    tracking = false;
+    try {
+      Iterator<Widget> iterator = untrackedWidgets.iterator();
+      while( iterator.hasNext() ) {
+        Widget widget = iterator.next();
+        if( widget.isDisposed() ) {
+          iterator.remove();
+        } else {
+          doMarkDirty( widget, false );
+        }
+      }
+    } finally {
+      tracking = true;
+    }
+  }
+
+  private void addToRenderPath( Widget widget ) {
+    Widget current = widget.isDisposed() ? null : widget;
+    while( current != null && renderPath.add( current ) ) {
+      Widget parent = null;
+      if( !( current instanceof Shell ) ) {
+        parent = getTreeParent( current );
+        if( parent == null ) {
+          renderPathUnknown = true;
+        }
+      }
+      current = parent;
+    }
+  }
+
+  private void doMarkAllDirty() {
+    Shell[] shells = display.getAdapter( IDisplayAdapter.class ).getShells();
+    for( int i = 0; i < shells.length; i++ ) {
+      WidgetTreeVisitor.accept( shells[ i ], new WidgetTreeVisitor.AllWidgetTreeVisitor() {
+        @Override
+        public boolean doVisit( Widget widget ) {
+          doMarkDirty( widget, false );
+          return true;
+        }
+      } );
+    }
+    allDirty = true;
+  }
+
+  private void markItemsDirty( Widget widget ) {
+    if( ItemHolder.isItemHolder( widget ) ) {
+      Item[] items = ItemHolder.getItemHolder( widget ).getItems();
+      for( int i = 0; i < items.length; i++ ) {
+        doMarkDirty( items[ i ], false );
+        markItemsDirty( items[ i ] );
+      }
+    }
+  }
+
+  private void markOwnerDirty( Widget widget ) {
+    if( widget instanceof Control ) {
+      // the parent renders the z-order of its children
+      Composite parent = ( ( Control )widget ).getParent();
+      if( parent != null ) {
+        doMarkDirty( parent, false );
+      }
+    } else if( !isSelfContained( widget ) ) {
+      Widget owner = getOwner( widget );
+      if( owner == null ) {
+        doMarkAllDirty();
+      } else {
+        doMarkDirty( owner, true );
+      }
+    }
+  }
+
+  private static boolean isSelfContained( Widget widget ) {
+    return    widget instanceof Menu
+           || widget instanceof ToolTip
+           || widget instanceof DragSource
+           || widget instanceof DropTarget
+           || widget instanceof Decorator;
+  }
+
+  // the parent under which WidgetTreeVisitor visits the widget
+  private static Widget getTreeParent( Widget widget ) {
+    Widget result;
+    if( widget instanceof Control ) {
+      result = ( ( Control )widget ).getParent();
+    } else if( widget instanceof TreeItem ) {
+      TreeItem item = ( TreeItem )widget;
+      result = item.getParentItem() != null ? item.getParentItem() : item.getParent();
+    } else if( widget instanceof Menu ) {
+      result = ( ( Menu )widget ).getParent();
+    } else if( widget instanceof ToolTip ) {
+      result = ( ( ToolTip )widget ).getParent();
+    } else if( widget instanceof DragSource ) {
+      result = ( ( DragSource )widget ).getControl();
+    } else if( widget instanceof DropTarget ) {
+      result = ( ( DropTarget )widget ).getControl();
+    } else if( widget instanceof Decorator ) {
+      result = ( ( Decorator )widget ).getDecoratedWidget();
+    } else {
+      result = getOwner( widget );
+    }
+    return result;
+  }
+
+  private static Widget getOwner( Widget widget ) {
+    Widget result = null;
+    if( widget instanceof TableItem ) {
+      result = ( ( TableItem )widget ).getParent();
+    } else if( widget instanceof TableColumn ) {
+      result = ( ( TableColumn )widget ).getParent();
+    } else if( widget instanceof TreeItem ) {
+      result = ( ( TreeItem )widget ).getParent();
+    } else if( widget instanceof TreeColumn ) {
+      result = ( ( TreeColumn )widget ).getParent();
+    } else if( widget instanceof ToolItem ) {
+      result = ( ( ToolItem )widget ).getParent();
+    } else if( widget instanceof TabItem ) {
+      result = ( ( TabItem )widget ).getParent();
+    } else if( widget instanceof CTabItem ) {
+      result = ( ( CTabItem )widget ).getParent();
+    } else if( widget instanceof CoolItem ) {
+      result = ( ( CoolItem )widget ).getParent();
+    } else if( widget instanceof ExpandItem ) {
+      result = ( ( ExpandItem )widget ).getParent();
+    } else if( widget instanceof MenuItem ) {
+      result = ( ( MenuItem )widget ).getParent();
+    } else if( widget instanceof TrayItem ) {
+      result = ( ( TrayItem )widget ).getParent();
+    }
+    return result;
+  }
+
+  // only LCAs that implement ITrackedLCA rely on the mutators of their widgets to mark them dirty
+  static boolean isTrackedLCA( Class<?> lcaType ) {
+    return ITrackedLCA.class.isAssignableFrom( lcaType );
+  }
+
+  private static WidgetAdapter getWidgetAdapter( Widget widget ) {
+    return ( WidgetAdapter )WidgetUtil.getAdapter( widget );
+  }
+}
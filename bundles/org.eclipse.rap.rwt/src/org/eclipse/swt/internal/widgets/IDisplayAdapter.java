@@ -39,4 +39,7 @@ public interface IDisplayAdapter {
 
   boolean isBeepCalled();
   void resetBeep();
+
+  DirtyWidgetTracker getDirtyWidgetTracker();
+  WidgetIndex getWidgetIndex();
 }
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+
+/**
+ * Gives the LCAs of widgets that keep their items in a <code>ListModel</code>
+ * access to the item changes, so that only the changes need to be rendered.
+ */
+public interface IListItemsAdapter {
+
+  String[] getItems();
+
+  /**
+   * Returns the changes since the last call to <code>clearItemChanges()</code>,
+   * or <code>null</code> if the items have to be rendered as a whole.
+   */
+  ListItemChange[] getItemChanges();
+
+  void clearItemChanges();
+}
@@ -19,5 +19,8 @@ public interface ITableItemAdapter {
   Color[] getCellBackgrounds();
   Color[] getCellForegrounds();
   Font[] getCellFonts();
+  Color getCellBackground( int index );
+  Color getCellForeground( int index );
+  Font getCellFont( int index );
   boolean isParentDisposed();
 }
@@ -0,0 +1,21 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+
+/**
+ * Marks widget LCAs whose widgets call <code>DirtyWidgetTracker.markDirty()</code> before every
+ * change that the LCA renders. Widgets with any other LCA are marked dirty in every request.
+ *
+ * @see DirtyWidgetTracker
+ */
+public interface ITrackedLCA {
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import java.util.ArrayList;
+
+import org.eclipse.swt.internal.SerializableCompatibility;
+
+
+/**
+ * A change to a contiguous range of the items of a <code>ListModel</code>:
+ * items that were inserted at an index, removed from an index or replaced
+ * starting at an index. Changes to adjacent items are merged into a single
+ * change while they are recorded.
+ */
+public final class ListItemChange implements SerializableCompatibility {
+
+  public static final int INSERT = 1;
+  public static final int REMOVE = 2;
+  public static final int REPLACE = 3;
+
+  private final int type;
+  private int index;
+  private int count;
+  // the new items of INSERT and REPLACE changes, null for REMOVE changes
+  private final java.util.List<String> items;
+
+  ListItemChange( int type, int index ) {
+    this.type = type;
+    this.index = index;
+    items = type == REMOVE ? null : new ArrayList<String>();
+  }
+
+  public int getType() {
+    return type;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the inserted or replacing items, or <code>null</code> for a change
+   * of type <code>REMOVE</code>. Items that have not been set yet are returned
+   * as empty strings.
+   */
+  public String[] getItems() {
+    String[] result = null;
+    if( items != null ) {
+      result = new String[ count ];
+      for( int i = 0; i < count; i++ ) {
+        String item = items.get( i );
+        result[ i ] = item == null ? "" : item;
+      }
+    }
+    return result;
+  }
+
+  boolean addInsert( int index, String item ) {
+    boolean result = type == INSERT && index >= this.index && index <= this.index + count;
+    if( result ) {
+      items.add( index - this.index, item );
+      count++;
+    }
+    return result;
+  }
+
+  boolean addRemove( int index ) {
+    boolean result = false;
+    if( type == REMOVE ) {
+      if( index == this.index ) {
+        count++;
+        result = true;
+      } else if( index == this.index - 1 ) {
+        this.index = index;
+        count++;
+        result = true;
+      }
+    }
+    return result;
+  }
+
+  boolean addReplace( int index, String item ) {
+    boolean result = false;
+    if( type != REMOVE && index >= this.index && index < this.index + count ) {
+      items.set( index - this.index, item );
+      result = true;
+    } else if( type == REPLACE && index == this.index + count ) {
+      items.add( item );
+      count++;
+      result = true;
+    }
+    return result;
+  }
+
+  int getItemCount() {
+    return items == null ? 0 : count;
+  }
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.rwt.internal.protocol.ClientObjectFactory;
+import org.eclipse.rwt.internal.protocol.IClientObject;
+import org.eclipse.rwt.lifecycle.WidgetUtil;
+import org.eclipse.swt.widgets.Widget;
+
+
+/**
+ * Renders the items of widgets that keep them in a <code>ListModel</code>.
+ * Instead of preserving and comparing all items, the changes that were
+ * recorded since the items were preserved are rendered as insert, remove and
+ * replace calls. The items are rendered as a whole when the widget is
+ * rendered for the first time, when they were replaced as a whole, or when
+ * there are too many changes.
+ */
+public final class ListItemsLCAUtil {
+
+  private static final String PROP_ITEMS = "items";
+  private static final String METHOD_INSERT_ITEMS = "insertItems";
+  private static final String METHOD_REMOVE_ITEMS = "removeItems";
+  private static final String METHOD_REPLACE_ITEMS = "replaceItems";
+  private static final String PARAM_INDEX = "index";
+  private static final String PARAM_COUNT = "count";
+  private static final String PARAM_ITEMS = "items";
+
+  private ListItemsLCAUtil() {
+    // prevent instantiation
+  }
+
+  public static void preserveItems( Widget widget ) {
+    getItemsAdapter( widget ).clearItemChanges();
+  }
+
+  public static void renderItems( Widget widget ) {
+    IListItemsAdapter itemsAdapter = getItemsAdapter( widget );
+    IClientObject clientObject = ClientObjectFactory.getClientObject( widget );
+    if( !WidgetUtil.getAdapter( widget ).isInitialized() ) {
+      String[] items = itemsAdapter.getItems();
+      if( items.length > 0 ) {
+        clientObject.set( PROP_ITEMS, items );
+      }
+    } else {
+      ListItemChange[] changes = itemsAdapter.getItemChanges();
+      if( changes == null ) {
+        clientObject.set( PROP_ITEMS, itemsAdapter.getItems() );
+      } else {
+        for( int i = 0; i < changes.length; i++ ) {
+          renderItemChange( clientObject, changes[ i ] );
+        }
+      }
+    }
+  }
+
+  private static void renderItemChange( IClientObject clientObject, ListItemChange change ) {
+    Map<String, Object> properties = new HashMap<String, Object>();
+    properties.put( PARAM_INDEX, Integer.valueOf( change.getIndex() ) );
+    switch( change.getType() ) {
+      case ListItemChange.INSERT:
+        properties.put( PARAM_ITEMS, change.getItems() );
+        clientObject.call( METHOD_INSERT_ITEMS, properties );
+      break;
+      case ListItemChange.REMOVE:
+        properties.put( PARAM_COUNT, Integer.valueOf( change.getCount() ) );
+        clientObject.call( METHOD_REMOVE_ITEMS, properties );
+      break;
+      case ListItemChange.REPLACE:
+        properties.put( PARAM_ITEMS, change.getItems() );
+        clientObject.call( METHOD_REPLACE_ITEMS, properties );
+      break;
+    }
+  }
+
+  private static IListItemsAdapter getItemsAdapter( Widget widget ) {
+    return widget.getAdapter( IListItemsAdapter.class );
+  }
+}
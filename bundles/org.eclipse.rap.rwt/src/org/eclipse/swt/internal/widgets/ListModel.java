@@ -19,18 +19,23 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.internal.SerializableCompatibility;
 
 
-public final class ListModel implements SerializableCompatibility {
+public final class ListModel implements IListItemsAdapter, SerializableCompatibility {
 
   private static final int[] EMPTY_SELECTION = new int[ 0 ];
+  // with more changes than this, rendering all items is considered cheaper
+  private static final int MAX_ITEM_CHANGES = 16;
 
   private final boolean single;
   private final java.util.List<String> items;
   private int[] selection;
+  // null if the items have been replaced as a whole since the changes were cleared
+  private java.util.List<ListItemChange> itemChanges;
 
   public ListModel( boolean single ) {
     this.single = single;
     items = new ArrayList<String>();
     selection = EMPTY_SELECTION;
+    itemChanges = new ArrayList<ListItemChange>();
   }
 
   ///////////////////////////////
@@ -125,7 +130,7 @@ public final class ListModel implements SerializableCompatibility {
         if( selection[ i ] != null && !alreadySelected.contains( selection[ i ] ) ) {
           alreadySelected.add( selection[ i ] );
           for( int index = 0; index < getItemCount(); index++ ) {
-            String item = items.get( index );
+            String item = getItem( index );
             if( item.equals( selection[ i ] ) ) {
               newSelection[ newLength ] = index;
               newLength++;
@@ -177,6 +182,7 @@ public final class ListModel implements SerializableCompatibility {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
     items.add( string );
+    recordInsert( items.size() - 1, string );
   }
 
   public void add( String string, int index ) {
@@ -187,12 +193,14 @@ public final class ListModel implements SerializableCompatibility {
       checkIndex( index );
     }
     items.add( index, string );
+    recordInsert( index, string );
   }
 
   public void remove( int index ) {
     checkIndex( index );
     items.remove( index );
     removeFromSelection( index );
+    recordRemove( index );
   }
 
   public void remove( int start, int end ) {
@@ -231,6 +239,7 @@ public final class ListModel implements SerializableCompatibility {
   public void removeAll() {
     items.clear();
     deselectAll();
+    itemChanges = null;
   }
 
   public void setItem( int index, String string ) {
@@ -239,6 +248,7 @@ public final class ListModel implements SerializableCompatibility {
     }
     checkIndex( index );
     items.set( index, string );
+    recordReplace( index, string );
   }
 
   public void setItems( String[] items ) {
@@ -253,11 +263,34 @@ public final class ListModel implements SerializableCompatibility {
     this.items.clear();
     this.items.addAll( Arrays.asList( items ) );
     deselectAll();
+    itemChanges = null;
+  }
+
+  /*
+   * Items that are added by increasing the item count are not set, they read
+   * as empty strings until setItem() is called for them. Virtual widgets use
+   * this to fetch the items lazily.
+   */
+  public void setItemCount( int count ) {
+    int newCount = Math.max( 0, count );
+    while( items.size() > newCount ) {
+      remove( items.size() - 1 );
+    }
+    while( items.size() < newCount ) {
+      items.add( null );
+      recordInsert( items.size() - 1, null );
+    }
+  }
+
+  public boolean isCached( int index ) {
+    checkIndex( index );
+    return items.get( index ) != null;
   }
 
   public String getItem( int index ) {
     checkIndex( index );
-    return items.get( index );
+    String result = items.get( index );
+    return result == null ? "" : result;
   }
 
   public int getItemCount() {
@@ -265,14 +298,20 @@ public final class ListModel implements SerializableCompatibility {
   }
 
   public String[] getItems() {
-    return items.toArray( new String[ items.size() ] );
+    String[] result = items.toArray( new String[ items.size() ] );
+    for( int i = 0; i < result.length; i++ ) {
+      if( result[ i ] == null ) {
+        result[ i ] = "";
+      }
+    }
+    return result;
   }
 
   public int indexOf( String string, int startIndex ) {
     int result = -1;
     if( 0 <= startIndex && startIndex < getItemCount() ) {
       for( int i = startIndex; result == -1 && i < getItemCount(); i++ ) {
-        String item = items.get( i );
+        String item = getItem( i );
         if( string.equals( item ) ) {
           result = i;
         }
@@ -281,9 +320,82 @@ public final class ListModel implements SerializableCompatibility {
     return result;
   }
 
+  ////////////////////////////////////
+  // Methods to maintain the item changes
+
+  public ListItemChange[] getItemChanges() {
+    ListItemChange[] result = null;
+    if( itemChanges != null ) {
+      result = itemChanges.toArray( new ListItemChange[ itemChanges.size() ] );
+    }
+    return result;
+  }
+
+  public void clearItemChanges() {
+    if( itemChanges == null ) {
+      itemChanges = new ArrayList<ListItemChange>();
+    } else {
+      itemChanges.clear();
+    }
+  }
+
   //////////////////
   // Helping methods
 
+  private void recordInsert( int index, String item ) {
+    if( itemChanges != null ) {
+      ListItemChange change = getLastItemChange();
+      if( change == null || !change.addInsert( index, item ) ) {
+        change = new ListItemChange( ListItemChange.INSERT, index );
+        change.addInsert( index, item );
+        itemChanges.add( change );
+      }
+      checkItemChanges();
+    }
+  }
+
+  private void recordRemove( int index ) {
+    if( itemChanges != null ) {
+      ListItemChange change = getLastItemChange();
+      if( change == null || !change.addRemove( index ) ) {
+        change = new ListItemChange( ListItemChange.REMOVE, index );
+        change.addRemove( index );
+        itemChanges.add( change );
+      }
+      checkItemChanges();
+    }
+  }
+
+  private void recordReplace( int index, String item ) {
+    if( itemChanges != null ) {
+      ListItemChange change = getLastItemChange();
+      if( change == null || !change.addReplace( index, item ) ) {
+        change = new ListItemChange( ListItemChange.REPLACE, index );
+        change.addReplace( index, item );
+        itemChanges.add( change );
+      }
+      checkItemChanges();
+    }
+  }
+
+  private ListItemChange getLastItemChange() {
+    ListItemChange result = null;
+    if( !itemChanges.isEmpty() ) {
+      result = itemChanges.get( itemChanges.size() - 1 );
+    }
+    return result;
+  }
+
+  private void checkItemChanges() {
+    int changedItemCount = 0;
+    for( int i = 0; i < itemChanges.size(); i++ ) {
+      changedItemCount += itemChanges.get( i ).getItemCount();
+    }
+    if( itemChanges.size() > MAX_ITEM_CHANGES || changedItemCount > items.size() ) {
+      itemChanges = null;
+    }
+  }
+
   /* If the given index is contained in the selection, it will be removed. */
   private void removeFromSelection( int index ) {
     boolean found = false;
@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import java.util.Arrays;
+
+import org.eclipse.swt.graphics.Image;
+
+
+/**
+ * Holds the property values that the life cycle adapter of a widget preserves
+ * in every request.
+ * <p>
+ * Values are kept in slots that survive <code>clear()</code>. Since an LCA
+ * preserves the same properties in the same order in every request, each
+ * property ends up in the slot it occupied in the previous request, and
+ * neither map entries nor boxed primitives are created for it. The values of
+ * the previous request remain available through <code>getPrevious()</code>
+ * until their slot is reused.
+ * </p>
+ * <p>
+ * Slots are found through a small open addressing index that maps the hash
+ * codes of the property names to slot numbers. The index covers all slots that
+ * were ever used; names may occur more than once, the range of slots that is
+ * searched tells the current from the previous values apart.
+ * </p>
+ * <p>
+ * For preserved images, the content they had at that time is kept as well.
+ * Drawing on an image with a GC replaces its content but not the image itself,
+ * comparing the image instances alone would miss this change.
+ * </p>
+ */
+final class PreservedValues {
+
+  private static final int INITIAL_CAPACITY = 8;
+
+  private static final byte OBJECT = 0;
+  private static final byte INT = 1;
+  private static final byte BOOLEAN = 2;
+
+  private String[] names;
+  private Object[] objects;
+  private int[] ints;
+  private byte[] types;
+  // the internal images of preserved images or image arrays, null for other values
+  private Object[] contents;
+  // slot number + 1 for each used slot, 0 marks an empty bucket
+  private int[] buckets;
+  // number of slots that are covered by the index
+  private int used;
+  // number of slots in use for the current request
+  private int size;
+  // number of slots that were in use before the last call to clear()
+  private int previousSize;
+
+  PreservedValues() {
+    names = new String[ INITIAL_CAPACITY ];
+    objects = new Object[ INITIAL_CAPACITY ];
+    ints = new int[ INITIAL_CAPACITY ];
+    types = new byte[ INITIAL_CAPACITY ];
+    contents = new Object[ INITIAL_CAPACITY ];
+    buckets = new int[ INITIAL_CAPACITY * 2 ];
+  }
+
+  void put( String name, Object value ) {
+    int index = getSlot( name );
+    types[ index ] = OBJECT;
+    objects[ index ] = value;
+    contents[ index ] = getContent( value, contents[ index ] );
+  }
+
+  void put( String name, int value ) {
+    int index = getSlot( name );
+    types[ index ] = INT;
+    objects[ index ] = null;
+    contents[ index ] = null;
+    ints[ index ] = value;
+  }
+
+  void put( String name, boolean value ) {
+    int index = getSlot( name );
+    types[ index ] = BOOLEAN;
+    objects[ index ] = null;
+    contents[ index ] = null;
+    ints[ index ] = value ? 1 : 0;
+  }
+
+  Object get( String name ) {
+    return getValue( indexOf( name, 0, size ) );
+  }
+
+  Object getPrevious( String name ) {
+    return getValue( indexOf( name, size, previousSize ) );
+  }
+
+  boolean contains( String name, int value ) {
+    boolean result = false;
+    int index = indexOf( name, 0, size );
+    if( index != -1 ) {
+      if( types[ index ] == INT ) {
+        result = ints[ index ] == value;
+      } else if( types[ index ] == OBJECT && objects[ index ] instanceof Integer ) {
+        result = ( ( Integer )objects[ index ] ).intValue() == value;
+      }
+    }
+    return result;
+  }
+
+  boolean contains( String name, boolean value ) {
+    boolean result = false;
+    int index = indexOf( name, 0, size );
+    if( index != -1 ) {
+      if( types[ index ] == BOOLEAN ) {
+        result = ( ints[ index ] == 1 ) == value;
+      } else if( types[ index ] == OBJECT && objects[ index ] instanceof Boolean ) {
+        result = ( ( Boolean )objects[ index ] ).booleanValue() == value;
+      }
+    }
+    return result;
+  }
+
+  /*
+   * Returns whether the content of the given image or image array differs from the content it had
+   * when it was preserved for the property.
+   */
+  boolean isContentChanged( String name, Object value ) {
+    boolean result = false;
+    if( value instanceof Image || value instanceof Image[] ) {
+      int index = indexOf( name, 0, size );
+      if( index != -1 && types[ index ] == OBJECT ) {
+        Object preservedContent = contents[ index ];
+        if( value instanceof Image ) {
+          result = ( ( Image )value ).getInternalImage() != preservedContent;
+        } else {
+          result = isContentChanged( ( Image[] )value, ( Object[] )preservedContent );
+        }
+      }
+    }
+    return result;
+  }
+
+  void clear() {
+    previousSize = size;
+    size = 0;
+  }
+
+  private int getSlot( String name ) {
+    int result = indexOf( name, 0, size );
+    if( result == -1 ) {
+      result = size++;
+      if( result == used ) {
+        if( used == names.length ) {
+          grow();
+        }
+        names[ result ] = name;
+        used++;
+        addToIndex( result );
+      } else if( !name.equals( names[ result ] ) ) {
+        // the properties are preserved in a different order than before
+        names[ result ] = name;
+        rebuildIndex();
+      }
+    }
+    return result;
+  }
+
+  private int indexOf( String name, int from, int to ) {
+    int result = -1;
+    int mask = buckets.length - 1;
+    int bucket = getBucket( name );
+    while( result == -1 && buckets[ bucket ] != 0 ) {
+      int slot = buckets[ bucket ] - 1;
+      if( slot >= from && slot < to && ( name == names[ slot ] || name.equals( names[ slot ] ) ) ) {
+        result = slot;
+      }
+      bucket = ( bucket + 1 ) & mask;
+    }
+    return result;
+  }
+
+  private void addToIndex( int slot ) {
+    int mask = buckets.length - 1;
+    int bucket = getBucket( names[ slot ] );
+    while( buckets[ bucket ] != 0 ) {
+      bucket = ( bucket + 1 ) & mask;
+    }
+    buckets[ bucket ] = slot + 1;
+  }
+
+  private int getBucket( String name ) {
+    // property names are similar, spread their hash codes to avoid long probe sequences
+    int hash = name.hashCode() * 0x9E3779B9;
+    return ( hash ^ ( hash >>> 16 ) ) & ( buckets.length - 1 );
+  }
+
+  private void rebuildIndex() {
+    Arrays.fill( buckets, 0 );
+    for( int i = 0; i < used; i++ ) {
+      addToIndex( i );
+    }
+  }
+
+  private Object getValue( int index ) {
+    Object result = null;
+    if( index != -1 ) {
+      if( types[ index ] == INT ) {
+        result = Integer.valueOf( ints[ index ] );
+      } else if( types[ index ] == BOOLEAN ) {
+        result = Boolean.valueOf( ints[ index ] == 1 );
+      } else {
+        result = objects[ index ];
+      }
+    }
+    return result;
+  }
+
+  // Image arrays are preserved for every item in every request (table items, tree items), the
+  // content array of the slot is reused and none is created for arrays without images
+  private static Object getContent( Object value, Object previousContent ) {
+    Object result = null;
+    if( value instanceof Image ) {
+      result = ( ( Image )value ).getInternalImage();
+    } else if( value instanceof Image[] ) {
+      Image[] images = ( Image[] )value;
+      if( containsImage( images ) ) {
+        Object[] internalImages;
+        if(    previousContent instanceof Object[]
+            && ( ( Object[] )previousContent ).length == images.length )
+        {
+          internalImages = ( Object[] )previousContent;
+        } else {
+          internalImages = new Object[ images.length ];
+        }
+        for( int i = 0; i < images.length; i++ ) {
+          internalImages[ i ] = getInternalImage( images[ i ] );
+        }
+        result = internalImages;
+      }
+    }
+    return result;
+  }
+
+  private static boolean isContentChanged( Image[] images, Object[] preservedContent ) {
+    boolean result;
+    if( preservedContent == null ) {
+      result = containsImage( images );
+    } else {
+      result = preservedContent.length != images.length;
+      for( int i = 0; !result && i < images.length; i++ ) {
+        result = getInternalImage( images[ i ] ) != preservedContent[ i ];
+      }
+    }
+    return result;
+  }
+
+  private static boolean containsImage( Image[] images ) {
+    boolean result = false;
+    for( int i = 0; !result && i < images.length; i++ ) {
+      result = images[ i ] != null;
+    }
+    return result;
+  }
+
+  private static Object getInternalImage( Image image ) {
+    return image == null ? null : image.getInternalImage();
+  }
+
+  private void grow() {
+    int capacity = names.length * 2;
+    String[] newNames = new String[ capacity ];
+    Object[] newObjects = new Object[ capacity ];
+    int[] newInts = new int[ capacity ];
+    byte[] newTypes = new byte[ capacity ];
+    Object[] newContents = new Object[ capacity ];
+    System.arraycopy( names, 0, newNames, 0, used );
+    System.arraycopy( objects, 0, newObjects, 0, used );
+    System.arraycopy( ints, 0, newInts, 0, used );
+    System.arraycopy( types, 0, newTypes, 0, used );
+    System.arraycopy( contents, 0, newContents, 0, used );
+    names = newNames;
+    objects = newObjects;
+    ints = newInts;
+    types = newTypes;
+    contents = newContents;
+    buckets = new int[ capacity * 2 ];
+    rebuildIndex();
+  }
+}
@@ -11,9 +11,6 @@
  ******************************************************************************/
 package org.eclipse.swt.internal.widgets;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.eclipse.rwt.Adaptable;
 import org.eclipse.rwt.internal.lifecycle.DisposedWidgets;
 import org.eclipse.rwt.internal.lifecycle.IRenderRunnable;
@@ -32,10 +29,11 @@ public final class WidgetAdapter
   private final String id;
   private String customId;
   private boolean initialized;
-  private transient Map<String,Object> preservedValues;
+  private transient PreservedValues preservedValues;
   private String jsParent;
   private transient IRenderRunnable renderRunnable;
   private transient String cachedVariant;
+  private transient boolean dirty;
   private ClientObjectAdapter gcObjectAdapter;
 
   public WidgetAdapter() {
@@ -48,7 +46,7 @@ public final class WidgetAdapter
   }
 
   private void initialize() {
-    preservedValues = new HashMap<String,Object>();
+    preservedValues = new PreservedValues();
   }
 
   public String getId() {
@@ -82,14 +80,60 @@ public final class WidgetAdapter
     preservedValues.put( propertyName, value );
   }
 
+  public void preserve( String propertyName, int value ) {
+    preservedValues.put( propertyName, value );
+  }
+
+  public void preserve( String propertyName, boolean value ) {
+    preservedValues.put( propertyName, value );
+  }
+
   public Object getPreserved( String propertyName ) {
     return preservedValues.get( propertyName );
   }
 
+  /**
+   * Returns whether the given value is preserved for the property. Unlike
+   * comparing with <code>getPreserved()</code>, no boxing is involved.
+   */
+  public boolean isPreserved( String propertyName, int value ) {
+    return preservedValues.contains( propertyName, value );
+  }
+
+  public boolean isPreserved( String propertyName, boolean value ) {
+    return preservedValues.contains( propertyName, value );
+  }
+
+  /**
+   * Returns whether the given image, or any image of the given image array,
+   * that is also the preserved value of the property has a different content
+   * than when it was preserved, because it has been drawn on with a GC.
+   */
+  public boolean isPreservedContentChanged( String propertyName, Object value ) {
+    return preservedValues.isContentChanged( propertyName, value );
+  }
+
+  /**
+   * Returns the value that was preserved for the property in the previous
+   * request, or <code>null</code> if it is not known anymore. LCAs can use it
+   * to reuse an unchanged snapshot instead of creating a new one.
+   */
+  public Object getPreviouslyPreserved( String propertyName ) {
+    return preservedValues.getPrevious( propertyName );
+  }
+
   public void clearPreserved() {
     preservedValues.clear();
   }
 
+  public boolean isDirty() {
+    return dirty;
+  }
+
+  public void setDirty( boolean dirty ) {
+    this.dirty = dirty;
+  }
+
   public String getJSParent() {
     return jsParent;
   }
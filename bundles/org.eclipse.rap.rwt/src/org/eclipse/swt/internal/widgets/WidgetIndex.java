@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.rwt.lifecycle.IAlwaysReadData;
+import org.eclipse.rwt.lifecycle.WidgetUtil;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Widget;
+
+
+/**
+ * Maps the ids of the widgets of a display to the widgets, so that the widgets that a request
+ * carries input for can be found without visiting the widget tree.
+ * <p>
+ * A widget is added when its widget adapter, and with it its id, is created and removed when it
+ * is disposed. The widgets whose LCA implements <code>IAlwaysReadData</code> are kept apart, they
+ * are read in every request once they were rendered. As in <code>DirtyWidgetTracker</code>, the
+ * LCA of a widget is only looked up after the widget was initialized, since widgets like scroll
+ * bars don't have an LCA of their own.
+ * </p>
+ */
+public final class WidgetIndex {
+
+  private final Map<String, Widget> widgets;
+  private final Set<Widget> unclassifiedWidgets;
+  private final Set<Widget> alwaysReadWidgets;
+
+  public WidgetIndex() {
+    widgets = new HashMap<String, Widget>();
+    unclassifiedWidgets = new LinkedHashSet<Widget>();
+    alwaysReadWidgets = new LinkedHashSet<Widget>();
+  }
+
+  public static WidgetIndex getIndex( Display display ) {
+    WidgetIndex result = null;
+    if( display != null && !display.isDisposed() ) {
+      IDisplayAdapter adapter = display.getAdapter( IDisplayAdapter.class );
+      result = adapter.getWidgetIndex();
+    }
+    return result;
+  }
+
+  public static void register( Widget widget ) {
+    WidgetIndex index = getIndex( widget.getDisplay() );
+    if( index != null ) {
+      index.widgets.put( WidgetUtil.getId( widget ), widget );
+      index.unclassifiedWidgets.add( widget );
+    }
+  }
+
+  public static void changeId( Widget widget, String oldId ) {
+    WidgetIndex index = getIndex( widget.getDisplay() );
+    if( index != null && index.widgets.get( oldId ) == widget ) {
+      index.widgets.remove( oldId );
+      index.widgets.put( WidgetUtil.getId( widget ), widget );
+    }
+  }
+
+  public static void unregister( Widget widget ) {
+    WidgetIndex index = getIndex( widget.getDisplay() );
+    if( index != null ) {
+      String id = WidgetUtil.getId( widget );
+      if( index.widgets.get( id ) == widget ) {
+        index.widgets.remove( id );
+      }
+      index.unclassifiedWidgets.remove( widget );
+      index.alwaysReadWidgets.remove( widget );
+    }
+  }
+
+  public Widget find( String id ) {
+    return widgets.get( id );
+  }
+
+  public Widget[] getAlwaysReadWidgets() {
+    classifyWidgets();
+    return alwaysReadWidgets.toArray( new Widget[ alwaysReadWidgets.size() ] );
+  }
+
+  // the LCA of a widget is known and used once the widget is initialized
+  private void classifyWidgets() {
+    Iterator<Widget> iterator = unclassifiedWidgets.iterator();
+    while( iterator.hasNext() ) {
+      Widget widget = iterator.next();
+      if( WidgetUtil.getAdapter( widget ).isInitialized() ) {
+        if( WidgetUtil.getLCA( widget ) instanceof IAlwaysReadData ) {
+          alwaysReadWidgets.add( widget );
+        }
+        iterator.remove();
+      }
+    }
+  }
+}
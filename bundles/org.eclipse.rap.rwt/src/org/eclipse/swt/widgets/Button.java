@@ -18,6 +18,7 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.buttonkit.ButtonThemeAdapter;
 
 
@@ -138,6 +139,7 @@ public class Button extends Control {
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.ARROW ) == 0 ) {
       this.text = text;
     }
@@ -204,6 +206,7 @@ public class Button extends Control {
    */
   public void setSelection( boolean selected ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & ( SWT.CHECK | SWT.RADIO | SWT.TOGGLE ) ) != 0 ) {
       this.selected = selected;
     }
@@ -248,6 +251,7 @@ public class Button extends Control {
    */
   public void setGrayed( boolean grayed ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.CHECK ) != 0 ) {
       this.grayed = grayed;
     }
@@ -288,6 +292,7 @@ public class Button extends Control {
     if( image != null && image.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.ARROW ) == 0 ) {
       this.image = image;
     }
@@ -360,6 +365,7 @@ public class Button extends Control {
    // TODO [rst] Remove comments from javadoc when fully implemented
   public void setAlignment( int alignment ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.ARROW ) != 0 ) {
       if( ( style & ( SWT.UP | SWT.DOWN | SWT.LEFT | SWT.RIGHT ) ) != 0 ) {
         style &= ~( SWT.UP | SWT.DOWN | SWT.LEFT | SWT.RIGHT );
@@ -456,6 +462,7 @@ public class Button extends Control {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -478,6 +485,7 @@ public class Button extends Control {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
@@ -18,6 +18,7 @@ import org.eclipse.swt.events.PaintListener;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.internal.graphics.GCAdapter;
 import org.eclipse.swt.internal.graphics.IGCAdapter;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 
 
 /**
@@ -127,6 +128,7 @@ public class Canvas extends Composite {
    */
   public void addPaintListener( PaintListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     PaintEvent.addListener( this, listener );
   }
 
@@ -150,6 +152,7 @@ public class Canvas extends Composite {
    */
   public void removePaintListener( PaintListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     PaintEvent.removeListener( this, listener );
   }
 
@@ -18,6 +18,8 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.internal.graphics.FontUtil;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
+import org.eclipse.swt.internal.widgets.IListItemsAdapter;
 import org.eclipse.swt.internal.widgets.ListModel;
 import org.eclipse.swt.internal.widgets.combokit.ComboThemeAdapter;
 
@@ -125,6 +127,18 @@ public class Combo extends Composite {
     state &= ~( /* CANVAS | */THEME_BACKGROUND );
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T getAdapter( Class<T> adapter ) {
+    T result;
+    if( adapter == IListItemsAdapter.class ) {
+      result = ( T )model;
+    } else {
+      result = super.getAdapter( adapter );
+    }
+    return result;
+  }
+
   //////////////////////////////////////
   // Methods to manipulate the selection
 
@@ -158,6 +172,7 @@ public class Combo extends Composite {
    */
   public void select( int selectionIndex ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( 0 <= selectionIndex && selectionIndex < getItemCount() ) {
       model.setSelection( selectionIndex );
       updateText();
@@ -178,6 +193,7 @@ public class Combo extends Composite {
    */
   public void deselect( int index ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( index == model.getSelectionIndex() ) {
       model.setSelection( -1 );
     }
@@ -200,6 +216,7 @@ public class Combo extends Composite {
    */
   public void deselectAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.deselectAll();
     text = "";
     fireModifyEvent();
@@ -228,6 +245,7 @@ public class Combo extends Composite {
     if( selection == null ) {
       SWT.error ( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int validatedStart = this.selection.x;
     int validatedEnd = this.selection.y;
     int start = selection.x;
@@ -290,6 +308,7 @@ public class Combo extends Composite {
    */
   public void clearSelection() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     selection.x = 0;
     selection.y = 0;
   }
@@ -314,6 +333,7 @@ public class Combo extends Composite {
    */
   public void add( String string ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.add( string );
   }
 
@@ -342,6 +362,7 @@ public class Combo extends Composite {
    */
   public void add( String string, int index ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.add( string, index );
   }
 
@@ -361,6 +382,7 @@ public class Combo extends Composite {
    */
   public void remove( int index ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int selectionIndex = getSelectionIndex();
     if( selectionIndex == index ) {
       deselect( index );
@@ -396,6 +418,7 @@ public class Combo extends Composite {
     {
       error( SWT.ERROR_INVALID_RANGE );
     }
+    DirtyWidgetTracker.markDirty( this );
     int selectionIndex = getSelectionIndex();
     for( int i = start; i <= end; i++ ) {
       int index = indexOf( items[ i ] );
@@ -424,6 +447,7 @@ public class Combo extends Composite {
    */
   public void remove( String string ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int indexOfThisString = indexOf( string );
     int selectionIndex = getSelectionIndex();
     if( selectionIndex == indexOfThisString ) {
@@ -443,6 +467,7 @@ public class Combo extends Composite {
    */
   public void removeAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     deselectAll();
     model.removeAll();
   }
@@ -467,6 +492,7 @@ public class Combo extends Composite {
    */
   public void setItem( int index, String string ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.setItem( index, string );
   }
 
@@ -486,6 +512,7 @@ public class Combo extends Composite {
    */
   public void setItems( String[] items ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.setItems( items );
   }
 
@@ -583,6 +610,7 @@ public class Combo extends Composite {
    */
   public void setVisibleItemCount( int count ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( count >= 0 ) {
       visibleCount = count;
     }
@@ -628,6 +656,7 @@ public class Combo extends Composite {
    */
   public void setListVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     dropped = visible;
   }
 
@@ -756,6 +785,7 @@ public class Combo extends Composite {
     if( string == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.READ_ONLY ) != 0 ) {
       int index = indexOf( string );
       if( index != -1 ) {
@@ -813,6 +843,7 @@ public class Combo extends Composite {
     if( limit == 0 ) {
       error( SWT.ERROR_CANNOT_BE_ZERO );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( limit > 0 ) {
       textLimit = limit;
     } else {
@@ -916,6 +947,7 @@ public class Combo extends Composite {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -938,6 +970,7 @@ public class Combo extends Composite {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
@@ -962,6 +995,7 @@ public class Combo extends Composite {
    */
   public void addModifyListener( ModifyListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ModifyEvent.addListener( this, listener );
   }
 
@@ -984,6 +1018,7 @@ public class Combo extends Composite {
    */
   public void removeModifyListener( ModifyListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ModifyEvent.removeListener( this, listener );
   }
 
@@ -1008,6 +1043,7 @@ public class Combo extends Composite {
    */
   public void addVerifyListener( VerifyListener verifyListener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     VerifyEvent.addListener( this, verifyListener );
   }
 
@@ -1030,6 +1066,7 @@ public class Combo extends Composite {
    */
   public void removeVerifyListener( VerifyListener verifyListener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     VerifyEvent.removeListener( this, verifyListener );
   }
 
@@ -11,6 +11,7 @@
  ******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import org.eclipse.rwt.internal.textsize.TextSizeUtil;
 import org.eclipse.rwt.lifecycle.ProcessActionRunner;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -18,6 +19,7 @@ import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.SerializableCompatibility;
 import org.eclipse.swt.internal.widgets.ControlHolder;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.ICompositeAdapter;
 import org.eclipse.swt.internal.widgets.IControlHolderAdapter;
 
@@ -535,7 +537,12 @@ public class Composite extends Scrollable {
       boolean changed = ( state & LAYOUT_CHANGED ) != 0;
       state &= ~( LAYOUT_NEEDED | LAYOUT_CHANGED );
 // if (resize) setResizeChildren (false);
-      layout.layout( this, changed );
+      Control previousOwner = TextSizeUtil.setLayoutOwner( this );
+      try {
+        layout.layout( this, changed );
+      } finally {
+        TextSizeUtil.setLayoutOwner( previousOwner );
+      }
 // if (resize) setResizeChildren (true);
     }
     if( all ) {
@@ -560,7 +567,12 @@ public class Composite extends Scrollable {
       if( wHint == SWT.DEFAULT || hHint == SWT.DEFAULT ) {
         hasChanged |= ( state & LAYOUT_CHANGED ) != 0;
         state &= ~LAYOUT_CHANGED;
-        size = layout.computeSize( this, wHint, hHint, hasChanged );
+        Control previousOwner = TextSizeUtil.setLayoutOwner( this );
+        try {
+          size = layout.computeSize( this, wHint, hHint, hasChanged );
+        } finally {
+          TextSizeUtil.setLayoutOwner( previousOwner );
+        }
       } else {
         size = new Point( wHint, hHint );
       }
@@ -683,6 +695,7 @@ public class Composite extends Scrollable {
    */
   public void setBackgroundMode( int mode ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     backgroundMode = mode;
     Control[] children = controlHolder.getControls();
     for( int i = 0; i < children.length; i++ ) {
@@ -705,6 +718,7 @@ public class Composite extends Scrollable {
   @Override
   public boolean setFocus() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     Control[] children = getChildren();
 //     for( int i = 0; i < children.length; i++ ) {
 //      Control child = children[ i ];
@@ -762,6 +776,7 @@ public class Composite extends Scrollable {
       newList = new Control[ tabList.length ];
       System.arraycopy( tabList, 0, newList, 0, tabList.length );
     }
+    DirtyWidgetTracker.markDirty( this );
     this.tabList = newList;
   }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2011 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2012 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
  ******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import org.eclipse.rwt.internal.textsize.TextSizeUtil;
 import org.eclipse.rwt.internal.theme.IThemeAdapter;
 import org.eclipse.rwt.theme.IControlThemeAdapter;
 import org.eclipse.swt.SWT;
@@ -20,6 +21,7 @@ import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.internal.events.ShowEvent;
 import org.eclipse.swt.internal.widgets.ControlHolder;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.IControlAdapter;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 
@@ -289,6 +291,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( state & HIDDEN ) != 0 != !visible ) {
       if( visible ) {
         ShowEvent event = new ShowEvent( this, ShowEvent.SHOWN );
@@ -370,6 +373,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     /*
      * Feature in Windows.  If the receiver has focus, disabling
      * the receiver causes no window to have focus.  The fix is
@@ -457,6 +461,7 @@ public abstract class Control extends Widget implements Drawable {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     background = color;
     updateBackground();
   }
@@ -524,6 +529,7 @@ public abstract class Control extends Widget implements Drawable {
     if( image != null && image.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( backgroundImage != image ) {
       backgroundImage = image;
     }
@@ -573,6 +579,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setBackgroundRepeat( final int repeat) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( backgroundRepeat != repeat ) {
       backgroundRepeat = repeat;
     }
@@ -625,6 +632,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setBackgroundPosition( final int position) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( backgroundPosition != position ) {
       backgroundPosition = position;
     }
@@ -671,6 +679,7 @@ public abstract class Control extends Widget implements Drawable {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
       foreground = color;
   }
 
@@ -780,6 +789,7 @@ public abstract class Control extends Widget implements Drawable {
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     this.font = font;
   }
 
@@ -833,6 +843,7 @@ public abstract class Control extends Widget implements Drawable {
     if( cursor != null && cursor.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     this.cursor = cursor;
   }
 
@@ -876,6 +887,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public boolean setFocus() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     boolean result = false;
     if( ( style & SWT.NO_FOCUS ) == 0 ) {
       result = forceFocus();
@@ -898,6 +910,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public boolean forceFocus() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     // if (display.focusEvent == SWT.FocusOut) return false;
     Shell shell = getShell(); // was: Decorations shell = menuShell();
     shell.setSavedFocus( this );
@@ -980,6 +993,7 @@ public abstract class Control extends Widget implements Drawable {
     if( bounds == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     setBounds( bounds, true );
   }
 
@@ -1256,7 +1270,14 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void pack( boolean changed ) {
     checkWidget();
-    setSize( computeSize( SWT.DEFAULT, SWT.DEFAULT, changed ) );
+    Point size;
+    Control previousOwner = TextSizeUtil.setLayoutOwner( this );
+    try {
+      size = computeSize( SWT.DEFAULT, SWT.DEFAULT, changed );
+    } finally {
+      TextSizeUtil.setLayoutOwner( previousOwner );
+    }
+    setSize( size );
     packed = true;
   }
 
@@ -1427,6 +1448,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.toolTipText = toolTipText;
   }
 
@@ -1488,6 +1510,7 @@ public abstract class Control extends Widget implements Drawable {
           SWT.error( SWT.ERROR_INVALID_PARENT );
         }
       }
+      DirtyWidgetTracker.markDirty( this );
       removeMenuDisposeListener();
       this.menu = menu;
       addMenuDisposeListener();
@@ -1542,6 +1565,7 @@ public abstract class Control extends Widget implements Drawable {
     if( control != null && control.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( control == null || control.parent == parent && control != this ) {
       ControlHolder.removeControl( getParent(), this );
       int index = 0;
@@ -1577,6 +1601,7 @@ public abstract class Control extends Widget implements Drawable {
     if( control != null && control.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( control == null || control.parent == parent && control != this ) {
       ControlHolder.removeControl( getParent(), this );
       int index = ControlHolder.size( getParent() );
@@ -1625,6 +1650,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addControlListener( ControlListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ControlEvent.addListener( this, listener );
   }
 
@@ -1647,6 +1673,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeControlListener( ControlListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ControlEvent.removeListener( this, listener );
   }
 
@@ -1673,6 +1700,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addMouseListener( MouseListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     MouseEvent.addListener( this, listener );
   }
 
@@ -1697,6 +1725,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeMouseListener( MouseListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     MouseEvent.removeListener( this, listener );
   }
 
@@ -1742,6 +1771,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addKeyListener( KeyListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     KeyEvent.addListener( this, listener );
   }
 
@@ -1766,6 +1796,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeKeyListener( KeyListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     KeyEvent.removeListener( this, listener );
   }
 
@@ -1792,6 +1823,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addTraverseListener( TraverseListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     TraverseEvent.addListener( this, listener );
   }
 
@@ -1816,6 +1848,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeTraverseListener( TraverseListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     TraverseEvent.removeListener( this, listener );
   }
 
@@ -1840,6 +1873,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addFocusListener( FocusListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     FocusEvent.addListener( this, listener );
   }
 
@@ -1862,6 +1896,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeFocusListener( FocusListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     FocusEvent.removeListener( this, listener );
   }
 
@@ -1887,6 +1922,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addHelpListener( HelpListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     HelpEvent.addListener( this, listener );
   }
 
@@ -1910,6 +1946,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeHelpListener( HelpListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     HelpEvent.removeListener( this, listener );
   }
 
@@ -1936,6 +1973,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addDragDetectListener( DragDetectListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     DragDetectEvent.addListener( this, listener );
   }
 
@@ -1960,6 +1998,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeDragDetectListener( DragDetectListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     DragDetectEvent.removeListener( this, listener );
   }
 
@@ -1987,6 +2026,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addMenuDetectListener( MenuDetectListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     MenuDetectEvent.addListener( this, listener );
   }
 
@@ -2012,6 +2052,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeMenuDetectListener( MenuDetectListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     MenuDetectEvent.removeListener( this, listener );
   }
 
@@ -2046,6 +2087,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setRedraw( boolean redraw ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     internalSetRedraw( redraw );
   }
 
@@ -2066,6 +2108,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void redraw() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     internalSetRedraw( true );
   }
 
@@ -2102,6 +2145,7 @@ public abstract class Control extends Widget implements Drawable {
 //  * @see SWT#Paint
   public void redraw( int x, int y, int width, int height, boolean all ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( width > 0 && height > 0 ) {
       internalSetRedraw( true );
     }
@@ -2153,6 +2197,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public boolean setParent( Composite parent ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     return false;
   }
 
@@ -14,6 +14,7 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.ICoolBarAdapter;
 import org.eclipse.swt.internal.widgets.IItemHolderAdapter;
 
@@ -1212,6 +1213,7 @@ public class CoolBar extends Composite {
    */
   public void setLocked( boolean locked ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( isLocked != locked ) {
       redraw();
     }
@@ -1246,6 +1248,7 @@ public class CoolBar extends Composite {
         error( SWT.ERROR_INVALID_ARGUMENT );
       }
     }
+    DirtyWidgetTracker.markDirty( this );
     for ( int i = 0; i < originalItems.length; i++ ) {
       originalItems[i].wrap = false;
     }
@@ -1312,6 +1315,7 @@ public class CoolBar extends Composite {
    */
   public void setItemLayout( int[] itemOrder, int[] wrapIndices, Point[] sizes ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     setItemOrder( itemOrder );
     setWrapIndices( wrapIndices );
     setItemSizes( sizes );
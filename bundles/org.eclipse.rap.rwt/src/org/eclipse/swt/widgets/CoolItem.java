@@ -19,6 +19,7 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 
 /**
  * Instances of this class are selectable user interface objects that represent
@@ -202,6 +203,7 @@ public class CoolItem extends Item {
     checkWidget();
     if ( listener == null )
       error( SWT.ERROR_NULL_ARGUMENT );
+    DirtyWidgetTracker.markDirty( this );
     // TypedListener typedListener = new TypedListener (listener);
     // addListener (SWT.Selection,typedListener);
     // addListener (SWT.DefaultSelection,typedListener);
@@ -514,6 +516,7 @@ public class CoolItem extends Item {
     checkWidget();
     if ( listener == null )
       error( SWT.ERROR_NULL_ARGUMENT );
+    DirtyWidgetTracker.markDirty( this );
     // if (eventTable == null) return;
     // eventTable.unhook (SWT.Selection, listener);
     // eventTable.unhook (SWT.DefaultSelection,listener);
@@ -566,6 +569,7 @@ public class CoolItem extends Item {
       if ( control.parent != parent )
         error( SWT.ERROR_INVALID_PARENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     this.control = control;
     if ( control != null ) {
       int controlWidth = itemBounds.width - MINIMUM_WIDTH;
@@ -596,6 +600,7 @@ public class CoolItem extends Item {
    */
   public void setMinimumSize( int width, int height ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     Point point = parent.fixPoint( width, height );
     minimumWidth = point.x;
     minimumHeight = point.y;
@@ -624,6 +629,7 @@ public class CoolItem extends Item {
     checkWidget();
     if ( size == null )
       error( SWT.ERROR_NULL_ARGUMENT );
+    DirtyWidgetTracker.markDirty( this );
     setMinimumSize( size.x, size.y );
   }
 
@@ -644,6 +650,7 @@ public class CoolItem extends Item {
    */
   public void setPreferredSize( int width, int height ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ideal = true;
     Point point = parent.fixPoint( width, height );
     preferredWidth = Math.max( point.x, MINIMUM_WIDTH );
@@ -671,6 +678,7 @@ public class CoolItem extends Item {
     checkWidget();
     if ( size == null )
       error( SWT.ERROR_NULL_ARGUMENT );
+    DirtyWidgetTracker.markDirty( this );
     setPreferredSize( size.x, size.y );
   }
 
@@ -695,6 +703,7 @@ public class CoolItem extends Item {
    */
   public void setSize( int width, int height ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int newHeight = height;
     int newWidth = width;
     Point point = parent.fixPoint( newWidth, newHeight );
@@ -743,6 +752,7 @@ public class CoolItem extends Item {
     checkWidget();
     if ( size == null )
       error( SWT.ERROR_NULL_ARGUMENT );
+    DirtyWidgetTracker.markDirty( this );
     setSize( size.x, size.y );
   }
 
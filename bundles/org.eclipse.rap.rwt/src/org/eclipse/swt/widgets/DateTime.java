@@ -22,6 +22,7 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.IDateTimeAdapter;
 import org.eclipse.swt.internal.widgets.datetimekit.DateTimeThemeAdapter;
 
@@ -231,6 +232,7 @@ public class DateTime extends Composite {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -254,6 +256,7 @@ public class DateTime extends Composite {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
@@ -388,6 +391,7 @@ public class DateTime extends Composite {
    */
   public void setHours( int hours ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( checkTime( hours, getMinutes(), getSeconds() ) ) {
       rightNow.set( Calendar.HOUR_OF_DAY, hours );
     }
@@ -409,6 +413,7 @@ public class DateTime extends Composite {
    */
   public void setMinutes( int minutes ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( checkTime( getHours(), minutes, getSeconds() ) ) {
       rightNow.set( Calendar.MINUTE, minutes );
     }
@@ -430,6 +435,7 @@ public class DateTime extends Composite {
    */
   public void setSeconds( int seconds ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( checkTime( getHours(), getMinutes(), seconds ) ) {
       rightNow.set( Calendar.SECOND, seconds );
     }
@@ -452,6 +458,7 @@ public class DateTime extends Composite {
    */
   public void setDay( int day ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int month = rightNow.get( Calendar.MONTH );
     int year = rightNow.get( Calendar.YEAR );
     if( checkDate( year, month, day ) ) {
@@ -475,6 +482,7 @@ public class DateTime extends Composite {
    */
   public void setMonth( int month ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int day = rightNow.get( Calendar.DATE );
     int year = rightNow.get( Calendar.YEAR );
     if( checkDate( year, month, day ) ) {
@@ -498,6 +506,7 @@ public class DateTime extends Composite {
    */
   public void setYear( int year ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int day = rightNow.get( Calendar.DATE );
     int month = rightNow.get( Calendar.MONTH );
     if( checkDate( year, month, day ) ) {
@@ -526,6 +535,7 @@ public class DateTime extends Composite {
    */
   public void setDate( int year, int month, int day ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( checkDate( year, month, day ) ) {
       // reset
       setYear( 9996 );
@@ -555,6 +565,7 @@ public class DateTime extends Composite {
    */
   public void setTime( int hours, int minutes, int seconds ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( checkTime( hours, minutes, seconds ) ) {
       setHours( hours );
       setMinutes( minutes );
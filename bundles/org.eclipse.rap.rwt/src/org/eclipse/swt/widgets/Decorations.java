@@ -16,6 +16,7 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.DisposeEvent;
 import org.eclipse.swt.events.DisposeListener;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.MenuHolder;
 import org.eclipse.swt.internal.widgets.MenuHolder.IMenuHolderAdapter;
 
@@ -89,6 +90,7 @@ public class Decorations extends Canvas {
         error( SWT.ERROR_INVALID_ARGUMENT );
       }
     }
+    DirtyWidgetTracker.markDirty( this );
     this.images = images;
   }
 
@@ -144,6 +146,7 @@ public class Decorations extends Canvas {
    */
   public void setImage( Image image ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.image = image;
   }
 
@@ -205,6 +208,7 @@ public class Decorations extends Canvas {
           SWT.error( SWT.ERROR_MENU_NOT_BAR );
         }
       }
+      DirtyWidgetTracker.markDirty( this );
       removeMenuBarDisposeListener();
       this.menuBar = menuBar;
       addMenuBarDisposeListener();
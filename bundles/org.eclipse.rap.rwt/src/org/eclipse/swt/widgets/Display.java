@@ -23,6 +23,7 @@ import org.eclipse.rwt.Adaptable;
 import org.eclipse.rwt.internal.application.RWTFactory;
 import org.eclipse.rwt.internal.lifecycle.*;
 import org.eclipse.rwt.internal.protocol.IClientObjectAdapter;
+import org.eclipse.rwt.internal.resources.SystemProps;
 import org.eclipse.rwt.internal.service.ContextProvider;
 import org.eclipse.rwt.internal.service.ServletLog;
 import org.eclipse.rwt.internal.theme.*;
@@ -202,6 +203,8 @@ public class Display extends Device implements Adaptable {
   private int skinCount;
   private Set<Listener> skinListeners;
   private boolean beep;
+  private transient DirtyWidgetTracker dirtyWidgetTracker;
+  private transient WidgetIndex widgetIndex;
 
   /* Display Data */
   private Object data;
@@ -242,6 +245,12 @@ public class Display extends Device implements Adaptable {
     cursorLocation = new Point( 0, 0 );
     bounds = readInitialBounds();
     synchronizer = new Synchronizer( this );
+    if( SystemProps.renderDirtyWidgetsOnly() ) {
+      dirtyWidgetTracker = new DirtyWidgetTracker( this );
+    }
+    if( SystemProps.readDataForInputOnly() ) {
+      widgetIndex = new WidgetIndex();
+    }
     register();
   }
 
@@ -2432,5 +2441,13 @@ public class Display extends Device implements Adaptable {
     public void resetBeep() {
       Display.this.beep = false;
     }
+
+    public DirtyWidgetTracker getDirtyWidgetTracker() {
+      return Display.this.dirtyWidgetTracker;
+    }
+
+    public WidgetIndex getWidgetIndex() {
+      return Display.this.widgetIndex;
+    }
   }
 }
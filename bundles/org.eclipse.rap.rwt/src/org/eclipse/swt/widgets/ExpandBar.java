@@ -133,6 +133,7 @@ public class ExpandBar extends Composite {
    */
   public void addExpandListener( ExpandListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ExpandEvent.addListener( this, listener );
   }
 
@@ -156,6 +157,7 @@ public class ExpandBar extends Composite {
    */
   public void removeExpandListener( ExpandListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ExpandEvent.removeListener( this, listener );
   }
 
@@ -427,6 +429,7 @@ public class ExpandBar extends Composite {
    */
   public void setSpacing( int spacing ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( spacing >= 0 ) {
       if( spacing != this.spacing ) {
         this.spacing = spacing;
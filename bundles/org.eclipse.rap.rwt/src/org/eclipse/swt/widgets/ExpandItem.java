@@ -17,6 +17,7 @@ import org.eclipse.rwt.internal.theme.IThemeAdapter;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.expandbarkit.ExpandBarThemeAdapter;
 
 
@@ -322,6 +323,7 @@ public class ExpandItem extends Item {
         error( SWT.ERROR_INVALID_PARENT );
       }
     }
+    DirtyWidgetTracker.markDirty( this );
     this.control = control;
     if( control != null ) {
       int headerHeight = getHeaderHeight();
@@ -350,6 +352,7 @@ public class ExpandItem extends Item {
    */
   public void setExpanded( boolean expanded ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.expanded = expanded;
     parent.showItem( this );
   }
@@ -368,6 +371,7 @@ public class ExpandItem extends Item {
    */
   public void setHeight( int height ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( height >= 0 ) {
       setBounds( 0, 0, width, height, false, true );
       if( expanded ) {
@@ -378,6 +382,7 @@ public class ExpandItem extends Item {
 
   public void setImage( Image image ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( image != getImage() ) {
       super.setImage( image );
       updateBounds();
@@ -400,6 +405,7 @@ public class ExpandItem extends Item {
     if( string == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( !string.equals( getText() ) ) {
       super.setText( string );
       updateBounds();
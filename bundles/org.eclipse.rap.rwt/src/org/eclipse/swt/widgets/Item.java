@@ -14,6 +14,7 @@ package org.eclipse.swt.widgets;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 
 
 /**
@@ -117,6 +118,7 @@ public abstract class Item extends Widget {
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     this.text = text;
   }
 
@@ -155,6 +157,7 @@ public abstract class Item extends Widget {
     if( image != null && image.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     this.image = image;
   }
 
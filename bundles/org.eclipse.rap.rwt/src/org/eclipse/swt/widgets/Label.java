@@ -18,6 +18,7 @@ import org.eclipse.rwt.internal.theme.IThemeAdapter;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.MarkupValidator;
 import org.eclipse.swt.internal.widgets.labelkit.LabelThemeAdapter;
 
@@ -148,6 +149,7 @@ public class Label extends Control {
       if( markupEnabled && !markupValidationDisabled ) {
         MarkupValidator.getInstance().validate( text );
       }
+      DirtyWidgetTracker.markDirty( this );
       this.text = text;
       image = null;
     }
@@ -188,6 +190,7 @@ public class Label extends Control {
   // TODO: The LCA does not yet handle images. So, setting an image currently
   public void setImage( Image image ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       this.image = image;
       text = "";
@@ -225,6 +228,7 @@ public class Label extends Control {
    */
   public void setAlignment( int alignment ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if(    ( style & SWT.SEPARATOR ) == 0
         && ( alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER ) ) != 0 )
     {
@@ -13,6 +13,7 @@ package org.eclipse.swt.widgets;
 
 import org.eclipse.rwt.RWT;
 import org.eclipse.rwt.graphics.Graphics;
+import org.eclipse.rwt.internal.textsize.TextSizeUtil;
 import org.eclipse.rwt.internal.theme.IThemeAdapter;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -20,6 +21,7 @@ import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.events.SetDataEvent;
 import org.eclipse.swt.internal.widgets.*;
 import org.eclipse.swt.internal.widgets.listkit.ListThemeAdapter;
 
@@ -31,13 +33,21 @@ import org.eclipse.swt.internal.widgets.listkit.ListThemeAdapter;
  * <p>
  * <dl>
  * <dt><b>Styles:</b></dt>
- * <dd>SINGLE, MULTI</dd>
+ * <dd>SINGLE, MULTI, VIRTUAL</dd>
  * <dt><b>Events:</b></dt>
- * <dd>Selection, DefaultSelection</dd>
+ * <dd>Selection, DefaultSelection, SetData</dd>
  * </dl>
  * <p>
  * Note: Only one of SINGLE and MULTI may be specified.
  * </p><p>
+ * Style <code>VIRTUAL</code> is used to create a <code>List</code> whose
+ * items are supplied by the program when they become visible. The number of
+ * items is set with <code>setItemCount()</code>, and an <code>SWT.SetData</code>
+ * event is sent for each item that becomes visible for the first time. The
+ * <code>index</code> field of the event denotes the item, the listener is
+ * expected to call <code>setItem()</code> for it. Items that have not been
+ * supplied yet are empty strings.
+ * </p><p>
  * IMPORTANT: This class is <em>not</em> intended to be subclassed.
  * </p>
  * @since 1.0
@@ -48,6 +58,7 @@ public class List extends Scrollable {
     @Override
     public void controlResized( ControlEvent event ) {
       List.this.updateScrollBars();
+      List.this.redrawVirtualItems();
     }
   }
 
@@ -60,6 +71,10 @@ public class List extends Scrollable {
   private boolean hasHScrollBar;
   private Rectangle bufferedItemPadding;
   private int customItemHeight;
+  // the width of the widest item, -1 if unknown
+  private int maxItemWidth;
+  private Font maxItemWidthFont;
+  private int maxItemWidthMeasurementCount;
   boolean markupEnabled;
   private boolean markupValidationDisabled;
 
@@ -89,6 +104,7 @@ public class List extends Scrollable {
    *
    * @see SWT#SINGLE
    * @see SWT#MULTI
+   * @see SWT#VIRTUAL
    * @see Widget#checkSubclass
    * @see Widget#getStyle
    */
@@ -97,6 +113,7 @@ public class List extends Scrollable {
     model = new ListModel( ( style & SWT.SINGLE ) != 0 );
     focusIndex = -1;
     customItemHeight = -1;
+    maxItemWidth = -1;
     resizeListener = new ResizeListener();
     addControlListener( resizeListener );
   }
@@ -126,9 +143,15 @@ public class List extends Scrollable {
           public Point getItemDimensions() {
             return List.this.getItemDimensions();
           }
+
+          public void checkData() {
+            List.this.checkData();
+          }
         };
       }
       result = ( T )listAdapter;
+    } else if( adapter == IListItemsAdapter.class ) {
+      result = ( T )model;
     } else {
       result = super.getAdapter( adapter );
     }
@@ -234,6 +257,7 @@ public class List extends Scrollable {
   // TODO [rh] selection is not scrolled into view (see List.js)
   public void setSelection( int selection ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.setSelection( selection );
     updateFocusIndexAfterSelectionChange();
   }
@@ -261,6 +285,7 @@ public class List extends Scrollable {
    */
   public void setSelection( int[] selection ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.setSelection( selection );
     updateFocusIndexAfterSelectionChange();
   }
@@ -288,6 +313,7 @@ public class List extends Scrollable {
    */
   public void setSelection( int start, int end ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.setSelection( start, end );
     updateFocusIndexAfterSelectionChange();
   }
@@ -316,6 +342,7 @@ public class List extends Scrollable {
    */
   public void setSelection( String[] selection ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.setSelection( selection );
     updateFocusIndexAfterSelectionChange();
   }
@@ -334,6 +361,7 @@ public class List extends Scrollable {
    */
   public void select( int index ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.SINGLE ) != 0 ) {
       if( index >= 0 && index < model.getItemCount() ) {
         model.setSelection( index );
@@ -370,6 +398,7 @@ public class List extends Scrollable {
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int length = indices.length;
     if( length != 0 && ( ( style & SWT.SINGLE ) == 0 || length <= 1 ) ) {
       int i = 0;
@@ -405,6 +434,7 @@ public class List extends Scrollable {
    */
   public void select( int start, int end ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( end >= 0 && start <= end && ( ( style & SWT.SINGLE ) == 0 || start == end ) ) {
       int count = model.getItemCount();
       if( count != 0 && start < count ) {
@@ -433,6 +463,7 @@ public class List extends Scrollable {
    */
   public void selectAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.selectAll();
     updateFocusIndexAfterSelectionChange();
   }
@@ -447,6 +478,7 @@ public class List extends Scrollable {
    */
   public void deselectAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.deselectAll();
     updateFocusIndexAfterSelectionChange();
   }
@@ -467,6 +499,7 @@ public class List extends Scrollable {
    */
   public void deselect( int index ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     removeFromSelection( index );
   }
 
@@ -489,6 +522,7 @@ public class List extends Scrollable {
    */
   public void deselect( int start, int end ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( start == 0 && end == model.getItemCount() - 1 ) {
       deselectAll();
     } else {
@@ -523,6 +557,7 @@ public class List extends Scrollable {
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     for( int i = 0; i < indices.length; i++ ) {
       removeFromSelection( indices[ i ] );
     }
@@ -594,9 +629,11 @@ public class List extends Scrollable {
    */
   public void setTopIndex( int topIndex ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int count = model.getItemCount();
     if( this.topIndex != topIndex && topIndex >= 0 && topIndex < count ) {
       this.topIndex = topIndex;
+      redrawVirtualItems();
     }
   }
 
@@ -633,6 +670,7 @@ public class List extends Scrollable {
    */
   public void showSelection() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int index = getSelectionIndex();
     if( index != -1 ) {
       int itemCount = getVisibleItemCount();
@@ -682,7 +720,9 @@ public class List extends Scrollable {
    */
   public void add( String string ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.add( string );
+    itemAdded( string );
     updateFocusIndexAfterItemChange();
     updateScrollBars();
   }
@@ -712,7 +752,9 @@ public class List extends Scrollable {
    */
   public void add( String string, int index ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.add( string, index );
+    itemAdded( string );
     updateFocusIndexAfterItemChange();
     updateScrollBars();
   }
@@ -733,7 +775,10 @@ public class List extends Scrollable {
    */
   public void remove( int index ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
+    String item = model.getItem( index );
     model.remove( index );
+    itemRemoved( item );
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
     updateScrollBars();
@@ -757,7 +802,9 @@ public class List extends Scrollable {
    */
   public void remove( int start, int end ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.remove( start, end );
+    maxItemWidth = -1;
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
     updateScrollBars();
@@ -780,7 +827,9 @@ public class List extends Scrollable {
    */
   public void remove( int[] indices ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.remove( indices );
+    maxItemWidth = -1;
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
     updateScrollBars();
@@ -804,7 +853,9 @@ public class List extends Scrollable {
    */
   public void remove( String string ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.remove( string );
+    maxItemWidth = -1;
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
     updateScrollBars();
@@ -820,7 +871,9 @@ public class List extends Scrollable {
    */
   public void removeAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     model.removeAll();
+    maxItemWidth = -1;
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
     updateScrollBars();
@@ -847,7 +900,14 @@ public class List extends Scrollable {
   public void setItem( int index, String string ) {
     checkWidget();
     validateMarkup( new String[] { string } );
+    if( string == null ) {
+      error( SWT.ERROR_NULL_ARGUMENT );
+    }
+    DirtyWidgetTracker.markDirty( this );
+    String oldItem = model.getItem( index );
     model.setItem( index, string );
+    itemRemoved( oldItem );
+    itemAdded( string );
     updateScrollBars();
   }
 
@@ -868,10 +928,40 @@ public class List extends Scrollable {
   public void setItems( String[] items ) {
     checkWidget();
     validateMarkup( items );
+    DirtyWidgetTracker.markDirty( this );
     model.setItems( items );
+    maxItemWidth = -1;
     updateScrollBars();
   }
 
+  /**
+   * Sets the number of items contained in the receiver. Items that are added
+   * are empty strings. If the receiver was created with the
+   * <code>SWT.VIRTUAL</code> style, an <code>SWT.SetData</code> event is sent
+   * for them as soon as they become visible.
+   *
+   * @param count the number of items
+   *
+   * @exception SWTException <ul>
+   *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+   * </ul>
+   *
+   * @see SWT#VIRTUAL
+   * @see SWT#SetData
+   * @since 1.5
+   */
+  public void setItemCount( int count ) {
+    checkWidget();
+    DirtyWidgetTracker.markDirty( this );
+    model.setItemCount( count );
+    maxItemWidth = -1;
+    adjustTopIndex();
+    updateFocusIndexAfterItemChange();
+    updateScrollBars();
+    redrawVirtualItems();
+  }
+
   /**
    * Returns the item at the given, zero-relative index in the
    * receiver. Throws an exception if the index is out of range.
@@ -889,6 +979,9 @@ public class List extends Scrollable {
    */
   public String getItem( int index ) {
     checkWidget();
+    if( index >= 0 && index < model.getItemCount() ) {
+      checkData( index );
+    }
     return model.getItem( index );
   }
 
@@ -1028,6 +1121,7 @@ public class List extends Scrollable {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -1050,6 +1144,7 @@ public class List extends Scrollable {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
   
@@ -1166,13 +1261,61 @@ public class List extends Scrollable {
   }
 
   private int getMaxItemWidth() {
-    int result = 0;
-    String[] items = getItems();
-    for( int i = 0; i < items.length; i++ ) {
-      int itemWidth = getItemWidth( items[ i ] );
-      result = Math.max( result, itemWidth );
+    if( !isMaxItemWidthValid() ) {
+      int result = 0;
+      String[] items = model.getItems();
+      for( int i = 0; i < items.length; i++ ) {
+        int itemWidth = getItemWidth( items[ i ] );
+        result = Math.max( result, itemWidth );
+      }
+      maxItemWidth = result;
+      maxItemWidthFont = getFont();
+      maxItemWidthMeasurementCount = TextSizeUtil.getMeasurementCount();
+    }
+    return maxItemWidth;
+  }
+
+  // keeps the width of the widest item up to date without measuring all items again
+  private void itemAdded( String item ) {
+    if( maxItemWidth != -1 ) {
+      maxItemWidth = Math.max( maxItemWidth, getItemWidth( item ) );
+    }
+  }
+
+  private void itemRemoved( String item ) {
+    if( maxItemWidth != -1 && getItemWidth( item ) >= maxItemWidth ) {
+      maxItemWidth = -1;
+    }
+  }
+
+  private boolean isMaxItemWidthValid() {
+    // the font may come from the theme and estimated text sizes are replaced by measured ones
+    return    maxItemWidth != -1
+           && maxItemWidthFont == getFont()
+           && maxItemWidthMeasurementCount == TextSizeUtil.getMeasurementCount();
+  }
+
+  private void redrawVirtualItems() {
+    if( ( style & SWT.VIRTUAL ) != 0 ) {
+      redraw();
+    }
+  }
+
+  private void checkData() {
+    int count = model.getItemCount();
+    int end = Math.min( count, topIndex + getVisibleItemCount() + 1 );
+    for( int index = Math.max( 0, topIndex ); index < end && !isDisposed(); index++ ) {
+      checkData( index );
+    }
+  }
+
+  private void checkData( int index ) {
+    if( ( style & SWT.VIRTUAL ) != 0 && !model.isCached( index ) ) {
+      // an item that was requested once is not requested again
+      model.setItem( index, "" );
+      SetDataEvent event = new SetDataEvent( this, null, index );
+      event.processEvent();
     }
-    return result;
   }
 
   private void adjustTopIndex() {
@@ -1217,18 +1360,18 @@ public class List extends Scrollable {
   }
 
   private void setCustomItemHeight( Object value ) {
-    if( value == null ) {
-      customItemHeight = -1;
-    } else {
+    int itemHeight = -1;
+    if( value != null ) {
       if( !( value instanceof Integer ) ) {
         error( SWT.ERROR_INVALID_ARGUMENT );
       }
-      int itemHeight = ( ( Integer )value ).intValue();
+      itemHeight = ( ( Integer )value ).intValue();
       if( itemHeight < 0 ) {
         error( SWT.ERROR_INVALID_RANGE );
       }
-      customItemHeight = itemHeight;
     }
+    DirtyWidgetTracker.markDirty( this );
+    customItemHeight = itemHeight;
   }
 
   private void validateMarkup( String[] items ) {
@@ -249,6 +249,7 @@ public class Menu extends Widget {
    */
   public void setLocation( int x, int y ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & ( SWT.BAR | SWT.DROP_DOWN ) ) == 0 ) {
       this.x = x;
       this.y = y;
@@ -284,6 +285,7 @@ public class Menu extends Widget {
     if( location == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     setLocation( location.x, location.y );
   }
 
@@ -369,6 +371,7 @@ public class Menu extends Widget {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & ( SWT.BAR | SWT.DROP_DOWN ) ) == 0 ) {
       if( this.visible != visible ) {
         this.visible = visible;
@@ -448,6 +451,7 @@ public class Menu extends Widget {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     state &= ~DISABLED;
     if( !enabled ) {
       state |= DISABLED;
@@ -678,6 +682,7 @@ public class Menu extends Widget {
    */
   public void addMenuListener( MenuListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     MenuEvent.addListener( this, listener );
   }
 
@@ -700,6 +705,7 @@ public class Menu extends Widget {
    */
   public void removeMenuListener( MenuListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     MenuEvent.removeListener( this, listener );
   }
 
@@ -725,6 +731,7 @@ public class Menu extends Widget {
    */
   public void addHelpListener( HelpListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     HelpEvent.addListener( this, listener );
   }
 
@@ -748,6 +755,7 @@ public class Menu extends Widget {
    */
   public void removeHelpListener( HelpListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     HelpEvent.removeListener( this, listener );
   }
 
@@ -15,6 +15,7 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.ItemHolder;
 
 
@@ -181,6 +182,7 @@ public class MenuItem extends Item {
           SWT.error( SWT.ERROR_INVALID_PARENT );
         }
       }
+      DirtyWidgetTracker.markDirty( this );
       removeMenuDisposeListener();
       /* Assign the new menu */
       if( this.menu != null ) {
@@ -231,6 +233,7 @@ public class MenuItem extends Item {
     if( id < 0 ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     userId = id;
   }
 
@@ -265,6 +268,7 @@ public class MenuItem extends Item {
    */
   public void setImage( Image image ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       super.setImage( image );
     }
@@ -288,6 +292,7 @@ public class MenuItem extends Item {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     state &= ~DISABLED;
     if( !enabled ) {
       state |= DISABLED;
@@ -370,6 +375,7 @@ public class MenuItem extends Item {
    */
   public void setSelection( boolean selection ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & ( SWT.CHECK | SWT.RADIO ) ) != 0 ) {
       this.selection = selection;
     }
@@ -404,6 +410,7 @@ public class MenuItem extends Item {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -426,6 +433,7 @@ public class MenuItem extends Item {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
@@ -451,6 +459,7 @@ public class MenuItem extends Item {
    */
   public void addHelpListener( HelpListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     HelpEvent.addListener( this, listener );
   }
 
@@ -474,6 +483,7 @@ public class MenuItem extends Item {
    */
   public void removeHelpListener( HelpListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     HelpEvent.removeListener( this, listener );
   }
 
@@ -499,6 +509,7 @@ public class MenuItem extends Item {
    */
   public void addArmListener( ArmListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ArmEvent.addListener( this, listener );
   }
 
@@ -522,6 +533,7 @@ public class MenuItem extends Item {
    */
   public void removeArmListener( ArmListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ArmEvent.removeListener( this, listener );
   }
 
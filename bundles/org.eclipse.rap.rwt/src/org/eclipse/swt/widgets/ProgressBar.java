@@ -14,6 +14,7 @@ package org.eclipse.swt.widgets;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 
 /**
  * Instances of the receiver represent is an unselectable user interface object
@@ -175,6 +176,7 @@ public class ProgressBar extends Control {
    */
   public void setMaximum( int value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( value > getMinimum() ) {
       this.maximum = value;
       if( selection > maximum ) {
@@ -201,6 +203,7 @@ public class ProgressBar extends Control {
    */
   public void setMinimum( int value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( value > 0 && value < getMaximum() ) {
       this.minimum = value;
       if( minimum > selection ) {
@@ -224,6 +227,7 @@ public class ProgressBar extends Control {
    */
   public void setSelection( int value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( value < minimum ) {
       selection = minimum;
     } else if( value > maximum ) {
@@ -251,6 +255,7 @@ public class ProgressBar extends Control {
    */
   public void setState( int state ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( state == SWT.NORMAL || state == SWT.PAUSED || state == SWT.ERROR ) {
       this.state = state;
     }
@@ -14,6 +14,7 @@ package org.eclipse.swt.widgets;
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.events.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 
 /**
  * Instances of the receiver represent a selectable user interface object that
@@ -104,6 +105,7 @@ public class Scale extends Control {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -125,6 +127,7 @@ public class Scale extends Control {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
@@ -239,6 +242,7 @@ public class Scale extends Control {
    */
   public void setIncrement( int increment ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( increment >= 1 && increment <= maximum - minimum ) {
       this.increment = increment;
     }
@@ -260,6 +264,7 @@ public class Scale extends Control {
    */
   public void setMaximum( int maximum ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( 0 <= minimum && minimum < maximum ) {
       this.maximum = maximum;
       if( selection > this.maximum ) {
@@ -284,6 +289,7 @@ public class Scale extends Control {
    */
   public void setMinimum( int minimum ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( 0 <= minimum && minimum < this.maximum ) {
       this.minimum = minimum;
       if( selection < this.minimum ) {
@@ -306,6 +312,7 @@ public class Scale extends Control {
    */
   public void setPageIncrement( int pageIncrement ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( pageIncrement >= 1 && pageIncrement <= maximum - minimum ) {
       this.pageIncrement = pageIncrement;
     }
@@ -324,6 +331,7 @@ public class Scale extends Control {
    */
   public void setSelection( int selection ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( selection >= minimum && selection <= maximum ) {
       this.selection = selection;
     }
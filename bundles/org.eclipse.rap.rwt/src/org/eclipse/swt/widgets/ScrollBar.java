@@ -17,6 +17,7 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.scrollbarkit.ScrollBarThemeAdapter;
 
 /**
@@ -175,6 +176,7 @@ public class ScrollBar extends Widget {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     boolean isVisible = ( state & HIDDEN ) == 0;
     if( isVisible != visible ) {
       state = visible ? state & ~HIDDEN : state | HIDDEN;
@@ -240,6 +242,7 @@ public class ScrollBar extends Widget {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( enabled ) {
       state &= ~DISABLED;
     } else {
@@ -344,6 +347,7 @@ public class ScrollBar extends Widget {
    */
   public void setThumb( int thumb ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.thumb = thumb;
   }
 
@@ -377,6 +381,7 @@ public class ScrollBar extends Widget {
    */
   public void setMaximum( int maximum ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.maximum = maximum;
   }
 
@@ -410,6 +415,7 @@ public class ScrollBar extends Widget {
    */
   public void setMinimum( int minimum ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.minimum = minimum;
   }
 
@@ -427,6 +433,7 @@ public class ScrollBar extends Widget {
    */
   public void setSelection( int selection ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( this.selection != selection ) {
       this.selection = selection;
     }
@@ -484,6 +491,7 @@ public class ScrollBar extends Widget {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -506,6 +514,7 @@ public class ScrollBar extends Widget {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
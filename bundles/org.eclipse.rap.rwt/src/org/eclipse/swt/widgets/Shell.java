@@ -463,6 +463,7 @@ public class Shell extends Decorations {
    */
   public void setActive() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( isVisible() ) {
       display.setActiveShell( this );
     }
@@ -490,6 +491,7 @@ public class Shell extends Decorations {
    */
   public void forceActive() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     setActive();
   }
 
@@ -625,6 +627,7 @@ public class Shell extends Decorations {
   @Override
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( getEnabled() != enabled ) {
       super.setEnabled( enabled );
       if( enabled ) {
@@ -653,6 +656,7 @@ public class Shell extends Decorations {
   @Override
   public void setVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     boolean wasVisible = getVisible();
     super.setVisible( visible );
     // Emulate OS behavior: in SWT, a layout is triggered during
@@ -687,6 +691,7 @@ public class Shell extends Decorations {
    */
   public void open() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     // Order of setActiveShell/bringToTop/setVisible is crucial
     display.setActiveShell( this );
     bringToTop();
@@ -713,6 +718,7 @@ public class Shell extends Decorations {
    */
   public void close() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ProcessActionRunner.add( new Runnable() {
       public void run() {
         ShellEvent event = new ShellEvent( Shell.this, ShellEvent.SHELL_CLOSED );
@@ -748,6 +754,7 @@ public class Shell extends Decorations {
     if( text == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     this.text = text;
   }
 
@@ -809,6 +816,7 @@ public class Shell extends Decorations {
         error( SWT.ERROR_INVALID_PARENT );
       }
     }
+    DirtyWidgetTracker.markDirty( this );
     setDefaultButton( button, true );
   }
 
@@ -902,6 +910,7 @@ public class Shell extends Decorations {
    */
   public void setAlpha( int alpha ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.alpha = alpha & 0xFF;
   }
 
@@ -937,6 +946,7 @@ public class Shell extends Decorations {
    */
   public void setModified ( boolean modified ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.modified = modified;
   }
 
@@ -973,6 +983,7 @@ public class Shell extends Decorations {
    */
   public void setMinimumSize( int width, int height ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     minWidth = Math.max( MIN_WIDTH_LIMIT, width );
     minHeight = Math.max( getMinHeightLimit(), height );
     Point size = getSize();
@@ -1005,6 +1016,7 @@ public class Shell extends Decorations {
     if( size == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     setMinimumSize( size.x, size.y );
   }
 
@@ -1080,6 +1092,7 @@ public class Shell extends Decorations {
    */
   public void addShellListener( ShellListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ShellEvent.addListener( this, listener );
   }
 
@@ -1102,6 +1115,7 @@ public class Shell extends Decorations {
    */
   public void removeShellListener( ShellListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ShellEvent.removeListener( this, listener );
   }
 
@@ -1268,6 +1282,7 @@ public class Shell extends Decorations {
    */
   public void setMinimized( boolean minimized ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( minimized ) {
       mode |= MODE_MINIMIZED;
     } else {
@@ -1303,6 +1318,7 @@ public class Shell extends Decorations {
    */
   public void setMaximized( boolean maximized ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( mode & MODE_FULLSCREEN ) == 0 ) {
       if( maximized ) {
         if( ( mode & MODE_MAXIMIZED ) == 0 ) {
@@ -1386,6 +1402,7 @@ public class Shell extends Decorations {
    */
   public void setFullScreen( boolean fullScreen ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( ( mode & MODE_FULLSCREEN ) != 0 ) != fullScreen ) {
       if( fullScreen ) {
         setActive();
@@ -14,6 +14,7 @@ package org.eclipse.swt.widgets;
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.events.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 
 /**
  * Instances of this class are selectable user interface
@@ -148,6 +149,7 @@ public class Slider extends Control {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -170,6 +172,7 @@ public class Slider extends Control {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
@@ -321,6 +324,7 @@ public class Slider extends Control {
    */
   public void setIncrement( int value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( value >= 1 && value <= maximum - minimum ) {
       increment = value;
     }
@@ -341,6 +345,7 @@ public class Slider extends Control {
    */
   public void setMaximum( int value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( 0 <= minimum && minimum < value ) {
       maximum = value;
       if( selection > maximum - thumb ) {
@@ -368,6 +373,7 @@ public class Slider extends Control {
    */
   public void setMinimum( int value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( 0 <= value && value < maximum ) {
       minimum = value;
       if( selection < minimum ) {
@@ -395,6 +401,7 @@ public class Slider extends Control {
    */
   public void setPageIncrement( int value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( value >= 1 && value <= maximum - minimum ) {
       pageIncrement = value;
     }
@@ -414,6 +421,7 @@ public class Slider extends Control {
    */
   public void setSelection( int value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( value < minimum ) {
       selection = minimum;
     } else if ( value > maximum - thumb ) {
@@ -439,6 +447,7 @@ public class Slider extends Control {
    */
   public void setThumb( int value ) {
   	checkWidget();
+  	DirtyWidgetTracker.markDirty( this );
   	if( value >= 1 ) {
       thumb = value;
     }
@@ -477,6 +486,7 @@ public class Slider extends Control {
                          int pageIncrement )
   {
   	checkWidget();
+  	DirtyWidgetTracker.markDirty( this );
   	if( selection >= minimum && selection <= maximum ) {
   	  this.selection = selection;
     }
@@ -21,6 +21,7 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.spinnerkit.SpinnerThemeAdapter;
 
 
@@ -146,6 +147,7 @@ public class Spinner extends Composite {
     if( value < 0 ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     digits = value;
   }
 
@@ -182,6 +184,7 @@ public class Spinner extends Composite {
    */
   public void setIncrement( int value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( value >= 1 ) {
       increment = value;
     }
@@ -217,6 +220,7 @@ public class Spinner extends Composite {
    */
   public void setMinimum( int value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( value <= maximum ) {
       minimum = value;
       if( selection < minimum ) {
@@ -255,6 +259,7 @@ public class Spinner extends Composite {
    */
   public void setMaximum( int value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( value >= minimum ) {
       maximum = value;
       if( selection > maximum ) {
@@ -293,6 +298,7 @@ public class Spinner extends Composite {
    */
   public void setPageIncrement( int value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( value >= 1 ) {
       pageIncrement = value;
     }
@@ -328,6 +334,7 @@ public class Spinner extends Composite {
    */
   public void setSelection( int value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     selection = Math.min( Math.max( minimum, value ), maximum );
     ModifyEvent modifyEvent = new ModifyEvent( this );
     modifyEvent.processEvent();
@@ -362,6 +369,7 @@ public class Spinner extends Composite {
                          int pageIncrement )
   {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( maximum >= minimum && digits >= 0 && increment >= 1 && pageIncrement >= 1 ) {
       this.minimum = minimum;
       this.maximum = maximum;
@@ -428,6 +436,7 @@ public class Spinner extends Composite {
     if( textLimit == 0 ) {
       error( SWT.ERROR_CANNOT_BE_ZERO );
     }
+    DirtyWidgetTracker.markDirty( this );
     // Note that we mimic here the behavior of SWT Text with style MULTI on
     // Windows. In SWT, other operating systems and/or style flags behave
     // different.
@@ -545,6 +554,7 @@ public class Spinner extends Composite {
    */
   public void addModifyListener( ModifyListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ModifyEvent.addListener( this, listener );
   }
 
@@ -567,6 +577,7 @@ public class Spinner extends Composite {
    */
   public void removeModifyListener( ModifyListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ModifyEvent.removeListener( this, listener );
   }
 
@@ -598,6 +609,7 @@ public class Spinner extends Composite {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -622,6 +634,7 @@ public class Spinner extends Composite {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
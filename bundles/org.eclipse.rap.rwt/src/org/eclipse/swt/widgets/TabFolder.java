@@ -18,6 +18,7 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.IItemHolderAdapter;
 import org.eclipse.swt.internal.widgets.ItemHolder;
 import org.eclipse.swt.internal.widgets.tabfolderkit.TabFolderThemeAdapter;
@@ -277,6 +278,7 @@ public class TabFolder extends Composite {
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     setSelection( new TabItem[]{ item } );
   }
 
@@ -300,6 +302,7 @@ public class TabFolder extends Composite {
     if( items == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( items.length == 0 ) {
       setSelection( -1, false );
     } else {
@@ -327,6 +330,7 @@ public class TabFolder extends Composite {
    */
   public void setSelection( int index ) {
     checkWidget ();
+    DirtyWidgetTracker.markDirty( this );
     int count = itemHolder.size();
     if( index >= 0 && index < count ) {
       setSelection( index, false );
@@ -478,6 +482,7 @@ public class TabFolder extends Composite {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -500,6 +505,7 @@ public class TabFolder extends Composite {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
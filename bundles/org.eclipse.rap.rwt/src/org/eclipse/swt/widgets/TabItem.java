@@ -15,6 +15,7 @@ import org.eclipse.rwt.graphics.Graphics;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.ItemHolder;
 
 
@@ -174,6 +175,7 @@ public class TabItem extends Item {
         error( SWT.ERROR_INVALID_PARENT );
       }
     }
+    DirtyWidgetTracker.markDirty( this );
     if( this.control != null && this.control.isDisposed() ) {
       this.control = null;
     }
@@ -267,6 +269,7 @@ public class TabItem extends Item {
 
   public void setImage( Image image ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int index = parent.indexOf( this );
     if( index > -1 ) {
       super.setImage( image );
@@ -288,6 +291,7 @@ public class TabItem extends Item {
    */
   public void setToolTipText( String toolTip ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     toolTipText = toolTip;
   }
 
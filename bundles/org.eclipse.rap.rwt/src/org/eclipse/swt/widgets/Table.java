@@ -524,6 +524,7 @@ public class Table extends Composite {
     if( order.length != columnCount ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( columnCount > 0 ) {
       int[] oldOrder = new int[ columnCount ];
       System.arraycopy( columnOrder, 0, oldOrder, 0, columnOrder.length );
@@ -611,6 +612,7 @@ public class Table extends Composite {
   //      method to ensure that items are drawn when inside the visible bounds
   public void setItemCount( int count ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int newItemCount = Math.max( 0, count );
     if( newItemCount != itemCount && !isInDispose() ) {
       while( newItemCount < itemCount ) {
@@ -789,6 +791,7 @@ public class Table extends Composite {
    */
   public void removeAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     while( itemCount > 0 ) {
       removeItem( 0 );
     }
@@ -819,6 +822,7 @@ public class Table extends Composite {
       if( !( 0 <= start && start <= end && end < itemCount ) ) {
         error( SWT.ERROR_INVALID_RANGE );
       }
+      DirtyWidgetTracker.markDirty( this );
       for( int i = end; i >= start; i-- ) {
         removeItem( i );
       }
@@ -846,6 +850,7 @@ public class Table extends Composite {
     if( !( 0 <= index && index < itemCount ) ) {
       SWT.error( SWT.ERROR_ITEM_NOT_REMOVED );
     }
+    DirtyWidgetTracker.markDirty( this );
     removeItem( index );
   }
 
@@ -881,6 +886,7 @@ public class Table extends Composite {
       if( !( 0 <= start && start <= end && end < itemCount ) ) {
         SWT.error( SWT.ERROR_INVALID_RANGE );
       }
+      DirtyWidgetTracker.markDirty( this );
       int lastValue = -1;
       for( int i = 0; i < sortedIndices.length; i++ ) {
         if( sortedIndices[ i ] != lastValue ) {
@@ -918,6 +924,7 @@ public class Table extends Composite {
     if( index < 0 || index >= itemCount ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
+    DirtyWidgetTracker.markDirty( this );
     TableItem item = items[ index ];
     if( item != null ) {
       item.clear();
@@ -951,6 +958,7 @@ public class Table extends Composite {
       if( !( 0 <= start && start <= end && end < itemCount ) ) {
         SWT.error( SWT.ERROR_INVALID_RANGE );
       }
+      DirtyWidgetTracker.markDirty( this );
       if( start == 0 && end == itemCount - 1 ) {
         clearAll();
       } else {
@@ -980,6 +988,7 @@ public class Table extends Composite {
    */
   public void clearAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     for( int i = 0; i < itemCount; i++ ) {
       TableItem item = items[ i ];
       if( item != null ) {
@@ -1020,6 +1029,7 @@ public class Table extends Composite {
           SWT.error( SWT.ERROR_INVALID_RANGE );
         }
       }
+      DirtyWidgetTracker.markDirty( this );
       for( int i = 0; i < indices.length; i++ ) {
         TableItem item = items[ indices[ i ] ];
         if( item != null ) {
@@ -1079,6 +1089,7 @@ public class Table extends Composite {
    */
   public void setSelection( int index ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     deselectAll();
     select( index );
     if( index < itemCount ) {
@@ -1126,6 +1137,7 @@ public class Table extends Composite {
    */
   public void setSelection( int start, int end ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     deselectAll();
     select( start, end );
     if(    end >= 0
@@ -1192,6 +1204,7 @@ public class Table extends Composite {
     if( indices == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     deselectAll();
     select( indices );
     int length = indices.length;
@@ -1224,6 +1237,7 @@ public class Table extends Composite {
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     setSelection( new TableItem[]{ item } );
   }
 
@@ -1256,6 +1270,7 @@ public class Table extends Composite {
     if( items == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int[] indices = new int[ items.length ];
     for( int i = 0; i < items.length; i++ ) {
       indices[ i ] = indexOf( items[ i ] );
@@ -1328,6 +1343,7 @@ public class Table extends Composite {
    */
   public void select( int index ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( index >= 0 && index < itemCount ) {
       if( ( style & SWT.SINGLE ) != 0 ) {
         selection = new int[] { index };
@@ -1368,6 +1384,7 @@ public class Table extends Composite {
    */
   public void select( int start, int end ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( end >= 0 && start <= end && ( ( style & SWT.SINGLE ) == 0 || start == end ) ) {
       if( itemCount != 0 && start < itemCount ) {
         int adjustedStart = Math.max( 0, start );
@@ -1411,6 +1428,7 @@ public class Table extends Composite {
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int length = indices.length;
     if( length != 0 && ( ( style & SWT.SINGLE ) == 0 || length <= 1 ) ) {
       for( int i = length - 1; i >= 0; --i ) {
@@ -1434,6 +1452,7 @@ public class Table extends Composite {
   //      selectAll is called. Compare how SWT handles this.
   public void selectAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.SINGLE ) == 0 ) {
       setSelection( getItems() );
     }
@@ -1453,6 +1472,7 @@ public class Table extends Composite {
    */
   public void deselect( int index ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     removeFromSelection( index );
   }
 
@@ -1473,6 +1493,7 @@ public class Table extends Composite {
    */
   public void deselect( int start, int end ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( start == 0 && end == itemCount - 1 ) {
       deselectAll();
     } else {
@@ -1505,6 +1526,7 @@ public class Table extends Composite {
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     for( int i = 0; i < indices.length; i++ ) {
       removeFromSelection( indices[ i ] );
     }
@@ -1520,6 +1542,7 @@ public class Table extends Composite {
    */
   public void deselectAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     selection = EMPTY_SELECTION;
   }
 
@@ -1540,6 +1563,7 @@ public class Table extends Composite {
    */
   public void setTopIndex( int topIndex ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( this.topIndex != topIndex && topIndex >= 0 && topIndex < itemCount ) {
       this.topIndex = topIndex;
       adjustTopIndex();
@@ -1592,6 +1616,7 @@ public class Table extends Composite {
     if( item.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int itemIndex = indexOf( item );
     int itemCount = getVisibleItemCount( false );
     if( itemIndex < topIndex ) {
@@ -1629,6 +1654,7 @@ public class Table extends Composite {
     if( column.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( column.getParent() == this ) {
       int index = indexOf( column );
       if( 0 <= index && index < getColumnCount() ) {
@@ -1681,6 +1707,7 @@ public class Table extends Composite {
    */
   public void showSelection() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int index = getSelectionIndex();
     if( index != -1 ) {
       showItem( _getItem( index ) );
@@ -1708,6 +1735,7 @@ public class Table extends Composite {
    */
   public void setHeaderVisible( boolean headerVisible ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     boolean changed = headerVisible != this.headerVisible;
     this.headerVisible = headerVisible;
     if( changed ) {
@@ -1777,6 +1805,7 @@ public class Table extends Composite {
    */
   public void setLinesVisible( boolean linesVisible ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.linesVisible = linesVisible;
   }
 
@@ -1800,6 +1829,7 @@ public class Table extends Composite {
     if( column != null && column.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     sortColumn = column;
   }
 
@@ -1835,6 +1865,7 @@ public class Table extends Composite {
    */
   public void setSortDirection( int direction ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( direction & ( SWT.UP | SWT.DOWN ) ) != 0 || direction == SWT.NONE ) {
       sortDirection = direction;
     }
@@ -1973,6 +2004,7 @@ public class Table extends Composite {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -1995,6 +2027,7 @@ public class Table extends Composite {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
@@ -2047,18 +2080,18 @@ public class Table extends Composite {
   }
 
   private void setCustomItemHeight( Object value ) {
-    if( value == null ) {
-      customItemHeight = -1;
-    } else {
+    int itemHeight = -1;
+    if( value != null ) {
       if( !( value instanceof Integer ) ) {
         error( SWT.ERROR_INVALID_ARGUMENT );
       }
-      int itemHeight = ( ( Integer )value ).intValue();
+      itemHeight = ( ( Integer )value ).intValue();
       if( itemHeight < 0 ) {
         error( SWT.ERROR_INVALID_RANGE );
       }
-      customItemHeight = itemHeight;
     }
+    DirtyWidgetTracker.markDirty( this );
+    customItemHeight = itemHeight;
   }
 
   final int getItemsPreferredWidth( int columnIndex ) {
@@ -177,6 +177,7 @@ public class TableColumn extends Item {
    */
   public void setToolTipText( String string ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     toolTipText = string;
   }
 
@@ -210,6 +211,7 @@ public class TableColumn extends Item {
    */
   public void setAlignment( int alignment ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER ) ) != 0 ) {
       style &= ~( SWT.LEFT | SWT.RIGHT | SWT.CENTER );
       style |= alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER );
@@ -252,6 +254,7 @@ public class TableColumn extends Item {
    */
   public void setWidth( int width ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( width >= 0 ) {
       this.width = width;
       parent.updateScrollBars();
@@ -302,6 +305,7 @@ public class TableColumn extends Item {
    */
   public void setMoveable( boolean moveable ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.moveable = moveable;
   }
 
@@ -344,6 +348,7 @@ public class TableColumn extends Item {
    */
   public void setResizable( boolean resizable ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.resizable = resizable;
   }
 
@@ -416,6 +421,7 @@ public class TableColumn extends Item {
    */
   public void addControlListener( ControlListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ControlEvent.addListener( this, listener );
   }
 
@@ -438,6 +444,7 @@ public class TableColumn extends Item {
    */
   public void removeControlListener( ControlListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ControlEvent.removeListener( this, listener );
   }
 
@@ -467,6 +474,7 @@ public class TableColumn extends Item {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -489,6 +497,7 @@ public class TableColumn extends Item {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
@@ -598,6 +607,7 @@ public class TableColumn extends Item {
 
   public void setBackgroundPosition(final int position) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if (backgroundPosition != position) {
       backgroundPosition = position;
     }
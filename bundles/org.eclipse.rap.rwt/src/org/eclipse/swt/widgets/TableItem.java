@@ -91,6 +91,18 @@ public class TableItem extends Item {
       return result;
     }
 
+    public Color getCellBackground( int index ) {
+      return hasData( index ) ? data[ index ].background : null;
+    }
+
+    public Color getCellForeground( int index ) {
+      return hasData( index ) ? data[ index ].foreground : null;
+    }
+
+    public Font getCellFont( int index ) {
+      return hasData( index ) ? data[ index ].font : null;
+    }
+
     public boolean isParentDisposed() {
       return TableItem.this.parent.isDisposed();
     }
@@ -235,6 +247,7 @@ public class TableItem extends Item {
   @Override
   public void setText( String text ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     setText( 0, text );
   }
 
@@ -260,6 +273,7 @@ public class TableItem extends Item {
     if( parent.markupEnabled && !parent.markupValidationDisabled ) {
       MarkupValidator.getInstance().validate( text );
     }
+    DirtyWidgetTracker.markDirty( this );
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
@@ -295,6 +309,7 @@ public class TableItem extends Item {
     if( strings == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     for( int i = 0; i < strings.length; i++ ) {
       String string = strings[ i ];
       if( string != null ) {
@@ -339,6 +354,7 @@ public class TableItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     setImage( 0, image );
   }
 
@@ -361,6 +377,7 @@ public class TableItem extends Item {
     if( image != null && image.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
@@ -401,6 +418,7 @@ public class TableItem extends Item {
         error( SWT.ERROR_INVALID_ARGUMENT );
       }
     }
+    DirtyWidgetTracker.markDirty( this );
     for( int i = 0; i < images.length; i++ ) {
       setImage( i, images[ i ] );
     }
@@ -463,6 +481,7 @@ public class TableItem extends Item {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( !equals( background, color ) ) {
       background = color;
       markCached();
@@ -516,6 +535,7 @@ public class TableItem extends Item {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
@@ -573,6 +593,7 @@ public class TableItem extends Item {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( !equals( foreground, color ) ) {
       foreground = color;
       markCached();
@@ -625,6 +646,7 @@ public class TableItem extends Item {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
@@ -680,6 +702,7 @@ public class TableItem extends Item {
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( !equals( this.font, font ) ) {
       this.font = font;
       clearTextWidths();
@@ -737,6 +760,7 @@ public class TableItem extends Item {
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
@@ -791,6 +815,7 @@ public class TableItem extends Item {
    */
   public void setChecked( boolean checked ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( parent.style & SWT.CHECK ) != 0 ) {
       if( this.checked != checked ) {
         this.checked = checked;
@@ -836,6 +861,7 @@ public class TableItem extends Item {
    */
   public void setGrayed( boolean grayed ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( parent.style & SWT.CHECK ) != 0 ) {
       if( this.grayed != grayed ) {
         this.grayed = grayed;
@@ -17,6 +17,7 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.internal.graphics.FontUtil;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.ITextAdapter;
 
 
@@ -185,6 +186,7 @@ public class Text extends Scrollable {
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     String verifiedText = verifyText( text, 0, this.text.length() );
     if( verifiedText != null ) {
       if( verifiedText.length() > textLimit ) {
@@ -240,6 +242,7 @@ public class Text extends Scrollable {
     if( text == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     setText( new String( text ) );
   }
 
@@ -331,6 +334,7 @@ public class Text extends Scrollable {
     if( string == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     setText( text + string );
   }
 
@@ -391,6 +395,7 @@ public class Text extends Scrollable {
     if( message == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     this.message = message;
   }
 
@@ -439,6 +444,7 @@ public class Text extends Scrollable {
    */
   public void setEchoChar( char echo ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.MULTI ) == 0 ) {
       echoChar = echo;
     }
@@ -499,6 +505,7 @@ public class Text extends Scrollable {
     if( textLimit == 0 ) {
       error( SWT.ERROR_CANNOT_BE_ZERO );
     }
+    DirtyWidgetTracker.markDirty( this );
     // Note that we mimic here the behavior of SWT Text with style MULTI on
     // Windows. In SWT, other operating systems and/or style flags behave
     // different.
@@ -571,6 +578,7 @@ public class Text extends Scrollable {
    */
   public void setSelection( int start ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     setSelection( start, start );
  }
 
@@ -601,6 +609,7 @@ public class Text extends Scrollable {
    */
   public void setSelection( int start, int end ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int validatedStart = this.selection.x;
     int validatedEnd = this.selection.y;
     if( start >= 0 && end >= start ) {
@@ -648,6 +657,7 @@ public class Text extends Scrollable {
     if( selection == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     setSelection( selection.x, selection.y );
   }
 
@@ -714,6 +724,7 @@ public class Text extends Scrollable {
    */
   public void clearSelection() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     selection.x = selection.y;
   }
 
@@ -727,6 +738,7 @@ public class Text extends Scrollable {
    */
   public void selectAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     selection.x = 0;
     selection.y = text.length();
   }
@@ -765,6 +777,7 @@ public class Text extends Scrollable {
    */
   public void setEditable( boolean editable ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     style &= ~SWT.READ_ONLY;
     if( !editable ) {
       style |= SWT.READ_ONLY;
@@ -807,6 +820,7 @@ public class Text extends Scrollable {
     if( string == null ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     String oldText = getText();
     Point sel = getSelection();
     String replace = oldText.substring( 0, sel.x );
@@ -909,6 +923,7 @@ public class Text extends Scrollable {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -931,6 +946,7 @@ public class Text extends Scrollable {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
@@ -955,6 +971,7 @@ public class Text extends Scrollable {
    */
   public void addModifyListener( ModifyListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ModifyEvent.addListener( this, listener );
   }
 
@@ -977,6 +994,7 @@ public class Text extends Scrollable {
    */
   public void removeModifyListener( ModifyListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ModifyEvent.removeListener( this, listener );
   }
 
@@ -1001,6 +1019,7 @@ public class Text extends Scrollable {
    */
   public void addVerifyListener( VerifyListener verifyListener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     VerifyEvent.addListener( this, verifyListener );
   }
 
@@ -1023,6 +1042,7 @@ public class Text extends Scrollable {
    */
   public void removeVerifyListener( VerifyListener verifyListener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     VerifyEvent.removeListener( this, verifyListener );
   }
 
@@ -18,6 +18,7 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.IToolItemAdapter;
 import org.eclipse.swt.internal.widgets.toolbarkit.ToolBarThemeAdapter;
 
@@ -186,6 +187,7 @@ public class ToolItem extends Item {
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       super.setText( text );
       parent.layoutItems();
@@ -194,6 +196,7 @@ public class ToolItem extends Item {
 
   public void setImage( Image image ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       super.setImage( image );
       parent.layoutItems();
@@ -221,6 +224,7 @@ public class ToolItem extends Item {
    */
   public void setDisabledImage( Image image ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       disabledImage = image;
       parent.layoutItems();
@@ -267,6 +271,7 @@ public class ToolItem extends Item {
    */
   public void setHotImage( Image image ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       hotImage = image;
       parent.layoutItems();
@@ -318,6 +323,7 @@ public class ToolItem extends Item {
         SWT.error( SWT.ERROR_INVALID_PARENT );
       }
     }
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.SEPARATOR ) != 0 ) {
       if( this.control != null && !this.control.isDisposed() ) {
         this.control.setVisible( false );
@@ -359,6 +365,7 @@ public class ToolItem extends Item {
    */
   public void setToolTipText( String string ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     toolTipText = string;
   }
 
@@ -398,6 +405,7 @@ public class ToolItem extends Item {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( enabled ) {
       state &= ~DISABLED;
     } else {
@@ -634,6 +642,7 @@ public class ToolItem extends Item {
    */
   public void setWidth( int width ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.SEPARATOR ) != 0 && width >= 0 ) {
       computedWidth = false;
       this.width = width;
@@ -687,6 +696,7 @@ public class ToolItem extends Item {
    */
   public void setSelection( boolean selected ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & ( SWT.CHECK | SWT.RADIO ) ) != 0 ) {
       this.selected = selected;
     }
@@ -722,6 +732,7 @@ public class ToolItem extends Item {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -744,6 +755,7 @@ public class ToolItem extends Item {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
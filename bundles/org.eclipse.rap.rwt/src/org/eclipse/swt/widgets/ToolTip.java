@@ -15,6 +15,7 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.IToolTipAdapter;
 
 
@@ -162,6 +163,7 @@ public class ToolTip extends Widget {
    */
   public void setAutoHide( boolean autoHide ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.autoHide = autoHide;
   }
 
@@ -227,6 +229,7 @@ public class ToolTip extends Widget {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.visible = visible;
   }
 
@@ -264,6 +267,7 @@ public class ToolTip extends Widget {
     if( text == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     this.text = text;
   }
 
@@ -301,6 +305,7 @@ public class ToolTip extends Widget {
     if( message == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     this.message = message;
   }
 
@@ -323,6 +328,7 @@ public class ToolTip extends Widget {
    */
   public void setLocation( int x, int y ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.x = x;
     this.y = y;
   }
@@ -354,6 +360,7 @@ public class ToolTip extends Widget {
     if( location == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     setLocation( location.x, location.y );
   }
 
@@ -383,6 +390,7 @@ public class ToolTip extends Widget {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -405,6 +413,7 @@ public class ToolTip extends Widget {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
   
@@ -33,6 +33,7 @@ import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.SerializableCompatibility;
 import org.eclipse.swt.internal.events.SetDataEvent;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.ICellToolTipAdapter;
 import org.eclipse.swt.internal.widgets.ICellToolTipProvider;
 import org.eclipse.swt.internal.widgets.IItemHolderAdapter;
@@ -132,8 +133,7 @@ public class Tree extends Composite {
   private boolean hasHScrollBar;
   private Point itemImageSize;
   LayoutCache layoutCache;
-  boolean isFlatIndexValid;
-  private int visibleItemsCount;
+  private final TreeItemIndex itemIndex;
   boolean markupEnabled;
   boolean markupValidationDisabled;
 
@@ -173,6 +173,7 @@ public class Tree extends Composite {
     super( parent, checkStyle( style ) );
     columnHolder = new ItemHolder<TreeColumn>( TreeColumn.class );
     treeAdapter = new InternalTreeAdapter();
+    itemIndex = new TreeItemIndex();
     setTreeEmpty();
     sortDirection = SWT.NONE;
     selection = EMPTY_SELECTION;
@@ -257,6 +258,7 @@ public class Tree extends Composite {
    */
   public void setItemCount( int count ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int oldItemCount = itemCount;
     int newItemCount = Math.max( 0, count );
     if( newItemCount != oldItemCount ) {
@@ -280,7 +282,7 @@ public class Tree extends Composite {
         }
       }
       itemCount = newItemCount;
-      isFlatIndexValid = false;
+      itemIndex.invalidate( Math.min( oldItemCount, newItemCount ) );
       updateScrollBars();
       redraw();
     }
@@ -418,6 +420,7 @@ public class Tree extends Composite {
    */
   public void removeAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     for( int i = itemCount - 1; i >= 0; i-- ) {
       if( items[ i ] != null ) {
         items[ i ].dispose();
@@ -425,6 +428,7 @@ public class Tree extends Composite {
         itemCount--;
       }
     }
+    itemIndex.invalidate( 0 );
     setTreeEmpty();
     selection = EMPTY_SELECTION;
   }
@@ -454,6 +458,7 @@ public class Tree extends Composite {
     if( item.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( item.getParent() == this ) {
       TreeItem parent = item.getParentItem();
       while( parent != null ) {
@@ -501,6 +506,7 @@ public class Tree extends Composite {
     if( item.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( item.getParent() == this ) {
       TreeItem parent = item.getParentItem();
       while( parent != null ) {
@@ -510,10 +516,11 @@ public class Tree extends Composite {
       int itemsAreaHeight = getClientArea().height - getHeaderHeight();
       int rows = ( int )Math.floor( itemsAreaHeight / getItemHeight() );
       int flatIndex = item.getFlatIndex();
-      if( flatIndex <= topItemIndex || flatIndex + rows <= visibleItemsCount ) {
+      int visibleItemCount = getVisibleItemCount();
+      if( flatIndex <= topItemIndex || flatIndex + rows <= visibleItemCount ) {
         setTopItemIndex( flatIndex );
       } else {
-        int index = Math.max( 0, visibleItemsCount - rows );
+        int index = Math.max( 0, visibleItemCount - rows );
         setTopItemIndex( index );
       }
     }
@@ -535,19 +542,14 @@ public class Tree extends Composite {
    */
   public TreeItem getTopItem() {
     checkWidget();
-    TreeItem result = null;
-    if( itemCount > 0 ) {
-      List visibleItems = collectVisibleItems( null );
-      result = ( TreeItem )visibleItems.get( topItemIndex );
-    }
-    return result;
+    return getVisibleItem( topItemIndex );
   }
 
   private void setTopItemIndex( int index ) {
     if( index != topItemIndex ) {
       topItemIndex = index;
       adjustTopItemIndex();
-      updateAllItems();
+      checkVisibleItems();
     }
   }
 
@@ -581,6 +583,7 @@ public class Tree extends Composite {
     if( column.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( column.getParent() == this ) {
       int index = indexOf( column );
       if( 0 <= index && index < getColumnCount() ) {
@@ -633,6 +636,7 @@ public class Tree extends Composite {
    */
   public void showSelection() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( selection.length == 0 ) {
       return;
     }
@@ -702,6 +706,7 @@ public class Tree extends Composite {
     if( selection == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     setSelection( new TreeItem[]{
       selection
     } );
@@ -743,6 +748,7 @@ public class Tree extends Composite {
           if( item.isDisposed() ) {
             SWT.error( SWT.ERROR_INVALID_ARGUMENT );
           }
+          DirtyWidgetTracker.markDirty( this );
           this.selection = new TreeItem[]{
             item
           };
@@ -765,6 +771,7 @@ public class Tree extends Composite {
           }
         }
         if( validLength > 0 ) {
+          DirtyWidgetTracker.markDirty( this );
           // Copy the above created array to its 'final destination'
           this.selection = new TreeItem[ validLength ];
           System.arraycopy( validSelection, 0, this.selection, 0, validLength );
@@ -798,6 +805,7 @@ public class Tree extends Composite {
     if( item.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.SINGLE ) != 0 ) {
       setSelection( item );
     } else {
@@ -824,6 +832,7 @@ public class Tree extends Composite {
    */
   public void selectAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( style & SWT.MULTI ) != 0 ) {
       final java.util.List<TreeItem> allItems = new ArrayList<TreeItem>();
       WidgetTreeVisitor.accept( this, new AllWidgetTreeVisitor() {
@@ -865,6 +874,7 @@ public class Tree extends Composite {
     if( item.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     List<TreeItem> selItems = new ArrayList<TreeItem>( Arrays.asList( selection ) );
     if( selItems.contains( item ) ) {
       selItems.remove( item );
@@ -884,6 +894,7 @@ public class Tree extends Composite {
    */
   public void deselectAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     selection = EMPTY_SELECTION;
   }
 
@@ -905,6 +916,7 @@ public class Tree extends Composite {
    */
   public void setLinesVisible( boolean value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( linesVisible == value ) {
       return; /* no change */
     }
@@ -975,6 +987,7 @@ public class Tree extends Composite {
     if( index < 0 || index >= itemCount ) {
       error( SWT.ERROR_INVALID_RANGE );
     }
+    DirtyWidgetTracker.markDirty( this );
     TreeItem item = items[ index ];
     if( item != null ) {
       item.clear();
@@ -1012,27 +1025,8 @@ public class Tree extends Composite {
     if( point == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
-    TreeItem result = null;
     int index = ( point.y - getHeaderHeight() ) / getItemHeight() + topItemIndex;
-    List visibleItems = collectVisibleItems( null );
-    if( 0 <= index && index < visibleItems.size() ) {
-      result = ( TreeItem )visibleItems.get( index );
-    }
-    return result;
-  }
-
-  private List<TreeItem> collectVisibleItems( TreeItem parentItem ) {
-    List<TreeItem> result = new ArrayList<TreeItem>();
-    TreeItem[] items = parentItem == null ? this.items : parentItem.items;
-    int itemCount = parentItem == null ? this.itemCount : parentItem.itemCount;
-    for( int i = 0; i < itemCount; i++ ) {
-      TreeItem item = items[ i ];
-      result.add( item );
-      if( item != null && item.getExpanded() ) {
-        result.addAll( collectVisibleItems( item ) );
-      }
-    }
-    return result;
+    return getVisibleItem( index );
   }
 
   /**
@@ -1078,6 +1072,7 @@ public class Tree extends Composite {
    */
   public void clearAll( boolean recursive ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     for( int i = 0; i < itemCount; i++ ) {
       TreeItem item = items[ i ];
       if( item != null ) {
@@ -1088,7 +1083,7 @@ public class Tree extends Composite {
       }
     }
     if( isVirtual() && itemCount != 0 ) {
-      updateAllItems();
+      checkVisibleItems();
     }
   }
 
@@ -1221,6 +1216,7 @@ public class Tree extends Composite {
    */
   public void setHeaderVisible( boolean value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( headerVisible != value ) {
       headerVisible = value;
       layoutCache.invalidateHeaderHeight();
@@ -1369,6 +1365,7 @@ public class Tree extends Composite {
     if( order.length != columnCount ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( columnCount > 0 ) {
       int[] oldOrder = new int[ columnCount ];
       System.arraycopy( columnOrder, 0, oldOrder, 0, columnOrder.length );
@@ -1421,6 +1418,7 @@ public class Tree extends Composite {
     if( column != null && column.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( column == sortColumn ) {
       return;
     }
@@ -1446,6 +1444,7 @@ public class Tree extends Composite {
    */
   public void setSortDirection( int direction ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( direction != SWT.UP && direction != SWT.DOWN && direction != SWT.NONE )
     {
       return;
@@ -1560,6 +1559,7 @@ public class Tree extends Composite {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -1581,6 +1581,7 @@ public class Tree extends Composite {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
@@ -1603,6 +1604,7 @@ public class Tree extends Composite {
    */
   public void addTreeListener( TreeListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     TreeEvent.addListener( this, listener );
   }
 
@@ -1624,6 +1626,7 @@ public class Tree extends Composite {
    */
   public void removeTreeListener( TreeListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     TreeEvent.removeListener( this, listener );
   }
 
@@ -1735,18 +1738,18 @@ public class Tree extends Composite {
   }
 
   private void setCustomItemHeight( Object value ) {
-    if( value == null ) {
-      customItemHeight = -1;
-    } else {
+    int itemHeight = -1;
+    if( value != null ) {
       if( !( value instanceof Integer ) ) {
         error( SWT.ERROR_INVALID_ARGUMENT );
       }
-      int itemHeight = ( ( Integer )value ).intValue();
+      itemHeight = ( ( Integer )value ).intValue();
       if( itemHeight < 0 ) {
         error( SWT.ERROR_INVALID_RANGE );
       }
-      customItemHeight = itemHeight;
     }
+    DirtyWidgetTracker.markDirty( this );
+    customItemHeight = itemHeight;
   }
 
   /////////////////////
@@ -2062,7 +2065,7 @@ public class Tree extends Composite {
   @Override
   void notifyResize( Point oldSize ) {
     if( !oldSize.equals( getSize() ) && !TextSizeUtil.isTemporaryResize() ) {
-      updateAllItems();
+      checkVisibleItems();
       updateScrollBars();
       adjustTopItemIndex();
     }
@@ -2072,8 +2075,9 @@ public class Tree extends Composite {
   private void adjustTopItemIndex() {
     int visibleRowCount = getVisibleRowCount( false );
     int correction = visibleRowCount == 0 ? 1 : 0;
-    if( topItemIndex > visibleItemsCount - visibleRowCount - correction ) {
-      topItemIndex = Math.max( 0, visibleItemsCount - visibleRowCount - correction );
+    int visibleItemCount = getVisibleItemCount();
+    if( topItemIndex > visibleItemCount - visibleRowCount - correction ) {
+      topItemIndex = Math.max( 0, visibleItemCount - visibleRowCount - correction );
     }
   }
 
@@ -2090,34 +2094,45 @@ public class Tree extends Composite {
     return result;
   }
 
-  void updateAllItems() {
-    int flatIndex = 0;
-    for( int index = 0; index < itemCount; index++ ) {
-      flatIndex = updateAllItemsRecursively( null, index, flatIndex );
+  // Triggers SetData events for the items of a virtual tree that are in the visible area
+  void checkVisibleItems() {
+    if( isVirtual() ) {
+      int flatIndex = Math.max( 0, topItemIndex - getHeaderHeight() / getItemHeight() );
+      while( flatIndex < getVisibleItemCount() && isItemVisible( flatIndex ) ) {
+        TreeItem item = getVisibleItem( flatIndex );
+        checkData( item, item.index );
+        flatIndex++;
+      }
     }
-    isFlatIndexValid = true;
-    visibleItemsCount = flatIndex;
   }
 
-  private int updateAllItemsRecursively( TreeItem parent, int index, int flatIndex ) {
-    int newFlatIndex = flatIndex;
-    TreeItem item = parent == null ? items[ index ] : parent.items[ index ];
-    if( isVirtual() && isItemVisible( flatIndex ) ) {
-      if( item == null ) {
-        item = parent == null ? _getItem( index ) : parent._getItem( index );
-      }
-      checkData( item, index );
-    }
-    if( item != null ) {
-      item.setFlatIndex( newFlatIndex );
-    }
-    newFlatIndex++;
-    if( item != null && item.isCached() && item.getExpanded() ) {
-      for( int i = 0; i < item.itemCount; i++ ) {
-        newFlatIndex = updateAllItemsRecursively( item, i, newFlatIndex );
+  int getVisibleItemCount() {
+    return itemIndex.getVisibleCount( items, itemCount );
+  }
+
+  int getFlatOffset( int index ) {
+    return itemIndex.getOffset( items, itemCount, index );
+  }
+
+  void updateItemIndex( int index ) {
+    itemIndex.update( items, itemCount, index );
+  }
+
+  /*
+   * Returns the item at the given flat index, i.e. the position of the item in the list of
+   * expanded items, or null if there is no such item. Virtual items are created as needed.
+   */
+  TreeItem getVisibleItem( int flatIndex ) {
+    TreeItem result = null;
+    if( flatIndex >= 0 && flatIndex < getVisibleItemCount() ) {
+      int index = itemIndex.findItem( items, itemCount, flatIndex );
+      int offset = flatIndex - itemIndex.getOffset( items, itemCount, index );
+      result = _getItem( index );
+      if( offset > 0 ) {
+        result = result.getVisibleItem( offset - 1 );
       }
     }
-    return newFlatIndex;
+    return result;
   }
 
   private boolean isItemVisible( int flatIndex ) {
@@ -2199,14 +2214,7 @@ public class Tree extends Composite {
 
   boolean needsVScrollBar() {
     int availableHeight = getClientArea().height;
-    int height = getHeaderHeight();
-    height += itemCount * getItemHeight();
-    for( int i = 0; i < itemCount; i++ ) {
-      TreeItem item = items[ i ];
-      if( item != null && item.getExpanded() ) {
-        height += item.getInnerHeight();
-      }
-    }
+    int height = getHeaderHeight() + getVisibleItemCount() * getItemHeight();
     return height > availableHeight;
   }
 
@@ -2272,6 +2280,7 @@ public class Tree extends Composite {
     System.arraycopy( items, index, items, index + 1, itemCount - index );
     items[ index ] = item;
     itemCount++;
+    itemIndex.invalidate( index );
     adjustItemIndices( index );
   }
 
@@ -2283,6 +2292,7 @@ public class Tree extends Composite {
       System.arraycopy( items, index + 1, items, index, itemCount - index );
       items[ itemCount ] = null;
     }
+    itemIndex.invalidate( index );
     adjustItemIndices( index );
   }
 
@@ -2361,7 +2371,7 @@ public class Tree extends Composite {
     private ICellToolTipProvider provider;
 
     public void checkData() {
-      Tree.this.updateAllItems();
+      Tree.this.checkVisibleItems();
     }
 
     public void setScrollLeft( int left ) {
@@ -22,6 +22,7 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.internal.SerializableCompatibility;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.IColumnAdapter;
 import org.eclipse.swt.internal.widgets.treekit.TreeThemeAdapter;
 
@@ -163,6 +164,7 @@ public class TreeColumn extends Item {
    */
   public void addControlListener( ControlListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ControlEvent.addListener( this, listener );
   }
 
@@ -191,6 +193,7 @@ public class TreeColumn extends Item {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.addListener( this, listener );
   }
 
@@ -271,6 +274,7 @@ public class TreeColumn extends Item {
 
   public void setBackgroundPosition(final int position) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if (backgroundPosition != position) {
       backgroundPosition = position;
     }
@@ -435,6 +439,7 @@ public class TreeColumn extends Item {
    */
   public void removeControlListener( ControlListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     ControlEvent.removeListener( this, listener );
   }
 
@@ -459,6 +464,7 @@ public class TreeColumn extends Item {
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     SelectionEvent.removeListener( this, listener );
   }
 
@@ -476,6 +482,7 @@ public class TreeColumn extends Item {
    */
   public void setAlignment( int alignment ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER ) ) == 0 ) {
       return;
     }
@@ -507,6 +514,7 @@ public class TreeColumn extends Item {
    */
   public void setMoveable( boolean moveable ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     this.moveable = moveable;
   }
 
@@ -523,6 +531,7 @@ public class TreeColumn extends Item {
    */
   public void setResizable( boolean value ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     resizable = value;
   }
 
@@ -538,6 +547,7 @@ public class TreeColumn extends Item {
     if( value == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( !value.equals( text ) ) {
       super.setText( value );
       parent.layoutCache.invalidateHeaderHeight();
@@ -557,6 +567,7 @@ public class TreeColumn extends Item {
    */
   public void setToolTipText( String string ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( toolTipText == string ) {
       return;
     }
@@ -579,6 +590,7 @@ public class TreeColumn extends Item {
   public void setWidth( int value ) {
     // TODO: [bm] add support for ellipsis
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( value >= 0 && width != value ) {
       width = value;
       parent.updateScrollBars();
@@ -50,7 +50,7 @@ public class TreeItem extends Item {
   private boolean grayed;
   int depth;
   private boolean cached;
-  private int flatIndex;
+  private final TreeItemIndex itemIndex;
 
   /**
    * Constructs a new instance of this class given its parent (which must be a
@@ -205,7 +205,7 @@ public class TreeItem extends Item {
     if( parentItem != null ) {
       depth = parentItem.depth + 1;
     }
-    parent.isFlatIndexValid = false;
+    itemIndex = new TreeItemIndex();
     setEmpty();
     if( create ) {
       int numberOfItems;
@@ -248,6 +248,7 @@ public class TreeItem extends Item {
     System.arraycopy( items, index, items, index + 1, itemCount - index );
     items[ index ] = item;
     itemCount++;
+    invalidateItemIndex( index );
     adjustItemIndices( index );
   }
 
@@ -259,6 +260,7 @@ public class TreeItem extends Item {
       System.arraycopy( items, index + 1, items, index, itemCount - index );
       items[ itemCount ] = null;
     }
+    invalidateItemIndex( index );
     adjustItemIndices( index );
   }
 
@@ -340,11 +342,13 @@ public class TreeItem extends Item {
    */
   public void setExpanded( boolean expanded ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( this.expanded != expanded && ( !expanded || itemCount > 0 ) ) {
       this.expanded = expanded;
       markCached();
+      updateParentItemIndex();
       parent.updateScrollBars();
-      parent.updateAllItems();
+      parent.checkVisibleItems();
     }
   }
 
@@ -509,6 +513,7 @@ public class TreeItem extends Item {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
@@ -542,6 +547,7 @@ public class TreeItem extends Item {
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
@@ -576,6 +582,7 @@ public class TreeItem extends Item {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
@@ -608,6 +615,7 @@ public class TreeItem extends Item {
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( !equals( this.font, font ) ) {
       this.font = font;
       markCached();
@@ -664,6 +672,7 @@ public class TreeItem extends Item {
     if( value != null && value.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( !equals( background, value ) ) {
       background = value;
       markCached();
@@ -739,6 +748,7 @@ public class TreeItem extends Item {
     if( value != null && value.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( !equals( foreground, value ) ) {
       foreground = value;
       markCached();
@@ -758,6 +768,7 @@ public class TreeItem extends Item {
    */
   public void setChecked( boolean checked ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( parent.getStyle() & SWT.CHECK ) != 0 ) {
       if( this.checked != checked ) {
         this.checked = checked;
@@ -797,6 +808,7 @@ public class TreeItem extends Item {
    */
   public void setGrayed( boolean grayed ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( parent.getStyle() & SWT.CHECK ) != 0 ) {
       if( this.grayed != grayed ) {
         this.grayed = grayed;
@@ -914,6 +926,7 @@ public class TreeItem extends Item {
     if( value == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     for( int i = 0; i < value.length; i++ ) {
       if( value[ i ] != null ) {
         setText( i, value[ i ] );
@@ -935,6 +948,7 @@ public class TreeItem extends Item {
   @Override
   public void setText( String text ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     setText( 0, text );
   }
 
@@ -958,6 +972,7 @@ public class TreeItem extends Item {
     if( parent.markupEnabled && !parent.markupValidationDisabled ) {
       MarkupValidator.getInstance().validate( text );
     }
+    DirtyWidgetTracker.markDirty( this );
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
@@ -1096,6 +1111,7 @@ public class TreeItem extends Item {
     if( index < 0 || index >= itemCount ) {
       error( SWT.ERROR_INVALID_RANGE );
     }
+    DirtyWidgetTracker.markDirty( this );
     TreeItem item = items[ index ];
     if( item != null ) {
       item.clear();
@@ -1108,6 +1124,7 @@ public class TreeItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     setImage( 0, image );
   }
 
@@ -1131,6 +1148,7 @@ public class TreeItem extends Item {
     if( image != null && image.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
@@ -1173,6 +1191,7 @@ public class TreeItem extends Item {
         error( SWT.ERROR_INVALID_ARGUMENT );
       }
     }
+    DirtyWidgetTracker.markDirty( this );
     for( int i = 0; i < value.length; i++ ) {
       if( value[ i ] != null ) {
         setImage( i, value[ i ] );
@@ -1360,6 +1379,7 @@ public class TreeItem extends Item {
    */
   public void removeAll() {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     for( int i = itemCount - 1; i >= 0; i-- ) {
       if( items[ i ] != null ) {
         items[ i ].dispose();
@@ -1382,6 +1402,7 @@ public class TreeItem extends Item {
    */
   public void setItemCount( int count ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     int oldItemCount = itemCount;
     int newItemCount = Math.max( 0, count );
     if( newItemCount != oldItemCount ) {
@@ -1403,7 +1424,7 @@ public class TreeItem extends Item {
         }
       }
       itemCount = newItemCount;
-      parent.isFlatIndexValid = false;
+      invalidateItemIndex( Math.min( oldItemCount, newItemCount ) );
       parent.updateScrollBars();
       parent.redraw();
     }
@@ -1429,7 +1450,6 @@ public class TreeItem extends Item {
       parent.destroyItem( this, index );
     }
     if( !parent.isInDispose() ) {
-      parent.isFlatIndexValid = false;
       parent.removeFromSelection( this );
       parent.updateScrollBars();
     }
@@ -1454,15 +1474,61 @@ public class TreeItem extends Item {
     return headerHeight + ( getFlatIndex() - parent.getTopItemIndex() ) * itemHeight;
   }
 
+  /*
+   * Returns the position of the receiver in the list of expanded items of the tree. The parent
+   * items of the receiver are assumed to be expanded.
+   */
   int getFlatIndex() {
-    if( !parent.isFlatIndexValid ) {
-      parent.updateAllItems();
+    int result;
+    if( parentItem == null ) {
+      result = parent.getFlatOffset( index );
+    } else {
+      result = parentItem.getFlatIndex() + 1 + parentItem.getFlatOffset( index );
     }
-    return flatIndex;
+    return result;
+  }
+
+  private int getFlatOffset( int index ) {
+    return itemIndex.getOffset( items, itemCount, index );
   }
 
-  void setFlatIndex( int flatIndex ) {
-    this.flatIndex = flatIndex;
+  // Returns the number of visible items below the receiver
+  int getVisibleItemCount() {
+    return expanded ? itemIndex.getVisibleCount( items, itemCount ) : 0;
+  }
+
+  // Returns the visible item at the given offset among the visible items below the receiver
+  TreeItem getVisibleItem( int flatOffset ) {
+    int index = itemIndex.findItem( items, itemCount, flatOffset );
+    int offset = flatOffset - itemIndex.getOffset( items, itemCount, index );
+    TreeItem result = _getItem( index );
+    if( offset > 0 ) {
+      result = result.getVisibleItem( offset - 1 );
+    }
+    return result;
+  }
+
+  // Must be called when items from the given index on are inserted or removed
+  private void invalidateItemIndex( int index ) {
+    itemIndex.invalidate( index );
+    if( expanded ) {
+      updateParentItemIndex();
+    }
+  }
+
+  // Must be called when the item at the given index changed its number of visible items
+  private void updateItemIndex( int index ) {
+    if( itemIndex.update( items, itemCount, index ) && expanded ) {
+      updateParentItemIndex();
+    }
+  }
+
+  private void updateParentItemIndex() {
+    if( parentItem != null ) {
+      parentItem.updateItemIndex( this.index );
+    } else {
+      parent.updateItemIndex( this.index );
+    }
   }
 
   boolean hasPreferredWidthBuffer( int index ) {
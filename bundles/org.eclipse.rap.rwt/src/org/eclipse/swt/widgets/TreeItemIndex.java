@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import org.eclipse.swt.internal.SerializableCompatibility;
+
+
+/*
+ * Keeps the flat offsets of the items of a tree or tree item, that is the number of visible
+ * items in front of every item. A collapsed or not yet created (virtual) item counts as one,
+ * an expanded item as one plus the visible items below it.
+ *
+ * The visible counts of the items are summed up in a Fenwick tree. When an item is expanded or
+ * collapsed, or the number of visible items below it changes, the sums are updated in
+ * logarithmic time. Inserting or removing items shifts the items after them, hence the sums are
+ * rebuilt lazily from the first changed item on. Appending items therefore costs logarithmic
+ * time per item. Finding an offset or the item at a given offset takes logarithmic time, too.
+ */
+final class TreeItemIndex implements SerializableCompatibility {
+
+  // counts[ i ] is the visible count of item i when it was last added to the sums
+  private int[] counts;
+  // sums[ n ] is the sum of the visible counts of the items n - lowestBit( n ) to n - 1
+  private int[] sums;
+  // the number of items whose counts and sums are valid
+  private int validCount;
+
+  TreeItemIndex() {
+    counts = new int[ 0 ];
+    sums = new int[ 1 ];
+  }
+
+  /*
+   * Marks the item at the given index and all items after it as changed. Must be called when
+   * items are inserted or removed.
+   */
+  void invalidate( int index ) {
+    validCount = Math.min( validCount, Math.max( index, 0 ) );
+  }
+
+  /*
+   * Updates the sums when the item at the given index was expanded or collapsed, or when the
+   * number of visible items below it changed. Returns whether the number of visible items in
+   * the index may have changed.
+   */
+  boolean update( TreeItem[] items, int itemCount, int index ) {
+    boolean result = true;
+    if( index < validCount && index < itemCount ) {
+      int delta = getVisibleCount( items[ index ] ) - counts[ index ];
+      counts[ index ] += delta;
+      for( int node = index + 1; node <= validCount; node += lowestBit( node ) ) {
+        sums[ node ] += delta;
+      }
+      result = delta != 0;
+    }
+    return result;
+  }
+
+  int getVisibleCount( TreeItem[] items, int itemCount ) {
+    return getOffset( items, itemCount, itemCount );
+  }
+
+  int getOffset( TreeItem[] items, int itemCount, int index ) {
+    validate( items, itemCount );
+    int result = 0;
+    for( int node = index; node > 0; node -= lowestBit( node ) ) {
+      result += sums[ node ];
+    }
+    return result;
+  }
+
+  /*
+   * Returns the index of the item that covers the given flat offset, i.e. either the item itself
+   * is at this offset, or one of its visible descendants.
+   */
+  int findItem( TreeItem[] items, int itemCount, int offset ) {
+    validate( items, itemCount );
+    // every item counts at least one, the items in front of the result sum up to at most offset
+    int result = 0;
+    int remaining = offset;
+    for( int bit = Integer.highestOneBit( itemCount ); bit > 0; bit >>>= 1 ) {
+      int node = result + bit;
+      if( node <= itemCount && sums[ node ] <= remaining ) {
+        result = node;
+        remaining -= sums[ node ];
+      }
+    }
+    return Math.max( Math.min( result, itemCount - 1 ), 0 );
+  }
+
+  private void validate( TreeItem[] items, int itemCount ) {
+    if( validCount < itemCount ) {
+      ensureCapacity( itemCount );
+      for( int i = validCount; i < itemCount; i++ ) {
+        counts[ i ] = getVisibleCount( items[ i ] );
+        // the node of item i sums up the item itself and the nodes in front of it that it covers
+        int node = i + 1;
+        int sum = counts[ i ];
+        for( int bit = 1; bit < lowestBit( node ); bit <<= 1 ) {
+          sum += sums[ node - bit ];
+        }
+        sums[ node ] = sum;
+      }
+      validCount = itemCount;
+    }
+  }
+
+  private void ensureCapacity( int capacity ) {
+    if( counts.length < capacity ) {
+      int length = Math.max( capacity, counts.length * 3 / 2 );
+      int[] newCounts = new int[ length ];
+      System.arraycopy( counts, 0, newCounts, 0, validCount );
+      counts = newCounts;
+      int[] newSums = new int[ length + 1 ];
+      System.arraycopy( sums, 0, newSums, 0, validCount + 1 );
+      sums = newSums;
+    }
+  }
+
+  private static int lowestBit( int node ) {
+    return node & -node;
+  }
+
+  private static int getVisibleCount( TreeItem item ) {
+    return item == null ? 1 : 1 + item.getVisibleItemCount();
+  }
+}
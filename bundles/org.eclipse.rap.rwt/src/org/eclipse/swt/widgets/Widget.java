@@ -26,10 +26,12 @@ import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.DisposeEvent;
 import org.eclipse.swt.events.DisposeListener;
 import org.eclipse.swt.internal.SerializableCompatibility;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.IWidgetGraphicsAdapter;
 import org.eclipse.swt.internal.widgets.UntypedEventAdapter;
 import org.eclipse.swt.internal.widgets.WidgetAdapter;
 import org.eclipse.swt.internal.widgets.WidgetGraphicsAdapter;
+import org.eclipse.swt.internal.widgets.WidgetIndex;
 
 
 /**
@@ -148,6 +150,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     }
     this.style = style;
     this.display = parent.display;
+    DirtyWidgetTracker.markCreated( this, parent );
     reskinWidget();
   }
 
@@ -174,6 +177,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     } else if( adapter == IClientObjectAdapter.class || adapter == IWidgetAdapter.class ) {
       if( widgetAdapter == null ) {
         widgetAdapter = new WidgetAdapter();
+        WidgetIndex.register( this );
       }
       result = ( T )widgetAdapter;
     } else if( adapter == IThemeAdapter.class ) {
@@ -248,6 +252,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void setData( Object data ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     if( ( state & KEYED_DATA ) != 0 ) {
       ( ( Object[] )this.data )[ 0 ] = data;
     } else {
@@ -330,6 +335,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     if( key == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     handleCustomId( key, value );
     int index = 1;
     Object[] table = null;
@@ -381,7 +387,9 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
   private void handleCustomId( String key, Object value ) {
     if( key.equals( WidgetUtil.CUSTOM_WIDGET_ID ) && value instanceof String ) {
       WidgetAdapter adapter = ( WidgetAdapter )getAdapter( IWidgetAdapter.class );
+      String oldId = adapter.getId();
       adapter.setCustomId( ( String )value );
+      WidgetIndex.changeId( this, oldId );
     }
   }
 
@@ -457,6 +465,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void addDisposeListener( DisposeListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     DisposeEvent.addListener( this, listener );
   }
 
@@ -479,6 +488,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void removeDisposeListener( DisposeListener listener ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     DisposeEvent.removeListener( this, listener );
   }
 
@@ -514,6 +524,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( untypedAdapter == null ) {
       untypedAdapter = new UntypedEventAdapter();
     }
@@ -548,6 +559,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgetTracker.markDirty( this );
     if( untypedAdapter != null ) {
       untypedAdapter.removeListener( this, eventType, listener );
       if( untypedAdapter.isEmpty() ) {
@@ -680,6 +692,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void reskin( int flags ) {
     checkWidget();
+    DirtyWidgetTracker.markDirty( this );
     reskinWidget();
     if( ( flags & SWT.ALL ) != 0 ) {
       reskinChildren( flags );
@@ -779,6 +792,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
       if( !isValidThread() ) {
         error( SWT.ERROR_THREAD_INVALID_ACCESS );
       }
+      DirtyWidgetTracker.markDirty( this );
       if( ( state & DISPOSE_SENT ) == 0 ) {
         state |= DISPOSE_SENT;
         DisposeEvent disposeEvent = new DisposeEvent( this );
@@ -793,6 +807,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
         releaseWidget();
         IWidgetAdapter adapter = getAdapter( IWidgetAdapter.class );
         adapter.markDisposed( this );
+        WidgetIndex.unregister( this );
       }
     }
   }
@@ -23,10 +23,11 @@ import org.eclipse.rwt.internal.widgets.IFileUploadAdapter;
 import org.eclipse.rwt.lifecycle.*;
 import org.eclipse.rwt.widgets.FileUpload;
 import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.Widget;
 
 
-public final class FileUploadLCA extends AbstractWidgetLCA {
+public final class FileUploadLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.FileUpload";
   private static final String[] ALLOWED_STYLES = new String[] { "BORDER" };
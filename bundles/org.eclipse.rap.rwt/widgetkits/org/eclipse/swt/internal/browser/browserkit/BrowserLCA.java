@@ -42,10 +42,11 @@ import org.eclipse.swt.browser.Browser;
 import org.eclipse.swt.browser.BrowserFunction;
 import org.eclipse.swt.browser.ProgressEvent;
 import org.eclipse.swt.internal.widgets.IBrowserAdapter;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.Widget;
 
 
-public final class BrowserLCA extends AbstractWidgetLCA {
+public final class BrowserLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.Browser";
   private static final String[] ALLOWED_STYLES = new String[] { "BORDER" };
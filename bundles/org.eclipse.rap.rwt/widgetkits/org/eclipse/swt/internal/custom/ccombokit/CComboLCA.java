@@ -24,16 +24,17 @@ import org.eclipse.rwt.lifecycle.*;
 import org.eclipse.swt.custom.CCombo;
 import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
+import org.eclipse.swt.internal.widgets.ListItemsLCAUtil;
 import org.eclipse.swt.widgets.Widget;
 
 
-public final class CComboLCA extends AbstractWidgetLCA {
+public final class CComboLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.Combo";
   private static final String[] ALLOWED_STYLES = new String[] { "FLAT", "BORDER" };
 
   // Property names for preserve-value facility
-  static final String PROP_ITEMS = "items";
   static final String PROP_TEXT = "text";
   static final String PROP_SELECTION_INDEX = "selectionIndex";
   static final String PROP_SELECTION = "selection";
@@ -47,7 +48,6 @@ public final class CComboLCA extends AbstractWidgetLCA {
   static final String PROP_VERIFY_LISTENER = "verify";
 
   // Default values
-  private static final String[] DEFAUT_ITEMS = new String[ 0 ];
   private static final Integer DEFAULT_SELECTION_INDEX = new Integer( -1 );
   private static final Point DEFAULT_SELECTION = new Point( 0, 0 );
   private static final int DEFAULT_VISIBLE_ITEM_COUNT = 5;
@@ -56,7 +56,7 @@ public final class CComboLCA extends AbstractWidgetLCA {
     CCombo ccombo = ( CCombo )widget;
     ControlLCAUtil.preserveValues( ccombo );
     WidgetLCAUtil.preserveCustomVariant( ccombo );
-    preserveProperty( ccombo, PROP_ITEMS, ccombo.getItems() );
+    ListItemsLCAUtil.preserveItems( ccombo );
     preserveProperty( ccombo, PROP_SELECTION_INDEX, ccombo.getSelectionIndex() );
     preserveProperty( ccombo, PROP_SELECTION, ccombo.getSelection() );
     preserveProperty( ccombo, PROP_TEXT_LIMIT, getTextLimit( ccombo ) );
@@ -187,7 +187,7 @@ public final class CComboLCA extends AbstractWidgetLCA {
   }
 
   private static void renderItems( CCombo ccombo ) {
-    renderProperty( ccombo, PROP_ITEMS, ccombo.getItems(), DEFAUT_ITEMS );
+    ListItemsLCAUtil.renderItems( ccombo );
   }
 
   private static void renderListVisible( CCombo ccombo ) {
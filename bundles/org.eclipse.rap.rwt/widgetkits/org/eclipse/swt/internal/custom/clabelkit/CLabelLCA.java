@@ -24,10 +24,11 @@ import org.eclipse.rwt.lifecycle.*;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.CLabel;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.Widget;
 
 
-public final class CLabelLCA extends AbstractWidgetLCA {
+public final class CLabelLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.Label";
   private static final String[] ALLOWED_STYLES = new String[] {
@@ -27,11 +27,12 @@ import org.eclipse.swt.custom.*;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.internal.custom.ICTabFolderAdapter;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.internal.widgets.IWidgetGraphicsAdapter;
 import org.eclipse.swt.widgets.Widget;
 
 
-public final class CTabFolderLCA extends AbstractWidgetLCA {
+public final class CTabFolderLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.CTabFolder";
   private static final String[] ALLOWED_STYLES = new String[] {
@@ -23,11 +23,12 @@ import org.eclipse.swt.custom.*;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.internal.custom.ICTabFolderAdapter;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.internal.widgets.IWidgetFontAdapter;
 import org.eclipse.swt.widgets.Widget;
 
 
-public final class CTabItemLCA extends AbstractWidgetLCA {
+public final class CTabItemLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.CTabItem";
   private static final String[] ALLOWED_STYLES = new String[] { "CLOSE" };
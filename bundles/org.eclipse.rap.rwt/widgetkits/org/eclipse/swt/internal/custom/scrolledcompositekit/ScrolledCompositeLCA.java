@@ -18,6 +18,7 @@ import static org.eclipse.rwt.lifecycle.WidgetLCAUtil.renderProperty;
 
 import java.io.IOException;
 
+import org.eclipse.rwt.lifecycle.IAlwaysReadData;
 import org.eclipse.rwt.internal.lifecycle.JSConst;
 import org.eclipse.rwt.internal.protocol.ClientObjectFactory;
 import org.eclipse.rwt.internal.protocol.IClientObject;
@@ -27,10 +28,11 @@ import org.eclipse.swt.custom.ScrolledComposite;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.internal.events.EventLCAUtil;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.*;
 
 
-public final class ScrolledCompositeLCA extends AbstractWidgetLCA {
+public final class ScrolledCompositeLCA extends AbstractWidgetLCA implements IAlwaysReadData, ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.ScrolledComposite";
   private static final String[] ALLOWED_STYLES = new String[] { "H_SCROLL", "V_SCROLL", "BORDER" };
@@ -26,10 +26,11 @@ import org.eclipse.swt.dnd.DND;
 import org.eclipse.swt.dnd.DragSource;
 import org.eclipse.swt.dnd.Transfer;
 import org.eclipse.swt.internal.dnd.IDNDAdapter;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.Widget;
 
 
-public final class DragSourceLCA extends AbstractWidgetLCA {
+public final class DragSourceLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final Transfer[] DEFAULT_TRANSFER = new Transfer[ 0 ];
 
@@ -21,10 +21,11 @@ import org.eclipse.rwt.lifecycle.WidgetUtil;
 import org.eclipse.swt.dnd.DropTarget;
 import org.eclipse.swt.dnd.Transfer;
 import org.eclipse.swt.internal.dnd.dragsourcekit.DNDLCAUtil;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.Widget;
 
 
-public final class DropTargetLCA extends AbstractWidgetLCA {
+public final class DropTargetLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final Transfer[] DEFAULT_TRANSFER = new Transfer[ 0 ];
 
@@ -26,10 +26,11 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.events.EventLCAUtil;
 import org.eclipse.swt.internal.widgets.ControlDecorator;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.Widget;
 
 
-public class ControlDecoratorLCA extends AbstractWidgetLCA {
+public class ControlDecoratorLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.ControlDecorator";
   private static final String[] ALLOWED_STYLES = new String[] {
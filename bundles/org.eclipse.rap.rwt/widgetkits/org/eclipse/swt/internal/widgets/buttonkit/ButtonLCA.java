@@ -16,11 +16,12 @@ import java.io.IOException;
 import org.eclipse.rwt.internal.protocol.ClientObjectFactory;
 import org.eclipse.rwt.lifecycle.AbstractWidgetLCA;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Widget;
 
 
-public final class ButtonLCA extends AbstractWidgetLCA {
+public final class ButtonLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private final static ButtonDelegateLCA PUSH = new PushButtonDelegateLCA();
   private final static ButtonDelegateLCA CHECK = new CheckButtonDelegateLCA();
@@ -17,11 +17,12 @@ import org.eclipse.rwt.internal.protocol.ClientObjectFactory;
 import org.eclipse.rwt.internal.protocol.IClientObject;
 import org.eclipse.rwt.lifecycle.*;
 import org.eclipse.swt.internal.graphics.*;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.internal.widgets.WidgetAdapter;
 import org.eclipse.swt.widgets.*;
 
 
-public final class CanvasLCA extends AbstractWidgetLCA {
+public final class CanvasLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.Canvas";
   private static final String TYPE_GC = "rwt.GC";
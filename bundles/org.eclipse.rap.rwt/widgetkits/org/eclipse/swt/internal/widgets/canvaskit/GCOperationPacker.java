@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets.canvaskit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.rwt.internal.theme.JsonArray;
+
+
+/**
+ * Packs the client operations of a canvas into a flat array of numbers.
+ * <p>
+ * Every operation is split into a template and its numeric arguments. The
+ * template holds the name of the operation and all arguments that are not
+ * numbers, like colors, fonts, texts and image paths, with <code>null</code>
+ * in place of the numbers. Each distinct template is sent to the client only
+ * once, the client keeps all templates of a canvas in a table. An operation is
+ * sent as the index of its template in this table, followed by its numbers.
+ * </p>
+ * <p>
+ * When operations are retained, the packer also remembers the operations of
+ * the last drawing. The next drawing is compared to it and only the ranges of
+ * operations that changed are sent. The client replaces these ranges in its own
+ * copy of the last drawing and draws the result.
+ * </p>
+ * <p>
+ * The packer of a canvas lives as long as its <code>GCAdapter</code>. A new
+ * packer, e.g. after the session has been deserialized, starts with an empty
+ * template table and sends the complete drawing, which tells the client to
+ * discard the templates and operations that it knows.
+ * </p>
+ */
+final class GCOperationPacker {
+
+  // texts that change on every redraw would let the template table grow without limit
+  static final int MAX_TEMPLATES = 1024;
+  // unchanged operations between two changed ranges that are sent rather than starting a new range
+  static final int MAX_RANGE_GAP = 2;
+
+  private final Map<Template, Integer> templateIndexes;
+  private Frame lastFrame;
+
+  GCOperationPacker() {
+    templateIndexes = new HashMap<Template, Integer>();
+  }
+
+  Map<String, Object> pack( List<Object[]> operations, boolean retain ) {
+    if( templateIndexes.size() > MAX_TEMPLATES ) {
+      templateIndexes.clear();
+      lastFrame = null;
+    }
+    int templateOffset = templateIndexes.size();
+    List<Object[]> newTemplates = new ArrayList<Object[]>();
+    Frame frame = new Frame( operations.size() );
+    for( Object[] operation : operations ) {
+      addOperation( frame, operation, newTemplates );
+    }
+    Map<String, Object> result = new HashMap<String, Object>();
+    result.put( "templateOffset", Integer.valueOf( templateOffset ) );
+    result.put( "templates", newTemplates.toArray() );
+    if( retain && lastFrame != null ) {
+      int[] changes = computeChanges( lastFrame, frame );
+      JsonArray numbers = new JsonArray();
+      // ranges refer to the old drawing, the inserted operations are read from the new one
+      int shift = 0;
+      for( int i = 0; i < changes.length; i += 3 ) {
+        frame.appendTo( numbers, changes[ i ] + shift, changes[ i + 2 ] );
+        shift += changes[ i + 2 ] - changes[ i + 1 ];
+      }
+      result.put( "changes", changes );
+      result.put( "operations", numbers );
+    } else {
+      JsonArray numbers = new JsonArray();
+      frame.appendTo( numbers, 0, frame.size );
+      result.put( "operations", numbers );
+    }
+    result.put( "retain", Boolean.valueOf( retain ) );
+    lastFrame = retain ? frame : null;
+    return result;
+  }
+
+  private void addOperation( Frame frame, Object[] operation, List<Object[]> newTemplates ) {
+    Object[] values = new Object[ operation.length ];
+    float[] numbers = new float[ operation.length ];
+    int count = 0;
+    for( int i = 0; i < operation.length; i++ ) {
+      Object value = operation[ i ];
+      if( value instanceof Number ) {
+        numbers[ count++ ] = ( ( Number )value ).floatValue();
+      } else {
+        values[ i ] = value;
+      }
+    }
+    Template template = new Template( values );
+    Integer index = templateIndexes.get( template );
+    if( index == null ) {
+      index = Integer.valueOf( templateIndexes.size() );
+      templateIndexes.put( template, index );
+      newTemplates.add( values );
+    }
+    frame.add( index.intValue(), numbers, count );
+  }
+
+  /*
+   * Returns the changed ranges as triples of start index and number of removed operations,
+   * both relative to the old frame, and the number of inserted operations.
+   */
+  static int[] computeChanges( Frame oldFrame, Frame newFrame ) {
+    int oldSize = oldFrame.size;
+    int newSize = newFrame.size;
+    int prefix = 0;
+    while( prefix < oldSize && prefix < newSize && oldFrame.equals( prefix, newFrame, prefix ) ) {
+      prefix++;
+    }
+    int suffix = 0;
+    int maxSuffix = Math.min( oldSize, newSize ) - prefix;
+    while(    suffix < maxSuffix
+           && oldFrame.equals( oldSize - suffix - 1, newFrame, newSize - suffix - 1 ) )
+    {
+      suffix++;
+    }
+    int oldEnd = oldSize - suffix;
+    int newEnd = newSize - suffix;
+    int[] result;
+    if( prefix == oldEnd && prefix == newEnd ) {
+      result = new int[ 0 ];
+    } else if( oldEnd - prefix != newEnd - prefix ) {
+      result = new int[] { prefix, oldEnd - prefix, newEnd - prefix };
+    } else {
+      result = computeReplacements( oldFrame, newFrame, prefix, oldEnd );
+    }
+    return result;
+  }
+
+  // The middle parts have the same length, operations at the same index are compared
+  private static int[] computeReplacements( Frame oldFrame, Frame newFrame, int start, int end ) {
+    List<int[]> ranges = new ArrayList<int[]>();
+    int[] range = null;
+    for( int i = start; i < end; i++ ) {
+      if( !oldFrame.equals( i, newFrame, i ) ) {
+        if( range != null && i - range[ 1 ] <= MAX_RANGE_GAP ) {
+          range[ 1 ] = i + 1;
+        } else {
+          range = new int[] { i, i + 1 };
+          ranges.add( range );
+        }
+      }
+    }
+    int[] result = new int[ ranges.size() * 3 ];
+    for( int i = 0; i < ranges.size(); i++ ) {
+      int[] current = ranges.get( i );
+      result[ i * 3 ] = current[ 0 ];
+      result[ i * 3 + 1 ] = current[ 1 ] - current[ 0 ];
+      result[ i * 3 + 2 ] = current[ 1 ] - current[ 0 ];
+    }
+    return result;
+  }
+
+  /*
+   * The operations of a drawing as template indexes and the offsets of their numbers in one
+   * array, which takes a fraction of the memory of an object per operation.
+   */
+  static final class Frame {
+
+    private int[] templates;
+    private int[] offsets;
+    private float[] numbers;
+    private int size;
+    private int numberCount;
+
+    Frame( int capacity ) {
+      templates = new int[ capacity ];
+      offsets = new int[ capacity + 1 ];
+      numbers = new float[ capacity * 2 ];
+    }
+
+    void add( int template, float[] values, int count ) {
+      if( size == templates.length ) {
+        templates = grow( templates, size * 2 + 1 );
+        offsets = grow( offsets, size * 2 + 2 );
+      }
+      if( numberCount + count > numbers.length ) {
+        float[] newNumbers = new float[ Math.max( numbers.length * 2, numberCount + count ) ];
+        System.arraycopy( numbers, 0, newNumbers, 0, numberCount );
+        numbers = newNumbers;
+      }
+      System.arraycopy( values, 0, numbers, numberCount, count );
+      templates[ size ] = template;
+      offsets[ size ] = numberCount;
+      numberCount += count;
+      size++;
+      offsets[ size ] = numberCount;
+    }
+
+    boolean equals( int index, Frame other, int otherIndex ) {
+      boolean result = templates[ index ] == other.templates[ otherIndex ];
+      int start = offsets[ index ];
+      int count = offsets[ index + 1 ] - start;
+      int otherStart = other.offsets[ otherIndex ];
+      // operations with the same template always have the same number of arguments
+      for( int i = 0; result && i < count; i++ ) {
+        result = numbers[ start + i ] == other.numbers[ otherStart + i ];
+      }
+      return result;
+    }
+
+    void appendTo( JsonArray array, int start, int count ) {
+      for( int i = start; i < start + count; i++ ) {
+        array.append( templates[ i ] );
+        for( int j = offsets[ i ]; j < offsets[ i + 1 ]; j++ ) {
+          float value = numbers[ j ];
+          int intValue = ( int )value;
+          if( intValue == value ) {
+            array.append( intValue );
+          } else {
+            array.append( value );
+          }
+        }
+      }
+    }
+
+    private static int[] grow( int[] array, int length ) {
+      int[] result = new int[ length ];
+      System.arraycopy( array, 0, result, 0, array.length );
+      return result;
+    }
+  }
+
+  private static final class Template {
+
+    private final Object[] values;
+    private final int hashCode;
+
+    Template( Object[] values ) {
+      this.values = values;
+      hashCode = Arrays.deepHashCode( values );
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals( Object object ) {
+      boolean result = object == this;
+      if( !result && object instanceof Template ) {
+        Template other = ( Template )object;
+        result = hashCode == other.hashCode && Arrays.deepEquals( values, other.values );
+      }
+      return result;
+    }
+  }
+}
@@ -18,6 +18,7 @@ import org.eclipse.rwt.Adaptable;
 import org.eclipse.rwt.internal.protocol.ClientObjectFactory;
 import org.eclipse.rwt.internal.protocol.IClientObject;
 import org.eclipse.rwt.internal.protocol.ProtocolUtil;
+import org.eclipse.rwt.internal.resources.SystemProps;
 import org.eclipse.rwt.lifecycle.IWidgetAdapter;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.FontData;
@@ -34,6 +35,7 @@ import org.eclipse.swt.internal.graphics.GCOperation.DrawRoundRectangle;
 import org.eclipse.swt.internal.graphics.GCOperation.DrawText;
 import org.eclipse.swt.internal.graphics.GCOperation.FillGradientRectangle;
 import org.eclipse.swt.internal.graphics.GCOperation.SetProperty;
+import org.eclipse.swt.internal.graphics.IGCAdapter;
 import org.eclipse.swt.internal.graphics.ImageFactory;
 import org.eclipse.swt.internal.widgets.WidgetAdapter;
 import org.eclipse.swt.widgets.Control;
@@ -102,12 +104,16 @@ final class GCOperationWriter {
 
   void render() {
     if( operations != null ) {
-      Object[] array = operations.toArray();
-      if( array.length > 0 ) {
+      if( operations.size() > 0 ) {
         IClientObject clientObject = ClientObjectFactory.getClientObject( getGC( control ) );
-        Map<String, Object> arg = new HashMap<String, Object>();
-        arg.put( "operations", array );
-        clientObject.call( "draw", arg );
+        if( SystemProps.packGCOperations() ) {
+          boolean retain = SystemProps.retainGCOperations();
+          clientObject.call( "drawPacked", getPacker( control ).pack( operations, retain ) );
+        } else {
+          Map<String, Object> arg = new HashMap<String, Object>();
+          arg.put( "operations", operations.toArray() );
+          clientObject.call( "draw", arg );
+        }
       }
       operations = null;
     }
@@ -375,6 +381,16 @@ final class GCOperationWriter {
     operations.add( operation );
   }
 
+  private static GCOperationPacker getPacker( Control control ) {
+    IGCAdapter adapter = control.getAdapter( IGCAdapter.class );
+    GCOperationPacker result = ( GCOperationPacker )adapter.getClientState();
+    if( result == null ) {
+      result = new GCOperationPacker();
+      adapter.setClientState( result );
+    }
+    return result;
+  }
+
   private static Adaptable getGC( Widget widget ) {
     WidgetAdapter adapter = ( WidgetAdapter )widget.getAdapter( IWidgetAdapter.class );
     return adapter.getGCForClient();
@@ -26,10 +26,12 @@ import org.eclipse.rwt.lifecycle.*;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.*;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
+import org.eclipse.swt.internal.widgets.ListItemsLCAUtil;
 import org.eclipse.swt.widgets.*;
 
 
-public class ComboLCA extends AbstractWidgetLCA {
+public class ComboLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.Combo";
   private static final String[] ALLOWED_STYLES = new String[] { "DROP_DOWN", "SIMPLE", "BORDER" };
@@ -38,7 +40,6 @@ public class ComboLCA extends AbstractWidgetLCA {
   private static final int LIST_ITEM_PADDING = 3;
 
   // Property names for preserve-value facility
-  static final String PROP_ITEMS = "items";
   static final String PROP_TEXT = "text";
   static final String PROP_SELECTION_INDEX = "selectionIndex";
   static final String PROP_SELECTION = "selection";
@@ -52,7 +53,6 @@ public class ComboLCA extends AbstractWidgetLCA {
   static final String PROP_VERIFY_LISTENER = "verify";
 
   // Default values
-  private static final String[] DEFAUT_ITEMS = new String[ 0 ];
   private static final Integer DEFAULT_SELECTION_INDEX = Integer.valueOf( -1 );
   private static final Point DEFAULT_SELECTION = new Point( 0, 0 );
   private static final int DEFAULT_VISIBLE_ITEM_COUNT = 5;
@@ -61,7 +61,7 @@ public class ComboLCA extends AbstractWidgetLCA {
     Combo combo = ( Combo )widget;
     ControlLCAUtil.preserveValues( combo );
     WidgetLCAUtil.preserveCustomVariant( combo );
-    preserveProperty( combo, PROP_ITEMS, combo.getItems() );
+    ListItemsLCAUtil.preserveItems( combo );
     preserveProperty( combo, PROP_SELECTION_INDEX, Integer.valueOf( combo.getSelectionIndex() ) );
     preserveProperty( combo, PROP_SELECTION, combo.getSelection() );
     preserveProperty( combo, PROP_TEXT_LIMIT, getTextLimit( combo ) );
@@ -191,7 +191,7 @@ public class ComboLCA extends AbstractWidgetLCA {
   }
 
   private static void renderItems( Combo combo ) {
-    renderProperty( combo, PROP_ITEMS, combo.getItems(), DEFAUT_ITEMS );
+    ListItemsLCAUtil.renderItems( combo );
   }
 
   private static void renderListVisible( Combo combo ) {
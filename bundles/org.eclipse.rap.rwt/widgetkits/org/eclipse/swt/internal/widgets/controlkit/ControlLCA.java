@@ -15,11 +15,12 @@ import java.io.IOException;
 
 import org.eclipse.rwt.lifecycle.AbstractWidgetLCA;
 import org.eclipse.rwt.lifecycle.ControlLCAUtil;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Widget;
 
 
-public class ControlLCA extends AbstractWidgetLCA {
+public class ControlLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   public void preserveValues( Widget widget ) {
     ControlLCAUtil.preserveValues( ( Control )widget );
@@ -20,13 +20,14 @@ import org.eclipse.rwt.lifecycle.ControlLCAUtil;
 import org.eclipse.rwt.lifecycle.IWidgetAdapter;
 import org.eclipse.rwt.lifecycle.WidgetLCAUtil;
 import org.eclipse.rwt.lifecycle.WidgetUtil;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.CoolBar;
 import org.eclipse.swt.widgets.Widget;
 import static org.eclipse.rwt.lifecycle.WidgetLCAUtil.renderProperty;
 
 
-public class CoolBarLCA extends AbstractWidgetLCA {
+public class CoolBarLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   public static final String TYPE = "rwt.widgets.CoolBar";
   private static final String[] ALLOWED_STYLES = new String[] {
@@ -29,13 +29,14 @@ import org.eclipse.rwt.lifecycle.WidgetLCAUtil;
 import org.eclipse.rwt.lifecycle.WidgetUtil;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.widgets.ICoolBarAdapter;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.internal.widgets.Props;
 import org.eclipse.swt.widgets.CoolBar;
 import org.eclipse.swt.widgets.CoolItem;
 import org.eclipse.swt.widgets.Widget;
 
 
-public class CoolItemLCA extends AbstractWidgetLCA {
+public class CoolItemLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.CoolItem";
   private static final String[] ALLOWED_STYLES = new String[] { "DROP_DOWN", "VERTICAL" };
@@ -16,11 +16,12 @@ import java.io.IOException;
 import org.eclipse.rwt.internal.protocol.ClientObjectFactory;
 import org.eclipse.rwt.lifecycle.AbstractWidgetLCA;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.DateTime;
 import org.eclipse.swt.widgets.Widget;
 
 
-public final class DateTimeLCA extends AbstractWidgetLCA {
+public final class DateTimeLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final AbstractDateTimeLCADelegate DATE_LCA = new DateTimeDateLCA();
   private static final AbstractDateTimeLCADelegate TIME_LCA = new DateTimeTimeLCA();
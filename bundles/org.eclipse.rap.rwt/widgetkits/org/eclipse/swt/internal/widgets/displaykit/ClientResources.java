@@ -19,7 +19,6 @@ import java.util.List;
 
 import org.eclipse.rwt.internal.application.RWTFactory;
 import org.eclipse.rwt.internal.resources.ContentBuffer;
-import org.eclipse.rwt.internal.resources.JSFile;
 import org.eclipse.rwt.internal.resources.SystemProps;
 import org.eclipse.rwt.internal.theme.QxAppearanceWriter;
 import org.eclipse.rwt.internal.theme.Theme;
@@ -430,8 +429,7 @@ public final class ClientResources {
   }
 
   private static String compress( String code ) throws IOException {
-    JSFile jsFile = new JSFile( code );
-    return jsFile.compress();
+    return RWTFactory.getJSCompressionCache().compress( code );
   }
 
   private static String readResourceContent( String location ) throws IOException {
@@ -12,6 +12,9 @@
 package org.eclipse.swt.internal.widgets.displaykit;
 
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
 import javax.servlet.http.HttpServletRequest;
 
 import org.eclipse.rwt.branding.AbstractBranding;
@@ -22,6 +25,7 @@ import org.eclipse.rwt.internal.lifecycle.DisposedWidgets;
 import org.eclipse.rwt.internal.lifecycle.IDisplayLifeCycleAdapter;
 import org.eclipse.rwt.internal.lifecycle.RWTRequestVersionControl;
 import org.eclipse.rwt.internal.lifecycle.UITestUtil;
+import org.eclipse.rwt.internal.lifecycle.WidgetInputIndex;
 import org.eclipse.rwt.internal.protocol.ClientObjectFactory;
 import org.eclipse.rwt.internal.protocol.IClientObject;
 import org.eclipse.rwt.internal.protocol.ProtocolMessageWriter;
@@ -33,16 +37,19 @@ import org.eclipse.rwt.internal.uicallback.UICallBackServiceHandler;
 import org.eclipse.rwt.internal.util.ActiveKeysUtil;
 import org.eclipse.rwt.internal.util.NumberFormatUtil;
 import org.eclipse.rwt.lifecycle.AbstractWidgetLCA;
+import org.eclipse.rwt.lifecycle.IAlwaysReadData;
 import org.eclipse.rwt.lifecycle.IWidgetAdapter;
 import org.eclipse.rwt.lifecycle.IWidgetLifeCycleAdapter;
 import org.eclipse.rwt.lifecycle.WidgetUtil;
 import org.eclipse.swt.dnd.DragSource;
 import org.eclipse.swt.dnd.DropTarget;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.internal.widgets.EventUtil;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.IShellAdapter;
 import org.eclipse.swt.internal.widgets.WidgetAdapter;
+import org.eclipse.swt.internal.widgets.WidgetIndex;
 import org.eclipse.swt.internal.widgets.WidgetTreeVisitor;
 import org.eclipse.swt.internal.widgets.WidgetTreeVisitor.AllWidgetTreeVisitor;
 import org.eclipse.swt.widgets.Composite;
@@ -62,15 +69,30 @@ public class DisplayLCA implements IDisplayLifeCycleAdapter {
 
   private static final class RenderVisitor extends AllWidgetTreeVisitor {
 
+    private final DirtyWidgetTracker tracker;
     private IOException ioProblem;
 
+    RenderVisitor( DirtyWidgetTracker tracker ) {
+      this.tracker = tracker;
+    }
+
     @Override
     public boolean doVisit( Widget widget ) {
       ioProblem = null;
       boolean result = true;
       try {
-        render( widget );
-        runRenderRunnable( widget );
+        if( tracker == null ) {
+          render( widget );
+          runRenderRunnable( widget );
+        } else {
+          boolean initialized = WidgetUtil.getAdapter( widget ).isInitialized();
+          if( !initialized || DirtyWidgetTracker.isDirty( widget ) ) {
+            render( widget );
+            runRenderRunnable( widget );
+          }
+          // widgets created while rendering their parent are not on the render path
+          result = !initialized || tracker.isOnRenderPath( widget );
+        }
       } catch( IOException ioe ) {
         ioProblem = ioe;
         result = false;
@@ -106,18 +128,23 @@ public class DisplayLCA implements IDisplayLifeCycleAdapter {
     readBounds( display );
     readCursorLocation( display );
     readFocusControl( display );
-    WidgetTreeVisitor visitor = new AllWidgetTreeVisitor() {
-      @Override
-      public boolean doVisit( Widget widget ) {
-        IWidgetLifeCycleAdapter adapter = WidgetUtil.getLCA( widget );
-        adapter.readData( widget );
-        return true;
-      }
-    };
     Shell[] shells = getShells( display );
-    for( int i = 0; i < shells.length; i++ ) {
-      Composite shell = shells[ i ];
-      WidgetTreeVisitor.accept( shell, visitor );
+    WidgetIndex widgetIndex = WidgetIndex.getIndex( display );
+    if( widgetIndex != null ) {
+      readWidgetsWithInput( shells, widgetIndex );
+    } else {
+      WidgetTreeVisitor visitor = new AllWidgetTreeVisitor() {
+        @Override
+        public boolean doVisit( Widget widget ) {
+          IWidgetLifeCycleAdapter adapter = WidgetUtil.getLCA( widget );
+          adapter.readData( widget );
+          return true;
+        }
+      };
+      for( int i = 0; i < shells.length; i++ ) {
+        Composite shell = shells[ i ];
+        WidgetTreeVisitor.accept( shell, visitor );
+      }
     }
     for( int i = 0; i < shells.length; i++ ) {
       if( shells[ i ].getMaximized() || shells[ i ].getFullScreen() ) {
@@ -129,6 +156,33 @@ public class DisplayLCA implements IDisplayLifeCycleAdapter {
     DNDSupport.processEvents();
   }
 
+  private static void readWidgetsWithInput( Shell[] shells, WidgetIndex widgetIndex ) {
+    Set<Widget> visited = new HashSet<Widget>();
+    // shells are also read before they are rendered, like in the full tree traversal
+    for( int i = 0; i < shells.length; i++ ) {
+      if( WidgetUtil.getLCA( shells[ i ] ) instanceof IAlwaysReadData ) {
+        readData( shells[ i ], visited );
+      }
+    }
+    Widget[] widgets = widgetIndex.getAlwaysReadWidgets();
+    for( int i = 0; i < widgets.length; i++ ) {
+      readData( widgets[ i ], visited );
+    }
+    Iterator<String> iterator = WidgetInputIndex.getInstance().getWidgetIds().iterator();
+    while( iterator.hasNext() ) {
+      Widget widget = widgetIndex.find( iterator.next() );
+      if( widget != null ) {
+        readData( widget, visited );
+      }
+    }
+  }
+
+  private static void readData( Widget widget, Set<Widget> visited ) {
+    if( !widget.isDisposed() && visited.add( widget ) ) {
+      WidgetUtil.getLCA( widget ).readData( widget );
+    }
+  }
+
   public void preserveValues( Display display ) {
     IWidgetAdapter adapter = DisplayUtil.getAdapter( display );
     adapter.preserve( PROP_FOCUS_CONTROL, display.getFocusControl() );
@@ -136,7 +190,13 @@ public class DisplayLCA implements IDisplayLifeCycleAdapter {
     adapter.preserve( PROP_EXIT_CONFIRMATION, getExitConfirmation() );
     ActiveKeysUtil.preserveActiveKeys( display );
     ActiveKeysUtil.preserveCancelKeys( display );
-    if( adapter.isInitialized() ) {
+    DirtyWidgetTracker tracker = DirtyWidgetTracker.getTracker( display );
+    if( tracker != null ) {
+      // widgets are preserved when they are accessed for the first time
+      if( adapter.isInitialized() ) {
+        tracker.beginTracking();
+      }
+    } else if( adapter.isInitialized() ) {
       Shell[] shells = getShells( display );
       for( int i = 0; i < shells.length; i++ ) {
         WidgetTreeVisitor.accept( shells[ i ], new AllWidgetTreeVisitor() {
@@ -152,6 +212,10 @@ public class DisplayLCA implements IDisplayLifeCycleAdapter {
   }
 
   public void render( Display display ) throws IOException {
+    DirtyWidgetTracker tracker = DirtyWidgetTracker.getTracker( display );
+    if( tracker != null ) {
+      tracker.endTracking();
+    }
     HttpServletRequest request = ContextProvider.getRequest();
     // Note [rst] Startup page created in LifecycleServiceHandler#runLifeCycle
     // TODO [rh] should be replaced by requestCounter != 0
@@ -174,6 +238,15 @@ public class DisplayLCA implements IDisplayLifeCycleAdapter {
   public void clearPreserved( Display display ) {
     WidgetAdapter widgetAdapter = ( WidgetAdapter )DisplayUtil.getAdapter( display );
     widgetAdapter.clearPreserved();
+    DirtyWidgetTracker tracker = DirtyWidgetTracker.getTracker( display );
+    if( tracker != null ) {
+      tracker.reset();
+    } else {
+      clearPreservedWidgets( display );
+    }
+  }
+
+  private static void clearPreservedWidgets( Display display ) {
     Composite[] shells = getShells( display );
     for( int i = 0; i < shells.length; i++ ) {
       WidgetTreeVisitor.accept( shells[ i ], new AllWidgetTreeVisitor() {
@@ -188,7 +261,12 @@ public class DisplayLCA implements IDisplayLifeCycleAdapter {
   }
 
   private static void renderShells( Display display ) throws IOException {
-    RenderVisitor visitor = new RenderVisitor();
+    DirtyWidgetTracker tracker = DirtyWidgetTracker.getTracker( display );
+    if( tracker != null && !DisplayUtil.getAdapter( display ).isInitialized() ) {
+      tracker = null;
+    }
+    // with a tracker, only the changed and created widgets and their ancestors are visited
+    RenderVisitor visitor = new RenderVisitor( tracker );
     Composite[] shells = getShells( display );
     for( int i = 0; i < shells.length; i++ ) {
       WidgetTreeVisitor.accept( shells[ i ], visitor );
@@ -22,11 +22,12 @@ import org.eclipse.rwt.lifecycle.*;
 import org.eclipse.swt.events.ExpandEvent;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.widgets.IExpandBarAdapter;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.internal.widgets.ItemLCAUtil;
 import org.eclipse.swt.widgets.*;
 
 
-public final class ExpandItemLCA extends AbstractWidgetLCA {
+public final class ExpandItemLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.ExpandItem";
 
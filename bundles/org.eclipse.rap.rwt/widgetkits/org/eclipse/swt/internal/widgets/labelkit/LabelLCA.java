@@ -16,11 +16,12 @@ import java.io.IOException;
 import org.eclipse.rwt.internal.protocol.ClientObjectFactory;
 import org.eclipse.rwt.lifecycle.AbstractWidgetLCA;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Widget;
 
 
-public class LabelLCA extends AbstractWidgetLCA {
+public class LabelLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final AbstractLabelLCADelegate SEPARATOR_LCA = new SeparatorLabelLCA();
   private static final AbstractLabelLCADelegate LABEL_LCA = new StandardLabelLCA();
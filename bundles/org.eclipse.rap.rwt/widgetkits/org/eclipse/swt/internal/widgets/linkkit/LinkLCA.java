@@ -35,10 +35,11 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.internal.events.EventLCAUtil;
 import org.eclipse.swt.internal.widgets.ILinkAdapter;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.Link;
 import org.eclipse.swt.widgets.Widget;
 
-public class LinkLCA extends AbstractWidgetLCA {
+public class LinkLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.Link";
   private static final String[] ALLOWED_STYLES = new String[] { "BORDER" };
@@ -34,12 +34,13 @@ import org.eclipse.swt.internal.widgets.*;
 import org.eclipse.swt.widgets.*;
 
 
-public class ListLCA extends AbstractWidgetLCA {
+public class ListLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.List";
-  private static final String[] ALLOWED_STYLES = new String[] { "SINGLE", "MULTI", "BORDER" };
+  private static final String[] ALLOWED_STYLES = new String[] {
+    "SINGLE", "MULTI", "VIRTUAL", "BORDER"
+  };
 
-  private static final String PROP_ITEMS = "items";
   private static final String PROP_SELECTION_INDICES = "selectionIndices";
   private static final String PROP_TOP_INDEX = "topIndex";
   private static final String PROP_FOCUS_INDEX = "focusIndex";
@@ -48,7 +49,6 @@ public class ListLCA extends AbstractWidgetLCA {
   private static final String PROP_SELECTION_LISTENER = "selection";
   private static final String PROP_MARKUP_ENABLED = "markupEnabled";
 
-  private static final String[] DEFAUT_ITEMS = new String[ 0 ];
   private static final int[] DEFAUT_SELECTION_INDICES = new int[ 0 ];
   private static final int DEFAULT_TOP_INDEX = 0;
   private static final int DEFAULT_FOCUS_INDEX = -1;
@@ -60,7 +60,7 @@ public class ListLCA extends AbstractWidgetLCA {
     List list = ( List  )widget;
     ControlLCAUtil.preserveValues( list );
     WidgetLCAUtil.preserveCustomVariant( list );
-    preserveProperty( list, PROP_ITEMS, list.getItems() );
+    ListItemsLCAUtil.preserveItems( list );
     preserveProperty( list, PROP_SELECTION_INDICES, list.getSelectionIndices() );
     preserveProperty( list, PROP_TOP_INDEX, list.getTopIndex() );
     preserveProperty( list, PROP_FOCUS_INDEX, list.getFocusIndex() );
@@ -97,7 +97,7 @@ public class ListLCA extends AbstractWidgetLCA {
     List list = ( List )widget;
     ControlLCAUtil.renderChanges( list );
     WidgetLCAUtil.renderCustomVariant( list );
-    renderProperty( list, PROP_ITEMS, list.getItems(), DEFAUT_ITEMS );
+    ListItemsLCAUtil.renderItems( list );
     renderProperty( list,
                     PROP_SELECTION_INDICES,
                     list.getSelectionIndices(),
@@ -120,6 +120,11 @@ public class ListLCA extends AbstractWidgetLCA {
     ClientObjectFactory.getClientObject( widget ).destroy();
   }
 
+  @Override
+  public void doRedrawFake( Control control ) {
+    getAdapter( ( List )control ).checkData();
+  }
+
   ////////////////////////////////////////////
   // Helping methods to read client-side state
 
@@ -30,7 +30,6 @@ final class CheckMenuItemLCA extends MenuItemDelegateLCA {
     }
     ControlLCAUtil.processSelection( item, null, false );
     WidgetLCAUtil.processHelp( item );
-    MenuItemLCAUtil.processArmEvent( item );
   }
 
   void renderInitialization( MenuItem item ) throws IOException {
@@ -16,11 +16,12 @@ import java.io.IOException;
 import org.eclipse.rwt.internal.protocol.ClientObjectFactory;
 import org.eclipse.rwt.lifecycle.AbstractWidgetLCA;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.MenuItem;
 import org.eclipse.swt.widgets.Widget;
 
 
-public final class MenuItemLCA extends AbstractWidgetLCA {
+public final class MenuItemLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final BarMenuItemLCA BAR_MENU_ITEM_LCA = new BarMenuItemLCA();
   private static final PushMenuItemLCA PUSH_MENU_ITEM_LCA = new PushMenuItemLCA();
@@ -16,11 +16,9 @@ import static org.eclipse.rwt.lifecycle.WidgetLCAUtil.preserveListener;
 import static org.eclipse.rwt.lifecycle.WidgetLCAUtil.renderProperty;
 import static org.eclipse.rwt.lifecycle.WidgetLCAUtil.renderListener;
 
-import org.eclipse.rwt.internal.lifecycle.JSConst;
 import org.eclipse.rwt.internal.protocol.ClientObjectFactory;
 import org.eclipse.rwt.internal.protocol.IClientObject;
 import org.eclipse.rwt.lifecycle.*;
-import org.eclipse.swt.events.ArmEvent;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.internal.widgets.ItemLCAUtil;
 import org.eclipse.swt.widgets.Menu;
@@ -66,14 +64,4 @@ final class MenuItemLCAUtil {
     renderListener( item, PROP_SELECTION_LISTENER, SelectionEvent.hasListener( item ), false );
     WidgetLCAUtil.renderListenHelp( item );
   }
-
-  static void processArmEvent( MenuItem item ) {
-    Menu menu = item.getParent();
-    if( WidgetLCAUtil.wasEventSent( menu, JSConst.EVENT_MENU_SHOWN ) ) {
-      if( ArmEvent.hasListener( item ) ) {
-        ArmEvent event = new ArmEvent( item );
-        event.processEvent();
-      }
-    }
-  }
 }
@@ -26,7 +26,6 @@ final class PushMenuItemLCA extends MenuItemDelegateLCA {
   void readData( MenuItem item ) {
     ControlLCAUtil.processSelection( item, null, false );
     WidgetLCAUtil.processHelp( item );
-    MenuItemLCAUtil.processArmEvent( item );
   }
 
   void renderInitialization( MenuItem item ) throws IOException {
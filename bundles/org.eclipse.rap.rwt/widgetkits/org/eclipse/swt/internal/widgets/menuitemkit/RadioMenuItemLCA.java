@@ -35,7 +35,6 @@ final class RadioMenuItemLCA extends MenuItemDelegateLCA {
     }
     ControlLCAUtil.processSelection( item, null, false );
     WidgetLCAUtil.processHelp( item );
-    MenuItemLCAUtil.processArmEvent( item );
   }
 
   @Override
@@ -16,11 +16,12 @@ import java.io.IOException;
 import org.eclipse.rwt.internal.protocol.ClientObjectFactory;
 import org.eclipse.rwt.lifecycle.AbstractWidgetLCA;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.Widget;
 
 
-public final class MenuLCA extends AbstractWidgetLCA {
+public final class MenuLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final MenuBarLCA MENU_BAR_LCA = new MenuBarLCA();
   private static final PopupMenuLCA POPUP_MENU_LCA = new PopupMenuLCA();
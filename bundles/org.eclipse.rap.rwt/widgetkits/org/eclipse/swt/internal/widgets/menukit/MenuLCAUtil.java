@@ -23,6 +23,7 @@ import org.eclipse.rwt.internal.lifecycle.JSConst;
 import org.eclipse.rwt.internal.protocol.ClientObjectFactory;
 import org.eclipse.rwt.internal.protocol.IClientObject;
 import org.eclipse.rwt.lifecycle.*;
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.ArmEvent;
 import org.eclipse.swt.events.MenuEvent;
 import org.eclipse.swt.widgets.Menu;
@@ -64,6 +65,7 @@ final class MenuLCAUtil {
     if( WidgetLCAUtil.wasEventSent( menu, JSConst.EVENT_MENU_SHOWN ) ) {
       MenuEvent event = new MenuEvent( menu, MenuEvent.MENU_SHOWN );
       event.processEvent();
+      processArmEvents( menu );
     }
     if( WidgetLCAUtil.wasEventSent( menu, JSConst.EVENT_MENU_HIDDEN ) ) {
       MenuEvent event = new MenuEvent( menu, MenuEvent.MENU_HIDDEN );
@@ -88,6 +90,19 @@ final class MenuLCAUtil {
   //////////////////
   // Helping methods
 
+  // the items are armed by the event of their menu, they don't need to be read for it
+  private static void processArmEvents( Menu menu ) {
+    if( ( menu.getStyle() & SWT.BAR ) == 0 ) {
+      MenuItem[] items = menu.getItems();
+      for( int i = 0; i < items.length; i++ ) {
+        if( ( items[ i ].getStyle() & SWT.SEPARATOR ) == 0 && ArmEvent.hasListener( items[ i ] ) ) {
+          ArmEvent event = new ArmEvent( items[ i ] );
+          event.processEvent();
+        }
+      }
+    }
+  }
+
   private static boolean hasMenuListener( Menu menu ) {
     boolean result = MenuEvent.hasListener( menu );
     if( !result ) {
@@ -20,6 +20,7 @@ import java.io.IOException;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.eclipse.rwt.lifecycle.IAlwaysReadData;
 import org.eclipse.rwt.internal.lifecycle.JSConst;
 import org.eclipse.rwt.internal.protocol.*;
 import org.eclipse.rwt.internal.service.ContextProvider;
@@ -32,7 +33,7 @@ import org.eclipse.swt.internal.widgets.*;
 import org.eclipse.swt.widgets.*;
 
 
-public final class ShellLCA extends AbstractWidgetLCA {
+public final class ShellLCA extends AbstractWidgetLCA implements IAlwaysReadData, ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.Shell";
   private static final String[] ALLOWED_STYLES = new String[] {
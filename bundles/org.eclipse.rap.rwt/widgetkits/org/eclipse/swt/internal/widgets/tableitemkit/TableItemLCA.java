@@ -29,7 +29,7 @@ import org.eclipse.swt.internal.widgets.*;
 import org.eclipse.swt.widgets.*;
 
 
-public final class TableItemLCA extends AbstractWidgetLCA {
+public final class TableItemLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static interface IRenderRunnable {
     void run() throws IOException;
@@ -49,19 +49,34 @@ public final class TableItemLCA extends AbstractWidgetLCA {
   static final String PROP_GRAYED = "grayed";
   static final String PROP_CACHED = "cached";
 
+  private static final int CELL_TEXT = 0;
+  private static final int CELL_IMAGE = 1;
+  private static final int CELL_BACKGROUND = 2;
+  private static final int CELL_FOREGROUND = 3;
+  private static final int CELL_FONT = 4;
+
   @Override
   public void preserveValues( Widget widget ) {
     TableItem item = ( TableItem )widget;
     if( isCached( item ) ) {
-      preserveProperty( item, PROP_TEXTS, getTexts( item ) );
-      preserveProperty( item, PROP_IMAGES, getImages( item ) );
+      // reuse the snapshots of the previous request if the item did not change
+      WidgetAdapter adapter = getWidgetAdapter( item );
+      preserveProperty( item,
+                        PROP_TEXTS,
+                        getTexts( item, adapter.getPreviouslyPreserved( PROP_TEXTS ) ) );
+      preserveProperty( item,
+                        PROP_IMAGES,
+                        getImages( item, adapter.getPreviouslyPreserved( PROP_IMAGES ) ) );
       WidgetLCAUtil.preserveBackground( item, getUserBackground( item ) );
       WidgetLCAUtil.preserveForeground( item, getUserForeground( item ) );
       WidgetLCAUtil.preserveFont( item, getUserFont( item ) );
       WidgetLCAUtil.preserveCustomVariant( item );
-      preserveProperty( item, PROP_CELL_BACKGROUNDS, getCellBackgrounds( item ) );
-      preserveProperty( item, PROP_CELL_FOREGROUNDS, getCellForegrounds( item ) );
-      preserveProperty( item, PROP_CELL_FONTS, getCellFonts( item ) );
+      Object cellBackgrounds = adapter.getPreviouslyPreserved( PROP_CELL_BACKGROUNDS );
+      preserveProperty( item, PROP_CELL_BACKGROUNDS, getCellBackgrounds( item, cellBackgrounds ) );
+      Object cellForegrounds = adapter.getPreviouslyPreserved( PROP_CELL_FOREGROUNDS );
+      preserveProperty( item, PROP_CELL_FOREGROUNDS, getCellForegrounds( item, cellForegrounds ) );
+      Object cellFonts = adapter.getPreviouslyPreserved( PROP_CELL_FONTS );
+      preserveProperty( item, PROP_CELL_FONTS, getCellFonts( item, cellFonts ) );
       preserveProperty( item, PROP_CHECKED, item.getChecked() );
       preserveProperty( item, PROP_GRAYED, item.getGrayed() );
     }
@@ -139,24 +154,35 @@ public final class TableItemLCA extends AbstractWidgetLCA {
   // RenderChanges helper
 
   private static void renderProperties( TableItem item ) {
-    renderProperty( item, PROP_TEXTS, getTexts( item ), getDefaultTexts( item ) );
-    renderProperty( item, PROP_IMAGES, getImages( item ), new Image[ getColumnCount( item ) ] );
+    // Unchanged properties are represented by the preserved arrays themselves. The default
+    // values are only consulted for items that are not yet initialized on the client.
+    WidgetAdapter adapter = getWidgetAdapter( item );
+    boolean initialized = adapter.isInitialized();
+    int columnCount = getColumnCount( item );
+    renderProperty( item,
+                    PROP_TEXTS,
+                    getTexts( item, adapter.getPreserved( PROP_TEXTS ) ),
+                    initialized ? null : getDefaultTexts( item ) );
+    renderProperty( item,
+                    PROP_IMAGES,
+                    getImages( item, adapter.getPreserved( PROP_IMAGES ) ),
+                    initialized ? null : new Image[ columnCount ] );
     WidgetLCAUtil.renderBackground( item, getUserBackground( item ) );
     WidgetLCAUtil.renderForeground( item, getUserForeground( item ) );
     WidgetLCAUtil.renderFont( item, getUserFont( item ) );
     WidgetLCAUtil.renderCustomVariant( item );
     renderProperty( item,
                     PROP_CELL_BACKGROUNDS,
-                    getCellBackgrounds( item ),
-                    new Color[ getColumnCount( item ) ] );
+                    getCellBackgrounds( item, adapter.getPreserved( PROP_CELL_BACKGROUNDS ) ),
+                    initialized ? null : new Color[ columnCount ] );
     renderProperty( item,
                     PROP_CELL_FOREGROUNDS,
-                    getCellForegrounds( item ),
-                    new Color[ getColumnCount( item ) ] );
+                    getCellForegrounds( item, adapter.getPreserved( PROP_CELL_FOREGROUNDS ) ),
+                    initialized ? null : new Color[ columnCount ] );
     renderProperty( item,
                     PROP_CELL_FONTS,
-                    getCellFonts( item ),
-                    new Font[ getColumnCount( item ) ] );
+                    getCellFonts( item, adapter.getPreserved( PROP_CELL_FONTS ) ),
+                    initialized ? null : new Font[ columnCount ] );
     renderProperty( item, PROP_CHECKED, item.getChecked(), false );
     renderProperty( item, PROP_GRAYED, item.getGrayed(), false );
   }
@@ -184,6 +210,10 @@ public final class TableItemLCA extends AbstractWidgetLCA {
     return result;
   }
 
+  private static String[] getTexts( TableItem item, Object snapshot ) {
+    return isSnapshot( item, CELL_TEXT, snapshot ) ? ( String[] )snapshot : getTexts( item );
+  }
+
   private static String[] getDefaultTexts( TableItem item ) {
     String[] result = new String[ getColumnCount( item ) ];
     for( int i = 0; i < result.length; i++ ) {
@@ -201,6 +231,10 @@ public final class TableItemLCA extends AbstractWidgetLCA {
     return result;
   }
 
+  private static Image[] getImages( TableItem item, Object snapshot ) {
+    return isSnapshot( item, CELL_IMAGE, snapshot ) ? ( Image[] )snapshot : getImages( item );
+  }
+
   private static Color getUserBackground( TableItem item ) {
     IWidgetColorAdapter colorAdapter = item.getAdapter( IWidgetColorAdapter.class );
     return colorAdapter.getUserBackground();
@@ -231,6 +265,62 @@ public final class TableItemLCA extends AbstractWidgetLCA {
     return itemAdapter.getCellFonts();
   }
 
+  private static Color[] getCellBackgrounds( TableItem item, Object snapshot ) {
+    boolean unchanged = isSnapshot( item, CELL_BACKGROUND, snapshot );
+    return unchanged ? ( Color[] )snapshot : getCellBackgrounds( item );
+  }
+
+  private static Color[] getCellForegrounds( TableItem item, Object snapshot ) {
+    boolean unchanged = isSnapshot( item, CELL_FOREGROUND, snapshot );
+    return unchanged ? ( Color[] )snapshot : getCellForegrounds( item );
+  }
+
+  private static Font[] getCellFonts( TableItem item, Object snapshot ) {
+    boolean unchanged = isSnapshot( item, CELL_FONT, snapshot );
+    return unchanged ? ( Font[] )snapshot : getCellFonts( item );
+  }
+
+  // Compares the cells of the item with a previously taken array without creating a new one
+  private static boolean isSnapshot( TableItem item, int cell, Object snapshot ) {
+    boolean result = false;
+    if( snapshot instanceof Object[] ) {
+      Object[] values = ( Object[] )snapshot;
+      ITableItemAdapter itemAdapter = item.getAdapter( ITableItemAdapter.class );
+      result = values.length == getColumnCount( item );
+      for( int i = 0; result && i < values.length; i++ ) {
+        Object value = getCellValue( item, itemAdapter, cell, i );
+        result = value == values[ i ] || value != null && value.equals( values[ i ] );
+      }
+    }
+    return result;
+  }
+
+  private static Object getCellValue( TableItem item,
+                                      ITableItemAdapter itemAdapter,
+                                      int cell,
+                                      int index )
+  {
+    Object result;
+    switch( cell ) {
+      case CELL_TEXT:
+        result = item.getText( index );
+      break;
+      case CELL_IMAGE:
+        result = item.getImage( index );
+      break;
+      case CELL_BACKGROUND:
+        result = itemAdapter.getCellBackground( index );
+      break;
+      case CELL_FOREGROUND:
+        result = itemAdapter.getCellForeground( index );
+      break;
+      default:
+        result = itemAdapter.getCellFont( index );
+      break;
+    }
+    return result;
+  }
+
   private static int getColumnCount( TableItem item ) {
     return Math.max( 1, item.getParent().getColumnCount() );
   }
@@ -268,8 +358,11 @@ public final class TableItemLCA extends AbstractWidgetLCA {
   }
 
   private static void setInitialized( TableItem item, boolean initialized ) {
-    WidgetAdapter adapter = ( WidgetAdapter )item.getAdapter( IWidgetAdapter.class );
-    adapter.setInitialized( initialized );
+    getWidgetAdapter( item ).setInitialized( initialized );
+  }
+
+  private static WidgetAdapter getWidgetAdapter( TableItem item ) {
+    return ( WidgetAdapter )item.getAdapter( IWidgetAdapter.class );
   }
 
   private boolean isParentDisposed( TableItem item ) {
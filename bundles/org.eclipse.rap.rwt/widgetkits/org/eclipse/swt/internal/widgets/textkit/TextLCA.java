@@ -16,10 +16,11 @@ import java.io.IOException;
 import org.eclipse.rwt.internal.protocol.ClientObjectFactory;
 import org.eclipse.rwt.lifecycle.AbstractWidgetLCA;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.swt.widgets.Widget;
 
-public final class TextLCA extends AbstractWidgetLCA {
+public final class TextLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private final static AbstractTextDelegateLCA SINGLE = new SingleTextLCA();
   private final static AbstractTextDelegateLCA PASSWORD = new PasswordTextLCA();
@@ -16,11 +16,12 @@ import java.io.IOException;
 import org.eclipse.rwt.internal.protocol.ClientObjectFactory;
 import org.eclipse.rwt.lifecycle.AbstractWidgetLCA;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.widgets.ITrackedLCA;
 import org.eclipse.swt.widgets.ToolItem;
 import org.eclipse.swt.widgets.Widget;
 
 
-public final class ToolItemLCA extends AbstractWidgetLCA {
+public final class ToolItemLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private final static ToolItemDelegateLCA PUSH = new PushToolItemLCA();
   private final static ToolItemDelegateLCA CHECK = new CheckToolItemLCA();
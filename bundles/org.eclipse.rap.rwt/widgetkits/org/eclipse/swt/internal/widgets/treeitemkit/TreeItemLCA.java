@@ -26,7 +26,7 @@ import org.eclipse.swt.internal.widgets.*;
 import org.eclipse.swt.widgets.*;
 
 
-public final class TreeItemLCA extends AbstractWidgetLCA {
+public final class TreeItemLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.TreeItem";
 
@@ -35,7 +35,7 @@ import org.eclipse.swt.internal.widgets.*;
 import org.eclipse.swt.widgets.*;
 
 
-public final class TreeLCA extends AbstractWidgetLCA {
+public final class TreeLCA extends AbstractWidgetLCA implements ITrackedLCA {
 
   private static final String TYPE = "rwt.widgets.Tree";
   private static final String[] ALLOWED_STYLES = new String[] {
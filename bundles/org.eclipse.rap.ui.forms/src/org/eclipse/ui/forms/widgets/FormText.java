@@ -57,6 +57,7 @@ import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.widgets.Canvas;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
@@ -746,6 +747,7 @@ public class FormText extends Canvas {
 	 *            converted into hyperlinks.
 	 */
 	public void setText(String text, boolean parseTags, boolean expandURLs) {
+		DirtyWidgetTracker.markDirty(this);
 		disposeResourceTable(false);
 		entered = null;
 		if (parseTags)
@@ -770,6 +772,7 @@ public class FormText extends Canvas {
 	 *            converted into hyperlinks.
 	 */
 	public void setContents(InputStream is, boolean expandURLs) {
+		DirtyWidgetTracker.markDirty(this);
 		entered = null;
 		disposeResourceTable(false);
 		model.parseInputStream(is, expandURLs);
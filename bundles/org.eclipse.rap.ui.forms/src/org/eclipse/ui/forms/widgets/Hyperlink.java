@@ -13,6 +13,7 @@ package org.eclipse.ui.forms.widgets;
 import org.eclipse.swt.SWT;
 //import org.eclipse.swt.accessibility.*;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.widgets.Composite;
 //import org.eclipse.ui.forms.FormColors;
 import org.eclipse.ui.internal.forms.widgets.*;
@@ -159,6 +160,7 @@ public class Hyperlink extends AbstractHyperlink {
 	 *            each wrapped line.
 	 */
 	public void setUnderlined(boolean underlined) {
+		DirtyWidgetTracker.markDirty(this);
 		this.underlined = underlined;
 		redraw();
 	}
@@ -219,6 +221,7 @@ public class Hyperlink extends AbstractHyperlink {
 	 *            the hyperlink text
 	 */
 	public void setText(String text) {
+		DirtyWidgetTracker.markDirty(this);
 		if (text != null)
 			this.text = text;
 		else
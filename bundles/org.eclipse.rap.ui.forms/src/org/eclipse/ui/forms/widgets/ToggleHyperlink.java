@@ -12,6 +12,7 @@ package org.eclipse.ui.forms.widgets;
 import org.eclipse.swt.SWT;
 //import org.eclipse.swt.accessibility.*;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgetTracker;
 import org.eclipse.swt.widgets.*;
 import org.eclipse.ui.forms.events.*;
 //import org.eclipse.ui.internal.forms.Messages;
@@ -161,6 +162,7 @@ public abstract class ToggleHyperlink extends AbstractHyperlink {
 	 * @param expanded the expansion state
 	 */
 	public void setExpanded(boolean expanded) {
+		DirtyWidgetTracker.markDirty(this);
 		this.expanded = expanded;
 		redraw();
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008 Innoopract Informationssysteme GmbH.
+ * Copyright (c) 2008, 2012 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Innoopract Informationssysteme GmbH - initial API and implementation
+ *     EclipseSource - ongoing development
  ******************************************************************************/
 package org.eclipse.rap.ui.internal.preferences;
 
@@ -16,6 +17,8 @@ import java.io.File;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.rwt.RWT;
+import org.eclipse.rwt.internal.resources.SystemProps;
+import org.eclipse.rwt.internal.service.JournalingFileSettingStore;
 import org.eclipse.rwt.internal.util.ParamCheck;
 import org.eclipse.rwt.service.*;
 import org.eclipse.ui.PlatformUI;
@@ -40,6 +43,10 @@ import org.osgi.framework.Bundle;
  * given above) will be used. If the path determined does not exist it will
  * be created.
  * <p>
+ * If the system property <code>"org.eclipse.rap.journalSettingStore"</code> is
+ * set to <code>true</code>, changes are written to the file system in the
+ * background instead of on every change.
+ * <p>
  * <b>Note:</b> This setting store factory should be used in a regular
  * RAP deployment. For an RWT only deployment use the 
  * {@link RWTFileSettingStoreFactory}.
@@ -51,7 +58,7 @@ public final class WorkbenchFileSettingStoreFactory
   
   public ISettingStore createSettingStore( final String storeId ) {
     ParamCheck.notNullOrEmpty( storeId, "storeId" ); //$NON-NLS-1$
-    ISettingStore result = new FileSettingStore( getWorkDir() );
+    ISettingStore result = createStore( getWorkDir() );
     try {
       result.loadById( storeId );
     } catch( SettingStoreException sse ) {
@@ -63,6 +70,18 @@ public final class WorkbenchFileSettingStoreFactory
   
   //////////////////
   // helping methods
+
+  private ISettingStore createStore( final File workDir ) {
+    ISettingStore result;
+    if( SystemProps.journalSettingStore() ) {
+      JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+      store.compactOnDestroy( RWT.getSessionStore() );
+      result = store;
+    } else {
+      result = new FileSettingStore( workDir );
+    }
+    return result;
+  }
   
   private File getWorkDir() {
     File result = getWorkDirFromEnvironment();
@@ -180,7 +180,10 @@ public class ViewRegistry extends SessionSingletonBase implements IViewRegistry,
         categories = new ArrayList();       
         sticky = new ArrayList();        
         PlatformUI.getWorkbench().getExtensionTracker().registerHandler(this, ExtensionTracker.createExtensionPointFilter(getExtensionPointFilter()));
-        reader.readViews(Platform.getExtensionRegistry(), this);
+        // RAP: view and sticky view descriptors are shared by the view
+        // registries of all sessions, categories are created per session
+        reader.readViews(ViewRegistrySnapshot.getInstance(), this);
+        // RAPEND
     }
 
     /**
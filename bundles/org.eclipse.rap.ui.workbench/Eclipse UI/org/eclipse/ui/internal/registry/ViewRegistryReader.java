@@ -108,4 +108,16 @@ public class ViewRegistryReader extends RegistryReader {
         // RAP [bm]: namespace
         readRegistry(in, PlatformUI.PLUGIN_EXTENSION_NAME_SPACE, IWorkbenchRegistryConstants.PL_VIEWS);
     }
+
+    // RAP: views of all sessions are read from a shared snapshot
+    /**
+     * Read the view extensions from a snapshot of the registry.
+     * @param in the snapshot of the views extension point
+     * @param out the view registry
+     */
+    void readViews(ViewRegistrySnapshot in, ViewRegistry out) {
+        viewRegistry = out;
+        in.applyTo(this, out);
+    }
+    // RAPEND
 }
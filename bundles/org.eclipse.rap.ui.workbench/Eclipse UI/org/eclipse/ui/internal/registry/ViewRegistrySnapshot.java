@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.registry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.IRegistryChangeEvent;
+import org.eclipse.core.runtime.IRegistryChangeListener;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.rwt.RWT;
+import org.eclipse.rwt.internal.application.ApplicationContextUtil;
+import org.eclipse.rwt.service.IApplicationStore;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.internal.WorkbenchPlugin;
+
+/**
+ * An immutable snapshot of the views extension point that is shared by the
+ * view registries of all sessions. View and sticky view descriptors do not
+ * hold session state and are created only once. Categories are changed when
+ * views are mapped to them, they are created for every session from the
+ * recorded configuration elements.
+ * <p>
+ * The snapshot is discarded when extensions of the views extension point are
+ * added or removed, dynamic changes of running sessions are still handled by
+ * the extension tracker of their workbench.
+ * </p>
+ * <p>
+ * Every application keeps its own snapshot. The listener that discards it is
+ * removed from the extension registry when the application context is
+ * deactivated.
+ * </p>
+ * <p>
+ * The view registry of a session is the overlay of the snapshot. It keeps its
+ * own sorted set of the shared descriptors, its own categories and the views
+ * that the extension tracker adds to or removes from this session.
+ * </p>
+ * <p>
+ * The snapshot covers the views extension point only. The editor,
+ * perspective, action set and wizard registries keep session state in their
+ * descriptors, e.g. the initial visibility of an action set or the wizards
+ * of a collection, and are still read from the extension registry by every
+ * session. So are the command, context and binding definitions that are read
+ * into the managers of a session.
+ * </p>
+ */
+// RAP: application scoped replacement for reading the extension registry in
+// every session
+final class ViewRegistrySnapshot {
+
+	private static final Object LOCK = new Object();
+
+	private static final String ATTR_HOLDER = ViewRegistrySnapshot.class
+			.getName() + "#holder"; //$NON-NLS-1$
+
+	/**
+	 * The categories, views and sticky views in the order they were read from
+	 * the extension registry. Categories are represented by their configuration
+	 * element.
+	 */
+	private final Object[] entries;
+
+	/**
+	 * Returns the current snapshot, reads the extension registry if there is
+	 * no snapshot or if it was discarded.
+	 *
+	 * @return the snapshot
+	 */
+	static ViewRegistrySnapshot getInstance() {
+		synchronized (LOCK) {
+			IApplicationStore store = RWT.getApplicationStore();
+			SnapshotHolder holder = (SnapshotHolder) store
+					.getAttribute(ATTR_HOLDER);
+			if (holder == null) {
+				holder = new SnapshotHolder(Platform.getExtensionRegistry());
+				store.setAttribute(ATTR_HOLDER, holder);
+				ApplicationContextUtil.getInstance().addDeactivationRunnable(
+						holder);
+			}
+			return holder.getSnapshot();
+		}
+	}
+
+	private ViewRegistrySnapshot(IExtensionRegistry registry) {
+		RecordingReader reader = new RecordingReader();
+		reader.read(registry);
+		entries = reader.entries.toArray();
+	}
+
+	/**
+	 * Adds the shared descriptors and new categories to the given registry.
+	 *
+	 * @param reader
+	 *            the reader of the registry, used to create the categories
+	 * @param out
+	 *            the view registry of a session
+	 */
+	void applyTo(ViewRegistryReader reader, ViewRegistry out) {
+		for (int i = 0; i < entries.length; i++) {
+			Object entry = entries[i];
+			if (entry instanceof IConfigurationElement) {
+				reader.readCategory((IConfigurationElement) entry);
+			} else if (entry instanceof ViewDescriptor) {
+				out.add((ViewDescriptor) entry);
+			} else if (entry instanceof StickyViewDescriptor) {
+				out.add((StickyViewDescriptor) entry);
+			}
+		}
+	}
+
+	private static final class RecordingReader extends ViewRegistryReader {
+
+		final List entries = new ArrayList();
+
+		void read(IExtensionRegistry registry) {
+			readRegistry(registry, PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
+					IWorkbenchRegistryConstants.PL_VIEWS);
+		}
+
+		protected void readCategory(IConfigurationElement element) {
+			entries.add(element);
+		}
+
+		protected void readView(IConfigurationElement element) {
+			try {
+				entries.add(new ViewDescriptor(element));
+			} catch (CoreException e) {
+				// log an error since its not safe to open a dialog here
+				WorkbenchPlugin.log(
+						"Unable to create view descriptor.", e.getStatus());//$NON-NLS-1$
+			}
+		}
+
+		protected void readSticky(IConfigurationElement element) {
+			try {
+				entries.add(new StickyViewDescriptor(element));
+			} catch (CoreException e) {
+				// log an error since its not safe to open a dialog here
+				WorkbenchPlugin.log(
+						"Unable to create sticky view descriptor.", e.getStatus());//$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Holds the snapshot of one application. Discards it when the views
+	 * extension point changes, and stops listening to the extension registry
+	 * when the application context is deactivated.
+	 */
+	private static final class SnapshotHolder implements
+			IRegistryChangeListener, Runnable {
+
+		private final IExtensionRegistry registry;
+
+		private ViewRegistrySnapshot snapshot;
+
+		SnapshotHolder(IExtensionRegistry registry) {
+			this.registry = registry;
+			registry.addRegistryChangeListener(this);
+		}
+
+		// called while holding LOCK
+		ViewRegistrySnapshot getSnapshot() {
+			if (snapshot == null) {
+				snapshot = new ViewRegistrySnapshot(registry);
+			}
+			return snapshot;
+		}
+
+		public void registryChanged(IRegistryChangeEvent event) {
+			if (event.getExtensionDeltas(PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
+					IWorkbenchRegistryConstants.PL_VIEWS).length > 0) {
+				synchronized (LOCK) {
+					snapshot = null;
+				}
+			}
+		}
+
+		public void run() {
+			registry.removeRegistryChangeListener(this);
+			synchronized (LOCK) {
+				snapshot = null;
+			}
+		}
+	}
+}
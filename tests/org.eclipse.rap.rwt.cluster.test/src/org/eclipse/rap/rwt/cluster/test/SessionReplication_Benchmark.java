@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.cluster.test;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.cluster.test.entrypoints.ServiceHandlerEntryPoint;
+import org.eclipse.rap.rwt.cluster.testfixture.ClusterTestHelper;
+import org.eclipse.rap.rwt.cluster.testfixture.SessionReplicationMonitor;
+import org.eclipse.rap.rwt.cluster.testfixture.client.RWTClient;
+import org.eclipse.rap.rwt.cluster.testfixture.server.IServletEngine;
+import org.eclipse.rap.rwt.cluster.testfixture.server.IServletEngineCluster;
+import org.eclipse.rap.rwt.cluster.testfixture.server.JettyFactory;
+
+
+/*
+ * Not part of the test suite (see ClusterTestSuite). Measures the bytes that a clustered Jetty
+ * engine writes to the session database per UI request and per service handler request. Both
+ * replicate the whole session.
+ */
+@SuppressWarnings("restriction")
+public class SessionReplication_Benchmark extends TestCase {
+
+  private static final int ITERATIONS = 20;
+
+  private IServletEngineCluster cluster;
+  private RWTClient client;
+
+  protected void setUp() throws Exception {
+    ClusterTestHelper.enableUITests( true );
+    SessionReplicationMonitor.setEnabled( true );
+    cluster = new JettyFactory().createServletEngineCluster();
+    IServletEngine servletEngine = cluster.addServletEngine();
+    cluster.start( ServiceHandlerEntryPoint.class );
+    client = new RWTClient( servletEngine );
+    client.sendStartupRequest();
+    client.sendInitializationRequest();
+    SessionReplicationMonitor.reset();
+  }
+
+  protected void tearDown() throws Exception {
+    cluster.stop();
+    SessionReplicationMonitor.setEnabled( false );
+  }
+
+  public void testUIRequests() throws Exception {
+    for( int i = 0; i < ITERATIONS; i++ ) {
+      client.sendDisplayResizeRequest( 800 + i, 600 );
+    }
+    report( "UI requests" );
+  }
+
+  public void testServiceHandlerRequests() throws Exception {
+    for( int i = 0; i < ITERATIONS; i++ ) {
+      client.sendServiceHandlerRequest( ServiceHandlerEntryPoint.SERVICE_HANDLER_ID );
+    }
+    report( "Service handler requests" );
+  }
+
+  private static void report( String label ) {
+    long replicatedBytes = SessionReplicationMonitor.getReplicatedBytes();
+    System.out.println( label + " [bytes/request]: " + replicatedBytes / ITERATIONS );
+    long replications = SessionReplicationMonitor.getReplicationCount();
+    System.out.println( label + " [replications]: " + replications );
+  }
+}
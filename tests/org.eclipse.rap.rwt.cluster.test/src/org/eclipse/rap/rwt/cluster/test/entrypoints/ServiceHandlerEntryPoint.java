@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.cluster.test.entrypoints;
+
+import java.io.IOException;
+
+import org.eclipse.rwt.RWT;
+import org.eclipse.rwt.lifecycle.IEntryPoint;
+import org.eclipse.rwt.service.IServiceHandler;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+
+
+public class ServiceHandlerEntryPoint implements IEntryPoint {
+
+  public static final String SERVICE_HANDLER_ID = "download";
+  private static final int WIDGET_COUNT = 100;
+
+  public int createUI() {
+    RWT.getServiceManager().registerServiceHandler( SERVICE_HANDLER_ID, new DownloadHandler() );
+    Display display = new Display();
+    Shell shell = new Shell( display );
+    shell.setLayout( new GridLayout( 2, false ) );
+    for( int i = 0; i < WIDGET_COUNT; i++ ) {
+      new Label( shell, SWT.NONE ).setText( "Label " + i );
+      new Button( shell, SWT.PUSH ).setText( "Button " + i );
+    }
+    shell.setSize( 800, 600 );
+    shell.open();
+    return 0;
+  }
+
+  private static class DownloadHandler implements IServiceHandler {
+
+    public void service() throws IOException {
+      RWT.getResponse().setContentType( "text/plain" );
+      RWT.getResponse().getWriter().write( "download" );
+    }
+  }
+}
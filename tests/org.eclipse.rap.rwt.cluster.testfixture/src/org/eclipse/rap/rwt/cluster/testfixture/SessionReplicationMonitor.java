@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.cluster.testfixture;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.http.HttpSession;
+
+
+/*
+ * Counts the sessions that the clustered Jetty engine writes to the session database, and the
+ * number of bytes their attributes serialize to. These numbers are the amount of data that is
+ * replicated. Disabled by default as serializing the attributes is expensive.
+ */
+public class SessionReplicationMonitor {
+
+  private static final AtomicLong replicationCount = new AtomicLong();
+  private static final AtomicLong replicatedBytes = new AtomicLong();
+  private static volatile boolean enabled;
+
+  public static void setEnabled( boolean enabled ) {
+    SessionReplicationMonitor.enabled = enabled;
+  }
+
+  public static void reset() {
+    replicationCount.set( 0 );
+    replicatedBytes.set( 0 );
+  }
+
+  public static long getReplicationCount() {
+    return replicationCount.get();
+  }
+
+  public static long getReplicatedBytes() {
+    return replicatedBytes.get();
+  }
+
+  public static void recordReplication( HttpSession session ) {
+    if( enabled ) {
+      replicationCount.incrementAndGet();
+      replicatedBytes.addAndGet( getSerializedSize( getAttributes( session ) ) );
+    }
+  }
+
+  private static Map<String,Object> getAttributes( HttpSession session ) {
+    Map<String,Object> result = new HashMap<String,Object>();
+    Enumeration<?> names = session.getAttributeNames();
+    while( names.hasMoreElements() ) {
+      String name = ( String )names.nextElement();
+      result.put( name, session.getAttribute( name ) );
+    }
+    return result;
+  }
+
+  private static long getSerializedSize( Object value ) {
+    CountingOutputStream outputStream = new CountingOutputStream();
+    try {
+      ObjectOutputStream objectOutputStream = new ObjectOutputStream( outputStream );
+      objectOutputStream.writeObject( value );
+      objectOutputStream.close();
+    } catch( IOException ioe ) {
+      throw new RuntimeException( "Failed to serialize session attributes", ioe );
+    }
+    return outputStream.count;
+  }
+
+  private static class CountingOutputStream extends OutputStream {
+    long count;
+
+    public void write( int b ) {
+      count++;
+    }
+
+    public void write( byte[] bytes, int offset, int length ) {
+      count += length;
+    }
+  }
+}
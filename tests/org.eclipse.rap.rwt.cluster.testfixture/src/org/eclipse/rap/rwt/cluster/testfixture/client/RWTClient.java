@@ -139,6 +139,14 @@ public class RWTClient {
     return new Response( connection );
   }
 
+  public Response sendServiceHandlerRequest( String serviceHandlerId ) throws IOException {
+    Map<String,String> parameters = new HashMap<String,String>();
+    parameters.put( IServiceHandler.REQUEST_PARAM, serviceHandlerId );
+    URL url = createUrl( IServletEngine.SERVLET_NAME, parameters );
+    HttpURLConnection connection = createConnection( "GET", url, 0 );
+    return new Response( connection );
+  }
+
   Response sendPostRequest() throws IOException {
     return sendPostRequest( new HashMap<String,String>() );
   }
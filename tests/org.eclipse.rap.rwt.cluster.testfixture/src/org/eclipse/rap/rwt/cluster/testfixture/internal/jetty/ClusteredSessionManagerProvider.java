@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011 EclipseSource and others.
+ * Copyright (c) 2011, 2012 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,6 +19,7 @@ import org.eclipse.jetty.server.SessionIdManager;
 import org.eclipse.jetty.server.SessionManager;
 import org.eclipse.jetty.server.session.JDBCSessionIdManager;
 import org.eclipse.jetty.server.session.JDBCSessionManager;
+import org.eclipse.rap.rwt.cluster.testfixture.SessionReplicationMonitor;
 
 class ClusteredSessionManagerProvider implements ISessionManagerProvider {
   private static final long SCAVENGE_INTERVAL = 60 * 60; // 1 hour
@@ -33,7 +34,7 @@ class ClusteredSessionManagerProvider implements ISessionManagerProvider {
   }
 
   public SessionManager createSessionManager( Server server ) {
-    JDBCSessionManager result = new JDBCSessionManager();
+    JDBCSessionManager result = new MonitoredJDBCSessionManager();
     result.setSaveInterval( SAVE_INTERVAL );
     return result;
   }
@@ -65,4 +66,19 @@ class ClusteredSessionManagerProvider implements ISessionManagerProvider {
       DriverManager.deregisterDriver( databaseServer.getDriver() );
     }
   }
-}
\ No newline at end of file
+
+  private static class MonitoredJDBCSessionManager extends JDBCSessionManager {
+
+    @Override
+    protected void storeSession( Session session ) throws Exception {
+      SessionReplicationMonitor.recordReplication( session );
+      super.storeSession( session );
+    }
+
+    @Override
+    protected void updateSession( Session session ) throws Exception {
+      SessionReplicationMonitor.recordReplication( session );
+      super.updateSession( session );
+    }
+  }
+}
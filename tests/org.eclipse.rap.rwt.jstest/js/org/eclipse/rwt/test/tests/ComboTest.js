@@ -131,6 +131,99 @@ qx.Class.define( "org.eclipse.rwt.test.tests.ComboTest", {
       widget.destroy();
     },
 
+    testInsertItemsByProtocol : function() {
+      var TestUtil = org.eclipse.rwt.test.fixture.TestUtil;
+      var shell = TestUtil.createShellByProtocol( "w2" );
+      var processor = org.eclipse.rwt.protocol.Processor;
+      processor.processOperation( {
+        "target" : "w3",
+        "action" : "create",
+        "type" : "rwt.widgets.Combo",
+        "properties" : {
+          "style" : [],
+          "parent" : "w2",
+          "items" : [ "a", "b", "c" ]
+        }
+      } );
+      processor.processOperation( {
+        "target" : "w3",
+        "action" : "call",
+        "method" : "insertItems",
+        "properties" : { "index" : 1, "items" : [ "x", "y" ] }
+      } );
+      var ObjectManager = org.eclipse.rwt.protocol.ObjectManager;
+      var widget = ObjectManager.getObject( "w3" );
+      var items = widget._list.getItems();
+      assertEquals( 5, widget._list.getItemsCount() );
+      assertEquals( "a", items[ 0 ].getLabel() );
+      assertEquals( "x", items[ 1 ].getLabel() );
+      assertEquals( "y", items[ 2 ].getLabel() );
+      assertEquals( "b", items[ 3 ].getLabel() );
+      assertEquals( "c", items[ 4 ].getLabel() );
+      shell.destroy();
+      widget.destroy();
+    },
+
+    testRemoveItemsByProtocol : function() {
+      var TestUtil = org.eclipse.rwt.test.fixture.TestUtil;
+      var shell = TestUtil.createShellByProtocol( "w2" );
+      var processor = org.eclipse.rwt.protocol.Processor;
+      processor.processOperation( {
+        "target" : "w3",
+        "action" : "create",
+        "type" : "rwt.widgets.Combo",
+        "properties" : {
+          "style" : [],
+          "parent" : "w2",
+          "items" : [ "a", "b", "c" ]
+        }
+      } );
+      processor.processOperation( {
+        "target" : "w3",
+        "action" : "call",
+        "method" : "removeItems",
+        "properties" : { "index" : 0, "count" : 2 }
+      } );
+      var ObjectManager = org.eclipse.rwt.protocol.ObjectManager;
+      var widget = ObjectManager.getObject( "w3" );
+      var items = widget._list.getItems();
+      assertEquals( 1, widget._list.getItemsCount() );
+      assertEquals( "c", items[ 0 ].getLabel() );
+      shell.destroy();
+      widget.destroy();
+    },
+
+    testReplaceItemsByProtocol : function() {
+      var TestUtil = org.eclipse.rwt.test.fixture.TestUtil;
+      var shell = TestUtil.createShellByProtocol( "w2" );
+      var processor = org.eclipse.rwt.protocol.Processor;
+      processor.processOperation( {
+        "target" : "w3",
+        "action" : "create",
+        "type" : "rwt.widgets.Combo",
+        "properties" : {
+          "style" : [],
+          "parent" : "w2",
+          "items" : [ "a", "b", "c" ]
+        }
+      } );
+      processor.processOperation( {
+        "target" : "w3",
+        "action" : "call",
+        "method" : "replaceItems",
+        "properties" : { "index" : 1, "items" : [ "x", "y" ] }
+      } );
+      var ObjectManager = org.eclipse.rwt.protocol.ObjectManager;
+      var widget = ObjectManager.getObject( "w3" );
+      var items = widget._list.getItems();
+      assertEquals( 3, widget._list.getItemsCount() );
+      assertEquals( "a", items[ 0 ].getLabel() );
+      assertEquals( "x", items[ 1 ].getLabel() );
+      assertEquals( "y", items[ 2 ].getLabel() );
+      shell.destroy();
+      widget.destroy();
+    },
+
     testSetItemsEscapeTextByProtocol : function() {
       var TestUtil = org.eclipse.rwt.test.fixture.TestUtil;
       var shell = TestUtil.createShellByProtocol( "w2" );
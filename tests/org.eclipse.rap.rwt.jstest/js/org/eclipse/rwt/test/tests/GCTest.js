@@ -285,6 +285,63 @@ qx.Class.define( "org.eclipse.rwt.test.tests.GCTest", {
       org.eclipse.rwt.protocol.ObjectManager.getObject( "w3" ).destroy();
     },
 
+    testDrawPacked : function() {
+      var TestUtil = org.eclipse.rwt.test.fixture.TestUtil;
+      var canvas = new org.eclipse.swt.widgets.Composite();
+      canvas.setDimension( 300, 300 );
+      canvas.addToDocument();
+      TestUtil.flush();
+      var gc = new org.eclipse.swt.graphics.GC( canvas );
+      gc.init( 300, 300,
+               [ [ "Arial" ], 10, false, false ],
+               [ 255, 255, 255, 255 ], [ 0, 0, 0, 255 ] );
+      var templates = [
+        [ "lineWidth", null ],
+        [ "fillText", "Hello World", false, false, false, null, null ]
+      ];
+      gc.drawPacked( 0, templates, [ 0, 4, 1, 40, 50 ], undefined, false );
+      assertEquals( 4, gc._context.lineWidth );
+      assertEquals( 1, gc._textCanvas.childNodes.length );
+      var textNode = gc._textCanvas.firstChild;
+      assertEquals( "Hello World", textNode.innerHTML );
+      assertEquals( 40, parseInt( textNode.style.left ) );
+      assertEquals( 50, parseInt( textNode.style.top ) );
+      assertNull( gc._retained );
+      canvas.destroy();
+      TestUtil.flush();
+    },
+
+    testDrawPackedWithKnownTemplates : function() {
+      var gc = this._createGCByProtocol();
+      gc.drawPacked( 0, [ [ "lineWidth", null ], [ "lineCap", "round" ] ], [], undefined, false );
+      gc.drawPacked( 1, [ [ "lineJoin", "bevel" ] ], [ 0, 3, 1 ], undefined, false );
+      assertEquals( 3, gc._context.lineWidth );
+      assertEquals( "bevel", gc._context.lineJoin );
+      assertEquals( 2, gc._templates.length );
+      gc.dispose();
+      org.eclipse.rwt.protocol.ObjectManager.getObject( "w2" ).destroy();
+      org.eclipse.rwt.protocol.ObjectManager.getObject( "w3" ).destroy();
+    },
+
+    testDrawPackedChanges : function() {
+      var gc = this._createGCByProtocol();
+      var log = [];
+      gc.draw = function( operations ) {
+        log.push( operations );
+      };
+      var templates = [ [ "moveTo", null, null ], [ "stroke" ] ];
+      gc.drawPacked( 0, templates, [ 0, 1, 2, 1, 0, 3, 4, 1 ], undefined, true );
+      gc.drawPacked( 2, [], [ 0, 5, 6 ], [ 2, 1, 1 ], true );
+      var expected = [ [ "moveTo", 1, 2 ], [ "stroke" ], [ "moveTo", 5, 6 ], [ "stroke" ] ];
+      assertEquals( expected, log[ 1 ] );
+      gc.drawPacked( 2, [], [], [], true );
+      assertEquals( expected, log[ 2 ] );
+      delete gc.draw;
+      gc.dispose();
+      org.eclipse.rwt.protocol.ObjectManager.getObject( "w2" ).destroy();
+      org.eclipse.rwt.protocol.ObjectManager.getObject( "w3" ).destroy();
+    },
+
     /////////
     // Helper
     
@@ -105,6 +105,99 @@ qx.Class.define( "org.eclipse.rwt.test.tests.ListTest", {
       widget.destroy();
     },
 
+    testInsertItemsByProtocol : function() {
+      var TestUtil = org.eclipse.rwt.test.fixture.TestUtil;
+      var shell = TestUtil.createShellByProtocol( "w2" );
+      var processor = org.eclipse.rwt.protocol.Processor;
+      processor.processOperation( {
+        "target" : "w3",
+        "action" : "create",
+        "type" : "rwt.widgets.List",
+        "properties" : {
+          "style" : [],
+          "parent" : "w2",
+          "items" : [ "a", "b", "c" ]
+        }
+      } );
+      processor.processOperation( {
+        "target" : "w3",
+        "action" : "call",
+        "method" : "insertItems",
+        "properties" : { "index" : 1, "items" : [ "x", "y" ] }
+      } );
+      var ObjectManager = org.eclipse.rwt.protocol.ObjectManager;
+      var widget = ObjectManager.getObject( "w3" );
+      var items = widget.getItems();
+      assertEquals( 5, widget.getItemsCount() );
+      assertEquals( "a", items[ 0 ].getLabel() );
+      assertEquals( "x", items[ 1 ].getLabel() );
+      assertEquals( "y", items[ 2 ].getLabel() );
+      assertEquals( "b", items[ 3 ].getLabel() );
+      assertEquals( "c", items[ 4 ].getLabel() );
+      shell.destroy();
+      widget.destroy();
+    },
+
+    testRemoveItemsByProtocol : function() {
+      var TestUtil = org.eclipse.rwt.test.fixture.TestUtil;
+      var shell = TestUtil.createShellByProtocol( "w2" );
+      var processor = org.eclipse.rwt.protocol.Processor;
+      processor.processOperation( {
+        "target" : "w3",
+        "action" : "create",
+        "type" : "rwt.widgets.List",
+        "properties" : {
+          "style" : [],
+          "parent" : "w2",
+          "items" : [ "a", "b", "c" ]
+        }
+      } );
+      processor.processOperation( {
+        "target" : "w3",
+        "action" : "call",
+        "method" : "removeItems",
+        "properties" : { "index" : 0, "count" : 2 }
+      } );
+      var ObjectManager = org.eclipse.rwt.protocol.ObjectManager;
+      var widget = ObjectManager.getObject( "w3" );
+      var items = widget.getItems();
+      assertEquals( 1, widget.getItemsCount() );
+      assertEquals( "c", items[ 0 ].getLabel() );
+      shell.destroy();
+      widget.destroy();
+    },
+
+    testReplaceItemsByProtocol : function() {
+      var TestUtil = org.eclipse.rwt.test.fixture.TestUtil;
+      var shell = TestUtil.createShellByProtocol( "w2" );
+      var processor = org.eclipse.rwt.protocol.Processor;
+      processor.processOperation( {
+        "target" : "w3",
+        "action" : "create",
+        "type" : "rwt.widgets.List",
+        "properties" : {
+          "style" : [],
+          "parent" : "w2",
+          "items" : [ "a", "b", "c" ]
+        }
+      } );
+      processor.processOperation( {
+        "target" : "w3",
+        "action" : "call",
+        "method" : "replaceItems",
+        "properties" : { "index" : 1, "items" : [ "x", "y" ] }
+      } );
+      var ObjectManager = org.eclipse.rwt.protocol.ObjectManager;
+      var widget = ObjectManager.getObject( "w3" );
+      var items = widget.getItems();
+      assertEquals( 3, widget.getItemsCount() );
+      assertEquals( "a", items[ 0 ].getLabel() );
+      assertEquals( "x", items[ 1 ].getLabel() );
+      assertEquals( "y", items[ 2 ].getLabel() );
+      shell.destroy();
+      widget.destroy();
+    },
+
     testSetItemsEscapeTextByProtocol : function() {
       var TestUtil = org.eclipse.rwt.test.fixture.TestUtil;
       var shell = TestUtil.createShellByProtocol( "w2" );
@@ -492,6 +585,48 @@ qx.Class.define( "org.eclipse.rwt.test.tests.ListTest", {
       list.destroy();
     },
     
+    testRemoveSelectedItems : function() {
+      var TestUtil = org.eclipse.rwt.test.fixture.TestUtil;
+      var list = this._createDefaultList();
+      this._addItems( list, 5 );
+      TestUtil.flush();
+      list.selectItems( [ 1, 3 ] );
+      list.removeItems( 1, 2 );
+      TestUtil.flush();
+      var selection = this._getSelection( list );
+      assertEquals( 3, this._getItems( list ).length );
+      assertEquals( 1, selection.length );
+      assertEquals( "item3", selection[ 0 ].getLabel() );
+      list.selectAll();
+      list.destroy();
+    },
+
+    testVirtualSendsRequestAfterScrolling : function() {
+      var TestUtil = org.eclipse.rwt.test.fixture.TestUtil;
+      var list = this._createDefaultList();
+      list.setVirtual( true );
+      this._addItems( list, 300 );
+      TestUtil.flush();
+      org.eclipse.swt.WidgetManager.getInstance().add( list, "w3" );
+      list._vertScrollBar.setValue( 400 );
+      assertEquals( 0, TestUtil.getRequestsSend() );
+      TestUtil.forceInterval( list._sendRequestTimer );
+      assertEquals( 1, TestUtil.getRequestsSend() );
+      assertTrue( TestUtil.getMessage().indexOf( "w3.topIndex=20" ) != -1 );
+      list.destroy();
+    },
+
+    testNonVirtualDoesNotSendRequestAfterScrolling : function() {
+      var TestUtil = org.eclipse.rwt.test.fixture.TestUtil;
+      var list = this._createDefaultList();
+      this._addItems( list, 300 );
+      TestUtil.flush();
+      list._vertScrollBar.setValue( 400 );
+      assertNull( list._sendRequestTimer );
+      assertEquals( 0, TestUtil.getRequestsSend() );
+      list.destroy();
+    },
+
     testSendSelection : function() {
       var TestUtil = org.eclipse.rwt.test.fixture.TestUtil;
       var list = this._createDefaultList();
@@ -125,6 +125,20 @@ public class ApplicationContextConfigurator_Test extends TestCase {
     checkApplicationStoreHasBeenResetted();
   }
 
+  public void testDeactivateRunsDeactivationRunnables() {
+    activateApplicationContext( createConfigurator() );
+    final StringBuilder log = new StringBuilder();
+    applicationContext.addDeactivationRunnable( new Runnable() {
+      public void run() {
+        log.append( "deactivated" );
+      }
+    } );
+
+    applicationContext.deactivate();
+
+    assertEquals( "deactivated", log.toString() );
+  }
+
   private void activateApplicationContext( ApplicationConfiguration configuration ) {
     activateApplicationContext( configuration, null );
   }
@@ -91,6 +91,9 @@ public class ApplicationContext_Test extends TestCase {
 
     assertNotNull( context.getProbeStore() );
     assertSame( context.getProbeStore(), context.getProbeStore() );
+
+    assertNotNull( context.getJSCompressionCache() );
+    assertSame( context.getJSCompressionCache(), context.getJSCompressionCache() );
   }
 
   public void testStateAfterCreation() {
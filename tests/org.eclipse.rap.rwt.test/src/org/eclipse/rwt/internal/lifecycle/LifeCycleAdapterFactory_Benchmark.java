@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.lifecycle;
+
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.internal.theme.ThemeAdapterManager;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.widgets.WidgetTreeVisitor;
+import org.eclipse.swt.internal.widgets.WidgetTreeVisitor.AllWidgetTreeVisitor;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Combo;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.swt.widgets.Widget;
+
+
+/*
+ * Not part of the test suite (see surefire includes). Simulates sessions that render their widget
+ * trees in parallel and measures the throughput of the application-wide life cycle adapter and
+ * theme adapter lookups.
+ */
+public class LifeCycleAdapterFactory_Benchmark extends TestCase {
+
+  private static final int[] SESSION_COUNTS = { 1, 2, 4, 8, 16 };
+  private static final int REQUESTS_PER_SESSION = 2000;
+  // each request looks up the life cycle adapter of each widget in several phases
+  private static final int LOOKUPS_PER_WIDGET = 4;
+
+  private Widget[] widgets;
+  private LifeCycleAdapterFactory lifeCycleAdapterFactory;
+  private ThemeAdapterManager themeAdapterManager;
+
+  @Override
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+    widgets = createWidgetTree();
+    lifeCycleAdapterFactory = new LifeCycleAdapterFactory();
+    themeAdapterManager = new ThemeAdapterManager();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Fixture.tearDown();
+  }
+
+  public void testParallelSessions() throws InterruptedException {
+    runSessions( 1 );
+    for( int i = 0; i < SESSION_COUNTS.length; i++ ) {
+      int sessions = SESSION_COUNTS[ i ];
+      long duration = runSessions( sessions );
+      long lookups = ( long )sessions * REQUESTS_PER_SESSION * widgets.length * LOOKUPS_PER_WIDGET;
+      long throughput = lookups * 1000000000L / duration;
+      report( sessions + " sessions [lookups/s]", throughput );
+    }
+  }
+
+  private long runSessions( int sessions ) throws InterruptedException {
+    final CountDownLatch start = new CountDownLatch( 1 );
+    List<Thread> threads = new ArrayList<Thread>();
+    for( int i = 0; i < sessions; i++ ) {
+      Thread thread = new Thread( new Runnable() {
+        public void run() {
+          try {
+            start.await();
+          } catch( InterruptedException exception ) {
+            return;
+          }
+          for( int i = 0; i < REQUESTS_PER_SESSION; i++ ) {
+            simulateRequest();
+          }
+        }
+      } );
+      thread.start();
+      threads.add( thread );
+    }
+    long startTime = System.nanoTime();
+    start.countDown();
+    for( Thread thread : threads ) {
+      thread.join();
+    }
+    return System.nanoTime() - startTime;
+  }
+
+  private void simulateRequest() {
+    for( int phase = 0; phase < LOOKUPS_PER_WIDGET; phase++ ) {
+      for( int i = 0; i < widgets.length; i++ ) {
+        lifeCycleAdapterFactory.getAdapter( widgets[ i ] );
+      }
+    }
+    for( int i = 0; i < widgets.length; i++ ) {
+      themeAdapterManager.getThemeAdapter( widgets[ i ] );
+    }
+  }
+
+  private static Widget[] createWidgetTree() {
+    Display display = new Display();
+    Shell shell = new Shell( display );
+    for( int i = 0; i < 20; i++ ) {
+      Composite composite = new Composite( shell, SWT.NONE );
+      new Label( composite, SWT.NONE );
+      new Text( composite, SWT.BORDER );
+      new Button( composite, SWT.PUSH );
+      new Combo( composite, SWT.NONE );
+    }
+    final List<Widget> result = new ArrayList<Widget>();
+    WidgetTreeVisitor.accept( shell, new AllWidgetTreeVisitor() {
+      @Override
+      public boolean doVisit( Widget widget ) {
+        result.add( widget );
+        return true;
+      }
+    } );
+    return result.toArray( new Widget[ result.size() ] );
+  }
+}
@@ -120,6 +120,29 @@ public class LifeCycleAdapter_Test extends TestCase {
     assertSame( adapter1, adapter2 );
   }
 
+  public void testWidgetAdapterReturnsSameAdapterForConcurrentLookups() throws Exception {
+    Display display = new Display();
+    final Widget widget = new Shell( display );
+    final LifeCycleAdapterFactory factory = new LifeCycleAdapterFactory();
+    final Object[] adapters = new Object[ 8 ];
+    Thread[] threads = new Thread[ adapters.length ];
+    for( int i = 0; i < threads.length; i++ ) {
+      final int index = i;
+      threads[ i ] = new Thread( new Runnable() {
+        public void run() {
+          adapters[ index ] = factory.getAdapter( widget );
+        }
+      } );
+      threads[ i ].start();
+    }
+    for( int i = 0; i < threads.length; i++ ) {
+      threads[ i ].join();
+    }
+    for( int i = 0; i < adapters.length; i++ ) {
+      assertSame( adapters[ 0 ], adapters[ i ] );
+    }
+  }
+
   public void testGetAdapterWithMissingWidgetLCA() {
     Display display = new Display();
     Shell shell = new Shell( display );
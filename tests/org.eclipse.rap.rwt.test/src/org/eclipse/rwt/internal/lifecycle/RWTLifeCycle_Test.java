@@ -14,6 +14,7 @@ package org.eclipse.rwt.internal.lifecycle;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -834,9 +835,43 @@ public class RWTLifeCycle_Test extends TestCase {
                   errorInUIThread[ 0 ] );
     }
     // unblock ui thread, see bug 351277
-    synchronized( uiThread[ 0 ].getLock() ) {
-      uiThread[ 0 ].getLock().notifyAll();
+    uiThread[ 0 ].switchThread();
+    assertFalse( uiThread[ 0 ].isAlive() );
+  }
+
+  public void testSwitchThreadIgnoresSpuriousWakeUp() throws Exception {
+    final boolean[] returned = { false };
+    final UIThread uiThread = new UIThread( new Runnable() {
+      public void run() {
+        ( ( IUIThreadHolder )Thread.currentThread() ).switchThread();
+        synchronized( returned ) {
+          returned[ 0 ] = true;
+        }
+      }
+    } );
+    uiThread.setDaemon( true );
+    uiThread.start();
+    Thread.sleep( 100 );
+    synchronized( uiThread.getLock() ) {
+      uiThread.getLock().notifyAll();
     }
+    Thread.sleep( 100 );
+    synchronized( returned ) {
+      assertFalse( "switchThread must not return without hand-off", returned[ 0 ] );
+    }
+    uiThread.switchThread();
+    assertTrue( returned[ 0 ] );
+    assertFalse( uiThread.isAlive() );
+  }
+
+  public void testCreateUIThreadWithName() throws IOException {
+    RWTFactory.getEntryPointManager().registerByName( EntryPointUtil.DEFAULT, TestEntryPoint.class );
+    RWTLifeCycle lifeCycle = ( RWTLifeCycle )RWTFactory.getLifeCycleFactory().getLifeCycle();
+
+    lifeCycle.execute();
+
+    String sessionId = ContextProvider.getSessionStore().getId();
+    assertEquals( "UIThread [" + sessionId + "]", getUIThread().getName() );
   }
 
   public void testGetUIThreadWhileLifeCycleInExecute() throws IOException {
@@ -872,6 +907,25 @@ public class RWTLifeCycle_Test extends TestCase {
     assertNotNull( uiThread );
   }
 
+  public void testCreateUIThreadWithFactory() throws IOException {
+    RWTFactory.getEntryPointManager().registerByName( EntryPointUtil.DEFAULT, TestEntryPoint.class );
+    final List<String> names = new ArrayList<String>();
+    IUIThreadHolderFactory factory = new IUIThreadHolderFactory() {
+      public IUIThreadHolder createUIThreadHolder( Runnable runnable, String name ) {
+        names.add( name );
+        return new UIThreadFactory().createUIThreadHolder( runnable, name );
+      }
+    };
+    RWTLifeCycle lifeCycle = new RWTLifeCycle( factory ) {};
+
+    lifeCycle.execute();
+
+    String sessionId = ContextProvider.getSessionStore().getId();
+    assertEquals( 1, names.size() );
+    assertEquals( "UIThread [" + sessionId + "]", names.get( 0 ) );
+    assertTrue( getUIThread().isDaemon() );
+  }
+
   private static void invalidateSession( final ISessionStore session ) throws Throwable {
     Runnable runnable = new Runnable() {
       public void run() {
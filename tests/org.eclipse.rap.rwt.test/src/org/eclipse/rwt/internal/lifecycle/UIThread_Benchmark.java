@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.lifecycle;
+
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.report;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.internal.application.RWTFactory;
+import org.eclipse.rwt.internal.resources.SystemProps;
+import org.eclipse.rwt.internal.service.ContextProvider;
+import org.eclipse.rwt.lifecycle.IEntryPoint;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+
+/*
+ * Not part of the test suite (see surefire includes). Measures the heap consumed by idle sessions
+ * that park their UI thread in the event loop and the latency of a request round-trip.
+ * Run with -Dorg.eclipse.rap.uiThreadStackSize=<bytes> to compare stack sizes.
+ */
+public class UIThread_Benchmark extends TestCase {
+
+  private static final int SESSIONS = 500;
+  private static final int ROUND_TRIPS = 2000;
+
+  private List<HttpSession> sessions;
+
+  @Override
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+    RWTFactory.getEntryPointManager().registerByName( EntryPointUtil.DEFAULT,
+                                                      EventLoopEntryPoint.class );
+    sessions = new ArrayList<HttpSession>();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    for( HttpSession session : sessions ) {
+      session.invalidate();
+    }
+    Fixture.tearDown();
+  }
+
+  public void testMemoryPerIdleSession() throws Exception {
+    long heapBefore = usedHeap();
+    int threadsBefore = Thread.activeCount();
+    for( int i = 0; i < SESSIONS; i++ ) {
+      startSession();
+    }
+    long heapAfter = usedHeap();
+    int threadsAfter = Thread.activeCount();
+    report( "Idle sessions", SESSIONS );
+    report( "Stack size (0 = default)", SystemProps.getUIThreadStackSize() );
+    report( "Additional threads", threadsAfter - threadsBefore );
+    report( "Heap per idle session [bytes]", ( heapAfter - heapBefore ) / SESSIONS );
+  }
+
+  public void testRequestRoundTrip() throws Exception {
+    startSession();
+    Display display = LifeCycleUtil.getSessionDisplay();
+    for( int i = 0; i < ROUND_TRIPS / 10; i++ ) {
+      executeRequest( display );
+    }
+    long start = System.nanoTime();
+    for( int i = 0; i < ROUND_TRIPS; i++ ) {
+      executeRequest( display );
+    }
+    long duration = System.nanoTime() - start;
+    report( "Round-trips", ROUND_TRIPS );
+    report( "Average round-trip [ns]", duration / ROUND_TRIPS );
+  }
+
+  private void startSession() throws Exception {
+    ContextProvider.releaseContextHolder();
+    Fixture.createServiceContext();
+    Fixture.fakeResponseWriter();
+    HttpServletRequest request = ContextProvider.getRequest();
+    sessions.add( request.getSession() );
+    getLifeCycle().execute();
+  }
+
+  private static void executeRequest( Display display ) throws Exception {
+    Fixture.fakeNewRequest( display );
+    getLifeCycle().execute();
+  }
+
+  private static RWTLifeCycle getLifeCycle() {
+    return ( RWTLifeCycle )RWTFactory.getLifeCycleFactory().getLifeCycle();
+  }
+
+  private static long usedHeap() throws InterruptedException {
+    Runtime runtime = Runtime.getRuntime();
+    for( int i = 0; i < 3; i++ ) {
+      System.gc();
+      Thread.sleep( 100 );
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  public static final class EventLoopEntryPoint implements IEntryPoint {
+    public int createUI() {
+      Display display = new Display();
+      Shell shell = new Shell( display );
+      shell.open();
+      while( !shell.isDisposed() ) {
+        if( !display.readAndDispatch() ) {
+          display.sleep();
+        }
+      }
+      display.dispose();
+      return 0;
+    }
+  }
+}
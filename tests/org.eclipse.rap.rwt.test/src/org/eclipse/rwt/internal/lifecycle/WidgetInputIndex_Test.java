@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.lifecycle;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.internal.service.ContextProvider;
+import org.eclipse.rwt.lifecycle.WidgetUtil;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Widget;
+
+
+public class WidgetInputIndex_Test extends TestCase {
+
+  private Shell shell;
+  private Button button;
+
+  @Override
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+    Fixture.fakeNewRequest();
+    Display display = new Display();
+    shell = new Shell( display );
+    button = new Button( shell, SWT.PUSH );
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Fixture.tearDown();
+  }
+
+  public void testWithoutParameters() {
+    WidgetInputIndex index = createIndex();
+
+    assertFalse( hasInput( index, shell ) );
+    assertFalse( hasInput( index, button ) );
+  }
+
+  public void testWithPropertyParameter() {
+    Fixture.fakeRequestParam( WidgetUtil.getId( button ) + ".selection", "true" );
+
+    WidgetInputIndex index = createIndex();
+
+    assertTrue( hasInput( index, button ) );
+    assertFalse( hasInput( index, shell ) );
+  }
+
+  public void testWithNestedPropertyParameter() {
+    Fixture.fakeRequestParam( WidgetUtil.getId( shell ) + ".bounds.width", "30" );
+
+    WidgetInputIndex index = createIndex();
+
+    assertTrue( hasInput( index, shell ) );
+  }
+
+  public void testWithParameterNamedLikeWidget() {
+    Fixture.fakeRequestParam( WidgetUtil.getId( button ), "foo" );
+
+    WidgetInputIndex index = createIndex();
+
+    assertTrue( hasInput( index, button ) );
+  }
+
+  public void testWithEventParameter() {
+    Fixture.fakeRequestParam( JSConst.EVENT_WIDGET_SELECTED, WidgetUtil.getId( button ) );
+
+    WidgetInputIndex index = createIndex();
+
+    assertTrue( hasInput( index, button ) );
+    assertFalse( hasInput( index, shell ) );
+  }
+
+  public void testWithEventDetailParameter() {
+    Fixture.fakeRequestParam( JSConst.EVENT_WIDGET_SELECTED + ".detail", "check" );
+
+    WidgetInputIndex index = createIndex();
+
+    assertFalse( hasInput( index, button ) );
+  }
+
+  public void testGetPropertyValue() {
+    String buttonId = WidgetUtil.getId( button );
+    Fixture.fakeRequestParam( buttonId + ".selection", "true" );
+    Fixture.fakeRequestParam( buttonId + ".bounds.width", "30" );
+
+    WidgetInputIndex index = createIndex();
+
+    assertEquals( "true", index.getPropertyValue( buttonId, "selection" ) );
+    assertEquals( "30", index.getPropertyValue( buttonId, "bounds.width" ) );
+    assertNull( index.getPropertyValue( buttonId, "text" ) );
+    assertNull( index.getPropertyValue( WidgetUtil.getId( shell ), "selection" ) );
+  }
+
+  public void testGetPropertyValueWithDotInWidgetId() {
+    Fixture.fakeRequestParam( "custom.button.selection", "true" );
+
+    WidgetInputIndex index = createIndex();
+
+    assertTrue( index.getWidgetIds().contains( "custom.button" ) );
+    assertEquals( "true", index.getPropertyValue( "custom.button", "selection" ) );
+  }
+
+  public void testGetInstanceIsCreatedOncePerRequest() {
+    WidgetInputIndex index = WidgetInputIndex.getInstance();
+
+    assertSame( index, WidgetInputIndex.getInstance() );
+    Fixture.fakeNewRequest();
+    assertNotSame( index, WidgetInputIndex.getInstance() );
+  }
+
+  private static boolean hasInput( WidgetInputIndex index, Widget widget ) {
+    return index.getWidgetIds().contains( WidgetUtil.getId( widget ) );
+  }
+
+  private static WidgetInputIndex createIndex() {
+    return new WidgetInputIndex( ContextProvider.getRequest() );
+  }
+}
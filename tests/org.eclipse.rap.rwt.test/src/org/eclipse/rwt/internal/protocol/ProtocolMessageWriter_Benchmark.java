@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.protocol;
+
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.report;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.zip.GZIPOutputStream;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.internal.lifecycle.DisplayUtil;
+import org.eclipse.rwt.internal.service.ContextProvider;
+import org.eclipse.rwt.lifecycle.WidgetUtil;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.widgets.WidgetAdapter;
+import org.eclipse.swt.internal.widgets.WidgetTreeVisitor;
+import org.eclipse.swt.internal.widgets.WidgetTreeVisitor.AllWidgetTreeVisitor;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Widget;
+
+
+/*
+ * Not part of the test suite (see surefire includes). Measures the initial render of a table with
+ * 5000 items and compares creating the message as a string with streaming it to the response.
+ */
+public class ProtocolMessageWriter_Benchmark extends TestCase {
+
+  private static final int ITEMS = 5000;
+  private static final int COLUMNS = 4;
+  private static final int ITERATIONS = 20;
+
+  private Display display;
+  private Shell shell;
+
+  @Override
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+    display = new Display();
+    shell = new Shell( display );
+    createTable();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Fixture.tearDown();
+  }
+
+  public void testCreateMessage() throws IOException {
+    long duration = 0;
+    int length = 0;
+    for( int i = 0; i < ITERATIONS; i++ ) {
+      ProtocolMessageWriter protocolWriter = renderInitial();
+      long start = System.nanoTime();
+      String message = protocolWriter.createMessage();
+      new NullWriter().write( message );
+      duration += System.nanoTime() - start;
+      length = message.length();
+    }
+    report( "createMessage [ns/message]", duration / ITERATIONS );
+    report( "Retained last response [bytes]", length * 2 );
+  }
+
+  public void testWriteMessage() throws IOException {
+    long duration = 0;
+    for( int i = 0; i < ITERATIONS; i++ ) {
+      ProtocolMessageWriter protocolWriter = renderInitial();
+      long start = System.nanoTime();
+      protocolWriter.writeMessage( new NullWriter() );
+      duration += System.nanoTime() - start;
+    }
+    report( "writeMessage [ns/message]", duration / ITERATIONS );
+  }
+
+  public void testRetainedLastResponse() throws IOException {
+    ByteArrayOutputStream plain = new ByteArrayOutputStream();
+    Writer plainWriter = new OutputStreamWriter( plain, "UTF-8" );
+    renderInitial().writeMessage( plainWriter );
+    plainWriter.close();
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    Writer compressedWriter = new OutputStreamWriter( new GZIPOutputStream( compressed ), "UTF-8" );
+    renderInitial().writeMessage( compressedWriter );
+    compressedWriter.close();
+    report( "Retained UTF-8 last response [bytes]", plain.size() );
+    report( "Retained compressed last response [bytes]", compressed.size() );
+  }
+
+  private ProtocolMessageWriter renderInitial() throws IOException {
+    Fixture.fakeNewRequest( display );
+    WidgetTreeVisitor.accept( shell, new AllWidgetTreeVisitor() {
+      @Override
+      public boolean doVisit( Widget widget ) {
+        ( ( WidgetAdapter )WidgetUtil.getAdapter( widget ) ).setInitialized( false );
+        return true;
+      }
+    } );
+    DisplayUtil.getLCA( display ).render( display );
+    return ContextProvider.getProtocolWriter();
+  }
+
+  private void createTable() {
+    Table table = new Table( shell, SWT.NONE );
+    table.setSize( 800, 600 );
+    for( int i = 0; i < COLUMNS; i++ ) {
+      new TableColumn( table, SWT.NONE ).setText( "Column " + i );
+    }
+    for( int i = 0; i < ITEMS; i++ ) {
+      TableItem item = new TableItem( table, SWT.NONE );
+      for( int j = 0; j < COLUMNS; j++ ) {
+        item.setText( j, "Item " + i + "/" + j );
+      }
+    }
+  }
+
+  private static final class NullWriter extends Writer {
+
+    public void write( char[] buffer, int offset, int length ) {
+    }
+
+    public void flush() {
+    }
+
+    public void close() {
+    }
+  }
+}
@@ -12,6 +12,8 @@ package org.eclipse.rwt.internal.protocol;
 
 import static org.eclipse.rwt.internal.resources.TestUtil.assertArrayEquals;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -79,6 +81,30 @@ public class ProtocolMessageWriter_Test extends TestCase {
     }
   }
 
+  public void testWriteMessage() throws IOException {
+    ProtocolMessageWriter otherWriter = new ProtocolMessageWriter();
+    writer.appendMeta( ProtocolConstants.META_REQUEST_COUNTER, 1 );
+    otherWriter.appendMeta( ProtocolConstants.META_REQUEST_COUNTER, 1 );
+    writer.appendCreate( "target", "type" );
+    otherWriter.appendCreate( "target", "type" );
+    writer.appendSet( "target", "foo", new int[] { 1, 2 } );
+    otherWriter.appendSet( "target", "foo", new int[] { 1, 2 } );
+    StringWriter stringWriter = new StringWriter();
+
+    writer.writeMessage( stringWriter );
+
+    assertEquals( otherWriter.createMessage(), stringWriter.toString() );
+  }
+
+  public void testWriteMessageAfterCreate() throws IOException {
+    writer.createMessage();
+    try {
+      writer.writeMessage( new StringWriter() );
+      fail();
+    } catch( IllegalStateException expected ) {
+    }
+  }
+
   public void testAppendAfterCreate() {
     writer.createMessage();
     try {
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.resources;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+
+
+public class JSCompressionCache_Test extends TestCase {
+
+  private static final String CODE = "var foo = function( bar ) {\n  return bar + 1;\n};\n";
+
+  private File cacheDir;
+
+  @Override
+  protected void setUp() throws Exception {
+    cacheDir = new File( Fixture.TEMP_DIR, "jsCompressionCache" );
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Fixture.delete( cacheDir );
+    System.getProperties().remove( SystemProps.JS_COMPRESSION_CACHE_DIR );
+  }
+
+  public void testDisabledByDefault() {
+    JSCompressionCache cache = new JSCompressionCache();
+
+    assertFalse( cache.isEnabled() );
+  }
+
+  public void testEnabledBySystemProperty() {
+    System.setProperty( SystemProps.JS_COMPRESSION_CACHE_DIR, cacheDir.getAbsolutePath() );
+
+    JSCompressionCache cache = new JSCompressionCache();
+
+    assertTrue( cache.isEnabled() );
+  }
+
+  public void testCompressWithoutDirectory() throws Exception {
+    JSCompressionCache cache = new JSCompressionCache( null );
+
+    String compressed = cache.compress( CODE );
+
+    assertEquals( new JSFile( CODE ).compress(), compressed );
+    assertEquals( 1, cache.getMissCount() );
+    assertEquals( 0, cache.getHitCount() );
+    assertFalse( cacheDir.exists() );
+  }
+
+  public void testCompressWritesEntry() throws Exception {
+    JSCompressionCache cache = new JSCompressionCache( cacheDir );
+
+    cache.compress( CODE );
+
+    assertTrue( getEntry( CODE ).exists() );
+    assertEquals( 1, cacheDir.list().length );
+  }
+
+  public void testCompressReadsEntryOfPreviousInstance() throws Exception {
+    String expected = new JSCompressionCache( cacheDir ).compress( CODE );
+    JSCompressionCache cache = new JSCompressionCache( cacheDir );
+
+    String compressed = cache.compress( CODE );
+
+    assertEquals( expected, compressed );
+    assertEquals( 1, cache.getHitCount() );
+    assertEquals( 0, cache.getMissCount() );
+  }
+
+  public void testCompressReturnsCachedContent() throws Exception {
+    cacheDir.mkdirs();
+    write( getEntry( CODE ), "cached();" );
+    JSCompressionCache cache = new JSCompressionCache( cacheDir );
+
+    String compressed = cache.compress( CODE );
+
+    assertEquals( "cached();", compressed );
+  }
+
+  public void testCompressWithChangedCode() throws Exception {
+    JSCompressionCache cache = new JSCompressionCache( cacheDir );
+    cache.compress( CODE );
+
+    cache.compress( CODE + "foo();" );
+
+    assertEquals( 2, cache.getMissCount() );
+    assertEquals( 2, cacheDir.list().length );
+  }
+
+  public void testCreateKey() {
+    String key = JSCompressionCache.createKey( CODE );
+
+    assertEquals( 40, key.length() );
+    assertEquals( key, JSCompressionCache.createKey( CODE ) );
+    assertFalse( key.equals( JSCompressionCache.createKey( CODE + " " ) ) );
+  }
+
+  private File getEntry( String code ) {
+    return new File( cacheDir, JSCompressionCache.createKey( code ) + ".js" );
+  }
+
+  private static void write( File file, String content ) throws Exception {
+    OutputStream outputStream = new FileOutputStream( file );
+    try {
+      outputStream.write( content.getBytes( "UTF-8" ) );
+    } finally {
+      outputStream.close();
+    }
+  }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2011 Innoopract Informationssysteme GmbH.
+ * Copyright (c) 2002, 2012 Innoopract Informationssysteme GmbH.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,7 @@ package org.eclipse.rwt.internal.resources;
 
 import java.io.*;
 import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
 
 import junit.framework.TestCase;
 
@@ -265,6 +266,56 @@ public class ResourceManagerImpl_Test extends TestCase {
     assertFalse( resourceFile.exists() );
   }
 
+  public void testPrecompressedRegistration() throws Exception {
+    System.setProperty( SystemProps.PRECOMPRESS_RESOURCES, "true" );
+    IResourceManager manager = getResourceManager();
+    byte[] content = new byte[ ResourceManagerImpl.MIN_GZIP_LENGTH ];
+    Arrays.fill( content, ( byte )'a' );
+    InputStream inputStream = new ByteArrayInputStream( content );
+
+    manager.register( TEST_RESOURCE_1, inputStream, "UTF-8", RegisterOptions.NONE );
+
+    File gzipFile = getResourceCopyFile( TEST_RESOURCE_1 + ResourceManagerImpl.GZIP_SUFFIX );
+    assertTrue( gzipFile.exists() );
+    InputStream gzipStream = new GZIPInputStream( new FileInputStream( gzipFile ) );
+    assertEquals( content, ResourceUtil.readBinary( gzipStream ) );
+  }
+
+  public void testSmallResourceIsNotPrecompressed() {
+    System.setProperty( SystemProps.PRECOMPRESS_RESOURCES, "true" );
+    IResourceManager manager = getResourceManager();
+    InputStream inputStream = new ByteArrayInputStream( new byte[ 10 ] );
+
+    manager.register( TEST_RESOURCE_1, inputStream, "UTF-8", RegisterOptions.NONE );
+
+    assertFalse( getResourceCopyFile( TEST_RESOURCE_1 + ResourceManagerImpl.GZIP_SUFFIX ).exists() );
+  }
+
+  public void testUnregisterDeletesPrecompressedFile() {
+    System.setProperty( SystemProps.PRECOMPRESS_RESOURCES, "true" );
+    IResourceManager manager = getResourceManager();
+    byte[] content = new byte[ ResourceManagerImpl.MIN_GZIP_LENGTH ];
+    InputStream inputStream = new ByteArrayInputStream( content );
+    manager.register( TEST_RESOURCE_1, inputStream, "UTF-8", RegisterOptions.NONE );
+
+    manager.unregister( TEST_RESOURCE_1 );
+
+    assertFalse( getResourceCopyFile( TEST_RESOURCE_1 + ResourceManagerImpl.GZIP_SUFFIX ).exists() );
+  }
+
+  public void testIsVersionedFile() {
+    System.setProperty( SystemProps.USE_VERSIONED_JAVA_SCRIPT, "true" );
+    ResourceManagerImpl manager = getResourceManager();
+    manager.register( TEST_RESOURCE_1, HTTP.CHARSET_UTF_8, RegisterOptions.VERSION );
+    manager.register( TEST_RESOURCE_2 );
+
+    assertTrue( manager.isVersionedFile( TEST_RESOURCE_1_VERSIONED ) );
+    assertFalse( manager.isVersionedFile( TEST_RESOURCE_1 ) );
+    assertFalse( manager.isVersionedFile( TEST_RESOURCE_2 ) );
+    assertEquals( HTTP.CHARSET_UTF_8, manager.getFileCharset( TEST_RESOURCE_1_VERSIONED ) );
+    assertNull( manager.getFileCharset( TEST_RESOURCE_2 ) );
+  }
+
   public void testLocationRetrieval() {
     IResourceManager manager = getResourceManager( );
     manager.register( TEST_RESOURCE_1 );
@@ -387,6 +438,7 @@ public class ResourceManagerImpl_Test extends TestCase {
   }
 
   protected void tearDown() throws Exception {
+    System.getProperties().remove( SystemProps.PRECOMPRESS_RESOURCES );
     clearTempFile();
     Fixture.tearDown();
   }
@@ -422,6 +474,7 @@ public class ResourceManagerImpl_Test extends TestCase {
   private static void clearTempFile() {
     Fixture.delete( getResourceCopyFile( TEST_RESOURCE_1_JAR ) );
     Fixture.delete( getResourceCopyFile( TEST_RESOURCE_1 ) );
+    Fixture.delete( getResourceCopyFile( TEST_RESOURCE_1 + ResourceManagerImpl.GZIP_SUFFIX ) );
     Fixture.delete( getResourceCopyFile( TEST_RESOURCE_1_VERSIONED ) );
     Fixture.delete( getResourceCopyFile( TEST_RESOURCE_2 ) );
     Fixture.delete( getResourceCopyFile( TEST_RESOURCE_3 ) );
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.resources;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.http.HttpServletResponse;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rap.rwt.testfixture.TestRequest;
+import org.eclipse.rap.rwt.testfixture.TestResponse;
+import org.eclipse.rap.rwt.testfixture.TestServletOutputStream;
+import org.eclipse.rwt.internal.application.ApplicationContextUtil;
+import org.eclipse.rwt.internal.application.RWTFactory;
+import org.eclipse.rwt.internal.util.HTTP;
+import org.eclipse.rwt.resources.IResourceManager;
+import org.eclipse.rwt.resources.IResourceManager.RegisterOptions;
+
+
+public class ResourceServlet_Test extends TestCase {
+
+  private static final String NAME = "resourceServlet/test.js";
+
+  private ResourceServlet servlet;
+  private IResourceManager resourceManager;
+  private byte[] content;
+
+  @Override
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+    Fixture.useDefaultResourceManager();
+    System.setProperty( SystemProps.PRECOMPRESS_RESOURCES, "true" );
+    resourceManager = RWTFactory.getResourceManager();
+    servlet = new ResourceServlet( ApplicationContextUtil.getInstance() );
+    StringBuilder code = new StringBuilder();
+    for( int i = 0; i < 100; i++ ) {
+      code.append( "var foo" + i + " = \"bar\";\n" );
+    }
+    content = code.toString().getBytes( HTTP.CHARSET_UTF_8 );
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Fixture.delete( new File( Fixture.WEB_CONTEXT_DIR, ResourceManagerImpl.RESOURCES ) );
+    System.getProperties().remove( SystemProps.PRECOMPRESS_RESOURCES );
+    Fixture.tearDown();
+  }
+
+  public void testNotFound() throws Exception {
+    TestResponse response = get( "doesNotExist.js", null );
+
+    assertEquals( HttpServletResponse.SC_NOT_FOUND, response.getErrorStatus() );
+  }
+
+  public void testPathOutsideOfResourcesDirectory() throws Exception {
+    register( RegisterOptions.NONE );
+
+    TestResponse response = get( "resourceServlet/../../" + NAME, null );
+
+    assertEquals( HttpServletResponse.SC_NOT_FOUND, response.getErrorStatus() );
+  }
+
+  public void testDeliversContent() throws Exception {
+    register( RegisterOptions.NONE );
+
+    TestResponse response = get( NAME, null );
+
+    assertTrue( Arrays.equals( content, getContent( response ) ) );
+    assertNull( response.getHeader( "Content-Encoding" ) );
+    assertEquals( "text/javascript; charset=UTF-8", response.getContentType() );
+    assertNotNull( response.getHeader( "ETag" ) );
+    assertNull( response.getHeader( "Cache-Control" ) );
+  }
+
+  public void testDeliversGzipVariant() throws Exception {
+    register( RegisterOptions.NONE );
+
+    TestResponse response = get( NAME, "deflate, gzip" );
+
+    byte[] compressed = getContent( response );
+    assertTrue( compressed.length < content.length );
+    assertTrue( Arrays.equals( content, gunzip( compressed ) ) );
+    assertEquals( "gzip", response.getHeader( "Content-Encoding" ) );
+    assertEquals( "Accept-Encoding", response.getHeader( "Vary" ) );
+  }
+
+  public void testDoesNotDeliverGzipVariantWithZeroQuality() throws Exception {
+    register( RegisterOptions.NONE );
+
+    TestResponse response = get( NAME, "gzip;q=0, deflate" );
+
+    assertTrue( Arrays.equals( content, getContent( response ) ) );
+    assertNull( response.getHeader( "Content-Encoding" ) );
+  }
+
+  public void testWithoutPrecompression() throws Exception {
+    System.getProperties().remove( SystemProps.PRECOMPRESS_RESOURCES );
+    register( RegisterOptions.NONE );
+
+    TestResponse response = get( NAME, "gzip" );
+
+    assertTrue( Arrays.equals( content, getContent( response ) ) );
+    assertNull( response.getHeader( "Content-Encoding" ) );
+    assertNull( response.getHeader( "Vary" ) );
+  }
+
+  public void testNotModified() throws Exception {
+    register( RegisterOptions.NONE );
+    String etag = get( NAME, "gzip" ).getHeader( "ETag" );
+    TestRequest request = createRequest( NAME, "gzip" );
+    request.setHeader( "If-None-Match", etag );
+    TestResponse response = new TestResponse();
+
+    servlet.doGet( request, response );
+
+    assertEquals( HttpServletResponse.SC_NOT_MODIFIED, response.getStatus() );
+    assertEquals( 0, getContent( response ).length );
+  }
+
+  public void testETagDiffersForGzipVariant() throws Exception {
+    register( RegisterOptions.NONE );
+
+    String etag = get( NAME, null ).getHeader( "ETag" );
+    String gzipETag = get( NAME, "gzip" ).getHeader( "ETag" );
+
+    assertFalse( etag.equals( gzipETag ) );
+  }
+
+  public void testVersionedResourceIsCachedForever() throws Exception {
+    System.setProperty( SystemProps.USE_VERSIONED_JAVA_SCRIPT, "true" );
+    register( RegisterOptions.VERSION );
+    String location = resourceManager.getLocation( NAME );
+    String path = location.substring( ResourceManagerImpl.RESOURCES.length() + 1 );
+
+    TestResponse response = get( path, null );
+
+    assertTrue( Arrays.equals( content, getContent( response ) ) );
+    assertEquals( ResourceServlet.CACHE_CONTROL_VERSIONED, response.getHeader( "Cache-Control" ) );
+  }
+
+  public void testUnregisteredResourceNotFound() throws Exception {
+    register( RegisterOptions.NONE );
+    get( NAME, null );
+    resourceManager.unregister( NAME );
+
+    TestResponse response = get( NAME, null );
+
+    assertEquals( HttpServletResponse.SC_NOT_FOUND, response.getErrorStatus() );
+  }
+
+  public void testAcceptsGzip() {
+    assertTrue( acceptsGzip( "gzip" ) );
+    assertTrue( acceptsGzip( "deflate, GZIP;q=0.5" ) );
+    assertTrue( acceptsGzip( "*" ) );
+    assertFalse( acceptsGzip( null ) );
+    assertFalse( acceptsGzip( "deflate" ) );
+    assertFalse( acceptsGzip( "gzip; q=0.0" ) );
+  }
+
+  private void register( RegisterOptions options ) {
+    ByteArrayInputStream inputStream = new ByteArrayInputStream( content );
+    resourceManager.register( NAME, inputStream, HTTP.CHARSET_UTF_8, options );
+  }
+
+  private TestResponse get( String path, String acceptEncoding ) throws Exception {
+    TestResponse result = new TestResponse();
+    servlet.doGet( createRequest( path, acceptEncoding ), result );
+    return result;
+  }
+
+  private static TestRequest createRequest( String path, String acceptEncoding ) {
+    TestRequest result = new TestRequest();
+    result.setPathInfo( "/" + path );
+    if( acceptEncoding != null ) {
+      result.setHeader( "Accept-Encoding", acceptEncoding );
+    }
+    return result;
+  }
+
+  private static boolean acceptsGzip( String acceptEncoding ) {
+    TestRequest request = new TestRequest();
+    request.setHeader( "Accept-Encoding", acceptEncoding );
+    return ResourceServlet.acceptsGzip( request );
+  }
+
+  private static byte[] getContent( TestResponse response ) throws IOException {
+    TestServletOutputStream outputStream = ( TestServletOutputStream )response.getOutputStream();
+    return outputStream.getContent().toByteArray();
+  }
+
+  private static byte[] gunzip( byte[] compressed ) throws IOException {
+    return ResourceUtil.readBinary( new GZIPInputStream( new ByteArrayInputStream( compressed ) ) );
+  }
+}
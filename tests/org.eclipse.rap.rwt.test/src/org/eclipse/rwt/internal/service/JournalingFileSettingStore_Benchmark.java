@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.service;
+
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.report;
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.toMillis;
+
+import java.io.File;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.internal.application.RWTFactory;
+import org.eclipse.rwt.service.FileSettingStore;
+import org.eclipse.rwt.service.ISettingStore;
+
+
+/*
+ * Not part of the test suite (see surefire includes). Changes the settings of many sessions
+ * concurrently, like workbench preferences do, and reports the time the request threads spend
+ * in the setting store. The FileSettingStore rewrites its file on every change.
+ */
+public class JournalingFileSettingStore_Benchmark extends TestCase {
+
+  private static final int SESSIONS = 50;
+  private static final int CHANGES = 200;
+  private static final int ATTRIBUTES = 50;
+
+  private File workDir;
+
+  @Override
+  protected void setUp() throws Exception {
+    workDir = new File( Fixture.TEMP_DIR, "settingStoreBenchmark" );
+    workDir.mkdirs();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Fixture.delete( workDir );
+  }
+
+  public void testFileSettingStore() throws Exception {
+    ISettingStore[] stores = new ISettingStore[ SESSIONS ];
+    for( int i = 0; i < SESSIONS; i++ ) {
+      stores[ i ] = new FileSettingStore( workDir );
+    }
+    report( getLabel( "FileSettingStore" ), toMillis( changeConcurrently( stores ) ) );
+  }
+
+  public void testJournalingFileSettingStore() throws Exception {
+    ISettingStore[] stores = new ISettingStore[ SESSIONS ];
+    for( int i = 0; i < SESSIONS; i++ ) {
+      stores[ i ] = new JournalingFileSettingStore( workDir );
+    }
+    long duration = changeConcurrently( stores );
+    long start = System.nanoTime();
+    RWTFactory.getSettingStoreWriter().flushAll();
+    report( getLabel( "JournalingFileSettingStore" ), toMillis( duration ) );
+    report( getLabel( "JournalingFileSettingStore flush" ), toMillis( System.nanoTime() - start ) );
+  }
+
+  private static long changeConcurrently( final ISettingStore[] stores ) throws Exception {
+    final Throwable[] failure = new Throwable[ 1 ];
+    Thread[] threads = new Thread[ stores.length ];
+    for( int i = 0; i < stores.length; i++ ) {
+      final ISettingStore store = stores[ i ];
+      threads[ i ] = new Thread( new Runnable() {
+        public void run() {
+          try {
+            for( int j = 0; j < CHANGES; j++ ) {
+              store.setAttribute( "preference" + j % ATTRIBUTES, "value" + j );
+            }
+          } catch( Throwable throwable ) {
+            failure[ 0 ] = throwable;
+          }
+        }
+      } );
+    }
+    long start = System.nanoTime();
+    for( int i = 0; i < threads.length; i++ ) {
+      threads[ i ].start();
+    }
+    for( int i = 0; i < threads.length; i++ ) {
+      threads[ i ].join();
+    }
+    long result = System.nanoTime() - start;
+    if( failure[ 0 ] != null ) {
+      throw new RuntimeException( failure[ 0 ] );
+    }
+    return result;
+  }
+
+  private static String getLabel( String storeName ) {
+    return storeName + " [ms for " + SESSIONS + " sessions x " + CHANGES + " changes]";
+  }
+}
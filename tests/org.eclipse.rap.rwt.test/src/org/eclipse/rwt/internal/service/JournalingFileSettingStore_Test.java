@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.service;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.internal.application.RWTFactory;
+import org.eclipse.rwt.internal.resources.SystemProps;
+import org.eclipse.rwt.service.FileSettingStore;
+import org.eclipse.rwt.service.FileSettingStore_Test;
+import org.eclipse.rwt.service.ISettingStoreFactory;
+import org.eclipse.rwt.service.RWTFileSettingStoreFactory;
+
+
+/**
+ * Tests for the class {@link JournalingFileSettingStore}, runs the tests of the
+ * {@link FileSettingStore} against it.
+ */
+public class JournalingFileSettingStore_Test extends FileSettingStore_Test {
+
+  private ISettingStoreFactory factory = new RWTFileSettingStoreFactory();
+  private File workDir;
+
+  @Override
+  protected void setUp() {
+    System.setProperty( SystemProps.JOURNAL_SETTING_STORE, "true" );
+    super.setUp();
+    workDir = new File( Fixture.TEMP_DIR, "journalingSettingStore" );
+    workDir.mkdirs();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    RWTFactory.getSettingStoreWriter().flushAll();
+    Fixture.delete( workDir );
+    System.getProperties().remove( SystemProps.JOURNAL_SETTING_STORE );
+    super.tearDown();
+  }
+
+  @Override
+  protected ISettingStoreFactory getFactory() {
+    return factory;
+  }
+
+  @Override
+  public void testFactoryCreatesRightInstance() {
+    String id = getClass().getName();
+    assertTrue( factory.createSettingStore( id ) instanceof JournalingFileSettingStore );
+  }
+
+  public void testSetAttributeDoesNotWrite() throws Exception {
+    JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+
+    store.setAttribute( "key", "value" );
+
+    assertFalse( new File( workDir, store.getId() ).exists() );
+    assertFalse( getJournalFile( store.getId() ).exists() );
+  }
+
+  public void testFlushAppendsToJournal() throws Exception {
+    JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+    store.setAttribute( "key", "value" );
+
+    store.flush();
+
+    assertFalse( new File( workDir, store.getId() ).exists() );
+    assertTrue( getJournalFile( store.getId() ).exists() );
+    assertEquals( "value", load( store.getId() ).getAttribute( "key" ) );
+  }
+
+  public void testLoadReplaysJournal() throws Exception {
+    JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+    store.setAttribute( "key 1", "value=1\n" );
+    store.setAttribute( "key2", "value2" );
+    store.flush();
+    store.removeAttribute( "key2" );
+    store.setAttribute( "key3", "äöü" );
+    store.flush();
+
+    JournalingFileSettingStore loaded = load( store.getId() );
+
+    assertEquals( "value=1\n", loaded.getAttribute( "key 1" ) );
+    assertNull( loaded.getAttribute( "key2" ) );
+    assertEquals( "äöü", loaded.getAttribute( "key3" ) );
+  }
+
+  public void testLoadIgnoresIncompleteJournalLine() throws Exception {
+    JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+    store.setAttribute( "key", "value" );
+    store.flush();
+    append( getJournalFile( store.getId() ), "S key2 %E" );
+    store.setAttribute( "key3", "value3" );
+    store.flush();
+
+    JournalingFileSettingStore loaded = load( store.getId() );
+
+    assertEquals( "value", loaded.getAttribute( "key" ) );
+    assertNull( loaded.getAttribute( "key2" ) );
+    assertEquals( "value3", loaded.getAttribute( "key3" ) );
+  }
+
+  public void testCompactWritesPropertiesFile() throws Exception {
+    JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+    store.setAttribute( "key", "value" );
+    store.flush();
+
+    store.compact();
+
+    assertFalse( getJournalFile( store.getId() ).exists() );
+    FileSettingStore fileSettingStore = new FileSettingStore( workDir );
+    fileSettingStore.loadById( store.getId() );
+    assertEquals( "value", fileSettingStore.getAttribute( "key" ) );
+  }
+
+  public void testFlushCompactsLongJournal() throws Exception {
+    JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+    for( int i = 0; i <= JournalingFileSettingStore.COMPACTION_THRESHOLD; i++ ) {
+      store.setAttribute( "key", "value" + i );
+    }
+
+    store.flush();
+
+    assertFalse( getJournalFile( store.getId() ).exists() );
+    String expected = "value" + JournalingFileSettingStore.COMPACTION_THRESHOLD;
+    assertEquals( expected, load( store.getId() ).getAttribute( "key" ) );
+  }
+
+  public void testLoadCompletesInterruptedCompaction() throws Exception {
+    JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+    store.setAttribute( "key", "value1" );
+    store.setAttribute( "key2", "value2" );
+    store.flush();
+    getJournalFile( store.getId() ).renameTo( getCompactingFile( store.getId() ) );
+    writeProperties( getTempFile( store.getId() ), "key", "value3" );
+
+    JournalingFileSettingStore loaded = load( store.getId() );
+
+    assertEquals( "value3", loaded.getAttribute( "key" ) );
+    assertNull( loaded.getAttribute( "key2" ) );
+    assertFalse( getCompactingFile( store.getId() ).exists() );
+    assertFalse( getTempFile( store.getId() ).exists() );
+  }
+
+  public void testLoadDoesNotReplayCompactedJournal() throws Exception {
+    JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+    store.setAttribute( "key", "value1" );
+    store.setAttribute( "key2", "value2" );
+    store.flush();
+    getJournalFile( store.getId() ).renameTo( getCompactingFile( store.getId() ) );
+    writeProperties( new File( workDir, store.getId() ), "key", "value3" );
+
+    JournalingFileSettingStore loaded = load( store.getId() );
+
+    assertEquals( "value3", loaded.getAttribute( "key" ) );
+    assertNull( loaded.getAttribute( "key2" ) );
+    assertFalse( getCompactingFile( store.getId() ).exists() );
+  }
+
+  public void testLoadDiscardsIncompleteCompaction() throws Exception {
+    JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+    store.setAttribute( "key", "value1" );
+    store.flush();
+    append( getTempFile( store.getId() ), "key=val" );
+
+    JournalingFileSettingStore loaded = load( store.getId() );
+
+    assertEquals( "value1", loaded.getAttribute( "key" ) );
+    assertFalse( getTempFile( store.getId() ).exists() );
+  }
+
+  public void testCompactRemovesIntermediateFiles() throws Exception {
+    JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+    store.setAttribute( "key", "value" );
+    store.flush();
+
+    store.compact();
+
+    assertFalse( getCompactingFile( store.getId() ).exists() );
+    assertFalse( getTempFile( store.getId() ).exists() );
+    assertEquals( "value", load( store.getId() ).getAttribute( "key" ) );
+  }
+
+  public void testReadsFileSettingStore() throws Exception {
+    FileSettingStore fileSettingStore = new FileSettingStore( workDir );
+    fileSettingStore.setAttribute( "key", "value" );
+
+    JournalingFileSettingStore loaded = load( fileSettingStore.getId() );
+
+    assertEquals( "value", loaded.getAttribute( "key" ) );
+  }
+
+  public void testWritesInBackground() throws Exception {
+    JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+
+    store.setAttribute( "key", "value" );
+
+    File journalFile = getJournalFile( store.getId() );
+    long timeout = System.currentTimeMillis() + 20 * JournalingFileSettingStore.FLUSH_DELAY;
+    while( !journalFile.exists() && System.currentTimeMillis() < timeout ) {
+      Thread.sleep( 10 );
+    }
+    assertTrue( journalFile.exists() );
+  }
+
+  public void testCompactOnSessionEnd() throws Exception {
+    JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+    store.compactOnDestroy( ContextProvider.getSessionStore() );
+    store.setAttribute( "key", "value" );
+
+    ContextProvider.getSessionStore().getHttpSession().invalidate();
+
+    assertTrue( new File( workDir, store.getId() ).exists() );
+    assertFalse( getJournalFile( store.getId() ).exists() );
+  }
+
+  public void testFlushAll() throws Exception {
+    JournalingFileSettingStore store = new JournalingFileSettingStore( workDir );
+    store.setAttribute( "key", "value" );
+
+    RWTFactory.getSettingStoreWriter().flushAll();
+
+    assertTrue( getJournalFile( store.getId() ).exists() );
+  }
+
+  public void testFlushAllOfOtherWriter() throws Exception {
+    SettingStoreWriter writer = new SettingStoreWriter();
+    JournalingFileSettingStore store = new JournalingFileSettingStore( workDir, writer );
+    store.setAttribute( "key", "value" );
+
+    RWTFactory.getSettingStoreWriter().flushAll();
+
+    assertFalse( getJournalFile( store.getId() ).exists() );
+    writer.dispose();
+    assertTrue( getJournalFile( store.getId() ).exists() );
+  }
+
+  private JournalingFileSettingStore load( String id ) throws Exception {
+    JournalingFileSettingStore result = new JournalingFileSettingStore( workDir );
+    result.loadById( id );
+    return result;
+  }
+
+  private File getJournalFile( String id ) {
+    return new File( workDir, id + ".journal" );
+  }
+
+  private File getCompactingFile( String id ) {
+    return new File( workDir, id + ".journal.compacting" );
+  }
+
+  private File getTempFile( String id ) {
+    return new File( workDir, id + ".tmp" );
+  }
+
+  private static void writeProperties( File file, String key, String value )
+    throws IOException
+  {
+    Properties properties = new Properties();
+    properties.setProperty( key, value );
+    OutputStream outputStream = new FileOutputStream( file );
+    try {
+      properties.store( outputStream, null );
+    } finally {
+      outputStream.close();
+    }
+  }
+
+  private static void append( File file, String string ) throws IOException {
+    OutputStream outputStream = new FileOutputStream( file, true );
+    try {
+      outputStream.write( string.getBytes( "UTF-8" ) );
+    } finally {
+      outputStream.close();
+    }
+  }
+}
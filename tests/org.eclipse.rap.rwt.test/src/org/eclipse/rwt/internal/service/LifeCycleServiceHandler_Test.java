@@ -32,6 +32,7 @@ import org.eclipse.rwt.internal.application.ApplicationContext;
 import org.eclipse.rwt.internal.application.ApplicationContextUtil;
 import org.eclipse.rwt.internal.application.RWTFactory;
 import org.eclipse.rwt.internal.lifecycle.*;
+import org.eclipse.rwt.internal.resources.SystemProps;
 import org.eclipse.rwt.internal.util.HTTP;
 import org.eclipse.rwt.lifecycle.IEntryPoint;
 import org.eclipse.rwt.lifecycle.ILifeCycle;
@@ -218,6 +219,51 @@ public class LifeCycleServiceHandler_Test extends TestCase {
     assertEquals( HttpServletResponse.SC_FORBIDDEN, response.getStatus() );
   }
 
+  public void testSendLastResponseForAlreadyProcessedRequest() throws IOException {
+    Display display = new Display();
+    String lastResponse = simulateProcessedRequest( display );
+    simulateUiRequestWithCounter( display, "3" );
+
+    new LifeCycleServiceHandler( mockLifeCycleFactory(), getStartupPage() ).service();
+
+    TestResponse response = ( TestResponse )ContextProvider.getResponse();
+    assertEquals( lastResponse, response.getContent() );
+  }
+
+  public void testSendCompressedLastResponseForAlreadyProcessedRequest() throws IOException {
+    System.setProperty( SystemProps.COMPRESS_LAST_RESPONSE, "true" );
+    try {
+      Display display = new Display();
+      String lastResponse = simulateProcessedRequest( display );
+      simulateUiRequestWithCounter( display, "3" );
+
+      new LifeCycleServiceHandler( mockLifeCycleFactory(), getStartupPage() ).service();
+
+      TestResponse response = ( TestResponse )ContextProvider.getResponse();
+      assertEquals( lastResponse, response.getContent() );
+    } finally {
+      System.getProperties().remove( SystemProps.COMPRESS_LAST_RESPONSE );
+    }
+  }
+
+  private String simulateProcessedRequest( Display display ) throws IOException {
+    LifeCycleServiceHandler.markSessionStarted();
+    RWTRequestVersionControl.getInstance().setCurrentRequestId( Integer.valueOf( 3 ) );
+    simulateUiRequestWithCounter( display, "3" );
+    ContextProvider.getProtocolWriter().appendSet( "w1", "text", "\u00e4\u20ac" );
+    new LifeCycleServiceHandler( mockLifeCycleFactory(), getStartupPage() ).service();
+    RWTRequestVersionControl.getInstance().nextRequestId();
+    TestResponse response = ( TestResponse )ContextProvider.getResponse();
+    return response.getContent();
+  }
+
+  private void simulateUiRequestWithCounter( Display display, String requestCounter ) {
+    Fixture.fakeNewRequest( display );
+    Fixture.fakeRequestParam( "requestCounter", requestCounter );
+    TestRequest request = ( TestRequest )ContextProvider.getRequest();
+    request.setServletPath( "/test" );
+  }
+
   private void simulateInitialUiRequest() {
     Fixture.fakeNewRequest( new Display() );
     TestRequest request = ( TestRequest )ContextProvider.getRequest();
@@ -185,6 +185,16 @@ public class SessionStoreImpl_Test extends TestCase {
     assertFalse( attributeNames.hasMoreElements() );
   }
 
+  public void testSetAttributeToNullRemovesAttribute() {
+    String attributeName = "name";
+    session.setAttribute( attributeName, new Object() );
+
+    session.setAttribute( attributeName, null );
+
+    assertNull( session.getAttribute( attributeName ) );
+    assertFalse( session.getAttributeNames().hasMoreElements() );
+  }
+
   public void testSetAttributeWithNullName() {
     try {
       session.setAttribute( null, new Object() );
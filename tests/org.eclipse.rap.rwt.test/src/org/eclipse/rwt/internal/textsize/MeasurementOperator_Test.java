@@ -11,6 +11,8 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.textsize;
 
+import java.util.Arrays;
+
 import junit.framework.TestCase;
 
 import org.eclipse.rap.rwt.testfixture.Fixture;
@@ -19,10 +21,13 @@ import org.eclipse.rap.rwt.testfixture.Message.CallOperation;
 import org.eclipse.rwt.graphics.Graphics;
 import org.eclipse.rwt.internal.application.RWTFactory;
 import org.eclipse.rwt.internal.lifecycle.DisplayUtil;
+import org.eclipse.rwt.internal.resources.SystemProps;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.FontData;
-import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.*;
+import org.json.JSONArray;
 
 
 public class MeasurementOperator_Test extends TestCase {
@@ -36,6 +41,8 @@ public class MeasurementOperator_Test extends TestCase {
   private static final MeasurementItem MEASUREMENT_ITEM_2
     = new MeasurementItem( TEXT_TO_MEASURE, FONT_DATA_2, SWT.DEFAULT, MODE );
 
+  private static final FontData SANS_SERIF_FONT_DATA = new FontData( "sans-serif", 12, SWT.NONE );
+
   private Display display;
   private MeasurementOperator operator;
 
@@ -48,6 +55,7 @@ public class MeasurementOperator_Test extends TestCase {
 
   @Override
   protected void tearDown() throws Exception {
+    System.getProperties().remove( SystemProps.CALCULATE_TEXT_SIZES );
     Fixture.tearDown();
   }
 
@@ -143,6 +151,115 @@ public class MeasurementOperator_Test extends TestCase {
     checkMeasurementItemBuffering( MEASUREMENT_ITEM_1 );
   }
 
+  public void testGetAffectedControls() {
+    fakeProbeResultOfFont1();
+    Shell shell = new Shell( display );
+    requestMeasurementOfItem1( shell );
+    requestMeasurementOfItem2( null );
+    fakeRequestParamWithMeasurementResultOfItem( MEASUREMENT_ITEM_1 );
+
+    operator.handleMeasurementResults();
+
+    Control[] affectedControls = operator.getAffectedControls();
+    assertEquals( 1, affectedControls.length );
+    assertSame( shell, affectedControls[ 0 ] );
+  }
+
+  public void testGetAffectedControlsWithUnknownControl() {
+    fakeProbeResultOfFont1();
+    requestMeasurementOfItem1( null );
+    fakeRequestParamWithMeasurementResultOfItem( MEASUREMENT_ITEM_1 );
+
+    operator.handleMeasurementResults();
+
+    assertNull( operator.getAffectedControls() );
+  }
+
+  public void testGetAffectedControlsSkipsDisposedControls() {
+    fakeProbeResultOfFont1();
+    Shell shell = new Shell( display );
+    requestMeasurementOfItem1( shell );
+    shell.dispose();
+    fakeRequestParamWithMeasurementResultOfItem( MEASUREMENT_ITEM_1 );
+
+    operator.handleMeasurementResults();
+
+    assertEquals( 0, operator.getAffectedControls().length );
+  }
+
+  public void testGetAffectedControlsIsResetOnNextResults() {
+    fakeProbeResultOfFont1();
+    requestMeasurementOfItem1( null );
+    fakeRequestParamWithMeasurementResultOfItem( MEASUREMENT_ITEM_1 );
+    operator.handleMeasurementResults();
+    Fixture.fakeNewRequest( display );
+
+    operator.handleMeasurementResults();
+
+    assertEquals( 0, operator.getAffectedControls().length );
+  }
+
+  public void testHandleMeasurementRequestsRemovesDisposedOwners() {
+    Shell shell = new Shell( display );
+    Shell disposedShell = new Shell( display );
+    requestMeasurementOfItem1( shell );
+    requestMeasurementOfItem1( disposedShell );
+    requestMeasurementOfItem1( null );
+    disposedShell.dispose();
+
+    operator.handleMeasurementRequests();
+
+    Control[] owners = operator.getItemOwners( MEASUREMENT_ITEM_1 );
+    assertEquals( 2, owners.length );
+    assertFalse( Arrays.asList( owners ).contains( disposedShell ) );
+    assertEquals( 1, operator.getItemCount() );
+  }
+
+  public void testHandleMeasurementResultsRemovesOwners() {
+    fakeProbeResultOfFont1();
+    requestMeasurementOfItem1( new Shell( display ) );
+    fakeRequestParamWithMeasurementResultOfItem( MEASUREMENT_ITEM_1 );
+
+    operator.handleMeasurementResults();
+
+    assertEquals( 0, operator.getItemOwners( MEASUREMENT_ITEM_1 ).length );
+  }
+
+  public void testLayoutRecordsAffectedComposite() {
+    Shell shell = new Shell( display );
+    Composite composite = new Composite( shell, SWT.NONE );
+    composite.setLayout( new GridLayout() );
+    Label label = new Label( composite, SWT.NONE );
+    label.setFont( Graphics.getFont( FONT_DATA_1 ) );
+    label.setText( TEXT_TO_MEASURE );
+    composite.layout();
+    fakeProbeResultOfFont1();
+    fakeRequestParamsWithMeasurementResultsOfAllItems();
+
+    operator.handleMeasurementResults();
+
+    Control[] affectedControls = operator.getAffectedControls();
+    assertEquals( 1, affectedControls.length );
+    assertSame( composite, affectedControls[ 0 ] );
+    assertNull( TextSizeUtil.getLayoutOwner() );
+  }
+
+  public void testPackRecordsAffectedControl() {
+    Shell shell = new Shell( display );
+    Label label = new Label( shell, SWT.NONE );
+    label.setFont( Graphics.getFont( FONT_DATA_1 ) );
+    label.setText( TEXT_TO_MEASURE );
+    label.pack();
+    fakeProbeResultOfFont1();
+    fakeRequestParamsWithMeasurementResultsOfAllItems();
+
+    operator.handleMeasurementResults();
+
+    Control[] affectedControls = operator.getAffectedControls();
+    assertEquals( 1, affectedControls.length );
+    assertSame( label, affectedControls[ 0 ] );
+  }
+
   public void testGetItemsToMeasureWithEmptyResult() {
     MeasurementItem[] items = MeasurementOperator.getInstance().getItems();
 
@@ -173,6 +290,77 @@ public class MeasurementOperator_Test extends TestCase {
     operator.handleMeasurementRequests();
   }
 
+  public void testSamplesAreNotAddedWithoutCalculation() {
+    requestProbing( SANS_SERIF_FONT_DATA );
+
+    assertEquals( 0, operator.getSampleCount() );
+  }
+
+  public void testSamplesAreAddedWithProbe() {
+    enableCalculation();
+
+    requestProbing( SANS_SERIF_FONT_DATA );
+
+    assertEquals( TextSizeCalculator.MIN_VERIFICATIONS, operator.getSampleCount() );
+  }
+
+  public void testSamplesAreRenderedWithProbe() {
+    enableCalculation();
+    requestProbing( SANS_SERIF_FONT_DATA );
+    Fixture.fakeResponseWriter();
+
+    operator.handleMeasurementRequests();
+
+    Message message = Fixture.getProtocolMessage();
+    String displayId = DisplayUtil.getId( display );
+    assertNotNull( message.findCallOperation( displayId, "probe" ) );
+    CallOperation operation = message.findCallOperation( displayId, "measureStrings" );
+    JSONArray strings = ( JSONArray )operation.getProperty( "strings" );
+    assertEquals( TextSizeCalculator.MIN_VERIFICATIONS, strings.length() );
+  }
+
+  public void testSampleResultsDoNotAffectControls() {
+    enableCalculation();
+    requestProbing( SANS_SERIF_FONT_DATA );
+    fakeRequestParamWithMeasurementResultOfProbe( SANS_SERIF_FONT_DATA );
+    MeasurementItem[] samples = operator.getSamples();
+    for( int i = 0; i < samples.length; i++ ) {
+      fakeRequestParamWithMeasurementResultOfItem( samples[ i ] );
+    }
+
+    boolean measured = operator.handleMeasurementResults();
+
+    assertFalse( measured );
+    assertEquals( 0, operator.getSampleCount() );
+    assertEquals( 1, operator.getMeasurementCount() );
+    assertEquals( 0, operator.getAffectedControls().length );
+  }
+
+  public void testStartupProbeSamples() {
+    enableCalculation();
+    createProbe( SANS_SERIF_FONT_DATA );
+
+    MeasurementOperator measurementOperator = new MeasurementOperator();
+
+    assertEquals( TextSizeCalculator.MIN_VERIFICATIONS, measurementOperator.getSampleCount() );
+    Object[] samples = ( Object[] )MeasurementUtil.getStartupSamplesObject();
+    assertEquals( TextSizeCalculator.MIN_VERIFICATIONS, samples.length );
+  }
+
+  public void testStartupSamplesWithoutCalculation() {
+    createProbe( SANS_SERIF_FONT_DATA );
+
+    assertNull( MeasurementUtil.getStartupSamplesObject() );
+  }
+
+  private void enableCalculation() {
+    System.setProperty( SystemProps.CALCULATE_TEXT_SIZES, "true" );
+    Fixture.tearDown();
+    Fixture.setUp();
+    display = new Display();
+    operator = MeasurementOperator.getInstance();
+  }
+
   private void createProbeOfFont1() {
     createProbe( FONT_DATA_1 );
   }
@@ -186,6 +374,19 @@ public class MeasurementOperator_Test extends TestCase {
     Fixture.fakeRequestParam( String.valueOf( measurementItem.hashCode() ), "12,4" );
   }
 
+  private void fakeProbeResultOfFont1() {
+    requestProbingOfFont1();
+    fakeRequestParamWithMeasurementResultOfProbe( FONT_DATA_1 );
+  }
+
+  private void fakeRequestParamsWithMeasurementResultsOfAllItems() {
+    MeasurementItem[] items = operator.getItems();
+    assertTrue( items.length > 0 );
+    for( int i = 0; i < items.length; i++ ) {
+      fakeRequestParamWithMeasurementResultOfItem( items[ i ] );
+    }
+  }
+
   private void fakeRequestParamWithMeasurementResultOfProbe( FontData fontData ) {
     Fixture.fakeRequestParam( String.valueOf( fontData.hashCode() ), "3,4" );
   }
@@ -194,6 +395,23 @@ public class MeasurementOperator_Test extends TestCase {
     MeasurementOperator.getInstance().addItemToMeasure( MEASUREMENT_ITEM_1 );
   }
 
+  private void requestMeasurementOfItem1( Control owner ) {
+    requestMeasurement( MEASUREMENT_ITEM_1, owner );
+  }
+
+  private void requestMeasurementOfItem2( Control owner ) {
+    requestMeasurement( MEASUREMENT_ITEM_2, owner );
+  }
+
+  private void requestMeasurement( MeasurementItem item, Control owner ) {
+    Control previousOwner = TextSizeUtil.setLayoutOwner( owner );
+    try {
+      operator.addItemToMeasure( item );
+    } finally {
+      TextSizeUtil.setLayoutOwner( previousOwner );
+    }
+  }
+
   private void requestMeasurementOfItem2() {
     MeasurementOperator.getInstance().addItemToMeasure( MEASUREMENT_ITEM_2 );
   }
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.textsize;
+
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.report;
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.toMillis;
+
+import java.awt.font.FontRenderContext;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.graphics.Graphics;
+import org.eclipse.rwt.internal.application.RWTFactory;
+import org.eclipse.rwt.internal.resources.SystemProps;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+
+
+/*
+ * Not part of the test suite (see surefire includes). Packs a shell with 500 labels on first
+ * render and reports how many texts are left to the client, whether a second request is needed
+ * to measure them and how long the TextSizeRecalculation of that request takes. Calculated sizes
+ * are only used once the samples sent along with the font probe verified the calibration.
+ */
+public class TextSizeCalculator_Benchmark extends TestCase {
+
+  private static final FontData FONT_DATA = new FontData( "Verdana, sans-serif", 11, SWT.NORMAL );
+  private static final int LABELS = 500;
+
+  @Override
+  protected void tearDown() throws Exception {
+    System.getProperties().remove( SystemProps.CALCULATE_TEXT_SIZES );
+    Fixture.tearDown();
+  }
+
+  public void testEstimate() {
+    Fixture.setUp();
+    measure( "Estimate" );
+  }
+
+  public void testCalculateOnServerUnverified() {
+    System.setProperty( SystemProps.CALCULATE_TEXT_SIZES, "true" );
+    Fixture.setUp();
+    measure( "Calculate on server, unverified" );
+  }
+
+  public void testCalculateOnServerVerified() {
+    System.setProperty( SystemProps.CALCULATE_TEXT_SIZES, "true" );
+    Fixture.setUp();
+    measure( "Calculate on server, verified", true );
+  }
+
+  private static void measure( String label ) {
+    measure( label, false );
+  }
+
+  private static void measure( String label, boolean verified ) {
+    long packDuration = packShell( verified );
+    MeasurementOperator operator = MeasurementOperator.getInstance();
+    int clientMeasurements = operator.getItemCount();
+    long recalculationDuration = recalculate();
+    report( label + " [texts measured by the client]", clientMeasurements );
+    report( label + " [second request needed]", clientMeasurements > 0 );
+    report( label + " [ms to pack]", toMillis( packDuration ) );
+    report( label + " [ms to recalculate]", toMillis( recalculationDuration ) );
+  }
+
+  private static long recalculate() {
+    long result = 0;
+    MeasurementOperator operator = MeasurementOperator.getInstance();
+    fakeMeasurementResults( operator.getItems() );
+    long start = System.nanoTime();
+    if( operator.handleMeasurementResults() ) {
+      new TextSizeRecalculation().execute( operator.getAffectedControls() );
+      result = System.nanoTime() - start;
+    }
+    return result;
+  }
+
+  // simulates a client that measures exactly what the calculator computes
+  private static void fakeSampleResults() {
+    MeasurementOperator operator = MeasurementOperator.getInstance();
+    operator.addSamplesToMeasure( FONT_DATA );
+    fakeMeasurementResults( operator.getSamples() );
+    operator.handleMeasurementResults();
+  }
+
+  private static void fakeMeasurementResults( MeasurementItem[] items ) {
+    ProbeResult probeResult = ProbeResultStore.getInstance().getProbeResult( FONT_DATA );
+    TextSizeCalculator calculator = RWTFactory.getTextSizeCalculator();
+    for( int i = 0; i < items.length; i++ ) {
+      MeasurementItem item = items[ i ];
+      Point size = calculator.calculate( probeResult,
+                                         item.getTextToMeasure(),
+                                         item.getWrapWidth(),
+                                         item.getMode() );
+      if( size == null ) {
+        size = new Point( item.getTextToMeasure().length() * 6, 14 );
+      }
+      Fixture.fakeRequestParam( String.valueOf( item.hashCode() ), size.x + "," + size.y );
+    }
+  }
+
+  private static long packShell( boolean verified ) {
+    Display display = new Display();
+    fakeProbeResult();
+    if( verified ) {
+      fakeSampleResults();
+    }
+    Shell shell = new Shell( display );
+    shell.setLayout( new GridLayout( 5, false ) );
+    Font font = Graphics.getFont( FONT_DATA );
+    for( int i = 0; i < LABELS; i++ ) {
+      Label label = new Label( shell, SWT.NONE );
+      label.setFont( font );
+      label.setText( "Label number " + i );
+    }
+    long start = System.nanoTime();
+    shell.pack();
+    return System.nanoTime() - start;
+  }
+
+  private static void fakeProbeResult() {
+    Probe probe = new Probe( FONT_DATA );
+    Point size = new Point( ( int )Math.round( getAWTBounds( probe.getText() ) ), 14 );
+    ProbeResultStore.getInstance().createProbeResult( probe, size );
+  }
+
+  private static double getAWTBounds( String string ) {
+    java.awt.Font font = new java.awt.Font( java.awt.Font.SANS_SERIF, java.awt.Font.PLAIN, 1 );
+    font = font.deriveFont( ( float )FONT_DATA.getHeight() );
+    FontRenderContext fontRenderContext = new FontRenderContext( null, true, true );
+    return font.getStringBounds( string, fontRenderContext ).getWidth();
+  }
+}
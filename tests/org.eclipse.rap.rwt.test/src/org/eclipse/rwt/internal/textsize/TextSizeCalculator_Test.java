@@ -0,0 +1,361 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.textsize;
+
+import java.awt.font.FontRenderContext;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.graphics.Graphics;
+import org.eclipse.rwt.internal.application.RWTFactory;
+import org.eclipse.rwt.internal.resources.SystemProps;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Display;
+
+
+public class TextSizeCalculator_Test extends TestCase {
+
+  private static final FontData FONT_DATA = new FontData( "\"Foo Sans\", sans-serif", 12, 0 );
+  private static final FontData UNKNOWN_FONT_DATA = new FontData( "Foo Sans", 12, 0 );
+  private static final int LINE_HEIGHT = 15;
+  private static final int STRING = TextSizeUtil.STRING_EXTENT;
+  private static final int TEXT = TextSizeUtil.TEXT_EXTENT;
+
+  private TextSizeCalculator calculator;
+
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+    calculator = new TextSizeCalculator( true );
+  }
+
+  protected void tearDown() throws Exception {
+    System.getProperties().remove( SystemProps.CALCULATE_TEXT_SIZES );
+    Fixture.tearDown();
+  }
+
+  public void testDisabledByDefault() {
+    assertFalse( new TextSizeCalculator().isEnabled() );
+  }
+
+  public void testEnabledWithSystemProperty() {
+    System.setProperty( SystemProps.CALCULATE_TEXT_SIZES, "true" );
+
+    assertTrue( new TextSizeCalculator().isEnabled() );
+  }
+
+  public void testStringExtent() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1f );
+
+    Point size = calculator.calculate( probeResult, "Hello World", SWT.DEFAULT, STRING );
+
+    assertWidth( getAWTWidth( "Hello World" ), size.x );
+    assertEquals( LINE_HEIGHT, size.y );
+  }
+
+  public void testStringExtentIsCalibrated() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1.05f );
+
+    Point size = calculator.calculate( probeResult, "Hello World", SWT.DEFAULT, STRING );
+
+    assertTrue( size.x > getAWTWidth( "Hello World" ) );
+  }
+
+  public void testStringExtentOfEmptyString() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1f );
+
+    Point size = calculator.calculate( probeResult, "", SWT.DEFAULT, STRING );
+
+    assertEquals( new Point( 0, LINE_HEIGHT ), size );
+  }
+
+  public void testTextExtentWithLineBreaks() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1f );
+
+    Point size = calculator.calculate( probeResult, "Hello\nWorld!", SWT.DEFAULT, TEXT );
+
+    assertWidth( getAWTWidth( "World!" ), size.x );
+    assertEquals( 2 * LINE_HEIGHT, size.y );
+  }
+
+  public void testTextExtentWrapsAtSpaces() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1f );
+    int wrapWidth = getAWTWidth( "Hello World" );
+
+    Point size = calculator.calculate( probeResult, "Hello World Hello", wrapWidth, TEXT );
+
+    assertWidth( getAWTWidth( "Hello World" ), size.x );
+    assertEquals( 2 * LINE_HEIGHT, size.y );
+  }
+
+  public void testTextExtentDoesNotBreakLongWords() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1f );
+
+    Point size = calculator.calculate( probeResult, "Hello World", 5, TEXT );
+
+    assertWidth( getAWTWidth( "World" ), size.x );
+    assertEquals( 2 * LINE_HEIGHT, size.y );
+  }
+
+  public void testMarkupExtentIsNotCalculated() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1f );
+    int mode = TextSizeUtil.MARKUP_EXTENT;
+
+    Point size = calculator.calculate( probeResult, "<b>Hello</b>", SWT.DEFAULT, mode );
+
+    assertNull( size );
+  }
+
+  public void testUninstalledFontIsNotCalculated() {
+    ProbeResult probeResult = createProbeResult( UNKNOWN_FONT_DATA, 1f );
+
+    Point size = calculator.calculate( probeResult, "Hello", SWT.DEFAULT, STRING );
+
+    assertNull( size );
+  }
+
+  public void testDeviatingFontIsNotCalculated() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1.5f );
+
+    Point size = calculator.calculate( probeResult, "Hello", SWT.DEFAULT, STRING );
+
+    assertNull( size );
+  }
+
+  public void testCompare() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1f );
+    Point calculated = calculator.calculate( probeResult, "Hello", SWT.DEFAULT, STRING );
+    Point deviating = new Point( calculated.x, calculated.y + 2 );
+
+    calculator.compare( probeResult, "Hello", SWT.DEFAULT, STRING, calculated );
+    calculator.compare( probeResult, "Hello", SWT.DEFAULT, STRING, deviating );
+
+    assertEquals( 2, calculator.getComparisonCount() );
+    assertEquals( 1, calculator.getExactMatchCount() );
+    assertEquals( 0f, calculator.getAverageWidthDeviation(), 0 );
+    assertEquals( 1f, calculator.getAverageHeightDeviation(), 0 );
+  }
+
+  public void testCompareIgnoresUncalculatedSizes() {
+    ProbeResult probeResult = createProbeResult( UNKNOWN_FONT_DATA, 1f );
+
+    calculator.compare( probeResult, "Hello", SWT.DEFAULT, STRING, new Point( 1, 1 ) );
+
+    assertEquals( 0, calculator.getComparisonCount() );
+  }
+
+  public void testUnverifiedCalibrationIsNotTrusted() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1f );
+
+    assertFalse( calculator.isTrusted( probeResult ) );
+    assertTrue( calculator.needsVerification( probeResult ) );
+  }
+
+  public void testVerifiedCalibrationIsTrusted() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1f );
+    Point calculated = calculator.calculate( probeResult, "Hello", SWT.DEFAULT, STRING );
+
+    verify( probeResult, calculated, TextSizeCalculator.MIN_VERIFICATIONS );
+
+    assertTrue( calculator.isTrusted( probeResult ) );
+    assertFalse( calculator.needsVerification( probeResult ) );
+    assertEquals( 1, calculator.getTrustedFontCount() );
+  }
+
+  public void testDeviatingCalibrationIsRejected() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1f );
+    Point calculated = calculator.calculate( probeResult, "Hello", SWT.DEFAULT, STRING );
+    Point deviating = new Point( calculated.x + 1, calculated.y );
+
+    verify( probeResult, deviating, TextSizeCalculator.MIN_VERIFICATIONS );
+
+    assertFalse( calculator.isTrusted( probeResult ) );
+    assertFalse( calculator.needsVerification( probeResult ) );
+    assertEquals( 1, calculator.getRejectedFontCount() );
+  }
+
+  public void testCalibrationIsNotTrustedAfterDeviatingVerifications() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1f );
+    Point calculated = calculator.calculate( probeResult, "Hello", SWT.DEFAULT, STRING );
+    Point deviating = new Point( calculated.x + 2, calculated.y + 2 );
+    verify( probeResult, calculated, TextSizeCalculator.MIN_VERIFICATIONS );
+
+    verify( probeResult, deviating, 3 );
+
+    assertFalse( calculator.isTrusted( probeResult ) );
+  }
+
+  public void testUninstalledFontNeedsNoVerification() {
+    ProbeResult probeResult = createProbeResult( UNKNOWN_FONT_DATA, 1f );
+
+    assertFalse( calculator.isTrusted( probeResult ) );
+    assertFalse( calculator.needsVerification( probeResult ) );
+    assertFalse( calculator.needsVerification( UNKNOWN_FONT_DATA ) );
+  }
+
+  public void testFontNeedsVerificationBeforeProbing() {
+    assertTrue( calculator.needsVerification( FONT_DATA ) );
+  }
+
+  public void testVerifiedFontNeedsNoVerificationBeforeProbing() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1f );
+    Point calculated = calculator.calculate( probeResult, "Hello", SWT.DEFAULT, STRING );
+
+    verify( probeResult, calculated, TextSizeCalculator.MIN_VERIFICATIONS );
+
+    assertFalse( calculator.needsVerification( FONT_DATA ) );
+  }
+
+  public void testDisabledCalculatorNeedsNoVerification() {
+    TextSizeCalculator disabled = new TextSizeCalculator( false );
+
+    assertFalse( disabled.needsVerification( FONT_DATA ) );
+    assertFalse( disabled.needsVerification( createProbeResult( FONT_DATA, 1f ) ) );
+  }
+
+  public void testCreateSamples() {
+    MeasurementItem[] samples = TextSizeCalculator.createSamples( FONT_DATA );
+
+    assertEquals( TextSizeCalculator.MIN_VERIFICATIONS, samples.length );
+    assertSame( FONT_DATA, samples[ 0 ].getFontData() );
+  }
+
+  public void testTextSizeUtilUsesCalculatedSizeOfTrustedFont() {
+    enableCalculation();
+    trustCalibration();
+
+    Point size = TextSizeUtil.stringExtent( Graphics.getFont( FONT_DATA ), "Hello World" );
+
+    assertWidth( getAWTWidth( "Hello World" ), size.x );
+    assertEquals( 0, MeasurementOperator.getInstance().getItemCount() );
+  }
+
+  public void testUnverifiedFontIsMeasuredByClient() {
+    enableCalculation();
+
+    TextSizeUtil.stringExtent( Graphics.getFont( FONT_DATA ), "Hello" );
+
+    assertEquals( 1, MeasurementOperator.getInstance().getItemCount() );
+  }
+
+  public void testSamplesVerifyCalibration() {
+    enableCalculation();
+    MeasurementOperator operator = MeasurementOperator.getInstance();
+    operator.addSamplesToMeasure( FONT_DATA );
+    fakeCalculatedSampleResults( operator.getSamples() );
+
+    boolean measured = operator.handleMeasurementResults();
+
+    assertFalse( measured );
+    assertEquals( 0, operator.getSampleCount() );
+    assertEquals( 0, operator.getMeasurementCount() );
+    assertEquals( 0, operator.getAffectedControls().length );
+    ProbeResult probeResult = ProbeResultStore.getInstance().getProbeResult( FONT_DATA );
+    assertTrue( RWTFactory.getTextSizeCalculator().isTrusted( probeResult ) );
+  }
+
+  public void testCalculatedSizeIsNotStoredAsMeasurement() {
+    enableCalculation();
+    trustCalibration();
+
+    TextSizeUtil.stringExtent( Graphics.getFont( FONT_DATA ), "Hello" );
+
+    assertNull( TextSizeStorageUtil.lookup( FONT_DATA, "Hello", SWT.DEFAULT, STRING ) );
+    assertNotNull( RWTFactory.getTextSizeStorage().lookupCalculatedTextSize( getKey( "Hello" ) ) );
+  }
+
+  public void testMeasuredSizeReplacesCalculatedSize() {
+    enableCalculation();
+    trustCalibration();
+    Point measured = new Point( 100, 20 );
+
+    TextSizeUtil.stringExtent( Graphics.getFont( FONT_DATA ), "Hello" );
+    TextSizeStorageUtil.store( FONT_DATA, "Hello", SWT.DEFAULT, STRING, measured );
+
+    assertEquals( measured, TextSizeUtil.stringExtent( Graphics.getFont( FONT_DATA ), "Hello" ) );
+  }
+
+  public void testTextSizeUtilMeasuresWhenDisabled() {
+    new Display();
+    fakeProbeResult();
+
+    TextSizeUtil.stringExtent( Graphics.getFont( FONT_DATA ), "Hello" );
+
+    assertEquals( 1, MeasurementOperator.getInstance().getItemCount() );
+  }
+
+  private void verify( ProbeResult probeResult, Point measured, int count ) {
+    for( int i = 0; i < count; i++ ) {
+      calculator.compare( probeResult, "Hello", SWT.DEFAULT, STRING, measured );
+    }
+  }
+
+  private static void trustCalibration() {
+    ProbeResult probeResult = ProbeResultStore.getInstance().getProbeResult( FONT_DATA );
+    TextSizeCalculator textSizeCalculator = RWTFactory.getTextSizeCalculator();
+    Point calculated = textSizeCalculator.calculate( probeResult, "Hello", SWT.DEFAULT, STRING );
+    for( int i = 0; i < TextSizeCalculator.MIN_VERIFICATIONS; i++ ) {
+      textSizeCalculator.compare( probeResult, "Hello", SWT.DEFAULT, STRING, calculated );
+    }
+  }
+
+  private static void fakeCalculatedSampleResults( MeasurementItem[] samples ) {
+    ProbeResult probeResult = ProbeResultStore.getInstance().getProbeResult( FONT_DATA );
+    TextSizeCalculator textSizeCalculator = RWTFactory.getTextSizeCalculator();
+    for( int i = 0; i < samples.length; i++ ) {
+      MeasurementItem sample = samples[ i ];
+      Point size = textSizeCalculator.calculate( probeResult,
+                                                 sample.getTextToMeasure(),
+                                                 sample.getWrapWidth(),
+                                                 sample.getMode() );
+      Fixture.fakeRequestParam( String.valueOf( sample.hashCode() ), size.x + "," + size.y );
+    }
+  }
+
+  private static TextSizeKey getKey( String string ) {
+    return TextSizeStorageUtil.getKey( FONT_DATA, string, SWT.DEFAULT, STRING );
+  }
+
+  private static void enableCalculation() {
+    System.setProperty( SystemProps.CALCULATE_TEXT_SIZES, "true" );
+    Fixture.tearDown();
+    Fixture.setUp();
+    new Display();
+    fakeProbeResult();
+  }
+
+  // the calibration factor is derived from a rounded probe width
+  private static void assertWidth( int expected, int actual ) {
+    String message = "expected " + expected + " but was " + actual;
+    assertTrue( message, Math.abs( expected - actual ) <= 1 );
+  }
+
+  private static void fakeProbeResult() {
+    ProbeResult probeResult = createProbeResult( FONT_DATA, 1f );
+    ProbeResultStore probeResultStore = ProbeResultStore.getInstance();
+    probeResultStore.createProbeResult( probeResult.getProbe(), probeResult.getSize() );
+  }
+
+  private static ProbeResult createProbeResult( FontData fontData, float widthFactor ) {
+    Probe probe = new Probe( fontData );
+    int width = Math.round( getAWTWidth( probe.getText() ) * widthFactor );
+    return new ProbeResult( probe, new Point( width, LINE_HEIGHT ) );
+  }
+
+  private static int getAWTWidth( String string ) {
+    java.awt.Font font = new java.awt.Font( java.awt.Font.SANS_SERIF, java.awt.Font.PLAIN, 1 );
+    font = font.deriveFont( ( float )FONT_DATA.getHeight() );
+    FontRenderContext fontRenderContext = new FontRenderContext( null, true, true );
+    return ( int )Math.ceil( font.getStringBounds( string, fontRenderContext ).getWidth() );
+  }
+}
@@ -106,6 +106,83 @@ public class TextSizeRecalculation_Test extends TestCase {
     assertEquals( "false|", resizeListener.getResizeLog() );
   }
 
+  public void testExecuteWithUnknownControls() {
+    createWidgetTree();
+    registerResizeListeners();
+    turnOnImmediateResizeEventHandling();
+    fakeMeasurementResults();
+    TextSizeRecalculation recalculation = new TextSizeRecalculation();
+
+    recalculation.execute( null );
+
+    checkResizeTookPlace();
+    checkRePackTookPlace();
+  }
+
+  public void testExecuteWithControlsInScrolledComposite() {
+    createWidgetTree();
+    registerResizeListeners();
+    turnOnImmediateResizeEventHandling();
+    fakeMeasurementResults();
+    TextSizeRecalculation recalculation = new TextSizeRecalculation();
+
+    recalculation.execute( new Control[] { packedControl } );
+
+    checkResizeTookPlace();
+    checkRePackTookPlace();
+  }
+
+  public void testExecuteWithAffectedControls() {
+    turnOnImmediateResizeEventHandling();
+    createShellWithLayout();
+    Composite affectedComposite = createCompositeWithLabel();
+    Composite unaffectedComposite = createCompositeWithLabel();
+    shell.setSize( 400, 400 );
+    shell.layout( true, true );
+    Label affectedLabel = ( Label )affectedComposite.getChildren()[ 0 ];
+    Label unaffectedLabel = ( Label )unaffectedComposite.getChildren()[ 0 ];
+    Point estimatedSize = affectedLabel.getSize();
+    ResizeListener shellResizeListener = new ResizeListener();
+    shell.addControlListener( shellResizeListener );
+    ResizeListener unaffectedResizeListener = new ResizeListener();
+    unaffectedLabel.addControlListener( unaffectedResizeListener );
+    fakeMeasurementResults();
+    TextSizeRecalculation recalculation = new TextSizeRecalculation();
+
+    recalculation.execute( new Control[] { affectedComposite } );
+
+    assertEquals( affectedLabel.computeSize( SWT.DEFAULT, SWT.DEFAULT ), affectedLabel.getSize() );
+    assertFalse( estimatedSize.equals( affectedLabel.getSize() ) );
+    assertEquals( 0, unaffectedResizeListener.resizeCount() );
+    assertEquals( 0, shellResizeListener.resizeCount() );
+    assertEquals( new Point( 400, 400 ), shell.getSize() );
+  }
+
+  public void testExecuteWithAffectedControlsRePacksAncestors() {
+    turnOnImmediateResizeEventHandling();
+    createShellWithLayout();
+    Composite composite = createCompositeWithLabel();
+    shell.pack();
+    Point estimatedSize = shell.getSize();
+    fakeMeasurementResults();
+    TextSizeRecalculation recalculation = new TextSizeRecalculation();
+
+    recalculation.execute( new Control[] { composite } );
+
+    assertTrue( ControlUtil.getControlAdapter( shell ).isPacked() );
+    assertEquals( shell.computeSize( SWT.DEFAULT, SWT.DEFAULT, true ), shell.getSize() );
+    assertFalse( estimatedSize.equals( shell.getSize() ) );
+  }
+
+  public void testExecuteWithDisposedAffectedControl() {
+    Composite composite = createCompositeWithLabel();
+    composite.dispose();
+    TextSizeRecalculation recalculation = new TextSizeRecalculation();
+
+    // Ensures that no exception is thrown.
+    recalculation.execute( new Control[] { composite } );
+  }
+
   private void checkResizeTookPlace() {
     assertEquals( getInitialShellBounds(), shell.getBounds() );
     assertEquals( getInitialCompositeBounds(), scrolledCompositeContent.getBounds() );
@@ -176,6 +253,15 @@ public class TextSizeRecalculation_Test extends TestCase {
     return result;
   }
 
+  private Composite createCompositeWithLabel() {
+    Composite result = new Composite( shell, SWT.NONE );
+    result.setLayout( new GridLayout() );
+    Label label = new Label( result, SWT.NONE );
+    label.setFont( new Font( display, FONT_DATA ) );
+    label.setText( TEXT_TO_MEASURE );
+    return result;
+  }
+
   private void registerResizeListeners() {
     shellResizeListener = new ResizeListener();
     scrolledCompositeContentResizeListener = new ResizeListener();
@@ -52,7 +52,7 @@ public class TextSizeStorageUtil_Test extends TestCase {
   }
 
   public void testGetKey() {
-    Set<Integer> takenKeys = new HashSet<Integer>();
+    Set<TextSizeKey> takenKeys = new HashSet<TextSizeKey>();
     StringBuilder generatedText = new StringBuilder();
     for( int i = 0; i < 100; i++ ) {
       generatedText.append( "a" );
@@ -60,12 +60,30 @@ public class TextSizeStorageUtil_Test extends TestCase {
       Probe probe = new Probe( text, FONT_DATA );
       Point size = new Point( 1, 2 );
       ProbeResultStore.getInstance().createProbeResult( probe, size );
-      Integer key = TextSizeStorageUtil.getKey( FONT_DATA, text, SWT.DEFAULT, MODE );
+      TextSizeKey key = TextSizeStorageUtil.getKey( FONT_DATA, text, SWT.DEFAULT, MODE );
       assertFalse( takenKeys.contains( key ) );
       takenKeys.add( key );
     }
   }
 
+  public void testGetKeyWithCollidingHashCodes() {
+    ProbeResultStore probeResultStore = ProbeResultStore.getInstance();
+    probeResultStore.createProbeResult( new Probe( FONT_DATA ), new Point( 2, 10 ) );
+    // "Aa" and "BB" have the same hash code
+    TextSizeStorageUtil.store( FONT_DATA, "Aa", SWT.DEFAULT, MODE, new Point( 1, 1 ) );
+    TextSizeStorageUtil.store( FONT_DATA, "BB", SWT.DEFAULT, MODE, new Point( 2, 2 ) );
+
+    TextSizeKey key1 = TextSizeStorageUtil.getKey( FONT_DATA, "Aa", SWT.DEFAULT, MODE );
+    TextSizeKey key2 = TextSizeStorageUtil.getKey( FONT_DATA, "BB", SWT.DEFAULT, MODE );
+
+    assertEquals( key1.hashCode(), key2.hashCode() );
+    assertFalse( key1.equals( key2 ) );
+    Point size1 = TextSizeStorageUtil.lookup( FONT_DATA, "Aa", SWT.DEFAULT, MODE );
+    Point size2 = TextSizeStorageUtil.lookup( FONT_DATA, "BB", SWT.DEFAULT, MODE );
+    assertEquals( new Point( 1, 1 ), size1 );
+    assertEquals( new Point( 2, 2 ), size2 );
+  }
+
   protected void setUp() throws Exception {
     Fixture.setUp();
   }
@@ -10,11 +10,16 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.textsize;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.Arrays;
 
 import junit.framework.TestCase;
 
 import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.internal.resources.SystemProps;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.Point;
@@ -51,6 +56,27 @@ public class TextSizeStorage_Test extends TestCase {
     assertNotSame( size, foundSize );
   }
   
+  public void testCalculatedTextSizeIsKeptApart() {
+    Integer key = new Integer( 1 );
+    Point size = new Point( 1, 4 );
+
+    storage.storeCalculatedTextSize( key, size );
+
+    assertEquals( size, storage.lookupCalculatedTextSize( key ) );
+    assertNull( storage.lookupTextSize( key ) );
+    assertEquals( 0, storage.getSize() );
+  }
+
+  public void testMeasuredTextSizeReplacesCalculatedTextSize() {
+    Integer key = new Integer( 1 );
+    storage.storeCalculatedTextSize( key, new Point( 1, 4 ) );
+
+    storage.storeTextSize( key, new Point( 2, 4 ) );
+
+    assertNull( storage.lookupCalculatedTextSize( key ) );
+    assertEquals( new Point( 2, 4 ), storage.lookupTextSize( key ) );
+  }
+
   public void testStorageOverflowHandling() {
     populateUntilOverflowThresholdIsReached();
     updateTimestampOnFirstEntry();
@@ -61,6 +87,124 @@ public class TextSizeStorage_Test extends TestCase {
     checkLatestEntriesExist();
     checkRangeCleanup();
   }
+
+  public void testStoreSizeIsBounded() {
+    storage.setMaximumStoreSize( TextSizeStorage.MIN_STORE_SIZE );
+
+    for( int i = 0; i < TextSizeStorage.MIN_STORE_SIZE * 3; i++ ) {
+      storage.storeTextSize( new Integer( i ), new Point( i, i ) );
+    }
+
+    assertTrue( storage.getSize() <= TextSizeStorage.MIN_STORE_SIZE );
+    assertTrue( storage.getSize() > TextSizeStorage.MIN_STORE_SIZE * 9 / 10 );
+  }
+
+  public void testReduceMaximumStoreSize() {
+    storage.setMaximumStoreSize( TextSizeStorage.MIN_STORE_SIZE * 2 );
+    for( int i = 0; i < TextSizeStorage.MIN_STORE_SIZE * 2; i++ ) {
+      storage.storeTextSize( new Integer( i ), new Point( i, i ) );
+    }
+
+    storage.setMaximumStoreSize( TextSizeStorage.MIN_STORE_SIZE );
+
+    assertTrue( storage.getSize() <= TextSizeStorage.MIN_STORE_SIZE );
+  }
+
+  public void testDefaultMaximumStoreSize() {
+    assertEquals( TextSizeStorage.DEFAULT_STORE_SIZE, storage.getMaximumStoreSize() );
+  }
+
+  public void testMaximumStoreSizeFromSystemProperty() {
+    System.setProperty( SystemProps.TEXT_SIZE_STORE_SIZE, "5000" );
+    try {
+      assertEquals( 5000, new TextSizeStorage().getMaximumStoreSize() );
+    } finally {
+      System.getProperties().remove( SystemProps.TEXT_SIZE_STORE_SIZE );
+    }
+  }
+
+  public void testSnapshot() throws Exception {
+    TextSizeKey key = createTextSizeKey( "foo" );
+    TextSizeKey otherKey = createTextSizeKey( "bar" );
+    storage.storeFont( FONT_DATA_1 );
+    storage.storeTextSize( key, SIZE_FIRST );
+    storage.storeTextSize( otherKey, SIZE_OVERFLOW );
+    File file = File.createTempFile( "textsize", ".ser" );
+    try {
+      TextSizeStorageSnapshot.write( storage, file );
+      TextSizeStorage loadedStorage = new TextSizeStorage();
+      TextSizeStorageSnapshot.read( loadedStorage, file );
+
+      assertEquals( 1, loadedStorage.getFontList().length );
+      assertEquals( FONT_DATA_1, loadedStorage.getFontList()[ 0 ] );
+      assertEquals( SIZE_FIRST, loadedStorage.lookupTextSize( createTextSizeKey( "foo" ) ) );
+      assertEquals( SIZE_OVERFLOW, loadedStorage.lookupTextSize( createTextSizeKey( "bar" ) ) );
+    } finally {
+      file.delete();
+    }
+  }
+
+  public void testSnapshotExcludesCalculatedTextSizes() throws Exception {
+    TextSizeKey key = createTextSizeKey( "foo" );
+    TextSizeKey calculatedKey = createTextSizeKey( "bar" );
+    storage.storeTextSize( key, SIZE_FIRST );
+    storage.storeCalculatedTextSize( calculatedKey, SIZE_OVERFLOW );
+    File file = File.createTempFile( "textsize", ".ser" );
+    try {
+      TextSizeStorageSnapshot.write( storage, file );
+      TextSizeStorage loadedStorage = new TextSizeStorage();
+      TextSizeStorageSnapshot.read( loadedStorage, file );
+
+      assertEquals( SIZE_FIRST, loadedStorage.lookupTextSize( key ) );
+      assertNull( loadedStorage.lookupTextSize( calculatedKey ) );
+      assertNull( loadedStorage.lookupCalculatedTextSize( calculatedKey ) );
+    } finally {
+      file.delete();
+    }
+  }
+
+  public void testSnapshotLeavesNoTemporaryFile() throws Exception {
+    storage.storeTextSize( createTextSizeKey( "foo" ), SIZE_FIRST );
+    File directory = new File( Fixture.TEMP_DIR, "textsizeSnapshot" );
+    directory.mkdirs();
+    File file = new File( directory, "ts" );
+    try {
+      TextSizeStorageSnapshot.write( storage, file );
+      TextSizeStorageSnapshot.write( storage, file );
+
+      assertEquals( 1, directory.list().length );
+      assertTrue( file.exists() );
+    } finally {
+      Fixture.delete( directory );
+    }
+  }
+
+  public void testReadInvalidSnapshot() throws Exception {
+    File file = File.createTempFile( "textsize", ".ser" );
+    try {
+      ObjectOutputStream stream = new ObjectOutputStream( new FileOutputStream( file ) );
+      stream.writeObject( new FontData[] { FONT_DATA_1 } );
+      stream.close();
+
+      TextSizeStorageSnapshot.read( storage, file );
+      fail();
+    } catch( IOException expected ) {
+    } finally {
+      file.delete();
+    }
+    assertEquals( 0, storage.getFontList().length );
+  }
+
+  public void testLoadSnapshotWithoutFile() {
+    System.setProperty( SystemProps.TEXT_SIZE_STORE_FILE, "does-not-exist.ser" );
+    try {
+      TextSizeStorageSnapshot.load( storage );
+    } finally {
+      System.getProperties().remove( SystemProps.TEXT_SIZE_STORE_FILE );
+    }
+
+    assertEquals( 0, storage.getSize() );
+  }
   
   public void testMaximumStoreSize() {
     int maximumStoreSize = 2000;
@@ -70,6 +214,15 @@ public class TextSizeStorage_Test extends TestCase {
     assertEquals( maximumStoreSize, storage.getMaximumStoreSize() );
   }
   
+  public void testTooSmallMaximumStoreSizeFromSystemProperty() {
+    System.setProperty( SystemProps.TEXT_SIZE_STORE_SIZE, "3" );
+    try {
+      assertEquals( TextSizeStorage.MIN_STORE_SIZE, new TextSizeStorage().getMaximumStoreSize() );
+    } finally {
+      System.getProperties().remove( SystemProps.TEXT_SIZE_STORE_SIZE );
+    }
+  }
+
   public void testSetTooSmallMaximumStoreSize() {
     try {
       storage.setMaximumStoreSize( 3 );
@@ -89,24 +242,31 @@ public class TextSizeStorage_Test extends TestCase {
   
   private void populateUntilOverflowThresholdIsReached() {
     storage.setMaximumStoreSize( TextSizeStorage.MIN_STORE_SIZE );
-    for( int i = 0; i < TextSizeStorage.MIN_STORE_SIZE - 1; i++ ) {
+    for( int i = 0; i < TextSizeStorage.MIN_STORE_SIZE * 2; i++ ) {
       Integer key = new Integer( i );
       Point point = new Point( i, i );
       storage.storeTextSize( key, point );
+      updateTimestampOnFirstEntry();
     }
   }
   
+  private static TextSizeKey createTextSizeKey( String string ) {
+    return new TextSizeKey( "probe", new Point( 5, 10 ), FONT_DATA_1, string, SWT.DEFAULT, 1 );
+  }
+
   private Point updateTimestampOnFirstEntry() {
     return storage.lookupTextSize( KEY_FIRST );
   }
 
   private void checkRangeCleanup() {
+    assertNull( storage.lookupTextSize( new Integer( 1 ) ) );
     assertNull( storage.lookupTextSize( new Integer( 99 ) ) );
   }
 
   private void checkLatestEntriesExist() {
     assertEquals( SIZE_OVERFLOW, storage.lookupTextSize( KEY_OVERFLOW ) );
-    assertEquals( new Point( 101, 101 ), storage.lookupTextSize( new Integer( 101 ) ) );
+    int latest = TextSizeStorage.MIN_STORE_SIZE * 2 - 1;
+    assertEquals( new Point( latest, latest ), storage.lookupTextSize( new Integer( latest ) ) );
   }
 
   private void checkTimestampOrdering() {
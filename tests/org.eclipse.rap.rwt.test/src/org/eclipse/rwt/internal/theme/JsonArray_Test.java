@@ -11,6 +11,9 @@
 
 package org.eclipse.rwt.internal.theme;
 
+import java.io.IOException;
+import java.io.StringWriter;
+
 import junit.framework.TestCase;
 
 
@@ -115,4 +118,27 @@ public class JsonArray_Test extends TestCase {
 
     assertEquals( expected.toString(), created.toString() );
   }
+
+  public void testWrite() throws IOException {
+    JsonArray array = new JsonArray();
+    array.append( 23 );
+    array.append( "foo" );
+    StringWriter writer = new StringWriter();
+
+    array.write( writer );
+
+    assertEquals( array.toString(), writer.toString() );
+  }
+
+  public void testWriteExceedsChunkSize() throws IOException {
+    JsonArray array = new JsonArray();
+    for( int i = 0; i < 10000; i++ ) {
+      array.append( i );
+    }
+    StringWriter writer = new StringWriter();
+
+    array.write( writer );
+
+    assertEquals( array.toString(), writer.toString() );
+  }
 }
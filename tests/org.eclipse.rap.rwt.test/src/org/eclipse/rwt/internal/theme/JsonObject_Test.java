@@ -11,6 +11,9 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.theme;
 
+import java.io.IOException;
+import java.io.StringWriter;
+
 import junit.framework.TestCase;
 
 
@@ -72,4 +75,33 @@ public class JsonObject_Test extends TestCase {
 
     assertEquals( "{\n\"a\": 23,\n\"b\": {},\n\"c\": null\n}", object.toString() );
   }
+
+  public void testAppendObjectWithNestedValues() {
+    JsonObject nested = new JsonObject();
+    nested.append( "b", new JsonArray() );
+    JsonObject object = new JsonObject();
+
+    object.append( "a", nested );
+
+    assertEquals( "{\n\"a\": {\n\"b\": []\n}\n}", object.toString() );
+  }
+
+  public void testWrite() throws IOException {
+    JsonObject object = new JsonObject();
+    object.append( "a", 23 );
+    object.append( "b", new JsonArray() );
+    StringWriter writer = new StringWriter();
+
+    object.write( writer );
+
+    assertEquals( object.toString(), writer.toString() );
+  }
+
+  public void testWriteWhenEmpty() throws IOException {
+    StringWriter writer = new StringWriter();
+
+    new JsonObject().write( writer );
+
+    assertEquals( "{}", writer.toString() );
+  }
 }
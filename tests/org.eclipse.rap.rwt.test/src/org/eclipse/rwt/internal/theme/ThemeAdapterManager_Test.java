@@ -53,6 +53,27 @@ public class ThemeAdapterManager_Test extends TestCase {
     IThemeAdapter themeAdapter2 = themeAdapterManager.getThemeAdapter( shell );
     assertSame( themeAdapter1, themeAdapter2 );
   }
+
+  public void testGetThemeAdapterReturnsSameAdapterForConcurrentLookups() throws Exception {
+    final ThemeAdapterManager themeAdapterManager = new ThemeAdapterManager();
+    final IThemeAdapter[] themeAdapters = new IThemeAdapter[ 8 ];
+    Thread[] threads = new Thread[ themeAdapters.length ];
+    for( int i = 0; i < threads.length; i++ ) {
+      final int index = i;
+      threads[ i ] = new Thread( new Runnable() {
+        public void run() {
+          themeAdapters[ index ] = themeAdapterManager.getThemeAdapter( shell );
+        }
+      } );
+      threads[ i ].start();
+    }
+    for( int i = 0; i < threads.length; i++ ) {
+      threads[ i ].join();
+    }
+    for( int i = 0; i < themeAdapters.length; i++ ) {
+      assertSame( themeAdapters[ 0 ], themeAdapters[ i ] );
+    }
+  }
   
   protected void setUp() throws Exception {
     Fixture.setUp();
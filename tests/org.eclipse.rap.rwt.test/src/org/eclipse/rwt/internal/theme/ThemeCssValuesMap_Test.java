@@ -20,7 +20,12 @@ import org.eclipse.rap.rwt.testfixture.Fixture;
 import org.eclipse.rwt.internal.application.RWTFactory;
 import org.eclipse.rwt.internal.theme.css.ConditionalValue;
 import org.eclipse.rwt.internal.theme.css.StyleSheet;
+import org.eclipse.rwt.lifecycle.WidgetUtil;
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Widget;
 
 
 public class ThemeCssValuesMap_Test extends TestCase {
@@ -104,6 +109,75 @@ public class ThemeCssValuesMap_Test extends TestCase {
     assertFalse( Arrays.asList( values ).contains( notExpected ) );
   }
 
+  public void testSelectWithWidgetMatcher() throws Exception {
+    ThemeCssValuesMap map = getValuesMap();
+    WidgetMatcher matcher = createButtonMatcher();
+    Shell shell = new Shell( new Display() );
+    Button pushButton = new Button( shell, SWT.PUSH );
+    Button checkButton = new Button( shell, SWT.CHECK );
+
+    QxType pushFont = map.select( "Button", "font", matcher, pushButton );
+    QxType checkFont = map.select( "Button", "font", matcher, checkButton );
+
+    assertEquals( QxFont.valueOf( "11px 'Segoe UI', Tahoma, 'Lucida Sans Unicode'" ), pushFont );
+    assertEquals( QxFont.valueOf( "bold 12px Arial, Helvetica, sans-serif" ), checkFont );
+    assertSame( pushFont, map.select( "Button", "font", matcher, pushButton ) );
+    assertSame( checkFont, map.select( "Button", "font", matcher, checkButton ) );
+  }
+
+  public void testSelectWithWidgetMatcherRespectsStates() throws Exception {
+    ThemeCssValuesMap map = getValuesMap();
+    WidgetMatcher matcher = createButtonMatcher();
+    Button button = new Button( new Shell( new Display() ), SWT.PUSH );
+    map.select( "Button", "background-color", matcher, button );
+
+    button.setData( "pressed", Boolean.TRUE );
+    QxType pressedColor = map.select( "Button", "background-color", matcher, button );
+    button.setData( "pressed", null );
+    QxType color = map.select( "Button", "background-color", matcher, button );
+
+    assertEquals( QxColor.valueOf( "227, 221, 158" ), pressedColor );
+    assertEquals( QxColor.valueOf( "#9dd0ea" ), color );
+  }
+
+  public void testSelectWithWidgetMatcherRespectsVariant() throws Exception {
+    ThemeCssValuesMap map = getValuesMap();
+    WidgetMatcher matcher = createButtonMatcher();
+    Button button = new Button( new Shell( new Display() ), SWT.PUSH );
+    map.select( "Button", "color", matcher, button );
+
+    button.setData( WidgetUtil.CUSTOM_VARIANT, "special" );
+    QxType color = map.select( "Button", "color", matcher, button );
+
+    assertEquals( QxColor.valueOf( "red" ), color );
+  }
+
+  public void testSelectWithSelectorEqualsUncachedSelect() throws Exception {
+    ThemeCssValuesMap map = getValuesMap();
+    WidgetMatcher matcher = createButtonMatcher();
+    Button button = new Button( new Shell( new Display() ), SWT.TOGGLE | SWT.BORDER );
+    String[] properties = new String[] { "color", "background-color", "border", "font" };
+
+    for( int i = 0; i < properties.length; i++ ) {
+      ConditionalValue[] values = map.getValues( "Button", properties[ i ] );
+      QxType expected = matcher.select( values, button );
+      assertEquals( expected, map.select( "Button", properties[ i ], matcher, button ) );
+    }
+  }
+
+  private static WidgetMatcher createButtonMatcher() {
+    WidgetMatcher result = new WidgetMatcher();
+    result.addStyle( "PUSH", SWT.PUSH );
+    result.addStyle( "TOGGLE", SWT.TOGGLE );
+    result.addStyle( "BORDER", SWT.BORDER );
+    result.addState( "pressed", new WidgetMatcher.Constraint() {
+      public boolean matches( Widget widget ) {
+        return widget.getData( "pressed" ) != null;
+      }
+    } );
+    return result;
+  }
+
   private static ThemeCssValuesMap getValuesMap() throws IOException {
     ThemeManager manager = RWTFactory.getThemeManager();
     manager.initialize();
@@ -0,0 +1,428 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rwt.internal.uicallback;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rap.rwt.testfixture.TestAsyncContext;
+import org.eclipse.rap.rwt.testfixture.TestRequest;
+import org.eclipse.rap.rwt.testfixture.TestResponse;
+import org.eclipse.rap.rwt.testfixture.TestServletContext;
+import org.eclipse.rap.rwt.testfixture.TestSession;
+import org.eclipse.rwt.internal.service.ContextProvider;
+import org.eclipse.rwt.internal.service.ServiceContext;
+import org.eclipse.rwt.internal.service.ServiceStore;
+
+
+public class SuspendedCallBackRequest_Test extends TestCase {
+
+  private static final String ID = "id";
+  private static final String SEND_UI_REQUEST = "\"sendUIRequest\"";
+  private static final int SESSION_COUNT = 2000;
+  private static final int THREAD_COUNT = 4;
+
+  @Override
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+    TestServletContext servletContext = ( TestServletContext )Fixture.getServletContext();
+    servletContext.setVersion( 3, 0 );
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Fixture.tearDown();
+  }
+
+  public void testRequestIsSuspended() throws Exception {
+    ServiceContext context = createSessionContext();
+    UICallBackManager manager = activateUICallBack( context );
+
+    TestAsyncContext asyncContext = service( context );
+
+    assertNotNull( asyncContext );
+    assertFalse( asyncContext.isDispatched() );
+    assertEquals( 1, manager.getSuspendedRequestCount() );
+    assertTrue( manager.isCallBackRequestBlocked() );
+  }
+
+  public void testRequestIsNotSuspendedWithoutUICallBack() throws Exception {
+    ServiceContext context = createSessionContext();
+
+    TestAsyncContext asyncContext = service( context );
+
+    assertNull( asyncContext );
+    assertEquals( "{\n\"meta\": {},\n\"operations\": []\n}", getContent( context ) );
+  }
+
+  public void testRequestBlocksWithoutAsyncSupport() throws Exception {
+    ServiceContext context = createSessionContext();
+    ( ( TestRequest )context.getRequest() ).setAsyncSupported( false );
+    UICallBackManager manager = activateUICallBack( context );
+
+    assertRequestBlocks( context, manager );
+  }
+
+  public void testRequestBlocksBeforeServlet30() throws Exception {
+    ( ( TestServletContext )Fixture.getServletContext() ).setVersion( 2, 5 );
+    ServiceContext context = createSessionContext();
+    UICallBackManager manager = activateUICallBack( context );
+
+    assertRequestBlocks( context, manager );
+  }
+
+  public void testWakeClientResumesRequest() throws Exception {
+    ServiceContext context = createSessionContext();
+    UICallBackManager manager = activateUICallBack( context );
+    TestAsyncContext asyncContext = service( context );
+
+    wakeClient( context, manager );
+
+    assertEquals( 1, asyncContext.getDispatchCount() );
+    assertEquals( 0, manager.getSuspendedRequestCount() );
+  }
+
+  public void testResumedRequestWritesResponse() throws Exception {
+    ServiceContext context = createSessionContext();
+    UICallBackManager manager = activateUICallBack( context );
+    service( context );
+    wakeClient( context, manager );
+
+    TestAsyncContext asyncContext = service( context );
+
+    assertNull( asyncContext );
+    assertTrue( getContent( context ).indexOf( SEND_UI_REQUEST ) != -1 );
+  }
+
+  public void testReleaseBlockedRequestKeepsRequestSuspended() throws Exception {
+    ServiceContext context = createSessionContext();
+    UICallBackManager manager = activateUICallBack( context );
+    TestAsyncContext asyncContext = service( context );
+
+    manager.releaseBlockedRequest();
+
+    assertFalse( asyncContext.isDispatched() );
+    assertEquals( 1, manager.getSuspendedRequestCount() );
+  }
+
+  public void testDeactivateUICallBackResumesRequest() throws Exception {
+    ServiceContext context = createSessionContext();
+    UICallBackManager manager = activateUICallBack( context );
+    TestAsyncContext asyncContext = service( context );
+
+    manager.deactivateUICallBacksFor( ID );
+
+    assertTrue( asyncContext.isDispatched() );
+    assertTrue( SuspendedCallBackRequest.getResumedResult( context.getRequest() ) );
+  }
+
+  public void testNewRequestResumesPreviousRequest() throws Exception {
+    ServiceContext context = createSessionContext();
+    UICallBackManager manager = activateUICallBack( context );
+    TestAsyncContext firstAsyncContext = service( context );
+    ServiceContext secondContext = createRequestContext( context );
+
+    TestAsyncContext secondAsyncContext = service( secondContext );
+
+    assertTrue( firstAsyncContext.isDispatched() );
+    assertFalse( SuspendedCallBackRequest.getResumedResult( context.getRequest() ) );
+    assertFalse( secondAsyncContext.isDispatched() );
+    assertEquals( 1, manager.getSuspendedRequestCount() );
+  }
+
+  public void testTimeoutIsSessionTimeout() throws Exception {
+    ServiceContext context = createSessionContext();
+    activateUICallBack( context );
+    context.getRequest().getSession().setMaxInactiveInterval( 600 );
+
+    TestAsyncContext asyncContext = service( context );
+
+    assertEquals( 600000, asyncContext.getTimeout() );
+  }
+
+  public void testNoTimeoutWithoutSessionTimeout() throws Exception {
+    ServiceContext context = createSessionContext();
+    activateUICallBack( context );
+    context.getRequest().getSession().setMaxInactiveInterval( -1 );
+
+    TestAsyncContext asyncContext = service( context );
+
+    assertEquals( 0, asyncContext.getTimeout() );
+  }
+
+  public void testTimeoutCompletesRequestWithoutUIRequest() throws Exception {
+    ServiceContext context = createSessionContext();
+    UICallBackManager manager = activateUICallBack( context );
+    TestAsyncContext asyncContext = service( context );
+
+    asyncContext.fireTimeout();
+
+    assertTrue( asyncContext.isCompleted() );
+    // a dispatch would run through the RWT servlet and count as activity of the session
+    assertFalse( asyncContext.isDispatched() );
+    TestResponse response = ( TestResponse )asyncContext.getResponse();
+    assertEquals( "{\n\"meta\": {},\n\"operations\": []\n}", response.getContent() );
+    assertEquals( 0, manager.getSuspendedRequestCount() );
+    assertFalse( manager.isCallBackRequestBlocked() );
+  }
+
+  public void testKeepAlive() throws Exception {
+    ServiceContext context = createSessionContext();
+    UICallBackManager manager = activateUICallBack( context );
+    manager.setRequestCheckInterval( 10 );
+    TestAsyncContext asyncContext = service( context );
+
+    Thread.sleep( 100 );
+
+    TestResponse response = ( TestResponse )asyncContext.getResponse();
+    assertTrue( response.getContent().startsWith( " " ) );
+    assertFalse( asyncContext.isCompleted() );
+    assertFalse( asyncContext.isDispatched() );
+    assertEquals( 1, manager.getSuspendedRequestCount() );
+  }
+
+  public void testKeepAliveTerminatesRequestOfLostConnection() throws Exception {
+    ServiceContext context = createSessionContext();
+    ( ( TestRequest )context.getRequest() ).setAsyncResponse( new LostConnectionResponse() );
+    UICallBackManager manager = activateUICallBack( context );
+    manager.setRequestCheckInterval( 10 );
+    TestAsyncContext asyncContext = service( context );
+
+    Thread.sleep( 100 );
+
+    assertTrue( asyncContext.isCompleted() );
+    assertFalse( asyncContext.isDispatched() );
+    assertEquals( 0, manager.getSuspendedRequestCount() );
+  }
+
+  public void testKeepAliveStopsWhenRequestIsResumed() throws Exception {
+    ServiceContext context = createSessionContext();
+    UICallBackManager manager = activateUICallBack( context );
+    int taskCount = CallBackKeepAlive.getInstance().getTaskCount();
+    service( context );
+
+    wakeClient( context, manager );
+
+    assertEquals( taskCount, CallBackKeepAlive.getInstance().getTaskCount() );
+  }
+
+  public void testCompleteRemovesRequest() throws Exception {
+    ServiceContext context = createSessionContext();
+    UICallBackManager manager = activateUICallBack( context );
+    TestAsyncContext asyncContext = service( context );
+
+    asyncContext.complete();
+
+    assertEquals( 0, manager.getSuspendedRequestCount() );
+    assertFalse( manager.isCallBackRequestBlocked() );
+  }
+
+  public void testSessionInvalidateTerminatesRequest() throws Exception {
+    ServiceContext context = createSessionContext();
+    UICallBackManager manager = activateUICallBack( context );
+    TestAsyncContext asyncContext = service( context );
+
+    context.getRequest().getSession().invalidate();
+
+    assertTrue( asyncContext.isCompleted() );
+    assertFalse( asyncContext.isDispatched() );
+    assertEquals( 0, manager.getSuspendedRequestCount() );
+    TestResponse response = ( TestResponse )asyncContext.getResponse();
+    assertEquals( "{\n\"meta\": {},\n\"operations\": []\n}", response.getContent() );
+  }
+
+  public void testManyPushingSessionsOnSmallThreadPool() throws Exception {
+    final ServiceContext[] contexts = new ServiceContext[ SESSION_COUNT ];
+    final UICallBackManager[] managers = new UICallBackManager[ SESSION_COUNT ];
+    final TestAsyncContext[] asyncContexts = new TestAsyncContext[ SESSION_COUNT ];
+    ExecutorService threadPool = Executors.newFixedThreadPool( THREAD_COUNT );
+    for( int i = 0; i < SESSION_COUNT; i++ ) {
+      final int index = i;
+      threadPool.execute( new Runnable() {
+        public void run() {
+          contexts[ index ] = createSessionContext();
+          managers[ index ] = activateUICallBack( contexts[ index ] );
+          asyncContexts[ index ] = service( contexts[ index ] );
+        }
+      } );
+    }
+    awaitTasks( threadPool );
+    for( int i = 0; i < SESSION_COUNT; i++ ) {
+      assertEquals( 1, managers[ i ].getSuspendedRequestCount() );
+    }
+
+    threadPool = Executors.newFixedThreadPool( THREAD_COUNT );
+    for( int i = 0; i < SESSION_COUNT; i++ ) {
+      final int index = i;
+      threadPool.execute( new Runnable() {
+        public void run() {
+          wakeClient( contexts[ index ], managers[ index ] );
+          service( contexts[ index ] );
+        }
+      } );
+    }
+    awaitTasks( threadPool );
+
+    for( int i = 0; i < SESSION_COUNT; i++ ) {
+      assertEquals( 1, asyncContexts[ i ].getDispatchCount() );
+      assertTrue( getContent( contexts[ i ] ).indexOf( SEND_UI_REQUEST ) != -1 );
+    }
+  }
+
+  private static class LostConnectionResponse extends TestResponse {
+    private final PrintWriter writer = new PrintWriter( new Writer() {
+      @Override
+      public void write( char[] buffer, int offset, int length ) throws IOException {
+        throw new IOException( "Connection reset" );
+      }
+
+      @Override
+      public void flush() throws IOException {
+        throw new IOException( "Connection reset" );
+      }
+
+      @Override
+      public void close() {
+      }
+    } );
+
+    @Override
+    public PrintWriter getWriter() {
+      return writer;
+    }
+  }
+
+  private static void assertRequestBlocks( final ServiceContext context,
+                                           UICallBackManager manager )
+    throws InterruptedException
+  {
+    Thread thread = new Thread( new Runnable() {
+      public void run() {
+        service( context );
+      }
+    } );
+    thread.setDaemon( true );
+    thread.start();
+    thread.join( 200 );
+    assertTrue( thread.isAlive() );
+    assertFalse( context.getRequest().isAsyncStarted() );
+    manager.deactivateUICallBacksFor( ID );
+    thread.join();
+  }
+
+  private static ServiceContext createSessionContext() {
+    TestSession session = new TestSession();
+    session.setServletContext( Fixture.getServletContext() );
+    TestRequest request = new TestRequest();
+    request.setSession( session );
+    request.setAsyncSupported( true );
+    ServiceContext result = new ServiceContext( request, new TestResponse() );
+    result.setServiceStore( new ServiceStore() );
+    return result;
+  }
+
+  private static ServiceContext createRequestContext( ServiceContext sessionContext ) {
+    TestRequest request = new TestRequest();
+    request.setSession( sessionContext.getRequest().getSession() );
+    request.setAsyncSupported( true );
+    ServiceContext result = new ServiceContext( request, new TestResponse() );
+    result.setServiceStore( new ServiceStore() );
+    return result;
+  }
+
+  private static UICallBackManager activateUICallBack( ServiceContext context ) {
+    runInContext( context, new Runnable() {
+      public void run() {
+        UICallBackManager.getInstance().activateUICallBacksFor( ID );
+      }
+    } );
+    return getManager( context );
+  }
+
+  private static void wakeClient( ServiceContext context, final UICallBackManager manager ) {
+    // background threads run with a fake context of the session, see UICallBack
+    runInContext( context, new Runnable() {
+      public void run() {
+        manager.setHasRunnables( true );
+        manager.wakeClient();
+      }
+    } );
+  }
+
+  private static TestAsyncContext service( ServiceContext context ) {
+    // resumed requests are dispatched with the same request object
+    context = copy( context );
+    runInContext( context, new Runnable() {
+      public void run() {
+        try {
+          new UICallBackServiceHandler().service();
+        } catch( Exception exception ) {
+          throw new RuntimeException( exception );
+        }
+      }
+    } );
+    TestAsyncContext result = null;
+    TestRequest request = ( TestRequest )context.getRequest();
+    if( request.isAsyncStarted() && !SuspendedCallBackRequest.isResumed( request ) ) {
+      result = ( TestAsyncContext )request.getAsyncContext();
+    }
+    return result;
+  }
+
+  private static UICallBackManager getManager( ServiceContext context ) {
+    final UICallBackManager[] result = new UICallBackManager[ 1 ];
+    runInContext( context, new Runnable() {
+      public void run() {
+        result[ 0 ] = UICallBackManager.getInstance();
+      }
+    } );
+    return result[ 0 ];
+  }
+
+  private static ServiceContext copy( ServiceContext context ) {
+    ServiceContext result = new ServiceContext( context.getRequest(), context.getResponse() );
+    result.setServiceStore( new ServiceStore() );
+    return result;
+  }
+
+  private static void runInContext( ServiceContext context, Runnable runnable ) {
+    ServiceContext previousContext = null;
+    if( ContextProvider.hasContext() ) {
+      previousContext = ContextProvider.getContext();
+      ContextProvider.releaseContextHolder();
+    }
+    ContextProvider.setContext( context );
+    try {
+      runnable.run();
+    } finally {
+      ContextProvider.releaseContextHolder();
+      if( previousContext != null ) {
+        ContextProvider.setContext( previousContext );
+      }
+    }
+  }
+
+  private static String getContent( ServiceContext context ) {
+    return ( ( TestResponse )context.getResponse() ).getContent();
+  }
+
+  private static void awaitTasks( ExecutorService threadPool ) throws InterruptedException {
+    threadPool.shutdown();
+    assertTrue( threadPool.awaitTermination( 30, TimeUnit.SECONDS ) );
+  }
+}
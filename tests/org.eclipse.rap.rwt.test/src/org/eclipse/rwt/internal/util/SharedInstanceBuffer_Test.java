@@ -10,6 +10,10 @@
  ******************************************************************************/
 package org.eclipse.rwt.internal.util;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import junit.framework.TestCase;
 
 import org.eclipse.rwt.internal.util.SharedInstanceBuffer.IInstanceCreator;
@@ -62,11 +66,12 @@ public class SharedInstanceBuffer_Test extends TestCase {
   }
   
   public void testGetAndCreateWithNullKey() {
-    IInstanceCreator<Object> valueCreator = new TestInstanceCreator( null );
-    try {
-      keyValueStore.get( null, valueCreator );
-    } catch( NullPointerException expected ) {
-    }
+    Object value = new Object();
+
+    Object returnedValue = keyValueStore.get( null, new TestInstanceCreator( value ) );
+
+    assertSame( value, returnedValue );
+    assertSame( value, keyValueStore.get( null, new TestInstanceCreator( new Object() ) ) );
   }
   
   public void testGetAndCreateWithNullValueCreator() {
@@ -111,12 +116,135 @@ public class SharedInstanceBuffer_Test extends TestCase {
   }
   
   public void testRemoveWithNullKey() {
+    Object value = new Object();
+    keyValueStore.get( null, new TestInstanceCreator( value ) );
+
+    Object removed = keyValueStore.remove( null );
+
+    assertSame( value, removed );
+    assertNull( keyValueStore.remove( null ) );
+  }
+  
+  public void testCreateDifferentKeysConcurrently() throws InterruptedException {
+    int threadCount = 10;
+    final CountDownLatch allCreating = new CountDownLatch( threadCount );
+    final boolean[] creatingConcurrently = new boolean[ threadCount ];
+    Thread[] threads = new Thread[ threadCount ];
+    for( int i = 0; i < threadCount; i++ ) {
+      final int index = i;
+      threads[ i ] = new Thread( new Runnable() {
+        public void run() {
+          keyValueStore.get( Integer.valueOf( index ), new IInstanceCreator<Object>() {
+            public Object createInstance() {
+              allCreating.countDown();
+              try {
+                // succeeds only if the other keys are created at the same time
+                creatingConcurrently[ index ] = allCreating.await( 5, TimeUnit.SECONDS );
+              } catch( InterruptedException ignore ) {
+              }
+              return new Object();
+            }
+          } );
+        }
+      } );
+      threads[ i ].start();
+    }
+    joinThreads( threads );
+
+    for( int i = 0; i < threadCount; i++ ) {
+      assertTrue( creatingConcurrently[ i ] );
+    }
+  }
+
+  public void testConcurrentGetForSameKeyCreatesOnce() throws InterruptedException {
+    final Object key = new Object();
+    final AtomicInteger creationCount = new AtomicInteger();
+    final Object[] returnedValues = new Object[ 10 ];
+    Thread[] threads = new Thread[ returnedValues.length ];
+    for( int i = 0; i < threads.length; i++ ) {
+      final int index = i;
+      threads[ i ] = new Thread( new Runnable() {
+        public void run() {
+          returnedValues[ index ] = keyValueStore.get( key, new IInstanceCreator<Object>() {
+            public Object createInstance() {
+              creationCount.incrementAndGet();
+              try {
+                Thread.sleep( 50 );
+              } catch( InterruptedException ignore ) {
+              }
+              return new Object();
+            }
+          } );
+        }
+      } );
+      threads[ i ].start();
+    }
+    joinThreads( threads );
+
+    assertEquals( 1, creationCount.get() );
+    for( int i = 0; i < returnedValues.length; i++ ) {
+      assertSame( returnedValues[ 0 ], returnedValues[ i ] );
+    }
+  }
+
+  public void testManySessionsCreatingDistinctInstances() throws InterruptedException {
+    final int keyCount = 200;
+    final AtomicInteger creationCount = new AtomicInteger();
+    final Object[][] returnedValues = new Object[ 20 ][ keyCount ];
+    Thread[] threads = new Thread[ returnedValues.length ];
+    for( int i = 0; i < threads.length; i++ ) {
+      final int index = i;
+      threads[ i ] = new Thread( new Runnable() {
+        public void run() {
+          for( int j = 0; j < keyCount; j++ ) {
+            // every session requests the keys in a different order
+            int key = ( j + index * 7 ) % keyCount;
+            returnedValues[ index ][ key ] = keyValueStore.get( Integer.valueOf( key ),
+                                                                new IInstanceCreator<Object>() {
+              public Object createInstance() {
+                creationCount.incrementAndGet();
+                return new Object();
+              }
+            } );
+          }
+        }
+      } );
+      threads[ i ].start();
+    }
+    joinThreads( threads );
+
+    assertEquals( keyCount, creationCount.get() );
+    for( int i = 0; i < returnedValues.length; i++ ) {
+      for( int j = 0; j < keyCount; j++ ) {
+        assertSame( returnedValues[ 0 ][ j ], returnedValues[ i ][ j ] );
+      }
+    }
+  }
+
+  public void testGetAfterFailedCreation() {
+    Object key = new Object();
+    Object value = new Object();
     try {
-      keyValueStore.remove( null );
-    } catch( NullPointerException expected ) {
+      keyValueStore.get( key, new IInstanceCreator<Object>() {
+        public Object createInstance() {
+          throw new IllegalStateException();
+        }
+      } );
+      fail();
+    } catch( IllegalStateException expected ) {
     }
+
+    Object returnedValue = keyValueStore.get( key, new TestInstanceCreator( value ) );
+
+    assertSame( value, returnedValue );
   }
-  
+
+  private static void joinThreads( Thread[] threads ) throws InterruptedException {
+    for( int i = 0; i < threads.length; i++ ) {
+      threads[ i ].join();
+    }
+  }
+
   protected void setUp() throws Exception {
     keyValueStore = new SharedInstanceBuffer<Object,Object>();
   }
@@ -11,6 +11,10 @@
  ******************************************************************************/
 package org.eclipse.rwt.lifecycle;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 import java.io.IOException;
 import java.util.Date;
 
@@ -20,6 +24,7 @@ import org.eclipse.rap.rwt.testfixture.Fixture;
 import org.eclipse.rap.rwt.testfixture.Message;
 import org.eclipse.rwt.graphics.Graphics;
 import org.eclipse.rwt.internal.lifecycle.JSConst;
+import org.eclipse.rwt.internal.protocol.IClientObjectAdapter;
 import org.eclipse.rwt.internal.protocol.ProtocolTestUtil;
 import org.eclipse.rwt.internal.protocol.ProtocolUtil;
 import org.eclipse.swt.SWT;
@@ -106,22 +111,26 @@ public class WidgetLCAUtil_Test extends TestCase {
     list.setItems( new String[] { "a" } );
     Fixture.markInitialized( display );
     Fixture.preserveWidgets();
+    WidgetLCAUtil.preserveProperty( list, "items", list.getItems() );
     hasChanged = WidgetLCAUtil.hasChanged( list, "items", new String[] { "a" } );
     assertEquals( false, hasChanged );
 
     list.setItems( new String[] { "a" } );
     Fixture.preserveWidgets();
+    WidgetLCAUtil.preserveProperty( list, "items", list.getItems() );
     hasChanged = WidgetLCAUtil.hasChanged( list, "items", new String[] { "b" } );
     assertEquals( true, hasChanged );
 
     list.setItems( new String[] { "a" } );
     Fixture.preserveWidgets();
+    WidgetLCAUtil.preserveProperty( list, "items", list.getItems() );
     hasChanged
       = WidgetLCAUtil.hasChanged( list, "items", new String[] { "a", "b" } );
     assertEquals( true, hasChanged );
 
     list.setItems( new String[] { "a" } );
     Fixture.preserveWidgets();
+    WidgetLCAUtil.preserveProperty( list, "items", list.getItems() );
     hasChanged = WidgetLCAUtil.hasChanged( list, "items", null );
     assertEquals( true, hasChanged );
 
@@ -1046,4 +1055,100 @@ public class WidgetLCAUtil_Test extends TestCase {
     assertEquals( JSONObject.NULL, message.findSetProperty( widget, "menu" ) );
   }
 
+  public void testRenderIntPropertyInitial() {
+    WidgetLCAUtil.renderProperty( widget, "foo", 3, 3 );
+    WidgetLCAUtil.renderProperty( widget, "bar", 4, 3 );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( widget, "foo" ) );
+    assertEquals( Integer.valueOf( 4 ), message.findSetProperty( widget, "bar" ) );
+  }
+
+  public void testRenderIntProperty() {
+    Fixture.markInitialized( widget );
+    WidgetLCAUtil.preserveProperty( widget, "foo", 1000 );
+    WidgetLCAUtil.preserveProperty( widget, "bar", 1000 );
+
+    WidgetLCAUtil.renderProperty( widget, "foo", 1000, 0 );
+    WidgetLCAUtil.renderProperty( widget, "bar", 1001, 0 );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( widget, "foo" ) );
+    assertEquals( Integer.valueOf( 1001 ), message.findSetProperty( widget, "bar" ) );
+  }
+
+  public void testRenderIntPropertyWithBoxedPreservedValue() {
+    Fixture.markInitialized( widget );
+    WidgetLCAUtil.preserveProperty( widget, "foo", Integer.valueOf( 1000 ) );
+
+    WidgetLCAUtil.renderProperty( widget, "foo", 1000, 0 );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( widget, "foo" ) );
+  }
+
+  public void testRenderBooleanProperty() {
+    Fixture.markInitialized( widget );
+    WidgetLCAUtil.preserveProperty( widget, "foo", true );
+    WidgetLCAUtil.preserveProperty( widget, "bar", true );
+
+    WidgetLCAUtil.renderProperty( widget, "foo", true, false );
+    WidgetLCAUtil.renderProperty( widget, "bar", false, false );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( widget, "foo" ) );
+    assertEquals( Boolean.FALSE, message.findSetProperty( widget, "bar" ) );
+  }
+
+  public void testPreserveListener() {
+    WidgetLCAUtil.preserveListener( widget, "foo", true );
+
+    IWidgetAdapter adapter = WidgetUtil.getAdapter( widget );
+    assertEquals( Boolean.TRUE, adapter.getPreserved( WidgetLCAUtil.LISTENER_PREFIX + "foo" ) );
+  }
+
+  public void testPreservePropertyWithForeignWidgetAdapter() {
+    IWidgetAdapter adapter = mock( IWidgetAdapter.class );
+    Widget widget = createWidget( shell, adapter );
+
+    WidgetLCAUtil.preserveProperty( widget, "foo", 3 );
+    WidgetLCAUtil.preserveProperty( widget, "bar", true );
+
+    verify( adapter ).preserve( "foo", Integer.valueOf( 3 ) );
+    verify( adapter ).preserve( "bar", Boolean.TRUE );
+  }
+
+  public void testRenderPropertyWithForeignWidgetAdapter() {
+    IWidgetAdapter adapter = mock( IWidgetAdapter.class );
+    Widget widget = createWidget( shell, adapter );
+    String id = widget.getAdapter( IClientObjectAdapter.class ).getId();
+    when( adapter.getId() ).thenReturn( id );
+    when( adapter.isInitialized() ).thenReturn( Boolean.TRUE );
+    when( adapter.getPreserved( "foo" ) ).thenReturn( Integer.valueOf( 3 ) );
+    when( adapter.getPreserved( "bar" ) ).thenReturn( Boolean.TRUE );
+
+    WidgetLCAUtil.renderProperty( widget, "foo", 3, 0 );
+    WidgetLCAUtil.renderProperty( widget, "bar", false, false );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( widget, "foo" ) );
+    assertEquals( Boolean.FALSE, message.findSetProperty( widget, "bar" ) );
+  }
+
+  private static Widget createWidget( Composite parent, final IWidgetAdapter adapter ) {
+    return new Composite( parent, SWT.NONE ) {
+      @Override
+      @SuppressWarnings("unchecked")
+      public <T> T getAdapter( Class<T> adapterClass ) {
+        T result;
+        if( adapterClass == IWidgetAdapter.class ) {
+          result = ( T )adapter;
+        } else {
+          result = super.getAdapter( adapterClass );
+        }
+        return result;
+      }
+    };
+  }
+
 }
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.report;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.RWT;
+import org.eclipse.rwt.internal.lifecycle.DisplayUtil;
+import org.eclipse.rwt.internal.lifecycle.IDisplayLifeCycleAdapter;
+import org.eclipse.rwt.internal.service.ContextProvider;
+import org.eclipse.rwt.lifecycle.PhaseId;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.PaintEvent;
+import org.eclipse.swt.events.PaintListener;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+
+
+/*
+ * Not part of the test suite (see surefire includes). Compares the payload size and the server
+ * time of a chart with many primitives that is either painted on a Canvas, which sends all
+ * drawing operations to the client on every redraw, or drawn into an Image, which is sent to the
+ * client as one PNG.
+ */
+public class ImageGC_Benchmark extends TestCase {
+
+  private static final int WIDTH = 800;
+  private static final int HEIGHT = 600;
+  private static final int PRIMITIVES = 20000;
+  private static final int REQUESTS = 20;
+
+  private Display display;
+  private Shell shell;
+  private int variant;
+
+  @Override
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+    Fixture.useDefaultResourceManager();
+    display = new Display();
+    shell = new Shell( display );
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Fixture.tearDown();
+  }
+
+  public void testPaintOnCanvas() throws IOException {
+    final Canvas canvas = new Canvas( shell, SWT.NONE );
+    canvas.setSize( WIDTH, HEIGHT );
+    canvas.addPaintListener( new PaintListener() {
+      public void paintControl( PaintEvent event ) {
+        drawChart( event.gc );
+      }
+    } );
+    measure( "Canvas redraw", new Change() {
+      public int run() {
+        canvas.redraw();
+        return 0;
+      }
+    } );
+  }
+
+  public void testDrawIntoNewImage() throws IOException {
+    final Label label = new Label( shell, SWT.NONE );
+    measure( "Image, new content", new Change() {
+      public int run() {
+        // a different chart on every request, the image is encoded every time
+        variant++;
+        return showImage( label );
+      }
+    } );
+  }
+
+  public void testDrawIntoSameImage() throws IOException {
+    final Label label = new Label( shell, SWT.NONE );
+    measure( "Image, same content", new Change() {
+      public int run() {
+        return showImage( label );
+      }
+    } );
+  }
+
+  private int showImage( Label label ) {
+    Image image = new Image( display, WIDTH, HEIGHT );
+    GC gc = new GC( image );
+    drawChart( gc );
+    gc.dispose();
+    Image oldImage = label.getImage();
+    label.setImage( image );
+    String resourceName = image.getInternalImage().getResourceName();
+    int result = 0;
+    // the client loads images that it has seen before from its cache
+    if( oldImage == null || !resourceName.equals( oldImage.getInternalImage().getResourceName() ) ) {
+      result = getResourceSize( resourceName );
+    }
+    if( oldImage != null ) {
+      oldImage.dispose();
+    }
+    return result;
+  }
+
+  private void drawChart( GC gc ) {
+    gc.setForeground( display.getSystemColor( SWT.COLOR_GRAY ) );
+    for( int x = 0; x < WIDTH; x += 50 ) {
+      gc.drawLine( x, 0, x, HEIGHT );
+    }
+    gc.setForeground( display.getSystemColor( SWT.COLOR_DARK_BLUE ) );
+    int lastX = 0;
+    int lastY = HEIGHT / 2;
+    for( int i = 1; i < PRIMITIVES; i++ ) {
+      int x = i * WIDTH / PRIMITIVES;
+      int y = ( int )( HEIGHT / 2 + Math.sin( ( i + variant ) / 300.0 ) * HEIGHT / 3 + i % 7 );
+      gc.drawLine( lastX, lastY, x, y );
+      lastX = x;
+      lastY = y;
+    }
+  }
+
+  private void measure( String label, Change change ) throws IOException {
+    IDisplayLifeCycleAdapter displayLCA = DisplayUtil.getLCA( display );
+    Fixture.markInitialized( display );
+    processRequest( displayLCA, null );
+    for( int i = 0; i < REQUESTS / 5; i++ ) {
+      processRequest( displayLCA, change );
+    }
+    long bytes = 0;
+    long start = System.nanoTime();
+    for( int i = 0; i < REQUESTS; i++ ) {
+      bytes += processRequest( displayLCA, change );
+    }
+    long duration = System.nanoTime() - start;
+    report( label + " [ns/request]", duration / REQUESTS );
+    report( label + " [bytes/request]", bytes / REQUESTS );
+  }
+
+  private int processRequest( IDisplayLifeCycleAdapter displayLCA, Change change )
+    throws IOException
+  {
+    int result = 0;
+    Fixture.fakeNewRequest( display );
+    Fixture.fakePhase( PhaseId.READ_DATA );
+    displayLCA.preserveValues( display );
+    if( change != null ) {
+      Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+      result += change.run();
+    }
+    Fixture.fakePhase( PhaseId.RENDER );
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+    result += ContextProvider.getProtocolWriter().createMessage().length();
+    return result;
+  }
+
+  private static int getResourceSize( String resourceName ) {
+    int result = 0;
+    InputStream stream = RWT.getResourceManager().getRegisteredContent( resourceName );
+    try {
+      while( stream.read() != -1 ) {
+        result++;
+      }
+      stream.close();
+    } catch( IOException exception ) {
+      throw new RuntimeException( exception );
+    }
+    return result;
+  }
+
+  private interface Change {
+    int run();
+  }
+}
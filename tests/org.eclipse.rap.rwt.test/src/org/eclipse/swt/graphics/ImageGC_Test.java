@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.RWT;
+import org.eclipse.rwt.graphics.Graphics;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.graphics.InternalImage;
+import org.eclipse.swt.widgets.Display;
+
+
+public class ImageGC_Test extends TestCase {
+
+  private static final RGB WHITE = new RGB( 255, 255, 255 );
+  private static final RGB RED = new RGB( 255, 0, 0 );
+  private static final RGB BLUE = new RGB( 0, 0, 255 );
+
+  private Display display;
+  private Image image;
+  private GC gc;
+
+  @Override
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+    Fixture.useDefaultResourceManager();
+    display = new Display();
+    image = new Image( display, 20, 10 );
+    gc = new GC( image );
+    gc.setAntialias( SWT.OFF );
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Fixture.tearDown();
+  }
+
+  public void testInitialValues() {
+    assertEquals( display.getSystemFont(), gc.getFont() );
+    assertEquals( display.getSystemColor( SWT.COLOR_WHITE ), gc.getBackground() );
+    assertEquals( display.getSystemColor( SWT.COLOR_BLACK ), gc.getForeground() );
+    assertEquals( image.getBounds(), gc.getClipping() );
+  }
+
+  public void testImageUnchangedBeforeDispose() {
+    InternalImage internalImage = image.getInternalImage();
+    gc.setBackground( display.getSystemColor( SWT.COLOR_RED ) );
+    gc.fillRectangle( 0, 0, 5, 5 );
+
+    assertSame( internalImage, image.getInternalImage() );
+  }
+
+  public void testFillRectangle() {
+    gc.setBackground( display.getSystemColor( SWT.COLOR_RED ) );
+    gc.fillRectangle( 0, 0, 5, 5 );
+    gc.dispose();
+
+    assertEquals( RED, getRGB( 0, 0 ) );
+    assertEquals( RED, getRGB( 4, 4 ) );
+    assertEquals( WHITE, getRGB( 5, 5 ) );
+  }
+
+  public void testDrawLine() {
+    gc.setForeground( display.getSystemColor( SWT.COLOR_BLUE ) );
+    gc.drawLine( 0, 2, 19, 2 );
+    gc.dispose();
+
+    assertEquals( BLUE, getRGB( 0, 2 ) );
+    assertEquals( BLUE, getRGB( 19, 2 ) );
+    assertEquals( WHITE, getRGB( 0, 3 ) );
+  }
+
+  public void testDrawRectangle() {
+    gc.setForeground( display.getSystemColor( SWT.COLOR_BLUE ) );
+    gc.drawRectangle( 2, 2, 4, 4 );
+    gc.dispose();
+
+    assertEquals( BLUE, getRGB( 2, 2 ) );
+    assertEquals( BLUE, getRGB( 6, 6 ) );
+    assertEquals( WHITE, getRGB( 4, 4 ) );
+  }
+
+  public void testFillPolygon() {
+    gc.setBackground( display.getSystemColor( SWT.COLOR_RED ) );
+    gc.fillPolygon( new int[] { 0, 0, 10, 0, 10, 10, 0, 10 } );
+    gc.dispose();
+
+    assertEquals( RED, getRGB( 5, 5 ) );
+    assertEquals( WHITE, getRGB( 15, 5 ) );
+  }
+
+  public void testFillGradientRectangle() {
+    gc.setForeground( display.getSystemColor( SWT.COLOR_RED ) );
+    gc.setBackground( display.getSystemColor( SWT.COLOR_BLUE ) );
+    gc.fillGradientRectangle( 0, 0, 20, 10, false );
+    gc.dispose();
+
+    assertTrue( getRGB( 0, 5 ).red > 200 );
+    assertTrue( getRGB( 19, 5 ).blue > 200 );
+  }
+
+  public void testSetAlpha() {
+    gc.setBackground( display.getSystemColor( SWT.COLOR_RED ) );
+    gc.setAlpha( 128 );
+    gc.fillRectangle( 0, 0, 20, 10 );
+    gc.dispose();
+
+    RGB rgb = getRGB( 5, 5 );
+    assertEquals( 255, rgb.red );
+    assertTrue( rgb.green > 100 && rgb.green < 150 );
+  }
+
+  public void testDrawImage() {
+    Image redImage = new Image( display, createImageData( 4, 4, RED ) );
+
+    gc.drawImage( redImage, 10, 5 );
+    gc.dispose();
+
+    assertEquals( RED, getRGB( 10, 5 ) );
+    assertEquals( RED, getRGB( 13, 8 ) );
+    assertEquals( WHITE, getRGB( 9, 5 ) );
+  }
+
+  public void testDrawImageScaled() {
+    Image redImage = new Image( display, createImageData( 2, 2, RED ) );
+
+    gc.drawImage( redImage, 0, 0, 2, 2, 0, 0, 8, 8 );
+    gc.dispose();
+
+    assertEquals( RED, getRGB( 7, 7 ) );
+    assertEquals( WHITE, getRGB( 8, 8 ) );
+  }
+
+  public void testDrawTextFillsBackground() {
+    gc.setBackground( display.getSystemColor( SWT.COLOR_RED ) );
+    gc.drawText( " ", 0, 0 );
+    gc.dispose();
+
+    assertEquals( RED, getRGB( 0, 0 ) );
+  }
+
+  public void testDrawTransparentTextKeepsBackground() {
+    gc.setBackground( display.getSystemColor( SWT.COLOR_RED ) );
+    gc.drawText( " ", 0, 0, true );
+    gc.dispose();
+
+    assertEquals( WHITE, getRGB( 0, 0 ) );
+  }
+
+  public void testKeepsTransparency() {
+    ImageData imageData = createImageData( 4, 4, RED );
+    imageData.alphaData = new byte[ 16 ];
+    Image transparentImage = new Image( display, imageData );
+
+    GC imageGC = new GC( transparentImage );
+    imageGC.drawPoint( 0, 0 );
+    imageGC.dispose();
+
+    ImageData result = transparentImage.getImageData();
+    assertEquals( 255, result.getAlpha( 0, 0 ) );
+    assertEquals( 0, result.getAlpha( 1, 1 ) );
+  }
+
+  public void testResultIsRegisteredAsResource() {
+    gc.drawLine( 0, 0, 10, 10 );
+    gc.dispose();
+
+    String resourceName = image.getInternalImage().getResourceName();
+    assertTrue( resourceName.startsWith( "generated/" ) );
+    assertTrue( RWT.getResourceManager().isRegistered( resourceName ) );
+  }
+
+  public void testDisposeKeepsInternalImageField() {
+    InternalImage internalImage = image.internalImage;
+    gc.drawLine( 0, 0, 10, 10 );
+    gc.dispose();
+
+    assertSame( internalImage, image.internalImage );
+    assertNotSame( internalImage, image.getInternalImage() );
+  }
+
+  public void testSameDrawingSharesResource() {
+    gc.drawLine( 0, 0, 10, 10 );
+    gc.dispose();
+    Image otherImage = new Image( display, 20, 10 );
+    GC otherGC = new GC( otherImage );
+    otherGC.setAntialias( SWT.OFF );
+    otherGC.drawLine( 0, 0, 10, 10 );
+    otherGC.dispose();
+
+    assertSame( image.getInternalImage(), otherImage.getInternalImage() );
+  }
+
+  public void testImageAlreadySelected() {
+    try {
+      new GC( image );
+      fail();
+    } catch( IllegalArgumentException expected ) {
+    }
+  }
+
+  public void testNewGCAfterDispose() {
+    gc.dispose();
+
+    GC otherGC = new GC( image );
+
+    assertNotNull( otherGC );
+  }
+
+  public void testDisposedImage() {
+    Image disposedImage = new Image( display, 10, 10 );
+    disposedImage.dispose();
+
+    try {
+      new GC( disposedImage );
+      fail();
+    } catch( IllegalArgumentException expected ) {
+    }
+  }
+
+  public void testSharedImage() {
+    Image sharedImage = Graphics.getImage( Fixture.IMAGE1, Fixture.class.getClassLoader() );
+
+    try {
+      new GC( sharedImage );
+      fail();
+    } catch( IllegalArgumentException expected ) {
+    }
+  }
+
+  public void testSetAntialiasValue() {
+    gc.setAntialias( SWT.ON );
+
+    assertEquals( SWT.ON, gc.getAntialias() );
+  }
+
+  private RGB getRGB( int x, int y ) {
+    ImageData imageData = image.getImageData();
+    return imageData.palette.getRGB( imageData.getPixel( x, y ) );
+  }
+
+  private static ImageData createImageData( int width, int height, RGB rgb ) {
+    PaletteData palette = new PaletteData( 0xFF0000, 0xFF00, 0xFF );
+    ImageData result = new ImageData( width, height, 24, palette );
+    int pixel = palette.getPixel( rgb );
+    for( int y = 0; y < height; y++ ) {
+      for( int x = 0; x < width; x++ ) {
+        result.setPixel( x, y, pixel );
+      }
+    }
+    return result;
+  }
+}
@@ -265,6 +265,20 @@ public class Image_Test extends TestCase {
     assertEquals( 50, imageDataFromImage.height );
   }
 
+  public void testGetImageDataReturnsCopies() {
+    Fixture.useDefaultResourceManager();
+    ClassLoader loader = Fixture.class.getClassLoader();
+    InputStream stream = loader.getResourceAsStream( Fixture.IMAGE1 );
+    Image image = new Image( device, stream );
+    ImageData imageData = image.getImageData();
+    int pixel = imageData.getPixel( 0, 0 );
+
+    imageData.setPixel( 0, 0, pixel + 1 );
+
+    assertNotSame( imageData, image.getImageData() );
+    assertEquals( pixel, image.getImageData().getPixel( 0, 0 ) );
+  }
+
   public void testGetImageDataWhenDisposed() {
     ClassLoader loader = Fixture.class.getClassLoader();
     InputStream stream = loader.getResourceAsStream( Fixture.IMAGE1 );
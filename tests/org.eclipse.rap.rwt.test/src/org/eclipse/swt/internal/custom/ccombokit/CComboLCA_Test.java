@@ -19,6 +19,7 @@ import junit.framework.TestCase;
 
 import org.eclipse.rap.rwt.testfixture.Fixture;
 import org.eclipse.rap.rwt.testfixture.Message;
+import org.eclipse.rap.rwt.testfixture.Message.CallOperation;
 import org.eclipse.rap.rwt.testfixture.Message.CreateOperation;
 import org.eclipse.rwt.graphics.Graphics;
 import org.eclipse.rwt.internal.lifecycle.JSConst;
@@ -38,12 +39,14 @@ import org.eclipse.swt.events.VerifyListener;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.internal.widgets.IListItemsAdapter;
 import org.eclipse.swt.internal.widgets.Props;
 import org.eclipse.swt.internal.widgets.controlkit.ControlLCATestUtil;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Widget;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -51,7 +54,6 @@ import org.json.JSONObject;
 
 public class CComboLCA_Test extends TestCase {
 
-  private static final String PROP_ITEMS = "items";
   private static final String PROP_SELECTION_INDEX = "selectionIndex";
 
   private Display display;
@@ -87,8 +89,7 @@ public class CComboLCA_Test extends TestCase {
     // Test preserving a CCombo with no items and (naturally) no selection
     Fixture.preserveWidgets();
     IWidgetAdapter adapter = WidgetUtil.getAdapter( ccombo );
-    String[] items = ( ( String[] )adapter.getPreserved( PROP_ITEMS ) );
-    assertEquals( 0, items.length );
+    assertEquals( 0, getItemsAdapter( ccombo ).getItemChanges().length );
     assertEquals( new Integer( -1 ), adapter.getPreserved( PROP_SELECTION_INDEX ) );
     Object visibleItemCount = adapter.getPreserved( CComboLCA.PROP_VISIBLE_ITEM_COUNT );
     assertEquals( new Integer( ccombo.getVisibleItemCount() ), visibleItemCount );
@@ -112,10 +113,7 @@ public class CComboLCA_Test extends TestCase {
     } );
     Fixture.preserveWidgets();
     adapter = WidgetUtil.getAdapter( ccombo );
-    items = ( ( String[] )adapter.getPreserved( PROP_ITEMS ) );
-    assertEquals( 2, items.length );
-    assertEquals( "item 1", items[ 0 ] );
-    assertEquals( "item 2", items[ 1 ] );
+    assertEquals( 0, getItemsAdapter( ccombo ).getItemChanges().length );
     assertEquals( new Integer( 1 ), adapter.getPreserved( PROP_SELECTION_INDEX ) );
     visibleItemCount = adapter.getPreserved( CComboLCA.PROP_VISIBLE_ITEM_COUNT );
     assertEquals( new Integer( ccombo.getVisibleItemCount() ), visibleItemCount );
@@ -500,6 +498,81 @@ public class CComboLCA_Test extends TestCase {
     assertNull( message.findSetOperation( ccombo, "items" ) );
   }
 
+  public void testRenderInsertedItems() throws IOException, JSONException {
+    CCombo ccombo = new CCombo( shell, SWT.NONE );
+    ccombo.setItems( new String[] { "Item 1", "Item 2", "Item 3" } );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( ccombo );
+    Fixture.preserveWidgets();
+
+    ccombo.add( "New 1", 1 );
+    ccombo.add( "New 2", 2 );
+    lca.renderChanges( ccombo );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( ccombo, "items" ) );
+    CallOperation operation = message.findCallOperation( ccombo, "insertItems" );
+    assertEquals( new Integer( 1 ), operation.getProperty( "index" ) );
+    String expected = "[ \"New 1\", \"New 2\" ]";
+    JSONArray actual = ( JSONArray )operation.getProperty( "items" );
+    assertTrue( ProtocolTestUtil.jsonEquals( expected, actual ) );
+  }
+
+  public void testRenderRemovedItems() throws IOException {
+    CCombo ccombo = new CCombo( shell, SWT.NONE );
+    ccombo.setItems( new String[] { "Item 1", "Item 2", "Item 3" } );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( ccombo );
+    Fixture.preserveWidgets();
+
+    ccombo.remove( 1, 2 );
+    lca.renderChanges( ccombo );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( ccombo, "items" ) );
+    CallOperation operation = message.findCallOperation( ccombo, "removeItems" );
+    assertEquals( new Integer( 1 ), operation.getProperty( "index" ) );
+    assertEquals( new Integer( 2 ), operation.getProperty( "count" ) );
+  }
+
+  public void testRenderReplacedItems() throws IOException, JSONException {
+    CCombo ccombo = new CCombo( shell, SWT.NONE );
+    ccombo.setItems( new String[] { "Item 1", "Item 2", "Item 3" } );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( ccombo );
+    Fixture.preserveWidgets();
+
+    ccombo.setItem( 2, "Changed" );
+    lca.renderChanges( ccombo );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( ccombo, "items" ) );
+    CallOperation operation = message.findCallOperation( ccombo, "replaceItems" );
+    assertEquals( new Integer( 2 ), operation.getProperty( "index" ) );
+    String expected = "[ \"Changed\" ]";
+    JSONArray actual = ( JSONArray )operation.getProperty( "items" );
+    assertTrue( ProtocolTestUtil.jsonEquals( expected, actual ) );
+  }
+
+  public void testRenderItemsAfterManyChanges() throws IOException {
+    CCombo ccombo = new CCombo( shell, SWT.NONE );
+    ccombo.setItems( new String[] { "Item 1", "Item 2", "Item 3" } );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( ccombo );
+    Fixture.preserveWidgets();
+
+    for( int i = 0; i < 20; i++ ) {
+      ccombo.add( "New " + i, 0 );
+      ccombo.remove( 1 );
+    }
+    lca.renderChanges( ccombo );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNotNull( message.findSetOperation( ccombo, "items" ) );
+    assertNull( message.findCallOperation( ccombo, "insertItems" ) );
+    assertNull( message.findCallOperation( ccombo, "removeItems" ) );
+  }
+
   public void testRenderInitialListVisible() throws IOException {
     CCombo ccombo = new CCombo( shell, SWT.NONE );
 
@@ -909,4 +982,8 @@ public class CComboLCA_Test extends TestCase {
     Message message = Fixture.getProtocolMessage();
     assertNull( message.findListenOperation( ccombo, "verify" ) );
   }
+
+  private static IListItemsAdapter getItemsAdapter( Widget widget ) {
+    return widget.getAdapter( IListItemsAdapter.class );
+  }
 }
@@ -42,28 +42,82 @@ public class ImageDataCache_Test extends TestCase {
     assertNull( cache.getImageData( internalImage ) );
   }
 
-  public void testSafeCopiesReturned() {
+  public void testMaxEntrySizeIsConfigurable() {
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    ImageDataCache cache = new ImageDataCache( 1024 * 1024, imageData.data.length - 1 );
+    InternalImage internalImage = createInternalImage( imageData );
+
+    cache.putImageData( internalImage, imageData );
+
+    assertNull( cache.getImageData( internalImage ) );
+  }
+
+  public void testImageDataIsShared() {
     ImageDataCache cache = new ImageDataCache();
-    ImageData originalData = getImageData( Fixture.IMAGE1 );
-    InternalImage internalImage
-      = new InternalImage( "testpath", originalData.width, originalData.height );
-    cache.putImageData( internalImage, originalData );
-    ImageData copyData = cache.getImageData( internalImage );
-    assertNotSame( originalData, copyData );
-    assertEqualsImageData( originalData, copyData );
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    InternalImage internalImage = createInternalImage( imageData );
+
+    cache.putImageData( internalImage, imageData );
+
+    assertSame( imageData, cache.getImageData( internalImage ) );
+    assertSame( imageData, cache.getImageData( internalImage ) );
+  }
+
+  public void testLeastRecentlyUsedImageIsEvicted() {
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    ImageDataCache cache = new ImageDataCache( 2 * imageData.data.length, 1024 );
+    InternalImage internalImage1 = createInternalImage( imageData );
+    InternalImage internalImage2 = createInternalImage( imageData );
+    InternalImage internalImage3 = createInternalImage( imageData );
+    cache.putImageData( internalImage1, imageData );
+    cache.putImageData( internalImage2, imageData );
+    cache.getImageData( internalImage1 );
+
+    cache.putImageData( internalImage3, imageData );
+
+    assertNotNull( cache.getImageData( internalImage1 ) );
+    assertNull( cache.getImageData( internalImage2 ) );
+    assertNotNull( cache.getImageData( internalImage3 ) );
+    assertEquals( 2 * imageData.data.length, cache.getSize() );
   }
 
-  public void testSafeCopiesStored() {
+  public void testImageLargerThanCacheIsEvicted() {
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    ImageDataCache cache = new ImageDataCache( imageData.data.length - 1, 1024 );
+    InternalImage internalImage = createInternalImage( imageData );
+
+    cache.putImageData( internalImage, imageData );
+
+    assertNull( cache.getImageData( internalImage ) );
+    assertEquals( 0, cache.getSize() );
+  }
+
+  public void testReplaceImageData() {
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
     ImageDataCache cache = new ImageDataCache();
-    ImageData originalData = getImageData( Fixture.IMAGE1 );
-    InternalImage internalImage
-      = new InternalImage( "testpath", originalData.width, originalData.height );
-    cache.putImageData( internalImage, originalData );
-    ImageData copyData1 = cache.getImageData( internalImage );
-    // modify original data
-    originalData.setPixel( 0, 0, 23 );
-    ImageData copyData2 = cache.getImageData( internalImage );
-    assertEqualsImageData( copyData1, copyData2 );
+    InternalImage internalImage = createInternalImage( imageData );
+    cache.putImageData( internalImage, imageData );
+
+    cache.putImageData( internalImage, imageData );
+
+    assertEquals( imageData.data.length, cache.getSize() );
+  }
+
+  public void testMetrics() {
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    ImageDataCache cache = new ImageDataCache( imageData.data.length, 1024 );
+    InternalImage internalImage1 = createInternalImage( imageData );
+    InternalImage internalImage2 = createInternalImage( imageData );
+    cache.getImageData( internalImage1 );
+    cache.putImageData( internalImage1, imageData );
+    cache.getImageData( internalImage1 );
+    cache.getImageData( internalImage1 );
+
+    cache.putImageData( internalImage2, imageData );
+
+    assertEquals( 2, cache.getHitCount() );
+    assertEquals( 1, cache.getMissCount() );
+    assertEquals( 1, cache.getEvictionCount() );
   }
 
   protected void setUp() throws Exception {
@@ -76,6 +130,10 @@ public class ImageDataCache_Test extends TestCase {
     Fixture.disposeOfApplicationContext();
   }
 
+  private static InternalImage createInternalImage( ImageData imageData ) {
+    return new InternalImage( "testpath", imageData.width, imageData.height );
+  }
+
   @SuppressWarnings("deprecation")
   private static ImageData getImageData( String resource ) {
     InputStream inputStream = RWT.getResourceManager().getResourceAsStream( resource );
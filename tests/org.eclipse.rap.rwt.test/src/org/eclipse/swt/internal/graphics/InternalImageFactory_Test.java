@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.graphics;
+
+import java.io.InputStream;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.RWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+
+
+public class InternalImageFactory_Test extends TestCase {
+
+  public void testFindInternalImageReturnsSharedImage() {
+    InternalImageFactory factory = new InternalImageFactory( false );
+    ImageData imageData = createImageData( 1 );
+
+    InternalImage internalImage1 = factory.findInternalImage( imageData );
+    InternalImage internalImage2 = factory.findInternalImage( imageData );
+
+    assertSame( internalImage1, internalImage2 );
+    assertTrue( RWT.getResourceManager().isRegistered( internalImage1.getResourceName() ) );
+  }
+
+  public void testFindInternalImageReturnsSharedImageWithEviction() {
+    InternalImageFactory factory = new InternalImageFactory( true );
+    ImageData imageData = createImageData( 1 );
+
+    InternalImage internalImage1 = factory.findInternalImage( imageData );
+    InternalImage internalImage2 = factory.findInternalImage( imageData );
+
+    assertSame( internalImage1, internalImage2 );
+    assertTrue( RWT.getResourceManager().isRegistered( internalImage1.getResourceName() ) );
+  }
+
+  public void testNoEvictionByDefault() {
+    InternalImageFactory factory = new InternalImageFactory();
+    String resourceName = factory.findInternalImage( createImageData( 2 ) ).getResourceName();
+
+    collectGarbage();
+    factory.findInternalImage( createImageData( 3 ) );
+
+    assertEquals( 0, factory.getEvictedImageCount() );
+    assertTrue( RWT.getResourceManager().isRegistered( resourceName ) );
+  }
+
+  public void testEvictUnreferencedImage() {
+    InternalImageFactory factory = new InternalImageFactory( true );
+    String resourceName = factory.findInternalImage( createImageData( 4 ) ).getResourceName();
+
+    for( int i = 0; i < 10 && factory.getEvictedImageCount() == 0; i++ ) {
+      collectGarbage();
+      factory.findInternalImage( createImageData( 5 ) );
+    }
+
+    assertEquals( 1, factory.getEvictedImageCount() );
+    assertFalse( RWT.getResourceManager().isRegistered( resourceName ) );
+  }
+
+  public void testReferencedImageIsNotEvicted() {
+    InternalImageFactory factory = new InternalImageFactory( true );
+    InternalImage internalImage = factory.findInternalImage( createImageData( 6 ) );
+
+    collectGarbage();
+    factory.findInternalImage( createImageData( 7 ) );
+
+    assertEquals( 0, factory.getEvictedImageCount() );
+    assertTrue( RWT.getResourceManager().isRegistered( internalImage.getResourceName() ) );
+  }
+
+  public void testSharedResourceIsUnregisteredWithLastImage() {
+    InternalImageFactory factory = new InternalImageFactory( true );
+    ImageData imageData = createImageData( 8 );
+    InputStream stream = InternalImageFactory.createInputStream( imageData );
+    InternalImage internalImage = factory.findInternalImage( "key1", stream );
+    stream = InternalImageFactory.createInputStream( imageData );
+    factory.findInternalImage( "key2", stream );
+    String resourceName = internalImage.getResourceName();
+    // keep the image that triggers the eviction from being evicted itself
+    InternalImage otherImage = factory.findInternalImage( createImageData( 9 ) );
+
+    collectGarbage();
+    factory.findInternalImage( createImageData( 9 ) );
+    assertEquals( 0, factory.getEvictedImageCount() );
+    assertTrue( RWT.getResourceManager().isRegistered( resourceName ) );
+
+    internalImage = null;
+    for( int i = 0; i < 10 && factory.getEvictedImageCount() == 0; i++ ) {
+      collectGarbage();
+      factory.findInternalImage( createImageData( 9 ) );
+    }
+    assertEquals( 1, factory.getEvictedImageCount() );
+    assertFalse( RWT.getResourceManager().isRegistered( resourceName ) );
+    assertTrue( RWT.getResourceManager().isRegistered( otherImage.getResourceName() ) );
+  }
+
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+  }
+
+  protected void tearDown() throws Exception {
+    Fixture.tearDown();
+  }
+
+  private static ImageData createImageData( int pixel ) {
+    PaletteData palette = new PaletteData( 0xFF0000, 0xFF00, 0xFF );
+    ImageData result = new ImageData( 4, 4, 24, palette );
+    result.setPixel( 0, 0, pixel );
+    return result;
+  }
+
+  private static void collectGarbage() {
+    for( int i = 0; i < 3; i++ ) {
+      System.gc();
+      try {
+        Thread.sleep( 20 );
+      } catch( InterruptedException ignore ) {
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.report;
+
+import java.io.ByteArrayOutputStream;
+
+import junit.framework.TestCase;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+
+
+/*
+ * Not part of the test suite (see surefire includes). Measures the time it takes to encode a
+ * chart-like image as PNG and the size of the result.
+ */
+public class PngEncoder_Benchmark extends TestCase {
+
+  private static final int WIDTH = 1000;
+  private static final int HEIGHT = 800;
+  private static final int ITERATIONS = 50;
+
+  public void testEncode() {
+    measure( "PNG encode" );
+  }
+
+  private static void measure( String label ) {
+    ImageData imageData = createChart();
+    long bytes = 0;
+    for( int i = 0; i < ITERATIONS / 5; i++ ) {
+      encode( imageData );
+    }
+    long start = System.nanoTime();
+    for( int i = 0; i < ITERATIONS; i++ ) {
+      bytes += encode( imageData );
+    }
+    long duration = System.nanoTime() - start;
+    report( label + " [ns/image]", duration / ITERATIONS );
+    report( label + " [bytes/image]", bytes / ITERATIONS );
+  }
+
+  private static int encode( ImageData imageData ) {
+    ImageLoader imageLoader = new ImageLoader();
+    imageLoader.data = new ImageData[] { imageData };
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    imageLoader.save( stream, SWT.IMAGE_PNG );
+    return stream.size();
+  }
+
+  // a gradient background with grid lines and two curves
+  private static ImageData createChart() {
+    PaletteData palette = new PaletteData( 0xFF0000, 0xFF00, 0xFF );
+    ImageData result = new ImageData( WIDTH, HEIGHT, 24, palette );
+    int gridPixel = palette.getPixel( new RGB( 200, 200, 200 ) );
+    int curvePixel1 = palette.getPixel( new RGB( 200, 40, 40 ) );
+    int curvePixel2 = palette.getPixel( new RGB( 40, 40, 200 ) );
+    for( int y = 0; y < HEIGHT; y++ ) {
+      int background = palette.getPixel( new RGB( 255, 255, 255 - ( y * 64 ) / HEIGHT ) );
+      for( int x = 0; x < WIDTH; x++ ) {
+        int pixel = x % 50 == 0 || y % 50 == 0 ? gridPixel : background;
+        result.setPixel( x, y, pixel );
+      }
+    }
+    for( int x = 0; x < WIDTH; x++ ) {
+      int y1 = ( int )( HEIGHT / 2 + Math.sin( x / 60.0 ) * HEIGHT / 3 );
+      int y2 = ( int )( HEIGHT / 2 + Math.cos( x / 90.0 ) * HEIGHT / 4 );
+      for( int d = -1; d <= 1; d++ ) {
+        result.setPixel( x, y1 + d, curvePixel1 );
+        result.setPixel( x, y2 + d, curvePixel2 );
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rwt.internal.resources.SystemProps;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+
+
+public class PngEncoder_Test extends TestCase {
+
+  @Override
+  protected void tearDown() throws Exception {
+    System.getProperties().remove( SystemProps.PNG_COMPRESSION_LEVEL );
+  }
+
+  public void testDirectImage() {
+    ImageData imageData = createDirectImage( 50, 40 );
+
+    ImageData decoded = saveAndLoad( imageData );
+
+    assertSamePixels( imageData, decoded );
+  }
+
+  public void testDirectImageWithAlpha() {
+    ImageData imageData = createDirectImage( 50, 40 );
+    for( int y = 0; y < imageData.height; y++ ) {
+      for( int x = 0; x < imageData.width; x++ ) {
+        imageData.setAlpha( x, y, ( x * 5 + y ) % 256 );
+      }
+    }
+
+    ImageData decoded = saveAndLoad( imageData );
+
+    assertSamePixels( imageData, decoded );
+    assertSameAlphas( imageData, decoded );
+  }
+
+  public void testDirectImageWithTransparentPixel() {
+    ImageData imageData = createDirectImage( 50, 40 );
+    imageData.transparentPixel = imageData.getPixel( 3, 4 );
+
+    ImageData decoded = saveAndLoad( imageData );
+
+    assertSamePixels( imageData, decoded );
+    assertEquals( SWT.TRANSPARENCY_PIXEL, decoded.getTransparencyType() );
+  }
+
+  public void testPaletteImage() {
+    RGB[] rgbs = new RGB[] { new RGB( 0, 0, 0 ), new RGB( 255, 0, 0 ), new RGB( 0, 0, 255 ) };
+    ImageData imageData = new ImageData( 30, 20, 8, new PaletteData( rgbs ) );
+    for( int y = 0; y < imageData.height; y++ ) {
+      for( int x = 0; x < imageData.width; x++ ) {
+        imageData.setPixel( x, y, ( x + y ) % rgbs.length );
+      }
+    }
+
+    ImageData decoded = saveAndLoad( imageData );
+
+    assertSamePixels( imageData, decoded );
+  }
+
+  public void testLargeImage() {
+    ImageData imageData = createDirectImage( 600, 500 );
+
+    ImageData decoded = saveAndLoad( imageData );
+
+    assertSamePixels( imageData, decoded );
+  }
+
+  public void testCompressionLevels() {
+    ImageData imageData = createDirectImage( 100, 100 );
+    int[] levels = new int[] { 0, 1, 9 };
+    for( int i = 0; i < levels.length; i++ ) {
+      System.setProperty( SystemProps.PNG_COMPRESSION_LEVEL, String.valueOf( levels[ i ] ) );
+
+      ImageData decoded = saveAndLoad( imageData );
+
+      assertSamePixels( imageData, decoded );
+    }
+  }
+
+  public void testHigherCompressionLevelProducesSmallerImage() {
+    ImageData imageData = createDirectImage( 200, 200 );
+    System.setProperty( SystemProps.PNG_COMPRESSION_LEVEL, "0" );
+    int storedSize = save( imageData ).length;
+
+    System.setProperty( SystemProps.PNG_COMPRESSION_LEVEL, "9" );
+    int compressedSize = save( imageData ).length;
+
+    assertTrue( compressedSize < storedSize );
+  }
+
+  public void testPaethPredictor() {
+    assertEquals( 10, PngEncoder.paethPredictor( 10, 20, 20 ) );
+    assertEquals( 20, PngEncoder.paethPredictor( 10, 20, 10 ) );
+    assertEquals( 15, PngEncoder.paethPredictor( 10, 20, 15 ) );
+  }
+
+  public void testFilterRowChoosesSub() {
+    byte[] row = new byte[] { 10, 11, 12, 13, 14, 15 };
+    byte[] previousRow = new byte[ row.length ];
+    byte[] result = new byte[ row.length + 1 ];
+
+    PngEncoder.filterRow( row, previousRow, 1, result, 0 );
+
+    byte[] expected = new byte[] { PngIhdrChunk.FILTER_SUB, 10, 1, 1, 1, 1, 1 };
+    assertTrue( Arrays.equals( expected, result ) );
+  }
+
+  private static ImageData createDirectImage( int width, int height ) {
+    PaletteData palette = new PaletteData( 0xFF0000, 0xFF00, 0xFF );
+    ImageData result = new ImageData( width, height, 24, palette );
+    for( int y = 0; y < height; y++ ) {
+      for( int x = 0; x < width; x++ ) {
+        RGB rgb = new RGB( ( x * 255 ) / width, ( y * 255 ) / height, ( x ^ y ) & 0xFF );
+        result.setPixel( x, y, palette.getPixel( rgb ) );
+      }
+    }
+    return result;
+  }
+
+  private static byte[] save( ImageData imageData ) {
+    ImageLoader imageLoader = new ImageLoader();
+    imageLoader.data = new ImageData[] { imageData };
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    imageLoader.save( stream, SWT.IMAGE_PNG );
+    return stream.toByteArray();
+  }
+
+  private static ImageData saveAndLoad( ImageData imageData ) {
+    ByteArrayInputStream stream = new ByteArrayInputStream( save( imageData ) );
+    return new ImageLoader().load( stream )[ 0 ];
+  }
+
+  private static void assertSamePixels( ImageData expected, ImageData actual ) {
+    assertEquals( expected.width, actual.width );
+    assertEquals( expected.height, actual.height );
+    for( int y = 0; y < expected.height; y++ ) {
+      for( int x = 0; x < expected.width; x++ ) {
+        RGB expectedRGB = expected.palette.getRGB( expected.getPixel( x, y ) );
+        RGB actualRGB = actual.palette.getRGB( actual.getPixel( x, y ) );
+        assertEquals( "pixel " + x + "," + y, expectedRGB, actualRGB );
+      }
+    }
+  }
+
+  private static void assertSameAlphas( ImageData expected, ImageData actual ) {
+    for( int y = 0; y < expected.height; y++ ) {
+      for( int x = 0; x < expected.width; x++ ) {
+        assertEquals( "alpha " + x + "," + y, expected.getAlpha( x, y ), actual.getAlpha( x, y ) );
+      }
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.report;
+
+import java.io.IOException;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.internal.lifecycle.DisplayUtil;
+import org.eclipse.rwt.internal.lifecycle.IDisplayLifeCycleAdapter;
+import org.eclipse.rwt.internal.resources.SystemProps;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Widget;
+
+
+/*
+ * Not part of the test suite (see surefire includes). Measures the time spent in the preserve and
+ * render phases of a request that changes a single widget of a large widget tree, with and
+ * without -Dorg.eclipse.rap.renderDirtyWidgetsOnly.
+ */
+public class DirtyWidgetRender_Benchmark extends TestCase {
+
+  private static final int COMPOSITES = 100;
+  private static final int WIDGETS_PER_COMPOSITE = 30;
+  private static final int REQUESTS = 500;
+
+  @Override
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Fixture.tearDown();
+    System.getProperties().remove( SystemProps.RENDER_DIRTY_WIDGETS_ONLY );
+  }
+
+  public void testRenderAllWidgets() throws IOException {
+    System.getProperties().remove( SystemProps.RENDER_DIRTY_WIDGETS_ONLY );
+    report( "Full render [ns/request]", measure() );
+  }
+
+  public void testRenderDirtyWidgetsOnly() throws IOException {
+    System.setProperty( SystemProps.RENDER_DIRTY_WIDGETS_ONLY, "true" );
+    report( "Dirty render [ns/request]", measure() );
+  }
+
+  private static long measure() throws IOException {
+    Display display = new Display();
+    Button button = createWidgetTree( display );
+    IDisplayLifeCycleAdapter displayLCA = DisplayUtil.getLCA( display );
+    for( int i = 0; i < REQUESTS / 10; i++ ) {
+      processRequest( displayLCA, display, button, i );
+    }
+    long start = System.nanoTime();
+    for( int i = 0; i < REQUESTS; i++ ) {
+      processRequest( displayLCA, display, button, i );
+    }
+    long duration = System.nanoTime() - start;
+    display.dispose();
+    return duration / REQUESTS;
+  }
+
+  private static void processRequest( IDisplayLifeCycleAdapter displayLCA,
+                                      Display display,
+                                      Button button,
+                                      int count )
+    throws IOException
+  {
+    Fixture.fakeNewRequest( display );
+    displayLCA.preserveValues( display );
+    button.setText( String.valueOf( count ) );
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+  }
+
+  private static Button createWidgetTree( Display display ) {
+    Shell shell = new Shell( display );
+    Button result = null;
+    for( int i = 0; i < COMPOSITES; i++ ) {
+      Composite composite = new Composite( shell, SWT.NONE );
+      for( int j = 0; j < WIDGETS_PER_COMPOSITE; j++ ) {
+        if( j % 2 == 0 ) {
+          result = new Button( composite, SWT.PUSH );
+        } else {
+          new Label( composite, SWT.NONE );
+        }
+      }
+    }
+    Fixture.markInitialized( display );
+    WidgetTreeVisitor.accept( shell, new WidgetTreeVisitor.AllWidgetTreeVisitor() {
+      @Override
+      public boolean doVisit( Widget widget ) {
+        Fixture.markInitialized( widget );
+        return true;
+      }
+    } );
+    return result;
+  }
+}
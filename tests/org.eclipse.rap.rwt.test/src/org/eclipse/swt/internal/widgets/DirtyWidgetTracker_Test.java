@@ -0,0 +1,388 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import java.io.IOException;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rap.rwt.testfixture.Message;
+import org.eclipse.rwt.internal.lifecycle.DisplayUtil;
+import org.eclipse.rwt.internal.lifecycle.IDisplayLifeCycleAdapter;
+import org.eclipse.rwt.internal.resources.SystemProps;
+import org.eclipse.rwt.lifecycle.AbstractWidgetLCA;
+import org.eclipse.rwt.lifecycle.ILifeCycleAdapter;
+import org.eclipse.rwt.lifecycle.WidgetUtil;
+import org.eclipse.rwt.widgets.FileUpload;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.swt.widgets.Widget;
+
+
+public class DirtyWidgetTracker_Test extends TestCase {
+
+  private static class CustomLCA extends AbstractWidgetLCA {
+
+    public void readData( Widget widget ) {
+    }
+
+    @Override
+    public void preserveValues( Widget widget ) {
+    }
+
+    @Override
+    public void renderInitialization( Widget widget ) throws IOException {
+    }
+
+    @Override
+    public void renderChanges( Widget widget ) throws IOException {
+    }
+
+    @Override
+    public void renderDispose( Widget widget ) throws IOException {
+    }
+  }
+
+  private static class CustomWidget extends Composite {
+
+    private final AbstractWidgetLCA widgetLCA;
+
+    CustomWidget( Composite parent ) {
+      super( parent, SWT.NONE );
+      widgetLCA = new CustomLCA();
+    }
+
+    @Override
+    @SuppressWarnings( "unchecked" )
+    public <T> T getAdapter( Class<T> adapter ) {
+      T result;
+      if( adapter == ILifeCycleAdapter.class ) {
+        result = ( T )widgetLCA;
+      } else {
+        result = super.getAdapter( adapter );
+      }
+      return result;
+    }
+  }
+
+  private Display display;
+  private Shell shell;
+  private IDisplayLifeCycleAdapter displayLCA;
+
+  @Override
+  protected void setUp() throws Exception {
+    System.setProperty( SystemProps.RENDER_DIRTY_WIDGETS_ONLY, "true" );
+    Fixture.setUp();
+    display = new Display();
+    shell = new Shell( display );
+    displayLCA = DisplayUtil.getLCA( display );
+    Fixture.fakeNewRequest( display );
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Fixture.tearDown();
+    System.getProperties().remove( SystemProps.RENDER_DIRTY_WIDGETS_ONLY );
+  }
+
+  public void testTrackerDisabledByDefault() {
+    System.getProperties().remove( SystemProps.RENDER_DIRTY_WIDGETS_ONLY );
+    display.dispose();
+
+    Display display = new Display();
+
+    assertNull( DirtyWidgetTracker.getTracker( display ) );
+  }
+
+  public void testTrackerEnabled() {
+    assertNotNull( DirtyWidgetTracker.getTracker( display ) );
+  }
+
+  public void testNotTrackingBeforePreserve() {
+    Button button = new Button( shell, SWT.PUSH );
+    Fixture.markInitialized( button );
+
+    button.setText( "foo" );
+
+    assertFalse( DirtyWidgetTracker.isDirty( button ) );
+  }
+
+  public void testChangeMarksWidgetDirty() {
+    Button button = new Button( shell, SWT.PUSH );
+    Button otherButton = new Button( shell, SWT.PUSH );
+    markAllInitialized();
+    displayLCA.preserveValues( display );
+
+    button.setText( "foo" );
+
+    assertTrue( DirtyWidgetTracker.isDirty( button ) );
+    assertFalse( DirtyWidgetTracker.isDirty( otherButton ) );
+  }
+
+  public void testFileUploadChangeMarksWidgetDirty() {
+    FileUpload fileUpload = new FileUpload( shell, SWT.NONE );
+    fileUpload.setText( "before" );
+    markAllInitialized();
+    displayLCA.preserveValues( display );
+
+    fileUpload.setText( "after" );
+
+    assertTrue( DirtyWidgetTracker.isDirty( fileUpload ) );
+    assertEquals( "before", WidgetUtil.getAdapter( fileUpload ).getPreserved( "text" ) );
+  }
+
+  public void testRWTLifeCycleAdapterIsTracked() {
+    assertTrue( DirtyWidgetTracker.isTrackedLCA( WidgetUtil.getLCA( shell ).getClass() ) );
+    assertFalse( DirtyWidgetTracker.isTrackedLCA( CustomLCA.class ) );
+  }
+
+  public void testWidgetWithCustomLCAIsAlwaysDirty() {
+    CustomWidget widget = new CustomWidget( shell );
+    Button button = new Button( shell, SWT.PUSH );
+    markAllInitialized();
+
+    displayLCA.preserveValues( display );
+
+    assertTrue( DirtyWidgetTracker.isDirty( widget ) );
+    assertFalse( DirtyWidgetTracker.isDirty( button ) );
+  }
+
+  public void testWidgetWithCustomLCAIsDirtyInEveryRequest() throws IOException {
+    CustomWidget widget = new CustomWidget( shell );
+    markAllInitialized();
+    displayLCA.preserveValues( display );
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+
+    displayLCA.preserveValues( display );
+
+    assertTrue( DirtyWidgetTracker.isDirty( widget ) );
+  }
+
+  public void testReadDoesNotMarkWidgetDirty() {
+    Composite composite = new Composite( shell, SWT.NONE );
+    Button button = new Button( composite, SWT.PUSH );
+    markAllInitialized();
+    displayLCA.preserveValues( display );
+
+    button.getText();
+    button.getBounds();
+    composite.computeSize( SWT.DEFAULT, SWT.DEFAULT );
+
+    assertFalse( DirtyWidgetTracker.isDirty( button ) );
+    assertFalse( DirtyWidgetTracker.isDirty( composite ) );
+  }
+
+  public void testChangePreservesValuesBeforeChange() {
+    Button button = new Button( shell, SWT.PUSH );
+    button.setText( "before" );
+    markAllInitialized();
+    displayLCA.preserveValues( display );
+
+    button.setText( "after" );
+
+    assertEquals( "before", WidgetUtil.getAdapter( button ).getPreserved( "text" ) );
+  }
+
+  public void testChangeMarksParentDirty() {
+    Composite composite = new Composite( shell, SWT.NONE );
+    Button button = new Button( composite, SWT.PUSH );
+    markAllInitialized();
+    displayLCA.preserveValues( display );
+
+    button.setText( "foo" );
+
+    assertTrue( DirtyWidgetTracker.isDirty( composite ) );
+    assertFalse( DirtyWidgetTracker.isDirty( shell ) );
+  }
+
+  public void testCreateWidgetMarksParentDirty() {
+    Composite composite = new Composite( shell, SWT.NONE );
+    markAllInitialized();
+    displayLCA.preserveValues( display );
+
+    new Label( composite, SWT.NONE );
+
+    assertTrue( DirtyWidgetTracker.isDirty( composite ) );
+  }
+
+  public void testItemChangeMarksOwnerAndSiblingsDirty() {
+    Table table = new Table( shell, SWT.NONE );
+    TableItem item = new TableItem( table, SWT.NONE );
+    TableItem otherItem = new TableItem( table, SWT.NONE );
+    markAllInitialized();
+    displayLCA.preserveValues( display );
+
+    item.setText( "foo" );
+
+    assertTrue( DirtyWidgetTracker.isDirty( table ) );
+    assertTrue( DirtyWidgetTracker.isDirty( otherItem ) );
+  }
+
+  public void testRenderPathContainsAncestorsOfChangedWidget() {
+    Composite composite = new Composite( shell, SWT.NONE );
+    Button button = new Button( composite, SWT.PUSH );
+    Composite otherComposite = new Composite( shell, SWT.NONE );
+    markAllInitialized();
+    displayLCA.preserveValues( display );
+
+    button.setText( "foo" );
+
+    DirtyWidgetTracker tracker = DirtyWidgetTracker.getTracker( display );
+    assertTrue( tracker.isOnRenderPath( button ) );
+    assertTrue( tracker.isOnRenderPath( composite ) );
+    assertTrue( tracker.isOnRenderPath( shell ) );
+    assertFalse( tracker.isOnRenderPath( otherComposite ) );
+  }
+
+  public void testRenderPathContainsAncestorsOfChangedItem() {
+    Tree tree = new Tree( shell, SWT.NONE );
+    TreeItem item = new TreeItem( tree, SWT.NONE );
+    TreeItem subItem = new TreeItem( item, SWT.NONE );
+    markAllInitialized();
+    displayLCA.preserveValues( display );
+
+    subItem.setText( "foo" );
+
+    DirtyWidgetTracker tracker = DirtyWidgetTracker.getTracker( display );
+    assertTrue( tracker.isOnRenderPath( item ) );
+    assertTrue( tracker.isOnRenderPath( tree ) );
+  }
+
+  public void testMarkAllDirty() {
+    Button button = new Button( shell, SWT.PUSH );
+    markAllInitialized();
+    displayLCA.preserveValues( display );
+
+    DirtyWidgetTracker.getTracker( display ).markAllDirty();
+
+    assertTrue( DirtyWidgetTracker.isDirty( shell ) );
+    assertTrue( DirtyWidgetTracker.isDirty( button ) );
+  }
+
+  public void testRenderOnlyDirtyWidgets() throws IOException {
+    Button button = new Button( shell, SWT.PUSH );
+    Button otherButton = new Button( shell, SWT.PUSH );
+    markAllInitialized();
+    displayLCA.preserveValues( display );
+    button.setText( "foo" );
+    // a full render would detect this difference
+    WidgetUtil.getAdapter( otherButton ).preserve( "text", "stale" );
+
+    displayLCA.render( display );
+
+    Message message = Fixture.getProtocolMessage();
+    assertEquals( "foo", message.findSetProperty( button, "text" ) );
+    assertNull( message.findSetOperation( otherButton, "text" ) );
+  }
+
+  public void testRenderImageDrawnOn() throws IOException {
+    Fixture.useDefaultResourceManager();
+    Image image = new Image( display, 10, 10 );
+    Label label = new Label( shell, SWT.NONE );
+    label.setImage( image );
+    renderInitialization();
+    displayLCA.preserveValues( display );
+
+    GC gc = new GC( image );
+    gc.fillRectangle( 0, 0, 5, 5 );
+    gc.dispose();
+    displayLCA.render( display );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNotNull( message.findSetOperation( label, "image" ) );
+  }
+
+  public void testDrawOnImageMarksOnlyWidgetsThatRenderedIt() throws IOException {
+    Fixture.useDefaultResourceManager();
+    Image image = new Image( display, 10, 10 );
+    Label label = new Label( shell, SWT.NONE );
+    label.setImage( image );
+    Label otherLabel = new Label( shell, SWT.NONE );
+    otherLabel.setImage( new Image( display, 10, 10 ) );
+    renderInitialization();
+    displayLCA.preserveValues( display );
+
+    GC gc = new GC( image );
+    gc.fillRectangle( 0, 0, 5, 5 );
+    gc.dispose();
+
+    assertTrue( DirtyWidgetTracker.isDirty( label ) );
+    assertFalse( DirtyWidgetTracker.isDirty( otherLabel ) );
+  }
+
+  public void testRenderNewWidgets() throws IOException {
+    markAllInitialized();
+    displayLCA.preserveValues( display );
+    Button button = new Button( shell, SWT.PUSH );
+
+    displayLCA.render( display );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNotNull( message.findCreateOperation( button ) );
+  }
+
+  public void testRenderWidgetsCreatedBeforeTracking() throws IOException {
+    Composite composite = new Composite( shell, SWT.NONE );
+    markAllInitialized();
+    Button button = new Button( composite, SWT.PUSH );
+    displayLCA.preserveValues( display );
+
+    displayLCA.render( display );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNotNull( message.findCreateOperation( button ) );
+  }
+
+  public void testClearPreservedResetsDirtyWidgets() throws IOException {
+    Button button = new Button( shell, SWT.PUSH );
+    markAllInitialized();
+    displayLCA.preserveValues( display );
+    button.setText( "foo" );
+    displayLCA.render( display );
+
+    displayLCA.clearPreserved( display );
+
+    assertFalse( DirtyWidgetTracker.isDirty( button ) );
+    assertNull( WidgetUtil.getAdapter( button ).getPreserved( "text" ) );
+    button.setText( "bar" );
+    assertFalse( DirtyWidgetTracker.isDirty( button ) );
+  }
+
+  private void renderInitialization() throws IOException {
+    displayLCA.render( display );
+    markAllInitialized();
+    displayLCA.clearPreserved( display );
+    Fixture.fakeNewRequest( display );
+  }
+
+  private void markAllInitialized() {
+    Fixture.markInitialized( display );
+    WidgetTreeVisitor.accept( shell, new WidgetTreeVisitor.AllWidgetTreeVisitor() {
+      @Override
+      public boolean doVisit( Widget widget ) {
+        Fixture.markInitialized( widget );
+        return true;
+      }
+    } );
+  }
+}
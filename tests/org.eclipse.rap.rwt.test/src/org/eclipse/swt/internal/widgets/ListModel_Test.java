@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+
+public class ListModel_Test extends TestCase {
+
+  private ListModel model;
+
+  @Override
+  protected void setUp() throws Exception {
+    model = new ListModel( true );
+    model.setItems( new String[] { "a", "b", "c", "d" } );
+    model.clearItemChanges();
+  }
+
+  public void testNoItemChanges() {
+    assertEquals( 0, model.getItemChanges().length );
+  }
+
+  public void testSetItemsDiscardsItemChanges() {
+    model.add( "e" );
+
+    model.setItems( new String[] { "x" } );
+
+    assertNull( model.getItemChanges() );
+  }
+
+  public void testRemoveAllDiscardsItemChanges() {
+    model.removeAll();
+
+    assertNull( model.getItemChanges() );
+  }
+
+  public void testClearItemChanges() {
+    model.setItems( new String[] { "x" } );
+
+    model.clearItemChanges();
+
+    assertEquals( 0, model.getItemChanges().length );
+  }
+
+  public void testAdjacentInsertsAreMerged() {
+    model.add( "x", 1 );
+    model.add( "y", 2 );
+    model.add( "w", 1 );
+
+    ListItemChange[] changes = model.getItemChanges();
+    assertEquals( 1, changes.length );
+    assertEquals( ListItemChange.INSERT, changes[ 0 ].getType() );
+    assertEquals( 1, changes[ 0 ].getIndex() );
+    assertEquals( 3, changes[ 0 ].getCount() );
+    assertTrue( Arrays.equals( new String[] { "w", "x", "y" }, changes[ 0 ].getItems() ) );
+  }
+
+  public void testAdjacentRemovesAreMerged() {
+    model.remove( 2 );
+    model.remove( 1 );
+    model.remove( 1 );
+
+    ListItemChange[] changes = model.getItemChanges();
+    assertEquals( 1, changes.length );
+    assertEquals( ListItemChange.REMOVE, changes[ 0 ].getType() );
+    assertEquals( 1, changes[ 0 ].getIndex() );
+    assertEquals( 3, changes[ 0 ].getCount() );
+    assertNull( changes[ 0 ].getItems() );
+  }
+
+  public void testAdjacentReplacesAreMerged() {
+    model.setItem( 1, "x" );
+    model.setItem( 2, "y" );
+    model.setItem( 1, "z" );
+
+    ListItemChange[] changes = model.getItemChanges();
+    assertEquals( 1, changes.length );
+    assertEquals( ListItemChange.REPLACE, changes[ 0 ].getType() );
+    assertEquals( 1, changes[ 0 ].getIndex() );
+    assertTrue( Arrays.equals( new String[] { "z", "y" }, changes[ 0 ].getItems() ) );
+  }
+
+  public void testReplaceOfInsertedItem() {
+    model.add( "x", 4 );
+    model.setItem( 4, "y" );
+
+    ListItemChange[] changes = model.getItemChanges();
+    assertEquals( 1, changes.length );
+    assertEquals( ListItemChange.INSERT, changes[ 0 ].getType() );
+    assertTrue( Arrays.equals( new String[] { "y" }, changes[ 0 ].getItems() ) );
+  }
+
+  public void testChangesKeepTheirOrder() {
+    model.remove( 0 );
+    model.add( "x", 2 );
+
+    ListItemChange[] changes = model.getItemChanges();
+    assertEquals( 2, changes.length );
+    assertEquals( ListItemChange.REMOVE, changes[ 0 ].getType() );
+    assertEquals( ListItemChange.INSERT, changes[ 1 ].getType() );
+    assertEquals( 2, changes[ 1 ].getIndex() );
+  }
+
+  public void testTooManyChangesDiscardItemChanges() {
+    for( int i = 0; i < 10; i++ ) {
+      model.remove( 0 );
+      model.add( "x", 3 );
+    }
+
+    assertNull( model.getItemChanges() );
+  }
+
+  public void testChangingMoreItemsThanExistDiscardsItemChanges() {
+    model.setItem( 0, "x" );
+    model.setItem( 1, "x" );
+    model.remove( 0 );
+    model.remove( 0 );
+    model.setItem( 0, "y" );
+    model.setItem( 1, "y" );
+    model.add( "z" );
+
+    assertNull( model.getItemChanges() );
+  }
+
+  public void testSetItemCount() {
+    model.setItemCount( 6 );
+
+    assertEquals( 6, model.getItemCount() );
+    assertFalse( model.isCached( 5 ) );
+    assertTrue( model.isCached( 3 ) );
+    assertEquals( "", model.getItem( 5 ) );
+    ListItemChange[] changes = model.getItemChanges();
+    assertEquals( 1, changes.length );
+    assertTrue( Arrays.equals( new String[] { "", "" }, changes[ 0 ].getItems() ) );
+  }
+
+  public void testSetItemCountShrinks() {
+    model.setItemCount( 1 );
+
+    assertTrue( Arrays.equals( new String[] { "a" }, model.getItems() ) );
+    ListItemChange[] changes = model.getItemChanges();
+    assertEquals( 1, changes.length );
+    assertEquals( ListItemChange.REMOVE, changes[ 0 ].getType() );
+    assertEquals( 1, changes[ 0 ].getIndex() );
+    assertEquals( 3, changes[ 0 ].getCount() );
+  }
+}
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+
+public class PreservedValues_Test extends TestCase {
+
+  private PreservedValues values;
+
+  @Override
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+    values = new PreservedValues();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Fixture.tearDown();
+  }
+
+  public void testGetUnknown() {
+    assertNull( values.get( "foo" ) );
+  }
+
+  public void testPutObject() {
+    Object value = new Object();
+
+    values.put( "foo", value );
+
+    assertSame( value, values.get( "foo" ) );
+  }
+
+  public void testPutNull() {
+    values.put( "foo", null );
+
+    assertNull( values.get( "foo" ) );
+  }
+
+  public void testPutOverwritesValue() {
+    values.put( "foo", "bar" );
+    values.put( "foo", 23 );
+
+    assertEquals( Integer.valueOf( 23 ), values.get( "foo" ) );
+  }
+
+  public void testPutManyValues() {
+    for( int i = 0; i < 100; i++ ) {
+      values.put( "prop" + i, i );
+    }
+
+    for( int i = 0; i < 100; i++ ) {
+      assertEquals( Integer.valueOf( i ), values.get( "prop" + i ) );
+    }
+  }
+
+  public void testIntValue() {
+    values.put( "foo", 1000 );
+
+    assertEquals( Integer.valueOf( 1000 ), values.get( "foo" ) );
+    assertTrue( values.contains( "foo", 1000 ) );
+    assertFalse( values.contains( "foo", 1001 ) );
+    assertFalse( values.contains( "foo", true ) );
+  }
+
+  public void testBooleanValue() {
+    values.put( "foo", true );
+
+    assertEquals( Boolean.TRUE, values.get( "foo" ) );
+    assertTrue( values.contains( "foo", true ) );
+    assertFalse( values.contains( "foo", false ) );
+    assertFalse( values.contains( "foo", 1 ) );
+  }
+
+  public void testContainsWithBoxedValues() {
+    values.put( "int", Integer.valueOf( 5 ) );
+    values.put( "boolean", Boolean.FALSE );
+
+    assertTrue( values.contains( "int", 5 ) );
+    assertTrue( values.contains( "boolean", false ) );
+  }
+
+  public void testContainsUnknown() {
+    assertFalse( values.contains( "foo", 0 ) );
+    assertFalse( values.contains( "foo", false ) );
+  }
+
+  public void testClear() {
+    values.put( "foo", "bar" );
+    values.put( "int", 1 );
+
+    values.clear();
+
+    assertNull( values.get( "foo" ) );
+    assertFalse( values.contains( "int", 1 ) );
+  }
+
+  public void testGetPrevious() {
+    values.put( "foo", "bar" );
+    values.put( "int", 1 );
+
+    values.clear();
+
+    assertEquals( "bar", values.getPrevious( "foo" ) );
+    assertEquals( Integer.valueOf( 1 ), values.getPrevious( "int" ) );
+  }
+
+  public void testGetPreviousAfterPut() {
+    values.put( "foo", "bar" );
+    values.clear();
+
+    values.put( "foo", "baz" );
+
+    assertEquals( "baz", values.get( "foo" ) );
+    assertNull( values.getPrevious( "foo" ) );
+  }
+
+  public void testGetPreviousIsForgottenAfterSecondClear() {
+    values.put( "foo", "bar" );
+    values.clear();
+
+    values.clear();
+
+    assertNull( values.getPrevious( "foo" ) );
+  }
+
+  public void testGetPreviousWithoutClear() {
+    values.put( "foo", "bar" );
+
+    assertNull( values.getPrevious( "foo" ) );
+  }
+
+  public void testImageArrayContentUnchanged() {
+    Image[] images = new Image[] { createImage(), null };
+
+    values.put( "images", images );
+
+    assertFalse( values.isContentChanged( "images", images ) );
+  }
+
+  public void testImageArrayContentChanged() {
+    Image image = createImage();
+    Image[] images = new Image[] { image, null };
+    values.put( "images", images );
+
+    drawOn( image );
+
+    assertTrue( values.isContentChanged( "images", images ) );
+  }
+
+  public void testImageArrayContentChangedAfterClear() {
+    Image image = createImage();
+    Image[] images = new Image[] { null, image };
+    values.put( "images", images );
+    values.clear();
+    values.put( "images", images );
+
+    drawOn( image );
+
+    assertTrue( values.isContentChanged( "images", images ) );
+  }
+
+  public void testImageArrayWithoutImages() {
+    Image[] images = new Image[ 2 ];
+
+    values.put( "images", images );
+
+    assertFalse( values.isContentChanged( "images", images ) );
+  }
+
+  public void testImageArrayWithImageAddedInPlace() {
+    Image[] images = new Image[ 2 ];
+    values.put( "images", images );
+
+    images[ 0 ] = createImage();
+
+    assertTrue( values.isContentChanged( "images", images ) );
+  }
+
+  private static Image createImage() {
+    Fixture.useDefaultResourceManager();
+    return new Image( new Display(), 10, 10 );
+  }
+
+  private static void drawOn( Image image ) {
+    GC gc = new GC( image );
+    gc.fillRectangle( 0, 0, 5, 5 );
+    gc.dispose();
+  }
+}
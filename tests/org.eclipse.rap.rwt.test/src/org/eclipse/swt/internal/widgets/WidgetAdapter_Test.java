@@ -188,6 +188,30 @@ public class WidgetAdapter_Test extends TestCase {
     assertNull( deserializedAdapter.getPreserved( property ) );
   }
 
+  public void testPreservePrimitiveValues() {
+    WidgetAdapter adapter = new WidgetAdapter();
+
+    adapter.preserve( "int", 42 );
+    adapter.preserve( "boolean", true );
+
+    assertEquals( Integer.valueOf( 42 ), adapter.getPreserved( "int" ) );
+    assertEquals( Boolean.TRUE, adapter.getPreserved( "boolean" ) );
+    assertTrue( adapter.isPreserved( "int", 42 ) );
+    assertFalse( adapter.isPreserved( "int", 43 ) );
+    assertTrue( adapter.isPreserved( "boolean", true ) );
+    assertFalse( adapter.isPreserved( "boolean", false ) );
+  }
+
+  public void testClearPreserved() {
+    WidgetAdapter adapter = new WidgetAdapter();
+    adapter.preserve( "foo", "bar" );
+
+    adapter.clearPreserved();
+
+    assertNull( adapter.getPreserved( "foo" ) );
+    assertEquals( "bar", adapter.getPreviouslyPreserved( "foo" ) );
+  }
+
   public void testGetGCForClient() {
     WidgetAdapter adapter = new WidgetAdapter();
 
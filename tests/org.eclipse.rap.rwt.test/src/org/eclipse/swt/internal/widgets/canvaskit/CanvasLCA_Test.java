@@ -21,6 +21,7 @@ import org.eclipse.rap.rwt.testfixture.Message.CreateOperation;
 import org.eclipse.rap.rwt.testfixture.Message.DestroyOperation;
 import org.eclipse.rwt.Adaptable;
 import org.eclipse.rwt.internal.protocol.IClientObjectAdapter;
+import org.eclipse.rwt.internal.resources.SystemProps;
 import org.eclipse.rwt.lifecycle.IWidgetAdapter;
 import org.eclipse.rwt.lifecycle.PhaseId;
 import org.eclipse.rwt.lifecycle.WidgetUtil;
@@ -62,6 +63,8 @@ public class CanvasLCA_Test extends TestCase {
 
   @Override
   protected void tearDown() throws Exception {
+    System.getProperties().remove( SystemProps.PACK_GC_OPERATIONS );
+    System.getProperties().remove( SystemProps.RETAIN_GC_OPERATIONS );
     Fixture.tearDown();
   }
 
@@ -299,6 +302,58 @@ public class CanvasLCA_Test extends TestCase {
     assertNull( getGCOperation( canvas, "draw" ) );
   }
 
+  public void testRenderPackedOperations() throws IOException, JSONException {
+    System.setProperty( SystemProps.PACK_GC_OPERATIONS, "true" );
+    canvas.setSize( 50, 50 );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( canvas );
+    Fixture.preserveWidgets();
+    GCAdapter adapter = ( GCAdapter )canvas.getAdapter( IGCAdapter.class );
+
+    adapter.addGCOperation( new DrawLine( 1, 2, 3, 4 ) );
+    adapter.addGCOperation( new DrawLine( 5, 6, 7, 8 ) );
+    new CanvasLCA().renderChanges( canvas );
+
+    assertNull( getGCOperation( canvas, "draw" ) );
+    CallOperation draw = getGCOperation( canvas, "drawPacked" );
+    assertEquals( new Integer( 0 ), draw.getProperty( "templateOffset" ) );
+    assertEquals( 4, ( ( JSONArray )draw.getProperty( "templates" ) ).length() );
+    JSONArray operations = ( JSONArray )draw.getProperty( "operations" );
+    assertEquals( "0,1,1.5,2.5,2,3.5,4.5,3,0,1,5.5,6.5,2,7.5,8.5,3", operations.join( "," ) );
+    assertEquals( Boolean.FALSE, draw.getProperty( "retain" ) );
+  }
+
+  public void testRenderRetainedOperations_redraw() throws IOException, JSONException {
+    System.setProperty( SystemProps.RETAIN_GC_OPERATIONS, "true" );
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    canvas.setSize( 50, 50 );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( canvas );
+    Fixture.preserveWidgets();
+    final int[] y = new int[] { 2 };
+    canvas.addPaintListener( new PaintListener() {
+      public void paintControl( PaintEvent event ) {
+        event.gc.drawLine( 1, 2, 3, 4 );
+        event.gc.drawLine( 5, y[ 0 ], 7, 8 );
+      }
+    } );
+    canvas.redraw();
+    new CanvasLCA().renderChanges( canvas );
+    Fixture.fakeNewRequest( display );
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+
+    y[ 0 ] = 6;
+    canvas.redraw();
+    new CanvasLCA().renderChanges( canvas );
+
+    assertNotNull( getGCOperation( canvas, "init" ) );
+    CallOperation draw = getGCOperation( canvas, "drawPacked" );
+    assertEquals( new Integer( 4 ), draw.getProperty( "templateOffset" ) );
+    assertEquals( "5,1,1", ( ( JSONArray )draw.getProperty( "changes" ) ).join( "," ) );
+    assertEquals( "1,5.5,6.5", ( ( JSONArray )draw.getProperty( "operations" ) ).join( "," ) );
+    assertEquals( Boolean.TRUE, draw.getProperty( "retain" ) );
+  }
+
 //  TODO [tb] : re-enable
 //  public void testRenderOperations_DisposedFont() throws IOException {
 //    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets.canvaskit;
+
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.report;
+
+import java.io.IOException;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.internal.lifecycle.DisplayUtil;
+import org.eclipse.rwt.internal.lifecycle.IDisplayLifeCycleAdapter;
+import org.eclipse.rwt.internal.resources.SystemProps;
+import org.eclipse.rwt.internal.service.ContextProvider;
+import org.eclipse.rwt.lifecycle.PhaseId;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.PaintEvent;
+import org.eclipse.swt.events.PaintListener;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+
+/*
+ * Not part of the test suite (see surefire includes). Measures the response size and the server
+ * time of a monitoring canvas that is redrawn on every request, with the drawing operations sent
+ * as JSON, packed, or packed and retained.
+ */
+public class GCOperationPacker_Benchmark extends TestCase {
+
+  private static final int GAUGES = 12;
+  private static final int SAMPLES = 400;
+  private static final int REQUESTS = 50;
+
+  private Display display;
+  private Shell shell;
+  private int tick;
+
+  @Override
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+    display = new Display();
+    shell = new Shell( display );
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    System.getProperties().remove( SystemProps.PACK_GC_OPERATIONS );
+    System.getProperties().remove( SystemProps.RETAIN_GC_OPERATIONS );
+    Fixture.tearDown();
+  }
+
+  public void testJson() throws IOException {
+    measure( "JSON" );
+  }
+
+  public void testPacked() throws IOException {
+    System.setProperty( SystemProps.PACK_GC_OPERATIONS, "true" );
+    measure( "Packed" );
+  }
+
+  public void testRetained() throws IOException {
+    System.setProperty( SystemProps.RETAIN_GC_OPERATIONS, "true" );
+    measure( "Retained" );
+  }
+
+  private void measure( String label ) throws IOException {
+    final Canvas canvas = new Canvas( shell, SWT.NONE );
+    canvas.setSize( 800, 600 );
+    canvas.addPaintListener( new PaintListener() {
+      public void paintControl( PaintEvent event ) {
+        drawDashboard( event.gc );
+      }
+    } );
+    IDisplayLifeCycleAdapter displayLCA = DisplayUtil.getLCA( display );
+    Fixture.markInitialized( display );
+    processRequest( displayLCA, canvas );
+    for( int i = 0; i < REQUESTS / 5; i++ ) {
+      processRequest( displayLCA, canvas );
+    }
+    long bytes = 0;
+    long start = System.nanoTime();
+    for( int i = 0; i < REQUESTS; i++ ) {
+      bytes += processRequest( displayLCA, canvas );
+    }
+    long duration = System.nanoTime() - start;
+    report( label + " [ns/request]", duration / REQUESTS );
+    report( label + " [bytes/request]", bytes / REQUESTS );
+  }
+
+  private int processRequest( IDisplayLifeCycleAdapter displayLCA, Canvas canvas )
+    throws IOException
+  {
+    Fixture.fakeNewRequest( display );
+    Fixture.fakePhase( PhaseId.READ_DATA );
+    displayLCA.preserveValues( display );
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    tick++;
+    canvas.redraw();
+    Fixture.fakePhase( PhaseId.RENDER );
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+    return ContextProvider.getProtocolWriter().createMessage().length();
+  }
+
+  // Gauges that change now and then, and a chart whose most recent sample changes every second
+  private void drawDashboard( GC gc ) {
+    gc.setBackground( display.getSystemColor( SWT.COLOR_WHITE ) );
+    gc.fillRectangle( 0, 0, 800, 600 );
+    for( int i = 0; i < GAUGES; i++ ) {
+      int x = ( i % 6 ) * 130 + 10;
+      int y = ( i / 6 ) * 130 + 10;
+      int value = ( i * 37 + ( i == tick % GAUGES ? tick : 0 ) ) % 100;
+      gc.setForeground( display.getSystemColor( SWT.COLOR_GRAY ) );
+      gc.drawRoundRectangle( x, y, 120, 120, 8, 8 );
+      gc.setBackground( display.getSystemColor( SWT.COLOR_DARK_GREEN ) );
+      gc.fillArc( x + 10, y + 10, 100, 100, 90, -value * 360 / 100 );
+      gc.setForeground( display.getSystemColor( SWT.COLOR_BLACK ) );
+      gc.drawText( "Node " + i + ": " + value + "%", x + 20, y + 100, true );
+    }
+    gc.setForeground( display.getSystemColor( SWT.COLOR_DARK_BLUE ) );
+    int[] points = new int[ SAMPLES * 2 ];
+    for( int i = 0; i < SAMPLES; i++ ) {
+      points[ i * 2 ] = i * 2;
+      int sample = i == SAMPLES - 1 ? tick : i;
+      points[ i * 2 + 1 ] = 450 + ( int )( Math.sin( sample / 10.0 ) * 100 );
+    }
+    gc.drawPolyline( points );
+  }
+}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets.canvaskit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+
+public class GCOperationPacker_Test extends TestCase {
+
+  private GCOperationPacker packer;
+
+  @Override
+  protected void setUp() throws Exception {
+    packer = new GCOperationPacker();
+  }
+
+  public void testPackNumbers() {
+    Map<String, Object> result = packer.pack( createLine( 1, 2, 3.5f, 4 ), false );
+
+    assertEquals( new Integer( 0 ), result.get( "templateOffset" ) );
+    assertEquals( "[ 0, 1, 1.5, 2.5, 2, 4, 4.5, 3 ]", result.get( "operations" ).toString() );
+    assertNull( result.get( "changes" ) );
+    assertEquals( Boolean.FALSE, result.get( "retain" ) );
+  }
+
+  public void testPackTemplates() {
+    Map<String, Object> result = packer.pack( createLine( 1, 2, 3, 4 ), false );
+
+    Object[] templates = ( Object[] )result.get( "templates" );
+    assertEquals( 4, templates.length );
+    assertTrue( Arrays.equals( new Object[] { "beginPath" }, ( Object[] )templates[ 0 ] ) );
+    Object[] moveTo = new Object[] { "moveTo", null, null };
+    assertTrue( Arrays.equals( moveTo, ( Object[] )templates[ 1 ] ) );
+  }
+
+  public void testPackNonNumericArguments() {
+    List<Object[]> operations = new ArrayList<Object[]>();
+    int[] color = new int[] { 1, 2, 3, 255 };
+    Float x = new Float( 5 );
+    Float y = new Float( 6 );
+    operations.add( new Object[] { "fillText", "text", Boolean.TRUE, x, y } );
+    operations.add( new Object[] { "strokeStyle", color } );
+    operations.add( new Object[] { "strokeStyle", new int[] { 1, 2, 3, 255 } } );
+
+    Map<String, Object> result = packer.pack( operations, false );
+
+    Object[] templates = ( Object[] )result.get( "templates" );
+    assertEquals( 2, templates.length );
+    Object[] fillText = new Object[] { "fillText", "text", Boolean.TRUE, null, null };
+    assertTrue( Arrays.equals( fillText, ( Object[] )templates[ 0 ] ) );
+    assertSame( color, ( ( Object[] )templates[ 1 ] )[ 1 ] );
+    assertEquals( "[ 0, 5, 6, 1, 1 ]", result.get( "operations" ).toString() );
+  }
+
+  public void testTemplatesAreSentOnce() {
+    packer.pack( createLine( 1, 2, 3, 4 ), false );
+
+    Map<String, Object> result = packer.pack( createLine( 5, 6, 7, 8 ), false );
+
+    assertEquals( new Integer( 4 ), result.get( "templateOffset" ) );
+    assertEquals( 0, ( ( Object[] )result.get( "templates" ) ).length );
+    assertEquals( "[ 0, 1, 5.5, 6.5, 2, 7.5, 8.5, 3 ]", result.get( "operations" ).toString() );
+  }
+
+  public void testTemplatesAreDiscardedWhenTableIsFull() {
+    List<Object[]> operations = new ArrayList<Object[]>();
+    for( int i = 0; i <= GCOperationPacker.MAX_TEMPLATES; i++ ) {
+      operations.add( new Object[] { "fillText", "text " + i, Boolean.FALSE, new Float( 0 ) } );
+    }
+    packer.pack( operations, true );
+
+    Map<String, Object> result = packer.pack( createLine( 1, 2, 3, 4 ), true );
+
+    assertEquals( new Integer( 0 ), result.get( "templateOffset" ) );
+    assertEquals( 4, ( ( Object[] )result.get( "templates" ) ).length );
+    assertNull( result.get( "changes" ) );
+  }
+
+  public void testRetainFirstDrawing() {
+    Map<String, Object> result = packer.pack( createLine( 1, 2, 3, 4 ), true );
+
+    assertNull( result.get( "changes" ) );
+    assertEquals( "[ 0, 1, 1.5, 2.5, 2, 3.5, 4.5, 3 ]", result.get( "operations" ).toString() );
+    assertEquals( Boolean.TRUE, result.get( "retain" ) );
+  }
+
+  public void testRetainSameDrawing() {
+    packer.pack( createLine( 1, 2, 3, 4 ), true );
+
+    Map<String, Object> result = packer.pack( createLine( 1, 2, 3, 4 ), true );
+
+    assertEquals( 0, ( ( int[] )result.get( "changes" ) ).length );
+    assertEquals( "[]", result.get( "operations" ).toString().replace( " ", "" ) );
+  }
+
+  public void testRetainChangedOperation() {
+    packer.pack( createLines( 0, 0, 0 ), true );
+
+    Map<String, Object> result = packer.pack( createLines( 0, 9, 0 ), true );
+
+    assertEquals( "5,2,2", join( ( int[] )result.get( "changes" ) ) );
+    assertEquals( "[ 1, 9.5, 9.5, 2, 10.5, 10.5 ]", result.get( "operations" ).toString() );
+  }
+
+  public void testRetainSeparateChanges() {
+    packer.pack( createLines( 0, 0, 0, 0, 0 ), true );
+
+    Map<String, Object> result = packer.pack( createLines( 9, 0, 0, 0, 9 ), true );
+
+    assertEquals( "1,2,2,17,2,2", join( ( int[] )result.get( "changes" ) ) );
+  }
+
+  public void testRetainMergesNearbyChanges() {
+    packer.pack( createLines( 0, 0 ), true );
+
+    Map<String, Object> result = packer.pack( createLines( 9, 9 ), true );
+
+    // the unchanged stroke and beginPath between both moveTo and lineTo pairs are resent
+    assertEquals( "1,6,6", join( ( int[] )result.get( "changes" ) ) );
+  }
+
+  public void testRetainInsertedOperations() {
+    packer.pack( createLines( 0, 2 ), true );
+
+    Map<String, Object> result = packer.pack( createLines( 0, 1, 2 ), true );
+
+    assertEquals( "5,0,4", join( ( int[] )result.get( "changes" ) ) );
+    assertEquals( "[ 1, 1.5, 1.5, 2, 2.5, 2.5, 3, 0 ]", result.get( "operations" ).toString() );
+  }
+
+  public void testRetainRemovedOperations() {
+    packer.pack( createLines( 0, 1, 2 ), true );
+
+    Map<String, Object> result = packer.pack( createLines( 0, 2 ), true );
+
+    assertEquals( "5,4,0", join( ( int[] )result.get( "changes" ) ) );
+    assertEquals( "[]", result.get( "operations" ).toString().replace( " ", "" ) );
+  }
+
+  public void testNotRetainedAfterUnretainedDrawing() {
+    packer.pack( createLine( 1, 2, 3, 4 ), false );
+
+    Map<String, Object> result = packer.pack( createLine( 1, 2, 3, 4 ), true );
+
+    assertNull( result.get( "changes" ) );
+  }
+
+  private static List<Object[]> createLines( int... offsets ) {
+    List<Object[]> result = new ArrayList<Object[]>();
+    for( int i = 0; i < offsets.length; i++ ) {
+      result.addAll( createLine( offsets[ i ], offsets[ i ], offsets[ i ] + 1, offsets[ i ] + 1 ) );
+    }
+    return result;
+  }
+
+  // the operations that GCOperationWriter creates for drawLine
+  private static List<Object[]> createLine( float x1, float y1, float x2, float y2 ) {
+    List<Object[]> result = new ArrayList<Object[]>();
+    result.add( new Object[] { "beginPath" } );
+    result.add( new Object[] { "moveTo", new Float( x1 + 0.5f ), new Float( y1 + 0.5f ) } );
+    result.add( new Object[] { "lineTo", new Float( x2 + 0.5f ), new Float( y2 + 0.5f ) } );
+    result.add( new Object[] { "stroke" } );
+    return result;
+  }
+
+  private static String join( int[] values ) {
+    StringBuilder result = new StringBuilder();
+    for( int i = 0; i < values.length; i++ ) {
+      result.append( i == 0 ? "" : "," );
+      result.append( values[ i ] );
+    }
+    return result.toString();
+  }
+}
@@ -20,6 +20,7 @@ import junit.framework.TestCase;
 
 import org.eclipse.rap.rwt.testfixture.Fixture;
 import org.eclipse.rap.rwt.testfixture.Message;
+import org.eclipse.rap.rwt.testfixture.Message.CallOperation;
 import org.eclipse.rap.rwt.testfixture.Message.CreateOperation;
 import org.eclipse.rwt.graphics.Graphics;
 import org.eclipse.rwt.internal.lifecycle.JSConst;
@@ -38,19 +39,20 @@ import org.eclipse.swt.events.VerifyListener;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.internal.widgets.IListItemsAdapter;
 import org.eclipse.swt.internal.widgets.Props;
 import org.eclipse.swt.internal.widgets.controlkit.ControlLCATestUtil;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Widget;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
 public class ComboLCA_Test extends TestCase {
 
-  private static final String PROP_ITEMS = "items";
   private static final String PROP_SELECTION_INDEX = "selectionIndex";
 
   private Display display;
@@ -86,8 +88,7 @@ public class ComboLCA_Test extends TestCase {
     // Test preserving a combo with no items and (naturally) no selection
     Fixture.preserveWidgets();
     IWidgetAdapter adapter = WidgetUtil.getAdapter( combo );
-    String[] items = ( ( String[] )adapter.getPreserved( PROP_ITEMS ) );
-    assertEquals( 0, items.length );
+    assertEquals( 0, getItemsAdapter( combo ).getItemChanges().length );
     assertEquals( new Integer( -1 ), adapter.getPreserved( PROP_SELECTION_INDEX ) );
     assertNull( adapter.getPreserved( ComboLCA.PROP_TEXT_LIMIT ) );
     Object visibleItemCount = adapter.getPreserved( ComboLCA.PROP_VISIBLE_ITEM_COUNT );
@@ -109,10 +110,7 @@ public class ComboLCA_Test extends TestCase {
     } );
     Fixture.preserveWidgets();
     adapter = WidgetUtil.getAdapter( combo );
-    items = ( ( String[] )adapter.getPreserved( PROP_ITEMS ) );
-    assertEquals( 2, items.length );
-    assertEquals( "item 1", items[ 0 ] );
-    assertEquals( "item 2", items[ 1 ] );
+    assertEquals( 0, getItemsAdapter( combo ).getItemChanges().length );
     assertEquals( new Integer( 1 ), adapter.getPreserved( PROP_SELECTION_INDEX ) );
     visibleItemCount = adapter.getPreserved( ComboLCA.PROP_VISIBLE_ITEM_COUNT );
     assertEquals( new Integer( combo.getVisibleItemCount() ), visibleItemCount );
@@ -487,6 +485,81 @@ public class ComboLCA_Test extends TestCase {
     assertNull( message.findSetOperation( combo, "items" ) );
   }
 
+  public void testRenderInsertedItems() throws IOException, JSONException {
+    Combo combo = new Combo( shell, SWT.NONE );
+    combo.setItems( new String[] { "Item 1", "Item 2", "Item 3" } );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( combo );
+    Fixture.preserveWidgets();
+
+    combo.add( "New 1", 1 );
+    combo.add( "New 2", 2 );
+    lca.renderChanges( combo );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( combo, "items" ) );
+    CallOperation operation = message.findCallOperation( combo, "insertItems" );
+    assertEquals( new Integer( 1 ), operation.getProperty( "index" ) );
+    String expected = "[ \"New 1\", \"New 2\" ]";
+    JSONArray actual = ( JSONArray )operation.getProperty( "items" );
+    assertTrue( ProtocolTestUtil.jsonEquals( expected, actual ) );
+  }
+
+  public void testRenderRemovedItems() throws IOException {
+    Combo combo = new Combo( shell, SWT.NONE );
+    combo.setItems( new String[] { "Item 1", "Item 2", "Item 3" } );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( combo );
+    Fixture.preserveWidgets();
+
+    combo.remove( 1, 2 );
+    lca.renderChanges( combo );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( combo, "items" ) );
+    CallOperation operation = message.findCallOperation( combo, "removeItems" );
+    assertEquals( new Integer( 1 ), operation.getProperty( "index" ) );
+    assertEquals( new Integer( 2 ), operation.getProperty( "count" ) );
+  }
+
+  public void testRenderReplacedItems() throws IOException, JSONException {
+    Combo combo = new Combo( shell, SWT.NONE );
+    combo.setItems( new String[] { "Item 1", "Item 2", "Item 3" } );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( combo );
+    Fixture.preserveWidgets();
+
+    combo.setItem( 2, "Changed" );
+    lca.renderChanges( combo );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( combo, "items" ) );
+    CallOperation operation = message.findCallOperation( combo, "replaceItems" );
+    assertEquals( new Integer( 2 ), operation.getProperty( "index" ) );
+    String expected = "[ \"Changed\" ]";
+    JSONArray actual = ( JSONArray )operation.getProperty( "items" );
+    assertTrue( ProtocolTestUtil.jsonEquals( expected, actual ) );
+  }
+
+  public void testRenderItemsAfterManyChanges() throws IOException {
+    Combo combo = new Combo( shell, SWT.NONE );
+    combo.setItems( new String[] { "Item 1", "Item 2", "Item 3" } );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( combo );
+    Fixture.preserveWidgets();
+
+    for( int i = 0; i < 20; i++ ) {
+      combo.add( "New " + i, 0 );
+      combo.remove( 1 );
+    }
+    lca.renderChanges( combo );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNotNull( message.findSetOperation( combo, "items" ) );
+    assertNull( message.findCallOperation( combo, "insertItems" ) );
+    assertNull( message.findCallOperation( combo, "removeItems" ) );
+  }
+
   public void testRenderInitialListVisible() throws IOException {
     Combo combo = new Combo( shell, SWT.NONE );
 
@@ -872,4 +945,8 @@ public class ComboLCA_Test extends TestCase {
     Message message = Fixture.getProtocolMessage();
     assertNull( message.findListenOperation( combo, "verify" ) );
   }
-}
\ No newline at end of file
+
+  private static IListItemsAdapter getItemsAdapter( Widget widget ) {
+    return widget.getAdapter( IListItemsAdapter.class );
+  }
+}
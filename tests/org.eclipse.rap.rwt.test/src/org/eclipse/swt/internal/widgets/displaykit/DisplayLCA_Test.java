@@ -28,6 +28,7 @@ import org.eclipse.rap.rwt.testfixture.Message.DestroyOperation;
 import org.eclipse.rap.rwt.testfixture.Message.SetOperation;
 import org.eclipse.rwt.internal.application.RWTFactory;
 import org.eclipse.rwt.internal.lifecycle.*;
+import org.eclipse.rwt.internal.resources.SystemProps;
 import org.eclipse.rwt.internal.service.RequestParams;
 import org.eclipse.rwt.internal.theme.ThemeUtil;
 import org.eclipse.rwt.internal.uicallback.UICallBackManager;
@@ -67,6 +68,7 @@ public class DisplayLCA_Test extends TestCase {
     Fixture.tearDown();
     clearLogs();
     setEnableUiTests( false );
+    System.getProperties().remove( SystemProps.READ_DATA_FOR_INPUT_ONLY );
   }
 
   public void testPreserveValues() {
@@ -145,6 +147,68 @@ public class DisplayLCA_Test extends TestCase {
     assertSame( text, log.get( 2 ) );
   }
 
+  public void testReadDataForInputOnly() {
+    createDisplayWithWidgetIndex();
+    Fixture.fakeRequestParam( RequestParams.UIROOT, "w1" );
+    LoggingWidgetLCA loggingWidgetLCA = new LoggingWidgetLCA();
+    Composite shell = new CustomLCAShell( display, loggingWidgetLCA );
+    Widget button = new CustomLCAWidget( shell, loggingWidgetLCA );
+    Widget text = new CustomLCAWidget( shell, loggingWidgetLCA );
+    Widget label = new CustomLCAWidget( shell, loggingWidgetLCA );
+    Fixture.fakeRequestParam( WidgetUtil.getId( text ) + ".text", "abc" );
+    Fixture.fakeRequestParam( JSConst.EVENT_WIDGET_SELECTED, WidgetUtil.getId( button ) );
+
+    displayLCA.readData( display );
+
+    assertEquals( 2, log.size() );
+    assertTrue( log.contains( button ) );
+    assertTrue( log.contains( text ) );
+    assertFalse( log.contains( label ) );
+  }
+
+  public void testReadDataForInputOnlyWithDisposedWidget() {
+    createDisplayWithWidgetIndex();
+    Fixture.fakeRequestParam( RequestParams.UIROOT, "w1" );
+    LoggingWidgetLCA loggingWidgetLCA = new LoggingWidgetLCA();
+    Composite shell = new CustomLCAShell( display, loggingWidgetLCA );
+    Widget text = new CustomLCAWidget( shell, loggingWidgetLCA );
+    Fixture.fakeRequestParam( WidgetUtil.getId( text ) + ".text", "abc" );
+    text.dispose();
+
+    displayLCA.readData( display );
+
+    assertEquals( 0, log.size() );
+  }
+
+  public void testReadDataForInputOnlyWithCustomId() {
+    createDisplayWithWidgetIndex();
+    setEnableUiTests( true );
+    Fixture.fakeRequestParam( RequestParams.UIROOT, "w1" );
+    LoggingWidgetLCA loggingWidgetLCA = new LoggingWidgetLCA();
+    Composite shell = new CustomLCAShell( display, loggingWidgetLCA );
+    Widget text = new CustomLCAWidget( shell, loggingWidgetLCA );
+    text.setData( WidgetUtil.CUSTOM_WIDGET_ID, "customId" );
+    Fixture.fakeRequestParam( "customId.text", "abc" );
+
+    displayLCA.readData( display );
+
+    assertEquals( 1, log.size() );
+    assertSame( text, log.get( 0 ) );
+  }
+
+  public void testReadDataForInputOnlyWithAlwaysReadDataLCA() {
+    createDisplayWithWidgetIndex();
+    Fixture.fakeRequestParam( RequestParams.UIROOT, "w1" );
+    Composite shell = new CustomLCAShell( display, new AlwaysReadDataLCA() );
+    Fixture.markInitialized( shell );
+    new CustomLCAWidget( shell, new LoggingWidgetLCA() );
+
+    displayLCA.readData( display );
+
+    assertEquals( 1, log.size() );
+    assertSame( shell, log.get( 0 ) );
+  }
+
   public void testReadDisplayBounds() {
     Fixture.fakeRequestParam( RequestParams.UIROOT, displayId );
     Fixture.fakeRequestParam( displayId + ".bounds.width", "30" );
@@ -411,6 +475,12 @@ public class DisplayLCA_Test extends TestCase {
     }
   }
 
+  private void createDisplayWithWidgetIndex() {
+    System.setProperty( SystemProps.READ_DATA_FOR_INPUT_ONLY, "true" );
+    display.dispose();
+    display = new Display();
+  }
+
   private static class TestWidgetLCA extends AbstractWidgetLCA {
     public void readData( Widget widget ) {
     }
@@ -455,6 +525,9 @@ public class DisplayLCA_Test extends TestCase {
     }
   }
 
+  private static class AlwaysReadDataLCA extends LoggingWidgetLCA implements IAlwaysReadData {
+  }
+
   private static class CustomLCAWidget extends Composite {
     private static final long serialVersionUID = 1L;
 
@@ -343,6 +343,64 @@ public class LabelLCA_Test extends TestCase {
     assertEquals( JSONObject.NULL, message.findSetProperty( label, "image" ) );
   }
 
+  public void testRenderImageDrawnOn() throws IOException, JSONException {
+    Fixture.useDefaultResourceManager();
+    Label label = new Label( shell, SWT.NONE );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( label );
+    Image image = new Image( display, 10, 10 );
+    LabelLCA lca = new LabelLCA();
+    label.setImage( image );
+
+    Fixture.preserveWidgets();
+    GC gc = new GC( image );
+    gc.fillRectangle( 0, 0, 5, 5 );
+    gc.dispose();
+    label.setImage( image );
+    lca.renderChanges( label );
+
+    Message message = Fixture.getProtocolMessage();
+    String expected = "[\"" + ImageFactory.getImagePath( image ) + "\", 10, 10 ]";
+    JSONArray actual = ( JSONArray )message.findSetProperty( label, "image" );
+    assertTrue( ProtocolTestUtil.jsonEquals( expected, actual ) );
+  }
+
+  public void testRenderImageDrawnOnWithoutSetImage() throws IOException {
+    Fixture.useDefaultResourceManager();
+    Label label = new Label( shell, SWT.NONE );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( label );
+    Image image = new Image( display, 10, 10 );
+    LabelLCA lca = new LabelLCA();
+    label.setImage( image );
+
+    Fixture.preserveWidgets();
+    GC gc = new GC( image );
+    gc.fillRectangle( 0, 0, 5, 5 );
+    gc.dispose();
+    lca.renderChanges( label );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNotNull( message.findSetOperation( label, "image" ) );
+  }
+
+  public void testRenderImageNotDrawnOn() throws IOException {
+    Fixture.useDefaultResourceManager();
+    Label label = new Label( shell, SWT.NONE );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( label );
+    Image image = new Image( display, 10, 10 );
+    LabelLCA lca = new LabelLCA();
+    label.setImage( image );
+
+    Fixture.preserveWidgets();
+    label.setImage( image );
+    lca.renderChanges( label );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( label, "image" ) );
+  }
+
   public void testRenderInitialAlignment() throws IOException {
     Label label = new Label( shell, SWT.NONE );
     LabelLCA lca = new LabelLCA();
@@ -19,6 +19,7 @@ import junit.framework.TestCase;
 
 import org.eclipse.rap.rwt.testfixture.Fixture;
 import org.eclipse.rap.rwt.testfixture.Message;
+import org.eclipse.rap.rwt.testfixture.Message.CallOperation;
 import org.eclipse.rap.rwt.testfixture.Message.CreateOperation;
 import org.eclipse.rwt.RWT;
 import org.eclipse.rwt.graphics.Graphics;
@@ -278,6 +279,17 @@ public class ListLCA_Test extends TestCase {
     assertTrue( Arrays.asList( styles ).contains( "MULTI" ) );
   }
 
+  public void testRenderCreateWithVirtual() throws IOException {
+    List list = new List( shell, SWT.VIRTUAL );
+
+    lca.renderInitialization( list );
+
+    Message message = Fixture.getProtocolMessage();
+    CreateOperation operation = message.findCreateOperation( list );
+    Object[] styles = operation.getStyles();
+    assertTrue( Arrays.asList( styles ).contains( "VIRTUAL" ) );
+  }
+
   public void testRenderParent() throws IOException {
     List list = new List( shell, SWT.NONE );
 
@@ -323,6 +335,131 @@ public class ListLCA_Test extends TestCase {
     assertNull( message.findSetOperation( list, "items" ) );
   }
 
+  public void testRenderInsertedItems() throws IOException, JSONException {
+    List list = new List( shell, SWT.NONE );
+    list.setItems( new String[] { "Item 1", "Item 2", "Item 3" } );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( list );
+    Fixture.preserveWidgets();
+
+    list.add( "New 1", 1 );
+    list.add( "New 2", 2 );
+    lca.renderChanges( list );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( list, "items" ) );
+    CallOperation operation = message.findCallOperation( list, "insertItems" );
+    assertEquals( new Integer( 1 ), operation.getProperty( "index" ) );
+    String expected = "[ \"New 1\", \"New 2\" ]";
+    JSONArray actual = ( JSONArray )operation.getProperty( "items" );
+    assertTrue( ProtocolTestUtil.jsonEquals( expected, actual ) );
+  }
+
+  public void testRenderRemovedItems() throws IOException {
+    List list = new List( shell, SWT.NONE );
+    list.setItems( new String[] { "Item 1", "Item 2", "Item 3" } );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( list );
+    Fixture.preserveWidgets();
+
+    list.remove( 1, 2 );
+    lca.renderChanges( list );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( list, "items" ) );
+    CallOperation operation = message.findCallOperation( list, "removeItems" );
+    assertEquals( new Integer( 1 ), operation.getProperty( "index" ) );
+    assertEquals( new Integer( 2 ), operation.getProperty( "count" ) );
+  }
+
+  public void testRenderReplacedItems() throws IOException, JSONException {
+    List list = new List( shell, SWT.NONE );
+    list.setItems( new String[] { "Item 1", "Item 2", "Item 3" } );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( list );
+    Fixture.preserveWidgets();
+
+    list.setItem( 2, "Changed" );
+    lca.renderChanges( list );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( list, "items" ) );
+    CallOperation operation = message.findCallOperation( list, "replaceItems" );
+    assertEquals( new Integer( 2 ), operation.getProperty( "index" ) );
+    String expected = "[ \"Changed\" ]";
+    JSONArray actual = ( JSONArray )operation.getProperty( "items" );
+    assertTrue( ProtocolTestUtil.jsonEquals( expected, actual ) );
+  }
+
+  public void testRenderItemsAfterManyChanges() throws IOException {
+    List list = new List( shell, SWT.NONE );
+    list.setItems( new String[] { "Item 1", "Item 2", "Item 3" } );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( list );
+    Fixture.preserveWidgets();
+
+    for( int i = 0; i < 20; i++ ) {
+      list.add( "New " + i, 0 );
+      list.remove( 1 );
+    }
+    lca.renderChanges( list );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNotNull( message.findSetOperation( list, "items" ) );
+    assertNull( message.findCallOperation( list, "insertItems" ) );
+    assertNull( message.findCallOperation( list, "removeItems" ) );
+  }
+
+  public void testRenderVirtualItemsAfterRedrawFake() throws IOException, JSONException {
+    List list = new List( shell, SWT.VIRTUAL );
+    list.setSize( 100, 100 );
+    list.addListener( SWT.SetData, new Listener() {
+      public void handleEvent( Event event ) {
+        ( ( List )event.widget ).setItem( event.index, "Item " + event.index );
+      }
+    } );
+    list.setItemCount( 1000 );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( list );
+    Fixture.preserveWidgets();
+
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    lca.doRedrawFake( list );
+    lca.renderChanges( list );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( list, "items" ) );
+    CallOperation operation = message.findCallOperation( list, "replaceItems" );
+    assertEquals( new Integer( 0 ), operation.getProperty( "index" ) );
+    JSONArray items = ( JSONArray )operation.getProperty( "items" );
+    assertTrue( items.length() > 0 );
+    assertTrue( items.length() < 1000 );
+    assertEquals( "Item 0", items.getString( 0 ) );
+  }
+
+  public void testSetDataEventAfterScrolling() {
+    shell.open();
+    List list = new List( shell, SWT.VIRTUAL );
+    list.setSize( 100, 100 );
+    Listener listener = new Listener() {
+      public void handleEvent( Event event ) {
+        ( ( List )event.widget ).setItem( event.index, "Item " + event.index );
+      }
+    };
+    list.addListener( SWT.SetData, listener );
+    list.setItemCount( 1000 );
+    Fixture.fakeNewRequest( display );
+    Fixture.fakeRequestParam( WidgetUtil.getId( list ) + ".topIndex", "500" );
+
+    Fixture.executeLifeCycleFromServerThread();
+
+    // Remove SetData listener to not accidentially resolve items with asserts
+    list.removeListener( SWT.SetData, listener );
+    assertEquals( "Item 500", list.getItem( 500 ) );
+    assertEquals( "Item 501", list.getItem( 501 ) );
+    assertEquals( "", list.getItem( 900 ) );
+  }
+
   public void testRenderInitialSelectionIndices() throws IOException {
     List list = new List( shell, SWT.NONE );
 
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets.listkit;
+
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.report;
+
+import java.io.IOException;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.internal.lifecycle.DisplayUtil;
+import org.eclipse.rwt.internal.lifecycle.IDisplayLifeCycleAdapter;
+import org.eclipse.rwt.internal.service.ContextProvider;
+import org.eclipse.rwt.lifecycle.PhaseId;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Combo;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.List;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+
+
+/*
+ * Not part of the test suite (see surefire includes). Measures the response size and the server
+ * time of requests that add a single item to a List or Combo with many items, and of requests
+ * that scroll a virtual List.
+ */
+public class ListRender_Benchmark extends TestCase {
+
+  private static final int ITEMS = 20000;
+  private static final int REQUESTS = 200;
+
+  private Display display;
+  private Shell shell;
+
+  @Override
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+    display = new Display();
+    shell = new Shell( display );
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Fixture.tearDown();
+  }
+
+  public void testAddItemToList() throws IOException {
+    final List list = new List( shell, SWT.MULTI );
+    list.setItems( createItems() );
+    measure( "List add", new Runnable() {
+      public void run() {
+        list.add( "new item", list.getItemCount() / 2 );
+      }
+    } );
+  }
+
+  public void testAddItemToCombo() throws IOException {
+    final Combo combo = new Combo( shell, SWT.NONE );
+    combo.setItems( createItems() );
+    measure( "Combo add", new Runnable() {
+      public void run() {
+        combo.add( "new item", combo.getItemCount() / 2 );
+      }
+    } );
+  }
+
+  public void testScrollVirtualList() throws IOException {
+    final List list = new List( shell, SWT.VIRTUAL );
+    list.setSize( 200, 400 );
+    list.addListener( SWT.SetData, new Listener() {
+      public void handleEvent( Event event ) {
+        list.setItem( event.index, "item " + event.index );
+      }
+    } );
+    list.setItemCount( ITEMS );
+    final ListLCA lca = new ListLCA();
+    measure( "Virtual List scroll", new Runnable() {
+      private int topIndex;
+      public void run() {
+        topIndex = ( topIndex + 37 ) % ITEMS;
+        list.setTopIndex( topIndex );
+        Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+        lca.doRedrawFake( list );
+      }
+    } );
+  }
+
+  private void measure( String label, Runnable change ) throws IOException {
+    IDisplayLifeCycleAdapter displayLCA = DisplayUtil.getLCA( display );
+    Fixture.markInitialized( display );
+    processRequest( displayLCA, null );
+    long bytes = 0;
+    for( int i = 0; i < REQUESTS / 10; i++ ) {
+      processRequest( displayLCA, change );
+    }
+    long start = System.nanoTime();
+    for( int i = 0; i < REQUESTS; i++ ) {
+      bytes += processRequest( displayLCA, change );
+    }
+    long duration = System.nanoTime() - start;
+    report( label + " [ns/request]", duration / REQUESTS );
+    report( label + " [bytes/response]", bytes / REQUESTS );
+  }
+
+  private int processRequest( IDisplayLifeCycleAdapter displayLCA, Runnable change )
+    throws IOException
+  {
+    Fixture.fakeNewRequest( display );
+    Fixture.fakePhase( PhaseId.READ_DATA );
+    displayLCA.preserveValues( display );
+    if( change != null ) {
+      change.run();
+    }
+    Fixture.fakePhase( PhaseId.RENDER );
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+    return ContextProvider.getProtocolWriter().createMessage().length();
+  }
+
+  private static String[] createItems() {
+    String[] result = new String[ ITEMS ];
+    for( int i = 0; i < ITEMS; i++ ) {
+      result[ i ] = "item " + i;
+    }
+    return result;
+  }
+}
@@ -337,6 +337,74 @@ public class TableItemLCA_Test extends TestCase {
     assertNull( message.findSetOperation( item, "texts" ) );
   }
 
+  public void testPreserveReusesUnchangedSnapshot() {
+    new TableColumn( table, SWT.NONE );
+    new TableColumn( table, SWT.NONE );
+    TableItem item = new TableItem( table, SWT.NONE );
+    item.setText( new String[] { "item 0.0", "item 0.1" } );
+    IWidgetAdapter adapter = WidgetUtil.getAdapter( item );
+    Fixture.markInitialized( display );
+    Fixture.preserveWidgets();
+    Object texts = adapter.getPreserved( TableItemLCA.PROP_TEXTS );
+    Object cellFonts = adapter.getPreserved( TableItemLCA.PROP_CELL_FONTS );
+    Fixture.clearPreserved();
+
+    Fixture.preserveWidgets();
+
+    assertSame( texts, adapter.getPreserved( TableItemLCA.PROP_TEXTS ) );
+    assertSame( cellFonts, adapter.getPreserved( TableItemLCA.PROP_CELL_FONTS ) );
+  }
+
+  public void testPreserveTakesNewSnapshotAfterChange() {
+    new TableColumn( table, SWT.NONE );
+    new TableColumn( table, SWT.NONE );
+    TableItem item = new TableItem( table, SWT.NONE );
+    IWidgetAdapter adapter = WidgetUtil.getAdapter( item );
+    Fixture.markInitialized( display );
+    Fixture.preserveWidgets();
+    Object texts = adapter.getPreserved( TableItemLCA.PROP_TEXTS );
+    Fixture.clearPreserved();
+
+    item.setText( 1, "changed" );
+    Fixture.preserveWidgets();
+
+    String[] preserved = ( String[] )adapter.getPreserved( TableItemLCA.PROP_TEXTS );
+    assertNotSame( texts, preserved );
+    assertEquals( "changed", preserved[ 1 ] );
+  }
+
+  public void testPreserveTakesNewSnapshotAfterColumnAdded() {
+    new TableColumn( table, SWT.NONE );
+    TableItem item = new TableItem( table, SWT.NONE );
+    IWidgetAdapter adapter = WidgetUtil.getAdapter( item );
+    Fixture.markInitialized( display );
+    Fixture.preserveWidgets();
+    Fixture.clearPreserved();
+
+    new TableColumn( table, SWT.NONE );
+    Fixture.preserveWidgets();
+
+    Color[] preserved = ( Color[] )adapter.getPreserved( TableItemLCA.PROP_CELL_BACKGROUNDS );
+    assertEquals( 2, preserved.length );
+  }
+
+  public void testRenderCellBackgroundsChangedAfterUnchangedRequest() throws IOException {
+    new TableColumn( table, SWT.NONE );
+    new TableColumn( table, SWT.NONE );
+    TableItem item = new TableItem( table, SWT.NONE );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( item );
+    Fixture.preserveWidgets();
+    Fixture.clearPreserved();
+
+    Fixture.preserveWidgets();
+    item.setBackground( 1, display.getSystemColor( SWT.COLOR_RED ) );
+    lca.renderChanges( item );
+
+    Message message = Fixture.getProtocolMessage();
+    assertNotNull( message.findSetOperation( item, "cellBackgrounds" ) );
+  }
+
   public void testRenderInitialImages() throws IOException {
     new TableColumn( table, SWT.NONE );
     new TableColumn( table, SWT.NONE );
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets.tableitemkit;
+
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.report;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.internal.lifecycle.DisplayUtil;
+import org.eclipse.rwt.internal.lifecycle.IDisplayLifeCycleAdapter;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.widgets.WidgetTreeVisitor;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Widget;
+
+
+/*
+ * Not part of the test suite (see surefire includes). Measures the memory allocated and the time
+ * spent in the preserve and render phases of requests to a large table, once without any change
+ * and once with a single changed item. Needs a JVM that supports thread allocation counters.
+ */
+public class TableItemRender_Benchmark extends TestCase {
+
+  private static final int ITEMS = 500;
+  private static final int COLUMNS = 8;
+  private static final int REQUESTS = 200;
+
+  private Display display;
+  private Table table;
+  private IDisplayLifeCycleAdapter displayLCA;
+
+  @Override
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+    display = new Display();
+    displayLCA = DisplayUtil.getLCA( display );
+    createTable();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    display.dispose();
+    Fixture.tearDown();
+  }
+
+  public void testUnchangedTable() throws IOException {
+    measure( "Unchanged table", false );
+  }
+
+  public void testSingleItemChanged() throws IOException {
+    measure( "Single item changed", true );
+  }
+
+  private void measure( String label, boolean change ) throws IOException {
+    for( int i = 0; i < REQUESTS / 10; i++ ) {
+      processRequest( change, i );
+    }
+    long startBytes = getAllocatedBytes();
+    long start = System.nanoTime();
+    for( int i = 0; i < REQUESTS; i++ ) {
+      processRequest( change, i );
+    }
+    long duration = System.nanoTime() - start;
+    long bytes = getAllocatedBytes() - startBytes;
+    report( label + " [bytes/request]", bytes / REQUESTS );
+    report( label + " [ns/request]", duration / REQUESTS );
+  }
+
+  private void processRequest( boolean change, int count ) throws IOException {
+    Fixture.fakeNewRequest( display );
+    displayLCA.preserveValues( display );
+    if( change ) {
+      table.getItem( count % ITEMS ).setText( 1, String.valueOf( count ) );
+    }
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+  }
+
+  private void createTable() {
+    Shell shell = new Shell( display );
+    table = new Table( shell, SWT.NONE );
+    table.setSize( 800, 20000 );
+    for( int i = 0; i < COLUMNS; i++ ) {
+      new TableColumn( table, SWT.NONE ).setWidth( 100 );
+    }
+    for( int i = 0; i < ITEMS; i++ ) {
+      TableItem item = new TableItem( table, SWT.NONE );
+      for( int j = 0; j < COLUMNS; j++ ) {
+        item.setText( j, "item " + i + "." + j );
+      }
+    }
+    Fixture.markInitialized( display );
+    WidgetTreeVisitor.accept( shell, new WidgetTreeVisitor.AllWidgetTreeVisitor() {
+      @Override
+      public boolean doVisit( Widget widget ) {
+        Fixture.markInitialized( widget );
+        return true;
+      }
+    } );
+  }
+
+  private static long getAllocatedBytes() {
+    com.sun.management.ThreadMXBean threads
+      = ( com.sun.management.ThreadMXBean )ManagementFactory.getThreadMXBean();
+    return threads.getThreadAllocatedBytes( Thread.currentThread().getId() );
+  }
+}
@@ -1137,6 +1137,18 @@ public class List_Test extends TestCase {
     assertEquals( expected, list.computeSize( 100, 100 ) );
   }
 
+  public void testComputeSizeAfterRemovingWidestItem() {
+    List list = new List( shell, SWT.NONE );
+    list.add( "test 1" );
+    Point expected = list.computeSize( SWT.DEFAULT, SWT.DEFAULT );
+    list.add( "a considerably longer test item" );
+    assertTrue( list.computeSize( SWT.DEFAULT, SWT.DEFAULT ).x > expected.x );
+
+    list.remove( 1 );
+
+    assertEquals( expected.x, list.computeSize( SWT.DEFAULT, SWT.DEFAULT ).x );
+  }
+
   public void testShowSelectionEmptyList() {
     List list = new List( shell, SWT.NONE );
     list.showSelection();
@@ -1461,6 +1473,62 @@ public class List_Test extends TestCase {
     assertTrue( list.markupEnabled );
   }
 
+  public void testSetItemCount() {
+    List list = new List( shell, SWT.NONE );
+    list.setItems( new String[] { "a", "b", "c" } );
+
+    list.setItemCount( 5 );
+    assertEquals( 5, list.getItemCount() );
+    assertEquals( "c", list.getItem( 2 ) );
+    assertEquals( "", list.getItem( 4 ) );
+
+    list.setItemCount( 1 );
+    assertEquals( 1, list.getItemCount() );
+    assertEquals( "a", list.getItem( 0 ) );
+
+    list.setItemCount( -1 );
+    assertEquals( 0, list.getItemCount() );
+  }
+
+  public void testVirtualGetItemFiresSetData() {
+    final java.util.List<Integer> log = new java.util.ArrayList<Integer>();
+    final List list = new List( shell, SWT.VIRTUAL );
+    list.addListener( SWT.SetData, new Listener() {
+      public void handleEvent( Event event ) {
+        log.add( Integer.valueOf( event.index ) );
+        list.setItem( event.index, "item " + event.index );
+      }
+    } );
+    list.setItemCount( 100 );
+
+    assertEquals( "item 50", list.getItem( 50 ) );
+    assertEquals( "item 50", list.getItem( 50 ) );
+    assertEquals( 1, log.size() );
+    assertEquals( Integer.valueOf( 50 ), log.get( 0 ) );
+  }
+
+  public void testVirtualItemsWithoutSetDataListener() {
+    List list = new List( shell, SWT.VIRTUAL );
+    list.setItemCount( 10 );
+
+    assertEquals( "", list.getItem( 3 ) );
+    assertEquals( 10, list.getItems().length );
+  }
+
+  public void testNonVirtualDoesNotFireSetData() {
+    final java.util.List<Event> log = new java.util.ArrayList<Event>();
+    List list = new List( shell, SWT.NONE );
+    list.addListener( SWT.SetData, new Listener() {
+      public void handleEvent( Event event ) {
+        log.add( event );
+      }
+    } );
+    list.setItemCount( 10 );
+
+    list.getItem( 3 );
+    assertEquals( 0, log.size() );
+  }
+
   private boolean hasDuplicateIndices( int[] indices ) {
     boolean result = false;
     for( int i = 0; i < indices.length && !result; i++ ) {
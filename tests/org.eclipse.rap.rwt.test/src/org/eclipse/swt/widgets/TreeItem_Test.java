@@ -1965,6 +1965,21 @@ public class TreeItem_Test extends TestCase {
     assertEquals( 1, subItem.getFlatIndex() );
   }
 
+  public void testUpdateFlatIndicesOnSetItemCountOfNestedItem() {
+    Tree tree = new Tree( shell, SWT.VIRTUAL );
+    tree.setItemCount( 2 );
+    TreeItem item = tree.getItem( 0 );
+    item.setItemCount( 1 );
+    item.setExpanded( true );
+    TreeItem subItem = item.getItem( 0 );
+    subItem.setItemCount( 1 );
+    subItem.setExpanded( true );
+
+    subItem.setItemCount( 10 );
+
+    assertEquals( 12, tree.getItem( 1 ).getFlatIndex() );
+  }
+
   public void testGetCreatedItems_DoesNotContainNullItems() {
     Tree tree = new Tree( shell, SWT.VIRTUAL );
     tree.setSize( 100, 100 );
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.report;
+import static org.eclipse.rap.rwt.testfixture.internal.BenchmarkReport.toMillis;
+
+import junit.framework.TestCase;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rwt.lifecycle.PhaseId;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Point;
+
+
+/*
+ * Not part of the test suite (see surefire includes). Scrolls through a large virtual tree with
+ * expanded nodes and toggles the expanded state of its nodes, reporting the time spent. Both
+ * used to walk all visible items of the tree for every scroll position and every toggle.
+ */
+public class Tree_Benchmark extends TestCase {
+
+  private static final int ROOT_ITEMS = 100000;
+  private static final int EXPANDED_ITEMS = 100;
+  private static final int SUB_ITEMS = 1000;
+  private static final int SCROLL_STEPS = 1000;
+
+  private Shell shell;
+
+  @Override
+  protected void setUp() throws Exception {
+    Fixture.setUp();
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    shell = new Shell( new Display() );
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    Fixture.tearDown();
+  }
+
+  public void testScrollVirtualTree() {
+    Tree tree = createExpandedTree();
+    int visibleItemCount = tree.getVisibleItemCount();
+    long start = System.nanoTime();
+    for( int i = 0; i < SCROLL_STEPS; i++ ) {
+      int flatIndex = ( int )( ( long )i * visibleItemCount / SCROLL_STEPS );
+      tree.setTopItem( tree.getVisibleItem( flatIndex ) );
+      tree.getTopItem();
+      tree.getItem( new Point( 5, 100 ) );
+    }
+    report( "Scroll virtual tree [ms for " + SCROLL_STEPS + " steps]",
+            toMillis( System.nanoTime() - start ) );
+  }
+
+  public void testToggleExpandedItems() {
+    Tree tree = createExpandedTree();
+    long start = System.nanoTime();
+    for( int i = 0; i < ROOT_ITEMS; i += ROOT_ITEMS / EXPANDED_ITEMS ) {
+      TreeItem item = tree.getItem( i );
+      item.setExpanded( false );
+      item.setExpanded( true );
+    }
+    report( "Toggle expanded items [ms for " + EXPANDED_ITEMS + " items]",
+            toMillis( System.nanoTime() - start ) );
+  }
+
+  private Tree createExpandedTree() {
+    Tree tree = new Tree( shell, SWT.VIRTUAL );
+    tree.setSize( 300, 500 );
+    tree.setItemCount( ROOT_ITEMS );
+    for( int i = 0; i < ROOT_ITEMS; i += ROOT_ITEMS / EXPANDED_ITEMS ) {
+      TreeItem item = tree.getItem( i );
+      item.setItemCount( SUB_ITEMS );
+      item.setExpanded( true );
+    }
+    return tree;
+  }
+}
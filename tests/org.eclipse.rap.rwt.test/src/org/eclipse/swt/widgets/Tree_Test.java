@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 
 import junit.framework.TestCase;
 
@@ -1321,6 +1322,178 @@ public class Tree_Test extends TestCase {
     assertEquals( 30, item.getFlatIndex() );
   }
 
+  public void testGetVisibleItemCount() {
+    Tree tree = new Tree( composite, SWT.NONE );
+    TreeItem[] items = createTreeItems( tree, 3 );
+    items[ 1 ].setItemCount( 4 );
+
+    assertEquals( 3, tree.getVisibleItemCount() );
+    items[ 1 ].setExpanded( true );
+    assertEquals( 7, tree.getVisibleItemCount() );
+    items[ 1 ].getItem( 2 ).setItemCount( 5 );
+    items[ 1 ].getItem( 2 ).setExpanded( true );
+    assertEquals( 12, tree.getVisibleItemCount() );
+    items[ 1 ].setExpanded( false );
+    assertEquals( 3, tree.getVisibleItemCount() );
+  }
+
+  public void testGetVisibleItem() {
+    Tree tree = new Tree( composite, SWT.NONE );
+    TreeItem[] items = createTreeItems( tree, 3 );
+    items[ 1 ].setItemCount( 4 );
+    items[ 1 ].setExpanded( true );
+    TreeItem subItem = items[ 1 ].getItem( 2 );
+    subItem.setItemCount( 5 );
+    subItem.setExpanded( true );
+
+    assertSame( items[ 0 ], tree.getVisibleItem( 0 ) );
+    assertSame( items[ 1 ], tree.getVisibleItem( 1 ) );
+    assertSame( subItem, tree.getVisibleItem( 4 ) );
+    assertSame( subItem.getItem( 4 ), tree.getVisibleItem( 9 ) );
+    assertSame( items[ 1 ].getItem( 3 ), tree.getVisibleItem( 10 ) );
+    assertSame( items[ 2 ], tree.getVisibleItem( 11 ) );
+    assertNull( tree.getVisibleItem( 12 ) );
+    assertNull( tree.getVisibleItem( -1 ) );
+  }
+
+  public void testGetVisibleItemIsInverseOfFlatIndex() {
+    Tree tree = new Tree( composite, SWT.NONE );
+    TreeItem[] items = createTreeItems( tree, 10 );
+    for( int i = 0; i < items.length; i += 2 ) {
+      items[ i ].setItemCount( i );
+      items[ i ].setExpanded( true );
+    }
+
+    for( int i = 0; i < tree.getVisibleItemCount(); i++ ) {
+      assertEquals( i, tree.getVisibleItem( i ).getFlatIndex() );
+    }
+  }
+
+  public void testFlatIndexAfterInsertInExpandedItem() {
+    Tree tree = new Tree( composite, SWT.NONE );
+    TreeItem[] items = createTreeItems( tree, 3 );
+    items[ 1 ].setItemCount( 2 );
+    items[ 1 ].setExpanded( true );
+
+    TreeItem subItem = new TreeItem( items[ 1 ].getItem( 0 ), SWT.NONE );
+    items[ 1 ].getItem( 0 ).setExpanded( true );
+
+    assertEquals( 3, subItem.getFlatIndex() );
+    assertEquals( 5, items[ 2 ].getFlatIndex() );
+  }
+
+  public void testFlatIndexAfterRemoveInExpandedItem() {
+    Tree tree = new Tree( composite, SWT.NONE );
+    TreeItem[] items = createTreeItems( tree, 3 );
+    items[ 1 ].setItemCount( 4 );
+    items[ 1 ].setExpanded( true );
+
+    items[ 1 ].getItem( 1 ).dispose();
+
+    assertEquals( 5, items[ 2 ].getFlatIndex() );
+    assertEquals( 6, tree.getVisibleItemCount() );
+  }
+
+  public void testFlatIndexAfterChangesInCollapsedItem() {
+    Tree tree = new Tree( composite, SWT.NONE );
+    TreeItem[] items = createTreeItems( tree, 3 );
+    items[ 1 ].setItemCount( 2 );
+    TreeItem subItem = items[ 1 ].getItem( 1 );
+    subItem.setItemCount( 3 );
+    subItem.setExpanded( true );
+
+    new TreeItem( items[ 1 ], SWT.NONE, 0 );
+    assertEquals( 2, items[ 2 ].getFlatIndex() );
+    items[ 1 ].setExpanded( true );
+
+    assertEquals( 4, subItem.getFlatIndex() );
+    assertEquals( 8, items[ 2 ].getFlatIndex() );
+  }
+
+  public void testFlatIndexesAfterRandomChanges() {
+    Tree tree = new Tree( composite, SWT.NONE );
+    List<TreeItem> allItems = new ArrayList<TreeItem>();
+    allItems.addAll( Arrays.asList( createTreeItems( tree, 5 ) ) );
+    Random random = new Random( 0 );
+    for( int i = 0; i < 500; i++ ) {
+      TreeItem item = allItems.get( random.nextInt( allItems.size() ) );
+      int action = random.nextInt( 4 );
+      if( action == 0 ) {
+        allItems.add( new TreeItem( item, SWT.NONE, random.nextInt( item.getItemCount() + 1 ) ) );
+      } else if( action == 1 ) {
+        item.setExpanded( !item.getExpanded() );
+      } else if( action == 2 && allItems.size() > 5 ) {
+        item.dispose();
+        allItems.removeAll( Arrays.asList( collectDisposedItems( allItems ) ) );
+      } else {
+        allItems.add( new TreeItem( tree, SWT.NONE, random.nextInt( tree.getItemCount() + 1 ) ) );
+      }
+      List<TreeItem> visibleItems = new ArrayList<TreeItem>();
+      collectVisibleItems( tree.getItems(), visibleItems );
+      assertEquals( visibleItems.size(), tree.getVisibleItemCount() );
+      for( int j = 0; j < visibleItems.size(); j++ ) {
+        assertEquals( j, visibleItems.get( j ).getFlatIndex() );
+        assertSame( visibleItems.get( j ), tree.getVisibleItem( j ) );
+      }
+    }
+  }
+
+  public void testVirtualGetVisibleItemCountDoesNotResolveItems() {
+    Tree tree = new Tree( composite, SWT.VIRTUAL );
+    tree.setItemCount( 1000 );
+
+    assertEquals( 1000, tree.getVisibleItemCount() );
+    assertEquals( 0, tree.getCreatedItems().length );
+  }
+
+  public void testVirtualGetTopItem() {
+    Tree tree = new Tree( composite, SWT.VIRTUAL );
+    tree.setSize( 100, 100 );
+    tree.setItemCount( 100 );
+    TreeItem item = tree.getItem( 0 );
+    item.setItemCount( 100 );
+    item.setExpanded( true );
+
+    tree.setTopItem( item.getItem( 50 ) );
+
+    assertSame( item.getItem( 50 ), tree.getTopItem() );
+  }
+
+  public void testVirtualGetItemByPointInExpandedItem() {
+    Tree tree = new Tree( composite, SWT.VIRTUAL );
+    tree.setSize( 100, 100 );
+    tree.setItemCount( 10 );
+    TreeItem item = tree.getItem( 0 );
+    item.setItemCount( 10 );
+    item.setExpanded( true );
+    int y = tree.getHeaderHeight() + 2 * tree.getItemHeight() + 1;
+
+    TreeItem result = tree.getItem( new Point( 5, y ) );
+
+    assertSame( item.getItem( 1 ), result );
+  }
+
+  public void testVirtualExpandResolvesVisibleItemsOnly() {
+    Tree tree = new Tree( composite, SWT.VIRTUAL );
+    tree.setSize( 100, 100 );
+    tree.setItemCount( 1 );
+    TreeItem item = tree.getItem( 0 );
+    item.setItemCount( 1000 );
+    final List<Widget> log = new ArrayList<Widget>();
+    tree.addListener( SWT.SetData, new Listener() {
+      public void handleEvent( Event event ) {
+        log.add( event.item );
+      }
+    } );
+
+    item.setExpanded( true );
+
+    int visibleRowCount = 100 / tree.getItemHeight() + 1;
+    assertTrue( log.size() > 0 );
+    assertTrue( log.size() <= visibleRowCount );
+    assertTrue( log.contains( item.getItem( 0 ) ) );
+  }
+
   public void testTopItem() {
     Tree tree = new Tree( composite, SWT.NONE );
     tree.setSize( 300, 85 );
@@ -1869,6 +2042,25 @@ public class Tree_Test extends TestCase {
     }
   }
 
+  private static TreeItem[] collectDisposedItems( List<TreeItem> items ) {
+    List<TreeItem> result = new ArrayList<TreeItem>();
+    for( TreeItem item : items ) {
+      if( item.isDisposed() ) {
+        result.add( item );
+      }
+    }
+    return result.toArray( new TreeItem[ result.size() ] );
+  }
+
+  private static void collectVisibleItems( TreeItem[] items, List<TreeItem> result ) {
+    for( int i = 0; i < items.length; i++ ) {
+      result.add( items[ i ] );
+      if( items[ i ].getExpanded() ) {
+        collectVisibleItems( items[ i ].getItems(), result );
+      }
+    }
+  }
+
   private static TreeItem[] createTreeItems( Tree tree, int number ) {
     TreeItem[] result = new TreeItem[ number ];
     for( int i = 0; i < number; i++ ) {
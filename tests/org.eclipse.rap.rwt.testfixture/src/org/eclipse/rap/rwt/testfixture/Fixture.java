@@ -46,6 +46,7 @@ import org.eclipse.rwt.internal.lifecycle.IDisplayLifeCycleAdapter;
 import org.eclipse.rwt.internal.lifecycle.IUIThreadHolder;
 import org.eclipse.rwt.internal.lifecycle.LifeCycleUtil;
 import org.eclipse.rwt.internal.lifecycle.RWTLifeCycle;
+import org.eclipse.rwt.internal.lifecycle.WidgetInputIndex;
 import org.eclipse.rwt.internal.protocol.ProtocolMessageWriter;
 import org.eclipse.rwt.internal.resources.ResourceManagerImpl;
 import org.eclipse.rwt.internal.resources.SystemProps;
@@ -340,6 +341,11 @@ public final class Fixture {
   public static void fakeRequestParam( String key, String value ) {
     TestRequest request = ( TestRequest )ContextProvider.getRequest();
     request.setParameter( key, value );
+    // the parameters of the current request are indexed only once
+    IServiceStore serviceStore = ContextProvider.getServiceStore();
+    if( serviceStore != null ) {
+      serviceStore.removeAttribute( WidgetInputIndex.class.getName() + "#instance" );
+    }
   }
 
   public static void fakeResponseWriter() {
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.testfixture;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+
+import javax.servlet.*;
+
+
+/**
+ * <p>
+ * <strong>IMPORTANT:</strong> This class is <em>not</em> part the public RAP
+ * API. It may change or disappear without further notice. Use this class at
+ * your own risk.
+ * </p>
+ */
+public final class TestAsyncContext implements AsyncContext {
+
+  private final ServletRequest request;
+  private final ServletResponse response;
+  private final List<AsyncListener> listeners;
+  private long timeout;
+  private volatile int dispatchCount;
+  private volatile boolean completed;
+
+  public TestAsyncContext( ServletRequest request, ServletResponse response ) {
+    this.request = request;
+    this.response = response;
+    listeners = new LinkedList<AsyncListener>();
+    timeout = 30000;
+  }
+
+  public ServletRequest getRequest() {
+    return request;
+  }
+
+  public ServletResponse getResponse() {
+    return response;
+  }
+
+  public boolean hasOriginalRequestAndResponse() {
+    return true;
+  }
+
+  public void dispatch() {
+    dispatchCount++;
+  }
+
+  public void dispatch( String path ) {
+    dispatch();
+  }
+
+  public void dispatch( ServletContext context, String path ) {
+    dispatch();
+  }
+
+  public void complete() {
+    completed = true;
+    AsyncEvent event = new AsyncEvent( this );
+    for( AsyncListener listener : getListeners() ) {
+      try {
+        listener.onComplete( event );
+      } catch( IOException ioe ) {
+        throw new RuntimeException( ioe );
+      }
+    }
+  }
+
+  public void start( Runnable runnable ) {
+    runnable.run();
+  }
+
+  public void addListener( AsyncListener listener ) {
+    synchronized( listeners ) {
+      listeners.add( listener );
+    }
+  }
+
+  public void addListener( AsyncListener listener,
+                           ServletRequest servletRequest,
+                           ServletResponse servletResponse )
+  {
+    addListener( listener );
+  }
+
+  public <T extends AsyncListener> T createListener( Class<T> type ) throws ServletException {
+    throw new UnsupportedOperationException();
+  }
+
+  public void setTimeout( long timeout ) {
+    this.timeout = timeout;
+  }
+
+  public long getTimeout() {
+    return timeout;
+  }
+
+  public void fireTimeout() {
+    AsyncEvent event = new AsyncEvent( this );
+    for( AsyncListener listener : getListeners() ) {
+      try {
+        listener.onTimeout( event );
+      } catch( IOException ioe ) {
+        throw new RuntimeException( ioe );
+      }
+    }
+  }
+
+  public int getDispatchCount() {
+    return dispatchCount;
+  }
+
+  public boolean isDispatched() {
+    return dispatchCount > 0;
+  }
+
+  public boolean isCompleted() {
+    return completed;
+  }
+
+  private AsyncListener[] getListeners() {
+    synchronized( listeners ) {
+      return listeners.toArray( new AsyncListener[ listeners.size() ] );
+    }
+  }
+}
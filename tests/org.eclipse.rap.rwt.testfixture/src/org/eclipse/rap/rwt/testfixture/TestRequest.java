@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2011 EclipseSource and others.
+ * Copyright (c) 2009, 2012 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -51,6 +51,9 @@ public final class TestRequest implements HttpServletRequest {
   private String contentType;
   private String body;
   private String method;
+  private boolean asyncSupported;
+  private TestAsyncContext asyncContext;
+  private ServletResponse asyncResponse;
 
   public TestRequest() {
     requestURL = new StringBuffer();
@@ -381,25 +384,38 @@ public final class TestRequest implements HttpServletRequest {
   }
 
   public AsyncContext startAsync() throws IllegalStateException {
-    return null;
+    ServletResponse response = asyncResponse == null ? new TestResponse() : asyncResponse;
+    return startAsync( this, response );
+  }
+
+  public void setAsyncResponse( ServletResponse asyncResponse ) {
+    this.asyncResponse = asyncResponse;
   }
 
   public AsyncContext startAsync( ServletRequest servletRequest, ServletResponse servletResponse )
     throws IllegalStateException
   {
-    return null;
+    if( !asyncSupported ) {
+      throw new IllegalStateException( "Asynchronous processing is not supported" );
+    }
+    asyncContext = new TestAsyncContext( servletRequest, servletResponse );
+    return asyncContext;
   }
 
   public boolean isAsyncStarted() {
-    return false;
+    return asyncContext != null;
+  }
+
+  public void setAsyncSupported( boolean asyncSupported ) {
+    this.asyncSupported = asyncSupported;
   }
 
   public boolean isAsyncSupported() {
-    return false;
+    return asyncSupported;
   }
 
   public AsyncContext getAsyncContext() {
-    return null;
+    return asyncContext;
   }
 
   public DispatcherType getDispatcherType() {
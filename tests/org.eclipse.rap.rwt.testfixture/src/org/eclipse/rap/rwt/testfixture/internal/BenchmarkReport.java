@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.testfixture.internal;
+
+
+/**
+ * Reports the values measured by the <code>*_Benchmark</code> classes, one line per value in the
+ * form <code>label: value</code>.
+ */
+public final class BenchmarkReport {
+
+  private BenchmarkReport() {
+    // prevent instantiation
+  }
+
+  public static void report( String label, Object value ) {
+    System.out.println( label + ": " + value );
+  }
+
+  public static long toMillis( long nanos ) {
+    return nanos / 1000000;
+  }
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.ui.internal.registry.ViewRegistry;
+import org.eclipse.ui.views.IViewDescriptor;
+
+/**
+ * Measures the creation of the view registries of many workbench sessions.
+ * The view descriptors are read once per application and shared by all
+ * sessions.
+ */
+public class CreateViewRegistryTest extends BasicPerformanceTest {
+
+	private int count;
+
+	public CreateViewRegistryTest(int numberOfRegistries, int tagging) {
+		super("Create " + numberOfRegistries + " view registries", tagging);
+		this.count = numberOfRegistries;
+	}
+
+	protected void runTest() throws Throwable {
+		tagIfNecessary("UI - Create View Registries", Dimension.USED_JAVA_HEAP);
+
+		exercise(new TestRunnable() {
+			public void run() throws Exception {
+				ViewRegistry[] registries = new ViewRegistry[count];
+				try {
+					startMeasuring();
+					for (int i = 0; i < count; i++) {
+						registries[i] = new ViewRegistry();
+					}
+					stopMeasuring();
+					assertDescriptorsShared(registries[0], registries[count - 1]);
+				} finally {
+					for (int i = 0; i < count; i++) {
+						if (registries[i] != null) {
+							registries[i].dispose();
+						}
+					}
+				}
+			}
+		});
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private static void assertDescriptorsShared(ViewRegistry first,
+			ViewRegistry last) {
+		IViewDescriptor[] views = first.getViews();
+		for (int i = 0; i < views.length; i++) {
+			assertSame(views[i], last.findInternal(views[i].getId()));
+		}
+	}
+}
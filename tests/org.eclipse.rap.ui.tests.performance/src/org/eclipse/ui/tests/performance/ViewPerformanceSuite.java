@@ -45,6 +45,7 @@ public class ViewPerformanceSuite extends TestSuite {
 	public ViewPerformanceSuite() {
 		addOpenCloseTests();
 		addResizeTests();
+		addTest(new CreateViewRegistryTest(500, BasicPerformanceTest.LOCAL));
 //		addTestSuite(OpenNavigatorFolderTest.class);
 	}
 
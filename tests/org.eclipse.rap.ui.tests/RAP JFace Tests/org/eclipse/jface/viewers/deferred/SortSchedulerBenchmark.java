@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.jface.viewers.deferred;
+
+import java.util.Comparator;
+import java.util.Random;
+
+import org.eclipse.jface.viewers.deferred.SortSchedulerTest.Latch;
+
+import junit.framework.TestCase;
+
+/*
+ * Not part of the test suite (see AllTests). Many sessions re-sort their
+ * deferred tables at the same time, once with a sort thread per table like
+ * before and once on the shared SortScheduler. Reports the time until all
+ * sorts are done and the peak number of threads, sampled while waiting.
+ */
+public class SortSchedulerBenchmark extends TestCase {
+
+  private static final int SESSIONS = 200;
+  private static final int RESORTS = 20;
+  private static final int ELEMENTS = 5000;
+  private static final int VISIBLE = 50;
+  private static final long TIMEOUT = 10 * 60 * 1000;
+
+  private Integer[] elements;
+
+  protected void setUp() throws Exception {
+    Random random = new Random( 0 );
+    elements = new Integer[ ELEMENTS ];
+    for( int i = 0; i < ELEMENTS; i++ ) {
+      elements[ i ] = new Integer( random.nextInt() );
+    }
+  }
+
+  public void testThreadPerTable() throws Exception {
+    final Latch done = new Latch( SESSIONS );
+    long start = System.currentTimeMillis();
+    for( int i = 0; i < SESSIONS; i++ ) {
+      Thread thread = new Thread( new Runnable() {
+        public void run() {
+          for( int j = 0; j < RESORTS; j++ ) {
+            resort( j );
+          }
+          done.countDown();
+        }
+      } );
+      thread.setDaemon( true );
+      thread.start();
+    }
+    int peakThreads = awaitAndSampleThreads( done );
+    report( "thread per table", System.currentTimeMillis() - start, peakThreads );
+  }
+
+  public void testSortScheduler() throws Exception {
+    final SortScheduler scheduler = new SortScheduler( Runtime.getRuntime().availableProcessors() );
+    final Latch done = new Latch( SESSIONS );
+    long start = System.currentTimeMillis();
+    for( int i = 0; i < SESSIONS; i++ ) {
+      final Object session = new Object();
+      scheduler.schedule( session, new Runnable() {
+        private int count;
+
+        public void run() {
+          resort( count++ );
+          if( count < RESORTS ) {
+            scheduler.schedule( session, this );
+          } else {
+            done.countDown();
+          }
+        }
+      } );
+    }
+    int peakThreads = awaitAndSampleThreads( done );
+    report( "sort scheduler", System.currentTimeMillis() - start, peakThreads );
+  }
+
+  // Sorts the visible range like BackgroundContentProvider does after a change of the sort order
+  private void resort( int iteration ) {
+    final int direction = iteration % 2 == 1 ? -1 : 1;
+    Comparator order = new Comparator() {
+      public int compare( Object object1, Object object2 ) {
+        return direction * ( ( Integer )object1 ).compareTo( ( Integer )object2 );
+      }
+    };
+    LazySortedCollection collection = new LazySortedCollection( order );
+    collection.addAll( elements );
+    collection.getFirst( new Object[ VISIBLE ], true );
+  }
+
+  private static int awaitAndSampleThreads( Latch done ) throws InterruptedException {
+    int result = Thread.activeCount();
+    long timeout = System.currentTimeMillis() + TIMEOUT;
+    while( !done.await( 10 ) && System.currentTimeMillis() < timeout ) {
+      result = Math.max( result, Thread.activeCount() );
+    }
+    assertTrue( done.await( 0 ) );
+    return result;
+  }
+
+  private static void report( String label, long duration, int peakThreads ) {
+    String resorts = SESSIONS + " sessions x " + RESORTS + " re-sorts";
+    System.out.println( label + " [ms for " + resorts + "]: " + duration );
+    System.out.println( label + " [peak threads]: " + peakThreads );
+  }
+}
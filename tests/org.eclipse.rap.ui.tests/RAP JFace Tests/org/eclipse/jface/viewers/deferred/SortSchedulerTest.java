@@ -0,0 +1,304 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.jface.viewers.deferred;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.jface.util.ILogger;
+import org.eclipse.jface.util.Policy;
+
+public class SortSchedulerTest extends TestCase {
+
+  private static final long TIMEOUT = 5000;
+
+  private Latch release;
+
+  protected void setUp() throws Exception {
+    release = new Latch( 1 );
+  }
+
+  protected void tearDown() throws Exception {
+    release.countDown();
+    Policy.setLog( null );
+  }
+
+  public void testRunsScheduledJob() throws Exception {
+    SortScheduler scheduler = new SortScheduler( 1 );
+    Latch done = new Latch( 1 );
+
+    scheduler.schedule( "session", new CountDownJob( done ) );
+
+    assertTrue( done.await( TIMEOUT ) );
+  }
+
+  public void testLimitsWorkerThreads() throws Exception {
+    SortScheduler scheduler = new SortScheduler( 2 );
+    final Counter running = new Counter();
+    final Latch done = new Latch( 10 );
+    for( int i = 0; i < 10; i++ ) {
+      scheduler.schedule( "session" + i, new Runnable() {
+        public void run() {
+          running.increment();
+          await( release );
+          running.decrement();
+          done.countDown();
+        }
+      } );
+    }
+
+    long timeout = System.currentTimeMillis() + TIMEOUT;
+    while( running.get() < 2 && System.currentTimeMillis() < timeout ) {
+      Thread.sleep( 10 );
+    }
+    Thread.sleep( 50 );
+
+    assertEquals( 2, running.get() );
+    assertEquals( 2, scheduler.getWorkerCount() );
+    release.countDown();
+    assertTrue( done.await( TIMEOUT ) );
+    assertEquals( 2, running.getMax() );
+  }
+
+  public void testServesSessionsRoundRobin() throws Exception {
+    SortScheduler scheduler = new SortScheduler( 1 );
+    List order = Collections.synchronizedList( new ArrayList() );
+    Latch done = new Latch( 5 );
+    block( scheduler, "a", release );
+    scheduler.schedule( "a", new RecordingJob( "a1", order, done ) );
+    scheduler.schedule( "a", new RecordingJob( "a2", order, done ) );
+    scheduler.schedule( "a", new RecordingJob( "a3", order, done ) );
+    scheduler.schedule( "b", new RecordingJob( "b1", order, done ) );
+    scheduler.schedule( "c", new RecordingJob( "c1", order, done ) );
+
+    release.countDown();
+
+    assertTrue( done.await( TIMEOUT ) );
+    assertEquals( Arrays.asList( new String[] { "a1", "b1", "c1", "a2", "a3" } ), order );
+  }
+
+  public void testCancel() throws Exception {
+    SortScheduler scheduler = new SortScheduler( 1 );
+    List order = Collections.synchronizedList( new ArrayList() );
+    Latch done = new Latch( 1 );
+    block( scheduler, "a", release );
+    RecordingJob cancelled = new RecordingJob( "cancelled", order, done );
+    scheduler.schedule( "b", cancelled );
+    scheduler.schedule( "c", new RecordingJob( "c1", order, done ) );
+
+    boolean result = scheduler.cancel( "b", cancelled );
+
+    release.countDown();
+    assertTrue( done.await( TIMEOUT ) );
+    assertTrue( result );
+    assertEquals( Arrays.asList( new String[] { "c1" } ), order );
+  }
+
+  public void testCancelUnknownJob() {
+    SortScheduler scheduler = new SortScheduler( 1 );
+
+    assertFalse( scheduler.cancel( "a", new CountDownJob( release ) ) );
+  }
+
+  public void testContinuesAfterFailingJob() throws Exception {
+    SortScheduler scheduler = new SortScheduler( 1 );
+    Latch done = new Latch( 1 );
+    block( scheduler, "a", release );
+    scheduler.schedule( "a", new Runnable() {
+      public void run() {
+        throw new IllegalStateException();
+      }
+    } );
+    scheduler.schedule( "a", new CountDownJob( done ) );
+
+    release.countDown();
+
+    assertTrue( done.await( TIMEOUT ) );
+  }
+
+  public void testLogsFailingJob() throws Exception {
+    final List statuses = Collections.synchronizedList( new ArrayList() );
+    Policy.setLog( new ILogger() {
+      public void log( IStatus status ) {
+        statuses.add( status );
+      }
+    } );
+    SortScheduler scheduler = new SortScheduler( 1 );
+    Latch done = new Latch( 1 );
+    final RuntimeException exception = new IllegalStateException();
+    scheduler.schedule( "a", new Runnable() {
+      public void run() {
+        throw exception;
+      }
+    } );
+    scheduler.schedule( "a", new CountDownJob( done ) );
+
+    assertTrue( done.await( TIMEOUT ) );
+    assertEquals( 1, statuses.size() );
+    IStatus status = ( IStatus )statuses.get( 0 );
+    assertEquals( IStatus.ERROR, status.getSeverity() );
+    assertSame( exception, status.getException() );
+  }
+
+  public void testContinuesAfterErrorInJob() throws Exception {
+    SortScheduler scheduler = new SortScheduler( 1 );
+    Latch done = new Latch( 1 );
+    block( scheduler, "a", release );
+    scheduler.schedule( "a", new Runnable() {
+      public void run() {
+        throw new NoClassDefFoundError();
+      }
+    } );
+    scheduler.schedule( "a", new CountDownJob( done ) );
+
+    release.countDown();
+
+    assertTrue( done.await( TIMEOUT ) );
+    assertTrue( scheduler.getWorkerCount() <= 1 );
+  }
+
+  public void testWorkersTerminateWhenIdle() throws Exception {
+    SortScheduler scheduler = new SortScheduler( 4 );
+    Latch done = new Latch( 1 );
+    scheduler.schedule( "a", new CountDownJob( done ) );
+    done.await( TIMEOUT );
+
+    long timeout = System.currentTimeMillis() + TIMEOUT;
+    while( scheduler.getWorkerCount() > 0 && System.currentTimeMillis() < timeout ) {
+      Thread.sleep( 10 );
+    }
+
+    assertEquals( 0, scheduler.getWorkerCount() );
+    assertEquals( 0, scheduler.getQueuedCount() );
+  }
+
+  private static void await( Latch latch ) {
+    try {
+      latch.await( TIMEOUT );
+    } catch( InterruptedException interrupted ) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void block( SortScheduler scheduler, String session, Latch latch )
+    throws InterruptedException
+  {
+    BlockingJob job = new BlockingJob( latch );
+    scheduler.schedule( session, job );
+    job.awaitStarted();
+  }
+
+  /*
+   * Lets threads wait until a number of events have happened. This bundle
+   * is compiled against J2SE-1.4, which lacks java.util.concurrent.
+   */
+  static final class Latch {
+    private int count;
+
+    Latch( int count ) {
+      this.count = count;
+    }
+
+    synchronized void countDown() {
+      if( count > 0 ) {
+        count--;
+        if( count == 0 ) {
+          notifyAll();
+        }
+      }
+    }
+
+    synchronized boolean await( long timeout ) throws InterruptedException {
+      long end = System.currentTimeMillis() + timeout;
+      long remaining = timeout;
+      while( count > 0 && remaining > 0 ) {
+        wait( remaining );
+        remaining = end - System.currentTimeMillis();
+      }
+      return count == 0;
+    }
+  }
+
+  private static final class Counter {
+    private int value;
+    private int max;
+
+    synchronized void increment() {
+      value++;
+      max = Math.max( max, value );
+    }
+
+    synchronized void decrement() {
+      value--;
+    }
+
+    synchronized int get() {
+      return value;
+    }
+
+    synchronized int getMax() {
+      return max;
+    }
+  }
+
+  private static final class CountDownJob implements Runnable {
+    private final Latch latch;
+
+    CountDownJob( Latch latch ) {
+      this.latch = latch;
+    }
+
+    public void run() {
+      latch.countDown();
+    }
+  }
+
+  private static final class BlockingJob implements Runnable {
+    private final Latch latch;
+    private final Latch started;
+
+    BlockingJob( Latch latch ) {
+      this.latch = latch;
+      started = new Latch( 1 );
+    }
+
+    public void run() {
+      started.countDown();
+      await( latch );
+    }
+
+    void awaitStarted() throws InterruptedException {
+      assertTrue( started.await( TIMEOUT ) );
+    }
+  }
+
+  private static final class RecordingJob implements Runnable {
+    private final String name;
+    private final List log;
+    private final Latch done;
+
+    RecordingJob( String name, List log, Latch done ) {
+      this.name = name;
+      this.log = log;
+      this.done = done;
+    }
+
+    public void run() {
+      log.add( name );
+      done.countDown();
+    }
+  }
+}